@@ -0,0 +1,230 @@
+package com.java.EcoDrive.benchmark;
+
+import com.java.EcoDrive.dto.Bairro.BairroDTO;
+import com.java.EcoDrive.dto.Concessionaria.ConcessionariaDTO;
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO;
+import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaDTO;
+import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoDTO;
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
+import com.java.EcoDrive.dto.Reserva.ReservaDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.dto.Usuario.UsuarioDTO;
+import com.java.EcoDrive.dto.Veiculo.VeiculoDTO;
+import com.java.EcoDrive.mapper.BairroMapper;
+import com.java.EcoDrive.mapper.ConcessionariaMapper;
+import com.java.EcoDrive.mapper.EntityMapper;
+import com.java.EcoDrive.mapper.EstacaoRecargaMapper;
+import com.java.EcoDrive.mapper.EstacaoSustentavelMapper;
+import com.java.EcoDrive.mapper.FonteEnergiaMapper;
+import com.java.EcoDrive.mapper.GastoCarregamentoMapper;
+import com.java.EcoDrive.mapper.HistoricoCarregamentoMapper;
+import com.java.EcoDrive.mapper.ReservaMapper;
+import com.java.EcoDrive.mapper.StatusEstacaoRecargaMapper;
+import com.java.EcoDrive.mapper.UsuarioMapper;
+import com.java.EcoDrive.mapper.VeiculoMapper;
+import com.java.EcoDrive.model.Bairro;
+import com.java.EcoDrive.model.Concessionaria;
+import com.java.EcoDrive.model.EstacaoRecarga;
+import com.java.EcoDrive.model.EstacaoSustentavel;
+import com.java.EcoDrive.model.FonteEnergia;
+import com.java.EcoDrive.model.GastoCarregamento;
+import com.java.EcoDrive.model.HistoricoCarregamento;
+import com.java.EcoDrive.model.Reserva;
+import com.java.EcoDrive.model.StatusEstacaoRecarga;
+import com.java.EcoDrive.model.Usuario;
+import com.java.EcoDrive.model.Veiculo;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Compara, para cada entidade, o ModelMapper (com a mesma configuração que a aplicação usava)
+ * aos mappers escritos à mão, na conversão de uma lista de entidades para DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeamentoBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Param({"Bairro", "Concessionaria", "EstacaoRecarga", "EstacaoSustentavel", "FonteEnergia", "GastoCarregamento",
+            "HistoricoCarregamento", "Reserva", "StatusEstacaoRecarga", "Usuario", "Veiculo"})
+    private String entidade;
+
+    @Param({"1", "100", "1000"})
+    private int quantidade;
+
+    private ModelMapper modelMapper;
+    private EntityMapper<Object, ?, ?> mapper;
+    private Class<?> classeDTO;
+    private List<Object> entidades;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSkipNullEnabled(true)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+
+        switch (entidade) {
+            case "Bairro" -> preparar(new BairroMapper(), BairroDTO.class, MapeamentoBenchmark::bairro);
+            case "Concessionaria" -> preparar(new ConcessionariaMapper(), ConcessionariaDTO.class, MapeamentoBenchmark::concessionaria);
+            case "EstacaoRecarga" -> preparar(new EstacaoRecargaMapper(), EstacaoRecargaDTO.class, MapeamentoBenchmark::estacao);
+            case "EstacaoSustentavel" -> preparar(new EstacaoSustentavelMapper(), EstacaoSustentavelDTO.class, MapeamentoBenchmark::estacaoSustentavel);
+            case "FonteEnergia" -> preparar(new FonteEnergiaMapper(), FonteEnergiaDTO.class, MapeamentoBenchmark::fonte);
+            case "GastoCarregamento" -> preparar(new GastoCarregamentoMapper(), GastoCarregamentoDTO.class, MapeamentoBenchmark::gasto);
+            case "HistoricoCarregamento" -> preparar(new HistoricoCarregamentoMapper(), HistoricoCarregamentoDTO.class, MapeamentoBenchmark::historico);
+            case "Reserva" -> preparar(new ReservaMapper(), ReservaDTO.class, MapeamentoBenchmark::reserva);
+            case "StatusEstacaoRecarga" -> preparar(new StatusEstacaoRecargaMapper(), StatusEstacaoRecargaDTO.class, MapeamentoBenchmark::status);
+            case "Usuario" -> preparar(new UsuarioMapper(), UsuarioDTO.class, MapeamentoBenchmark::usuario);
+            case "Veiculo" -> preparar(new VeiculoMapper(), VeiculoDTO.class, MapeamentoBenchmark::veiculo);
+            default -> throw new IllegalArgumentException("Entidade desconhecida: " + entidade);
+        }
+    }
+
+    @Benchmark
+    public List<?> modelMapper() {
+        List<Object> dtos = new ArrayList<>(entidades.size());
+        for (Object entidadeAtual : entidades) {
+            dtos.add(modelMapper.map(entidadeAtual, classeDTO));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<?> mapper() {
+        return mapper.paraDTOs(entidades);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> void preparar(EntityMapper<E, ?, ?> mapperDaEntidade, Class<?> classe, LongFunction<E> fabrica) {
+        this.mapper = (EntityMapper<Object, ?, ?>) mapperDaEntidade;
+        this.classeDTO = classe;
+        this.entidades = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            entidades.add(fabrica.apply(i));
+        }
+    }
+
+    private static Bairro bairro(long i) {
+        Bairro bairro = new Bairro();
+        bairro.setBairroId(i % 30 + 1);
+        bairro.setNome("Bairro " + i);
+        return bairro;
+    }
+
+    private static Concessionaria concessionaria(long i) {
+        Concessionaria concessionaria = new Concessionaria();
+        concessionaria.setConcessionariaId(i);
+        concessionaria.setNome("Concessionária " + i);
+        concessionaria.setBairro(bairro(i));
+        concessionaria.setMarca("Marca " + i % 12);
+        concessionaria.setTemEstacaoRecarga((int) (i % 2));
+        return concessionaria;
+    }
+
+    private static EstacaoRecarga estacao(long i) {
+        EstacaoRecarga estacao = new EstacaoRecarga();
+        estacao.setEstacaoId(i % 200 + 1);
+        estacao.setNome("Estação " + i);
+        estacao.setBairro(bairro(i));
+        estacao.setLatitude(-23.55 + i * 1e-4);
+        estacao.setLongitude(-46.63 - i * 1e-4);
+        estacao.setTipoCarregador(i % 2 == 0 ? "CCS2" : "Tipo 2");
+        estacao.setPrecoPorKwh(1.5 + i % 10 * 0.1);
+        return estacao;
+    }
+
+    private static EstacaoSustentavel estacaoSustentavel(long i) {
+        EstacaoSustentavel estacao = new EstacaoSustentavel();
+        estacao.setEstacaoId(i);
+        estacao.setEstacaoRecarga(estacao(i));
+        estacao.setFonteEnergia(fonte(i));
+        estacao.setReducaoCarbono(10.0 + i % 50);
+        return estacao;
+    }
+
+    private static FonteEnergia fonte(long i) {
+        FonteEnergia fonte = new FonteEnergia();
+        fonte.setFonteId(i % 4 + 1);
+        fonte.setTipoEnergia(i % 2 == 0 ? "Solar" : "Eólica");
+        return fonte;
+    }
+
+    private static GastoCarregamento gasto(long i) {
+        GastoCarregamento gasto = new GastoCarregamento();
+        gasto.setGastoId(i);
+        gasto.setHistoricoCarregamento(historico(i));
+        gasto.setCustoTotal(20.0 + i % 80);
+        return gasto;
+    }
+
+    private static HistoricoCarregamento historico(long i) {
+        HistoricoCarregamento historico = new HistoricoCarregamento();
+        historico.setHistoricoId(i);
+        historico.setUsuario(usuario(i));
+        historico.setVeiculo(veiculo(i));
+        historico.setEstacaoRecarga(estacao(i));
+        historico.setDataCarregamento(BASE.plusHours(i));
+        historico.setKwhConsumidos(10.0 + i % 40);
+        return historico;
+    }
+
+    private static Reserva reserva(long i) {
+        Reserva reserva = new Reserva(usuario(i), estacao(i), BASE.plusHours(i), 1);
+        reserva.setReservaId(i);
+        return reserva;
+    }
+
+    private static StatusEstacaoRecarga status(long i) {
+        StatusEstacaoRecarga status = new StatusEstacaoRecarga();
+        status.setStatusId(i);
+        status.setEstacaoRecarga(estacao(i));
+        status.setStatus("Ativa");
+        status.setUltimaAtualizacao(BASE.plusMinutes(i));
+        return status;
+    }
+
+    private static Usuario usuario(long i) {
+        Usuario usuario = new Usuario();
+        usuario.setUsuarioId(i % 500 + 1);
+        usuario.setNome("Usuário " + i);
+        usuario.setEmail("usuario" + i + "@ecodrive.com");
+        usuario.setSenha("senha" + i);
+        usuario.setTelefone("11999" + i);
+        return usuario;
+    }
+
+    private static Veiculo veiculo(long i) {
+        Veiculo veiculo = new Veiculo();
+        veiculo.setVeiculoId(i % 800 + 1);
+        veiculo.setUsuario(usuario(i));
+        veiculo.setMarca("Marca " + i);
+        veiculo.setModelo("Modelo " + i % 20);
+        veiculo.setAno(2015 + (int) (i % 10));
+        veiculo.setIsEletrico(1);
+        return veiculo;
+    }
+}
@@ -0,0 +1,87 @@
+package com.java.EcoDrive.benchmark;
+
+import com.java.EcoDrive.controller.ReservaController;
+import com.java.EcoDrive.dto.Reserva.ReservaDTO;
+import com.java.EcoDrive.service.ReservaService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de montar a resposta HATEOAS de {@link ReservaController#listarTodas}: um
+ * {@code EntityModel} com link por reserva mais o link da coleção. O serviço é substituído
+ * por um mock que devolve uma página pronta, de modo que só a camada web é medida.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReservaControllerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int tamanhoPagina;
+
+    private ReservaController controller;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<ReservaDTO> reservas = new ArrayList<>(tamanhoPagina);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (long i = 1; i <= tamanhoPagina; i++) {
+            ReservaDTO reserva = new ReservaDTO();
+            reserva.setReservaId(i);
+            reserva.setUsuarioId(i % 500 + 1);
+            reserva.setEstacaoId(i % 200 + 1);
+            reserva.setDataReserva(base.plusHours(i));
+            reserva.setStatus(1);
+            reservas.add(reserva);
+        }
+
+        ReservaService reservaService = Mockito.mock(ReservaService.class);
+        Mockito.when(reservaService.listarTodasPaginado(Mockito.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(reservas, PageRequest.of(0, tamanhoPagina), 100_000));
+        controller = new ReservaController(reservaService);
+
+        // Os links são construídos a partir da requisição corrente, como em produção
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/reservas");
+        requisicao.setServerName("localhost");
+        requisicao.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requisicao));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<ReservaDTO>> listarTodas() {
+        return controller.listarTodas(0, tamanhoPagina);
+    }
+}
@@ -0,0 +1,125 @@
+package com.java.EcoDrive.benchmark;
+
+import com.java.EcoDrive.EcoDriveApplication;
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
+import com.java.EcoDrive.dto.Reserva.ReservaDTO;
+import com.java.EcoDrive.service.HistoricoCarregamentoService;
+import com.java.EcoDrive.service.ReservaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chamadas de serviço das listagens mais volumosas no perfil {@code perf}, com o H2 em memória
+ * populado pelo gerador de dados sintéticos (por padrão 100 mil reservas e 1 milhão de
+ * históricos de carregamento).
+ * Os volumes podem ser reduzidos para execuções rápidas, ex.: {@code -p historicos=50000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ServicoBenchmark {
+
+    private static final int TAMANHO_PAGINA = 100;
+
+    @Param({"100000"})
+    private int reservas;
+
+    @Param({"1000000"})
+    private int historicos;
+
+    private ConfigurableApplicationContext contexto;
+    private ReservaService reservaService;
+    private HistoricoCarregamentoService historicoCarregamentoService;
+    private long[] usuariosComReservas;
+    private long[] usuariosComHistoricos;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(EcoDriveApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=perf",
+                        "--ecodrive.perf.reservas=" + reservas,
+                        "--ecodrive.perf.historicos=" + historicos,
+                        // As listagens medidas não leem os agregados de consumo
+                        "--ecodrive.perf.reconstruir-agregados=false",
+                        "--logging.level.root=WARN");
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        // As listagens por usuário lançam exceção quando não há registros, então só usuários com dados são consultados
+        usuariosComReservas = idsDeUsuarios(jdbcTemplate, "reserva");
+        usuariosComHistoricos = idsDeUsuarios(jdbcTemplate, "historico_carregamento");
+
+        reservaService = contexto.getBean(ReservaService.class);
+        historicoCarregamentoService = contexto.getBean(HistoricoCarregamentoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Page<ReservaDTO> reservasPrimeiraPagina() {
+        return reservaService.listarTodasPaginado(PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<ReservaDTO> reservasUltimaPagina() {
+        return reservaService.listarTodasPaginado(PageRequest.of(reservas / TAMANHO_PAGINA - 1, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public List<ReservaDTO> reservasPorUsuario() {
+        return reservaService.listarPorUsuario(proximo(usuariosComReservas));
+    }
+
+    @Benchmark
+    public Page<HistoricoCarregamentoDTO> historicosPrimeiraPagina() {
+        return historicoCarregamentoService.listarTodosPaginado(PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<HistoricoCarregamentoDTO> historicosUltimaPagina() {
+        return historicoCarregamentoService.listarTodosPaginado(PageRequest.of(historicos / TAMANHO_PAGINA - 1, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public List<HistoricoCarregamentoDTO> historicosPorUsuario() {
+        return historicoCarregamentoService.listarPorUsuario(proximo(usuariosComHistoricos));
+    }
+
+    // Percorre os usuários em sequência para que cada chamada consulte dados diferentes
+    private long proximo(long[] usuarios) {
+        proximo = (proximo + 1) % usuarios.length;
+        return usuarios[proximo];
+    }
+
+    private static long[] idsDeUsuarios(JdbcTemplate jdbcTemplate, String tabela) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT usuario_id FROM " + tabela, Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -2,8 +2,10 @@ package com.java.EcoDrive;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
+@EnableCaching
 public class EcoDriveApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(EcoDriveApplication.class, args);
@@ -0,0 +1,65 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.dto.ConsumoAgregado.ConsumoAgregadoDTO;
+import com.java.EcoDrive.dto.ConsumoAgregado.ResultadoReconstrucaoConsumoDTO;
+import com.java.EcoDrive.service.ConsumoAgregadoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+@RestController
+@RequestMapping(value = "/analytics", produces = "application/json")
+@Tag(name = "Analytics", description = "Analytics Controller")
+public class AnalyticsController {
+
+    private final ConsumoAgregadoService consumoAgregadoService;
+
+    @Autowired
+    public AnalyticsController(ConsumoAgregadoService consumoAgregadoService) {
+        this.consumoAgregadoService = consumoAgregadoService;
+    }
+
+    @GetMapping("/consumo")
+    @Operation(summary = "Consultar consumo agregado", description = "Retorna kWh, custo total e quantidade de sessões por hora ou por dia, de uma estação, das estações de um bairro ou de toda a rede, lidos dos agregados pré-calculados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série de consumo retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Granularidade ou intervalo inválido"),
+            @ApiResponse(responseCode = "404", description = "Estação de recarga ou bairro não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<ConsumoAgregadoDTO> consultarConsumo(
+            @Parameter(description = "Granularidade da série: hora ou dia") @RequestParam(defaultValue = "dia") String granularidade,
+            @Parameter(description = "ID da estação de recarga") @RequestParam(required = false) Long estacaoId,
+            @Parameter(description = "ID do bairro") @RequestParam(required = false) Long bairroId,
+            @Parameter(description = "Início do intervalo (yyyy-MM-ddTHH:mm:ss); padrão: 24 horas ou 30 dias antes do fim") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do intervalo, exclusivo (yyyy-MM-ddTHH:mm:ss); padrão: agora") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        List<ConsumoAgregadoDTO> consumo = consumoAgregadoService.consultar(granularidade, estacaoId, bairroId, inicio, fim);
+
+        return CollectionModel.of(consumo,
+                linkTo(methodOn(AnalyticsController.class).consultarConsumo(granularidade, estacaoId, bairroId, inicio, fim)).withSelfRel());
+    }
+
+    @PostMapping("/consumo/reconstrucao")
+    @Operation(summary = "Reconstruir os agregados de consumo", description = "Recalcula os agregados por hora e por dia dos dias do intervalo a partir dos históricos e gastos de carregamento; sem intervalo, reconstrói todo o período com históricos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Agregados reconstruídos com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Intervalo inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResultadoReconstrucaoConsumoDTO reconstruirConsumo(
+            @Parameter(description = "Primeiro dia a reconstruir (yyyy-MM-ddTHH:mm:ss)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Último dia a reconstruir (yyyy-MM-ddTHH:mm:ss)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        return consumoAgregadoService.reconstruir(inicio, fim);
+    }
+}
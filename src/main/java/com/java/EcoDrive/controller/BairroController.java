@@ -3,9 +3,13 @@ package com.java.EcoDrive.controller;
 import com.java.EcoDrive.dto.Bairro.BairroCreateDTO;
 import com.java.EcoDrive.dto.Bairro.BairroDTO;
 import com.java.EcoDrive.service.BairroService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -42,38 +46,101 @@ public class BairroController {
     @Operation(summary = "Listar todos os bairros", description = "Retorna uma lista paginada de todos os bairros")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de bairros retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<BairroDTO>> listarTodos(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, bairroService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<BairroDTO> bairrosPaginados = bairroService.listarTodosPaginado(pageable);
 
         List<EntityModel<BairroDTO>> bairros = bairrosPaginados.getContent().stream()
                 .map(bairro -> EntityModel.of(bairro,
-                        linkTo(methodOn(BairroController.class).obterBairro(bairro.getBairroId())).withSelfRel()))
+                        linkTo(methodOn(BairroController.class).obterBairro(bairro.getBairroId(), null)).withSelfRel()))
                 .toList(); // Substituído por Stream.toList()
 
         return CollectionModel.of(bairros,
-                linkTo(methodOn(BairroController.class).listarTodos(page, size)).withSelfRel());
+                linkTo(methodOn(BairroController.class).listarTodos(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todos os bairros por cursor", description = "Retorna todos os bairros em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<BairroDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, bairroService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<BairroDTO> pagina = bairroService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<BairroDTO>> bairros = pagina.itens().stream()
+                .map(bairro -> EntityModel.of(bairro,
+                        linkTo(methodOn(BairroController.class).obterBairro(bairro.getBairroId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<BairroDTO>> colecao = CollectionModel.of(bairros,
+                linkTo(methodOn(BairroController.class).listarTodosPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(BairroController.class).listarTodosPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar bairros por IDs", description = "Retorna numa única consulta os bairros dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<BairroDTO>> listarPorIds(
+            @Parameter(description = "IDs dos bairros separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<BairroDTO> resultado = bairroService.listarPorIds(ids);
+
+        List<EntityModel<BairroDTO>> bairros = resultado.itens().stream()
+                .map(bairro -> EntityModel.of(bairro,
+                        linkTo(methodOn(BairroController.class).obterBairro(bairro.getBairroId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<BairroDTO>> colecao = new ColecaoPorIds<>(bairros, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(BairroController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obter um bairro específico", description = "Retorna os detalhes do bairro fornecendo o ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Bairro encontrado"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Bairro não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<BairroDTO> obterBairro(
-            @Parameter(description = "ID do bairro a ser obtido") @PathVariable Long id) {
+            @Parameter(description = "ID do bairro a ser obtido") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (bairroService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         BairroDTO bairroDTO = bairroService.obterPorId(id);
         return EntityModel.of(bairroDTO,
-                linkTo(methodOn(BairroController.class).obterBairro(id)).withSelfRel(),
-                linkTo(methodOn(BairroController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(BairroController.class).obterBairro(id, null)).withSelfRel(),
+                linkTo(methodOn(BairroController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @PostMapping
@@ -88,8 +155,8 @@ public class BairroController {
             @Parameter(description = "Dados do bairro a ser criado") @Valid @RequestBody BairroCreateDTO bairroCreateDTO) {
         BairroDTO bairroDTO = bairroService.criarBairro(bairroCreateDTO);
         return EntityModel.of(bairroDTO,
-                linkTo(methodOn(BairroController.class).obterBairro(bairroDTO.getBairroId())).withSelfRel(),
-                linkTo(methodOn(BairroController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(BairroController.class).obterBairro(bairroDTO.getBairroId(), null)).withSelfRel(),
+                linkTo(methodOn(BairroController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @PutMapping("/{id}")
@@ -105,8 +172,8 @@ public class BairroController {
             @Parameter(description = "Dados atualizados do bairro") @Valid @RequestBody BairroCreateDTO bairroCreateDTO) {
         BairroDTO bairroDTO = bairroService.atualizarBairro(id, bairroCreateDTO);
         return EntityModel.of(bairroDTO,
-                linkTo(methodOn(BairroController.class).obterBairro(id)).withSelfRel(),
-                linkTo(methodOn(BairroController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(BairroController.class).obterBairro(id, null)).withSelfRel(),
+                linkTo(methodOn(BairroController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @DeleteMapping("/{id}")
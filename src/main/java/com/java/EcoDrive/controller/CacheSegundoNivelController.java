@@ -0,0 +1,85 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.dto.CacheSegundoNivel.EstatisticasRegiaoCacheDTO;
+import com.java.EcoDrive.service.CacheSegundoNivelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+@RestController
+@RequestMapping(value = "/admin/cache", produces = "application/json")
+@Tag(name = "Cache de segundo nível", description = "Administração do cache de segundo nível do Hibernate")
+public class CacheSegundoNivelController {
+
+    private final CacheSegundoNivelService cacheSegundoNivelService;
+
+    @Autowired
+    public CacheSegundoNivelController(CacheSegundoNivelService cacheSegundoNivelService) {
+        this.cacheSegundoNivelService = cacheSegundoNivelService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar as regiões do cache", description = "Retorna acertos, falhas e gravações de cada região de entidades e de consultas do cache de segundo nível")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Regiões retornadas com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<EstatisticasRegiaoCacheDTO>> listarRegioes() {
+        List<EntityModel<EstatisticasRegiaoCacheDTO>> regioes = cacheSegundoNivelService.listarRegioes().stream()
+                .map(regiao -> EntityModel.of(regiao,
+                        linkTo(methodOn(CacheSegundoNivelController.class).obterRegiao(regiao.getRegiao())).withSelfRel()))
+                .toList();
+
+        return CollectionModel.of(regioes,
+                linkTo(methodOn(CacheSegundoNivelController.class).listarRegioes()).withSelfRel());
+    }
+
+    @GetMapping("/{regiao}")
+    @Operation(summary = "Obter uma região do cache", description = "Retorna acertos, falhas e gravações da região informada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Região encontrada"),
+            @ApiResponse(responseCode = "404", description = "Região não encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public EntityModel<EstatisticasRegiaoCacheDTO> obterRegiao(
+            @Parameter(description = "Nome da região, ex.: estacaoRecarga ou estacoesPorBairro") @PathVariable String regiao) {
+        return EntityModel.of(cacheSegundoNivelService.obterRegiao(regiao),
+                linkTo(methodOn(CacheSegundoNivelController.class).obterRegiao(regiao)).withSelfRel(),
+                linkTo(methodOn(CacheSegundoNivelController.class).listarRegioes()).withRel("listarRegioes"));
+    }
+
+    @DeleteMapping("/{regiao}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Esvaziar uma região do cache", description = "Remove todas as entradas da região informada; as próximas leituras voltam ao banco")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Região esvaziada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Região não encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void removerRegiao(
+            @Parameter(description = "Nome da região a esvaziar") @PathVariable String regiao) {
+        cacheSegundoNivelService.removerRegiao(regiao);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Esvaziar todo o cache", description = "Remove as entradas de todas as regiões do cache de segundo nível")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cache esvaziado com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void removerTodas() {
+        cacheSegundoNivelService.removerTodas();
+    }
+}
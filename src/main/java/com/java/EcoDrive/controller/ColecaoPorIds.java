@@ -0,0 +1,36 @@
+package com.java.EcoDrive.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.CollectionModel;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Coleção devolvida pelas buscas em lote por IDs: além dos itens encontrados, informa os IDs
+ * pedidos que não existem, para o cliente não precisar comparar as listas.
+ */
+public class ColecaoPorIds<T> extends CollectionModel<T> {
+
+    private final List<Long> idsNaoEncontrados;
+
+    public ColecaoPorIds(List<T> itens, List<Long> idsNaoEncontrados) {
+        super(itens);
+        this.idsNaoEncontrados = idsNaoEncontrados;
+    }
+
+    @JsonProperty("idsNaoEncontrados")
+    public List<Long> getIdsNaoEncontrados() {
+        return idsNaoEncontrados;
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return super.equals(outro) && Objects.equals(idsNaoEncontrados, ((ColecaoPorIds<?>) outro).idsNaoEncontrados);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), idsNaoEncontrados);
+    }
+}
@@ -3,9 +3,13 @@ package com.java.EcoDrive.controller;
 import com.java.EcoDrive.dto.Concessionaria.ConcessionariaCreateDTO;
 import com.java.EcoDrive.dto.Concessionaria.ConcessionariaDTO;
 import com.java.EcoDrive.service.ConcessionariaService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -42,38 +46,101 @@ public class ConcessionariaController {
     @Operation(summary = "Listar todas as concessionárias", description = "Retorna uma lista paginada de todas as concessionárias")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de concessionárias retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<ConcessionariaDTO>> listarTodos(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, concessionariaService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<ConcessionariaDTO> concessionariasPaginadas = concessionariaService.listarTodosPaginado(pageable);
 
         List<EntityModel<ConcessionariaDTO>> concessionarias = concessionariasPaginadas.getContent().stream()
                 .map(concessionaria -> EntityModel.of(concessionaria,
-                        linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(concessionaria.getConcessionariaId())).withSelfRel()))
+                        linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(concessionaria.getConcessionariaId(), null)).withSelfRel()))
                 .toList();
 
         return CollectionModel.of(concessionarias,
-                linkTo(methodOn(ConcessionariaController.class).listarTodos(page, size)).withSelfRel());
+                linkTo(methodOn(ConcessionariaController.class).listarTodos(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todas as concessionárias por cursor", description = "Retorna todas as concessionárias em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<ConcessionariaDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, concessionariaService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<ConcessionariaDTO> pagina = concessionariaService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<ConcessionariaDTO>> concessionarias = pagina.itens().stream()
+                .map(concessionaria -> EntityModel.of(concessionaria,
+                        linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(concessionaria.getConcessionariaId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<ConcessionariaDTO>> colecao = CollectionModel.of(concessionarias,
+                linkTo(methodOn(ConcessionariaController.class).listarTodosPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(ConcessionariaController.class).listarTodosPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar concessionárias por IDs", description = "Retorna numa única consulta as concessionárias dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<ConcessionariaDTO>> listarPorIds(
+            @Parameter(description = "IDs das concessionárias separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<ConcessionariaDTO> resultado = concessionariaService.listarPorIds(ids);
+
+        List<EntityModel<ConcessionariaDTO>> concessionarias = resultado.itens().stream()
+                .map(concessionaria -> EntityModel.of(concessionaria,
+                        linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(concessionaria.getConcessionariaId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<ConcessionariaDTO>> colecao = new ColecaoPorIds<>(concessionarias, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(ConcessionariaController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obter uma concessionária específica", description = "Retorna os detalhes de uma concessionária fornecendo o ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Concessionária encontrada"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Concessionária não encontrada"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<ConcessionariaDTO> obterConcessionaria(
-            @Parameter(description = "ID da concessionária a ser obtida") @PathVariable Long id) {
+            @Parameter(description = "ID da concessionária a ser obtida") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (concessionariaService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         ConcessionariaDTO concessionariaDTO = concessionariaService.obterPorId(id);
         return EntityModel.of(concessionariaDTO,
-                linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(id)).withSelfRel(),
-                linkTo(methodOn(ConcessionariaController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS));
+                linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(id, null)).withSelfRel(),
+                linkTo(methodOn(ConcessionariaController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS));
     }
 
     @PostMapping
@@ -88,8 +155,8 @@ public class ConcessionariaController {
             @Parameter(description = "Dados da concessionária a ser criada") @Valid @RequestBody ConcessionariaCreateDTO concessionariaCreateDTO) {
         ConcessionariaDTO concessionariaDTO = concessionariaService.criarConcessionaria(concessionariaCreateDTO);
         return EntityModel.of(concessionariaDTO,
-                linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(concessionariaDTO.getConcessionariaId())).withSelfRel(),
-                linkTo(methodOn(ConcessionariaController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS));
+                linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(concessionariaDTO.getConcessionariaId(), null)).withSelfRel(),
+                linkTo(methodOn(ConcessionariaController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS));
     }
 
     @PutMapping("/{id}")
@@ -105,8 +172,8 @@ public class ConcessionariaController {
             @Parameter(description = "Dados atualizados da concessionária") @Valid @RequestBody ConcessionariaCreateDTO concessionariaCreateDTO) {
         ConcessionariaDTO concessionariaDTO = concessionariaService.atualizarConcessionaria(id, concessionariaCreateDTO);
         return EntityModel.of(concessionariaDTO,
-                linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(id)).withSelfRel(),
-                linkTo(methodOn(ConcessionariaController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS));
+                linkTo(methodOn(ConcessionariaController.class).obterConcessionaria(id, null)).withSelfRel(),
+                linkTo(methodOn(ConcessionariaController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS));
     }
 
     @DeleteMapping("/{id}")
@@ -2,15 +2,24 @@ package com.java.EcoDrive.controller;
 
 import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaCreateDTO;
 import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaProximaDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
 import com.java.EcoDrive.service.EstacaoRecargaService;
+import com.java.EcoDrive.service.ImportacaoEmLote;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +28,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
@@ -42,38 +53,123 @@ public class EstacaoRecargaController {
     @Operation(summary = "Listar todas as estações de recarga", description = "Retorna uma lista paginada de todas as estações de recarga")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de estações de recarga retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<EstacaoRecargaDTO>> listarTodos(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, estacaoRecargaService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<EstacaoRecargaDTO> estacoesPaginadas = estacaoRecargaService.listarTodosPaginado(pageable);
 
         List<EntityModel<EstacaoRecargaDTO>> estacoes = estacoesPaginadas.getContent().stream()
                 .map(estacao -> EntityModel.of(estacao,
-                        linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacao.getEstacaoId())).withSelfRel()))
+                        linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacao.getEstacaoId(), null)).withSelfRel()))
                 .toList(); // Substituído Stream.collect(Collectors.toList()) por toList()
 
         return CollectionModel.of(estacoes,
-                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(page, size)).withSelfRel());
+                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todas as estações de recarga por cursor", description = "Retorna todas as estações de recarga em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<EstacaoRecargaDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, estacaoRecargaService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<EstacaoRecargaDTO> pagina = estacaoRecargaService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<EstacaoRecargaDTO>> estacoes = pagina.itens().stream()
+                .map(estacao -> EntityModel.of(estacao,
+                        linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacao.getEstacaoId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<EstacaoRecargaDTO>> colecao = CollectionModel.of(estacoes,
+                linkTo(methodOn(EstacaoRecargaController.class).listarTodosPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(EstacaoRecargaController.class).listarTodosPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar estações de recarga por IDs", description = "Retorna numa única consulta as estações de recarga dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<EstacaoRecargaDTO>> listarPorIds(
+            @Parameter(description = "IDs das estações de recarga separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<EstacaoRecargaDTO> resultado = estacaoRecargaService.listarPorIds(ids);
+
+        List<EntityModel<EstacaoRecargaDTO>> estacoes = resultado.itens().stream()
+                .map(estacao -> EntityModel.of(estacao,
+                        linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacao.getEstacaoId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<EstacaoRecargaDTO>> colecao = new ColecaoPorIds<>(estacoes, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(EstacaoRecargaController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
+    }
+
+    @GetMapping("/proximas")
+    @Operation(summary = "Listar estações de recarga próximas", description = "Retorna as k estações mais próximas do ponto informado ou, se apenas o raio for informado, todas as estações dentro dele, ordenadas pela distância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de estações próximas retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<EstacaoRecargaProximaDTO>> listarProximas(
+            @Parameter(description = "Latitude do ponto de referência") @RequestParam Double lat,
+            @Parameter(description = "Longitude do ponto de referência") @RequestParam Double lon,
+            @Parameter(description = "Quantidade máxima de estações retornadas (até 1000)") @RequestParam(required = false) Integer k,
+            @Parameter(description = "Raio máximo de busca em quilômetros (até 20000)") @RequestParam(required = false) Double raioKm
+    ) {
+        List<EntityModel<EstacaoRecargaProximaDTO>> estacoes = estacaoRecargaService.listarProximas(lat, lon, k, raioKm).stream()
+                .map(proxima -> EntityModel.of(proxima,
+                        linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(proxima.getEstacao().getEstacaoId(), null)).withSelfRel()))
+                .toList();
+
+        return CollectionModel.of(estacoes,
+                linkTo(methodOn(EstacaoRecargaController.class).listarProximas(lat, lon, k, raioKm)).withSelfRel());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obter uma estação de recarga específica", description = "Retorna os detalhes de uma estação de recarga fornecendo o ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estação de recarga encontrada"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Estação de recarga não encontrada"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<EstacaoRecargaDTO> obterEstacaoRecarga(
-            @Parameter(description = "ID da estação de recarga a ser obtida") @PathVariable Long id) {
+            @Parameter(description = "ID da estação de recarga a ser obtida") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (estacaoRecargaService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         EstacaoRecargaDTO estacaoDTO = estacaoRecargaService.obterPorId(id);
         return EntityModel.of(estacaoDTO,
-                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(id)).withSelfRel(),
-                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(id, null)).withSelfRel(),
+                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @PostMapping
@@ -88,8 +184,21 @@ public class EstacaoRecargaController {
             @Parameter(description = "Dados da estação de recarga a ser criada") @Valid @RequestBody EstacaoRecargaCreateDTO estacaoCreateDTO) {
         EstacaoRecargaDTO estacaoDTO = estacaoRecargaService.criarEstacaoRecarga(estacaoCreateDTO);
         return EntityModel.of(estacaoDTO,
-                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacaoDTO.getEstacaoId())).withSelfRel(),
-                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacaoDTO.getEstacaoId(), null)).withSelfRel(),
+                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+    }
+
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar estações de recarga em lote", description = "Importa as estações de recarga de um arquivo CSV (com cabeçalho) ou JSON (array ou NDJSON) com os campos do cadastro; as linhas inválidas são relatadas sem interromper a importação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo processado; as linhas rejeitadas são listadas em erros"),
+            @ApiResponse(responseCode = "400", description = "Formato de arquivo não suportado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResultadoImportacaoDTO importarEstacoes(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream entrada) throws IOException {
+        return estacaoRecargaService.importarEstacoes(entrada, ImportacaoEmLote.Formato.doContentType(contentType));
     }
 
     @PutMapping("/{id}")
@@ -105,8 +214,8 @@ public class EstacaoRecargaController {
             @Parameter(description = "Dados atualizados da estação de recarga") @Valid @RequestBody EstacaoRecargaCreateDTO estacaoCreateDTO) {
         EstacaoRecargaDTO estacaoDTO = estacaoRecargaService.atualizarEstacaoRecarga(id, estacaoCreateDTO);
         return EntityModel.of(estacaoDTO,
-                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(id)).withSelfRel(),
-                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(id, null)).withSelfRel(),
+                linkTo(methodOn(EstacaoRecargaController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @DeleteMapping("/{id}")
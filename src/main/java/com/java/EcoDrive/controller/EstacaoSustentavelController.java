@@ -4,9 +4,13 @@ import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelCreateDTO;
 import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO;
 import org.springframework.http.ResponseEntity;
 import com.java.EcoDrive.service.EstacaoSustentavelService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -40,38 +44,101 @@ public class EstacaoSustentavelController {
     @Operation(summary = "Listar todas as estações sustentáveis", description = "Retorna uma lista paginada de todas as estações sustentáveis")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de estações sustentáveis retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<EstacaoSustentavelDTO>> listarTodos(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, estacaoSustentavelService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<EstacaoSustentavelDTO> estacoesPaginadas = estacaoSustentavelService.listarTodosPaginado(pageable);
 
         List<EntityModel<EstacaoSustentavelDTO>> estacoes = estacoesPaginadas.getContent().stream()
                 .map(estacao -> EntityModel.of(estacao,
-                        linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(estacao.getEstacaoId())).withSelfRel()))
+                        linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(estacao.getEstacaoId(), null)).withSelfRel()))
                 .toList(); // Substituído por Stream.toList()
 
         return CollectionModel.of(estacoes,
-                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(page, size)).withSelfRel());
+                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todas as estações sustentáveis por cursor", description = "Retorna todas as estações sustentáveis em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<EstacaoSustentavelDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, estacaoSustentavelService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<EstacaoSustentavelDTO> pagina = estacaoSustentavelService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<EstacaoSustentavelDTO>> estacoes = pagina.itens().stream()
+                .map(estacao -> EntityModel.of(estacao,
+                        linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(estacao.getEstacaoId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<EstacaoSustentavelDTO>> colecao = CollectionModel.of(estacoes,
+                linkTo(methodOn(EstacaoSustentavelController.class).listarTodosPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(EstacaoSustentavelController.class).listarTodosPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar estações sustentáveis por IDs", description = "Retorna numa única consulta as estações sustentáveis dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<EstacaoSustentavelDTO>> listarPorIds(
+            @Parameter(description = "IDs das estações sustentáveis separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<EstacaoSustentavelDTO> resultado = estacaoSustentavelService.listarPorIds(ids);
+
+        List<EntityModel<EstacaoSustentavelDTO>> estacoes = resultado.itens().stream()
+                .map(estacao -> EntityModel.of(estacao,
+                        linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(estacao.getEstacaoId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<EstacaoSustentavelDTO>> colecao = new ColecaoPorIds<>(estacoes, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(EstacaoSustentavelController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obter uma estação sustentável específica", description = "Retorna os detalhes de uma estação sustentável fornecendo o ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estação sustentável encontrada"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Estação sustentável não encontrada"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<EstacaoSustentavelDTO> obterPorId(
-            @Parameter(description = "ID da estação sustentável a ser obtida") @PathVariable Long id) {
+            @Parameter(description = "ID da estação sustentável a ser obtida") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (estacaoSustentavelService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         EstacaoSustentavelDTO estacaoDTO = estacaoSustentavelService.obterPorId(id);
         return EntityModel.of(estacaoDTO,
-                linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(id)).withSelfRel(),
-                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(id, null)).withSelfRel(),
+                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @PostMapping
@@ -79,14 +146,16 @@ public class EstacaoSustentavelController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Estação sustentável criada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "404", description = "Estação de recarga ou fonte de energia não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Estação de recarga já cadastrada como sustentável"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<EstacaoSustentavelDTO> criarEstacaoSustentavel(
             @Parameter(description = "Dados da estação sustentável a ser criada") @Valid @RequestBody EstacaoSustentavelCreateDTO estacaoCreateDTO) {
         EstacaoSustentavelDTO estacaoDTO = estacaoSustentavelService.criarEstacaoSustentavel(estacaoCreateDTO);
         return EntityModel.of(estacaoDTO,
-                linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(estacaoDTO.getEstacaoId())).withSelfRel(),
-                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(estacaoDTO.getEstacaoId(), null)).withSelfRel(),
+                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @PutMapping("/{id}")
@@ -102,8 +171,8 @@ public class EstacaoSustentavelController {
             @Parameter(description = "Dados atualizados da estação sustentável") @Valid @RequestBody EstacaoSustentavelCreateDTO estacaoCreateDTO) {
         EstacaoSustentavelDTO estacaoDTO = estacaoSustentavelService.atualizarEstacaoSustentavel(id, estacaoCreateDTO);
         return EntityModel.of(estacaoDTO,
-                linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(id)).withSelfRel(),
-                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
+                linkTo(methodOn(EstacaoSustentavelController.class).obterPorId(id, null)).withSelfRel(),
+                linkTo(methodOn(EstacaoSustentavelController.class).listarTodos(0, 10, null)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
     @DeleteMapping("/{id}")
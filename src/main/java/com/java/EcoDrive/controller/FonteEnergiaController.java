@@ -4,9 +4,13 @@ import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaCreateDTO;
 import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaDTO;
 import org.springframework.http.ResponseEntity;
 import com.java.EcoDrive.service.FonteEnergiaService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -40,38 +44,101 @@ public class FonteEnergiaController {
     @Operation(summary = "Listar todas as fontes de energia", description = "Retorna uma lista paginada de todas as fontes de energia disponíveis")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de fontes de energia retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<FonteEnergiaDTO>> listarTodas(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, fonteEnergiaService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<FonteEnergiaDTO> fontesPaginadas = fonteEnergiaService.listarTodasPaginado(pageable);
 
         List<EntityModel<FonteEnergiaDTO>> fontes = fontesPaginadas.getContent().stream()
                 .map(fonte -> EntityModel.of(fonte,
-                        linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(fonte.getFonteId())).withSelfRel()))
+                        linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(fonte.getFonteId(), null)).withSelfRel()))
                 .toList(); // Substituído por Stream.toList()
 
         return CollectionModel.of(fontes,
-                linkTo(methodOn(FonteEnergiaController.class).listarTodas(page, size)).withSelfRel());
+                linkTo(methodOn(FonteEnergiaController.class).listarTodas(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todas as fontes de energia por cursor", description = "Retorna todas as fontes de energia em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<FonteEnergiaDTO>> listarTodasPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, fonteEnergiaService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<FonteEnergiaDTO> pagina = fonteEnergiaService.listarTodasPorCursor(after, limit);
+
+        List<EntityModel<FonteEnergiaDTO>> fontes = pagina.itens().stream()
+                .map(fonte -> EntityModel.of(fonte,
+                        linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(fonte.getFonteId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<FonteEnergiaDTO>> colecao = CollectionModel.of(fontes,
+                linkTo(methodOn(FonteEnergiaController.class).listarTodasPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(FonteEnergiaController.class).listarTodasPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar fontes de energia por IDs", description = "Retorna numa única consulta as fontes de energia dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<FonteEnergiaDTO>> listarPorIds(
+            @Parameter(description = "IDs das fontes de energia separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<FonteEnergiaDTO> resultado = fonteEnergiaService.listarPorIds(ids);
+
+        List<EntityModel<FonteEnergiaDTO>> fontes = resultado.itens().stream()
+                .map(fonte -> EntityModel.of(fonte,
+                        linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(fonte.getFonteId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<FonteEnergiaDTO>> colecao = new ColecaoPorIds<>(fontes, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(FonteEnergiaController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obter uma fonte de energia específica", description = "Retorna os detalhes de uma fonte de energia pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Fonte de energia encontrada"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Fonte de energia não encontrada"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<FonteEnergiaDTO> obterFonteEnergia(
-            @Parameter(description = "ID da fonte de energia a ser obtida") @PathVariable Long id) {
+            @Parameter(description = "ID da fonte de energia a ser obtida") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (fonteEnergiaService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         FonteEnergiaDTO fonteDTO = fonteEnergiaService.obterPorId(id);
         return EntityModel.of(fonteDTO,
-                linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(id)).withSelfRel(),
-                linkTo(methodOn(FonteEnergiaController.class).listarTodas(0, 10)).withRel(LISTAR_TODAS)); // Substituído literal por constante
+                linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(id, null)).withSelfRel(),
+                linkTo(methodOn(FonteEnergiaController.class).listarTodas(0, 10, null)).withRel(LISTAR_TODAS)); // Substituído literal por constante
     }
 
     @PostMapping
@@ -85,8 +152,8 @@ public class FonteEnergiaController {
             @Parameter(description = "Dados da fonte de energia a ser criada") @Valid @RequestBody FonteEnergiaCreateDTO fonteCreateDTO) {
         FonteEnergiaDTO fonteDTO = fonteEnergiaService.criarFonteEnergia(fonteCreateDTO);
         return EntityModel.of(fonteDTO,
-                linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(fonteDTO.getFonteId())).withSelfRel(),
-                linkTo(methodOn(FonteEnergiaController.class).listarTodas(0, 10)).withRel(LISTAR_TODAS)); // Substituído literal por constante
+                linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(fonteDTO.getFonteId(), null)).withSelfRel(),
+                linkTo(methodOn(FonteEnergiaController.class).listarTodas(0, 10, null)).withRel(LISTAR_TODAS)); // Substituído literal por constante
     }
 
     @PutMapping("/{id}")
@@ -102,8 +169,8 @@ public class FonteEnergiaController {
             @Parameter(description = "Dados atualizados da fonte de energia") @Valid @RequestBody FonteEnergiaCreateDTO fonteCreateDTO) {
         FonteEnergiaDTO fonteDTO = fonteEnergiaService.atualizarFonteEnergia(id, fonteCreateDTO);
         return EntityModel.of(fonteDTO,
-                linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(id)).withSelfRel(),
-                linkTo(methodOn(FonteEnergiaController.class).listarTodas(0, 10)).withRel(LISTAR_TODAS)); // Substituído literal por constante
+                linkTo(methodOn(FonteEnergiaController.class).obterFonteEnergia(id, null)).withSelfRel(),
+                linkTo(methodOn(FonteEnergiaController.class).listarTodas(0, 10, null)).withRel(LISTAR_TODAS)); // Substituído literal por constante
     }
 
     @DeleteMapping("/{id}")
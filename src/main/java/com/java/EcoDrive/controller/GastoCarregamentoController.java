@@ -2,23 +2,38 @@ package com.java.EcoDrive.controller;
 
 import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoCreateDTO;
 import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoDTO;
+import com.java.EcoDrive.dto.GastoCarregamento.ResultadoRetarifacaoDTO;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import com.java.EcoDrive.service.GastoCarregamentoService;
+import com.java.EcoDrive.service.ExportacaoCarregamentos;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -52,24 +67,103 @@ public class GastoCarregamentoController {
 
         List<EntityModel<GastoCarregamentoDTO>> gastos = gastosPaginados.getContent().stream()
                 .map(gasto -> EntityModel.of(gasto,
-                        linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(gasto.getGastoId())).withSelfRel()))
+                        linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(gasto.getGastoId(), null)).withSelfRel()))
                 .toList(); // Substituído por Stream.toList()
 
         return CollectionModel.of(gastos, linkTo(methodOn(GastoCarregamentoController.class).listarTodos(page, size)).withSelfRel());
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todos os gastos de carregamento por cursor", description = "Retorna todos os gastos de carregamento em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<GastoCarregamentoDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit
+    ) {
+        PaginaCursor<GastoCarregamentoDTO> pagina = gastoCarregamentoService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<GastoCarregamentoDTO>> gastos = pagina.itens().stream()
+                .map(gasto -> EntityModel.of(gasto,
+                        linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(gasto.getGastoId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<GastoCarregamentoDTO>> colecao = CollectionModel.of(gastos,
+                linkTo(methodOn(GastoCarregamentoController.class).listarTodosPorCursor(after, limit)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(GastoCarregamentoController.class).listarTodosPorCursor(pagina.proximoCursor(), limit)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar gastos de carregamento por IDs", description = "Retorna numa única consulta os gastos de carregamento dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<GastoCarregamentoDTO>> listarPorIds(
+            @Parameter(description = "IDs dos gastos de carregamento separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<GastoCarregamentoDTO> resultado = gastoCarregamentoService.listarPorIds(ids);
+
+        List<EntityModel<GastoCarregamentoDTO>> gastos = resultado.itens().stream()
+                .map(gasto -> EntityModel.of(gasto,
+                        linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(gasto.getGastoId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<GastoCarregamentoDTO>> colecao = new ColecaoPorIds<>(gastos, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(GastoCarregamentoController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar todos os gastos de carregamento", description = "Transmite todos os gastos de carregamento linha a linha em NDJSON ou CSV, opcionalmente compactados com gzip, sem paginação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void exportar(
+            @Parameter(description = "Formato da exportação: ndjson ou csv") @RequestParam(defaultValue = "ndjson") String formato,
+            @Parameter(description = "Compactar a resposta com gzip") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        ExportacaoCarregamentos.Formato formatoExportacao = ExportacaoCarregamentos.Formato.de(formato);
+        response.setContentType(formatoExportacao.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(ExportacaoCarregamentos.Exportacao.GASTOS.getNomeArquivo(formatoExportacao)).build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // As linhas vão direto para a resposta, sem montar a lista em memória
+        try (OutputStream saida = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream()) {
+            gastoCarregamentoService.exportar(formatoExportacao, saida);
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter um gasto de carregamento específico", description = "Retorna os detalhes de um gasto de carregamento pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Gasto de carregamento encontrado"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Gasto de carregamento não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<GastoCarregamentoDTO> obterGastoCarregamento(
-            @Parameter(description = "ID do gasto de carregamento a ser obtido") @PathVariable Long id) {
+            @Parameter(description = "ID do gasto de carregamento a ser obtido") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (gastoCarregamentoService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         GastoCarregamentoDTO gastoDTO = gastoCarregamentoService.obterPorId(id);
         return EntityModel.of(gastoDTO,
-                linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(id)).withSelfRel(),
+                linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(id, null)).withSelfRel(),
                 linkTo(methodOn(GastoCarregamentoController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
@@ -78,13 +172,14 @@ public class GastoCarregamentoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Gasto de carregamento criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "409", description = "O histórico de carregamento já possui gasto"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<GastoCarregamentoDTO> criarGastoCarregamento(
             @Parameter(description = "Dados do gasto de carregamento a ser criado") @Valid @RequestBody GastoCarregamentoCreateDTO gastoCreateDTO) {
         GastoCarregamentoDTO gastoDTO = gastoCarregamentoService.criarGastoCarregamento(gastoCreateDTO);
         return EntityModel.of(gastoDTO,
-                linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(gastoDTO.getGastoId())).withSelfRel(),
+                linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(gastoDTO.getGastoId(), null)).withSelfRel(),
                 linkTo(methodOn(GastoCarregamentoController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
@@ -101,10 +196,23 @@ public class GastoCarregamentoController {
             @Parameter(description = "Dados atualizados do gasto de carregamento") @Valid @RequestBody GastoCarregamentoCreateDTO gastoCreateDTO) {
         GastoCarregamentoDTO gastoDTO = gastoCarregamentoService.atualizarGastoCarregamento(id, gastoCreateDTO);
         return EntityModel.of(gastoDTO,
-                linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(id)).withSelfRel(),
+                linkTo(methodOn(GastoCarregamentoController.class).obterGastoCarregamento(id, null)).withSelfRel(),
                 linkTo(methodOn(GastoCarregamentoController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
+    @PostMapping("/retarifacao")
+    @Operation(summary = "Retarifar os gastos de um período", description = "Recalcula, com as tarifas atuais das estações, os custos dos carregamentos iniciados nos dias do intervalo, em blocos paralelos, e cria os gastos que faltam")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Gastos recalculados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Intervalo inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResultadoRetarifacaoDTO retarifarGastos(
+            @Parameter(description = "Primeiro dia a recalcular (yyyy-MM-ddTHH:mm:ss)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Último dia a recalcular (yyyy-MM-ddTHH:mm:ss)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        return gastoCarregamentoService.retarifar(inicio, fim);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar um gasto de carregamento", description = "Remove um gasto de carregamento pelo seu ID")
     @ApiResponses(value = {
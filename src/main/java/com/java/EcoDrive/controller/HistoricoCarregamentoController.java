@@ -2,11 +2,21 @@ package com.java.EcoDrive.controller;
 
 import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoCreateDTO;
 import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import com.java.EcoDrive.service.HistoricoCarregamentoService;
+import com.java.EcoDrive.service.ImportacaoEmLote;
+import com.java.EcoDrive.service.ExportacaoCarregamentos;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.http.MediaType;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,7 +27,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -51,25 +67,104 @@ public class HistoricoCarregamentoController {
 
         List<EntityModel<HistoricoCarregamentoDTO>> historicos = historicosPaginados.getContent().stream()
                 .map(historico -> EntityModel.of(historico,
-                        linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(historico.getHistoricoId())).withSelfRel()))
+                        linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(historico.getHistoricoId(), null)).withSelfRel()))
                 .toList(); // Substituído Stream.collect(Collectors.toList()) por Stream.toList()
 
         return CollectionModel.of(historicos,
                 linkTo(methodOn(HistoricoCarregamentoController.class).listarTodos(page, size)).withSelfRel());
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todos os históricos de carregamento por cursor", description = "Retorna todos os históricos de carregamento em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<HistoricoCarregamentoDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit
+    ) {
+        PaginaCursor<HistoricoCarregamentoDTO> pagina = historicoCarregamentoService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<HistoricoCarregamentoDTO>> historicos = pagina.itens().stream()
+                .map(historico -> EntityModel.of(historico,
+                        linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(historico.getHistoricoId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<HistoricoCarregamentoDTO>> colecao = CollectionModel.of(historicos,
+                linkTo(methodOn(HistoricoCarregamentoController.class).listarTodosPorCursor(after, limit)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(HistoricoCarregamentoController.class).listarTodosPorCursor(pagina.proximoCursor(), limit)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar históricos de carregamento por IDs", description = "Retorna numa única consulta os históricos de carregamento dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<HistoricoCarregamentoDTO>> listarPorIds(
+            @Parameter(description = "IDs dos históricos de carregamento separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<HistoricoCarregamentoDTO> resultado = historicoCarregamentoService.listarPorIds(ids);
+
+        List<EntityModel<HistoricoCarregamentoDTO>> historicos = resultado.itens().stream()
+                .map(historico -> EntityModel.of(historico,
+                        linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(historico.getHistoricoId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<HistoricoCarregamentoDTO>> colecao = new ColecaoPorIds<>(historicos, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(HistoricoCarregamentoController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar todos os históricos de carregamento", description = "Transmite todos os históricos de carregamento linha a linha em NDJSON ou CSV, opcionalmente compactados com gzip, sem paginação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void exportar(
+            @Parameter(description = "Formato da exportação: ndjson ou csv") @RequestParam(defaultValue = "ndjson") String formato,
+            @Parameter(description = "Compactar a resposta com gzip") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        ExportacaoCarregamentos.Formato formatoExportacao = ExportacaoCarregamentos.Formato.de(formato);
+        response.setContentType(formatoExportacao.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(ExportacaoCarregamentos.Exportacao.HISTORICOS.getNomeArquivo(formatoExportacao)).build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // As linhas vão direto para a resposta, sem montar a lista em memória
+        try (OutputStream saida = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream()) {
+            historicoCarregamentoService.exportar(formatoExportacao, saida);
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter um histórico de carregamento específico", description = "Retorna os detalhes de um histórico de carregamento pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Histórico de carregamento encontrado"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Histórico de carregamento não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<HistoricoCarregamentoDTO> obterHistorico(
-            @Parameter(description = "ID do histórico de carregamento a ser obtido") @PathVariable Long id) {
+            @Parameter(description = "ID do histórico de carregamento a ser obtido") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (historicoCarregamentoService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         HistoricoCarregamentoDTO historicoDTO = historicoCarregamentoService.obterPorId(id);
         return EntityModel.of(historicoDTO,
-                linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(id)).withSelfRel(),
+                linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(id, null)).withSelfRel(),
                 linkTo(methodOn(HistoricoCarregamentoController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
@@ -84,10 +179,23 @@ public class HistoricoCarregamentoController {
             @Parameter(description = "Dados do histórico de carregamento a ser criado") @RequestBody HistoricoCarregamentoCreateDTO historicoCreateDTO) {
         HistoricoCarregamentoDTO historicoDTO = historicoCarregamentoService.criarHistorico(historicoCreateDTO);
         return EntityModel.of(historicoDTO,
-                linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(historicoDTO.getHistoricoId())).withSelfRel(),
+                linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(historicoDTO.getHistoricoId(), null)).withSelfRel(),
                 linkTo(methodOn(HistoricoCarregamentoController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar históricos de carregamento em lote", description = "Importa os históricos de carregamento de um arquivo CSV (com cabeçalho) ou JSON (array ou NDJSON) com os campos do cadastro; as linhas inválidas são relatadas sem interromper a importação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo processado; as linhas rejeitadas são listadas em erros"),
+            @ApiResponse(responseCode = "400", description = "Formato de arquivo não suportado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResultadoImportacaoDTO importarHistoricos(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream entrada) throws IOException {
+        return historicoCarregamentoService.importarHistoricos(entrada, ImportacaoEmLote.Formato.doContentType(contentType));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar um histórico de carregamento", description = "Atualiza as informações de um histórico de carregamento existente pelo seu ID")
     @ApiResponses(value = {
@@ -101,7 +209,7 @@ public class HistoricoCarregamentoController {
             @Parameter(description = "Dados atualizados do histórico de carregamento") @RequestBody HistoricoCarregamentoCreateDTO historicoCreateDTO) {
         HistoricoCarregamentoDTO historicoDTO = historicoCarregamentoService.atualizarHistorico(id, historicoCreateDTO);
         return EntityModel.of(historicoDTO,
-                linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(id)).withSelfRel(),
+                linkTo(methodOn(HistoricoCarregamentoController.class).obterHistorico(id, null)).withSelfRel(),
                 linkTo(methodOn(HistoricoCarregamentoController.class).listarTodos(0, 10)).withRel(LISTAR_TODOS)); // Substituído literal por constante
     }
 
@@ -0,0 +1,89 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.service.ComandosSqlDaRequisicao;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comandos SQL e tempo de JDBC de cada requisição, contados pelo inspetor de comandos do
+ * Hibernate: registrados nas métricas ecodrive.requisicao.sql.comandos e
+ * ecodrive.requisicao.sql.tempo por método e padrão de URI, e em log quando passam dos limites
+ * configurados, junto com o comando mais repetido (o suspeito de N+1).
+ */
+@Component
+public class MonitorComandosSql extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorComandosSql.class);
+
+    private static final String URI_NAO_MAPEADA = "nao-mapeada";
+
+    private final MeterRegistry registro;
+    private final int limiteComandos;
+    private final long limiteTempoJdbcMs;
+
+    @Autowired
+    public MonitorComandosSql(MeterRegistry registro,
+                              @Value("${ecodrive.sql.limite-comandos:20}") int limiteComandos,
+                              @Value("${ecodrive.sql.limite-tempo-jdbc-ms:500}") long limiteTempoJdbcMs) {
+        if (limiteComandos <= 0 || limiteTempoJdbcMs <= 0) {
+            throw new IllegalArgumentException("Os limites de comandos SQL e de tempo de JDBC devem ser maiores que zero.");
+        }
+        this.registro = registro;
+        this.limiteComandos = limiteComandos;
+        this.limiteTempoJdbcMs = limiteTempoJdbcMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ComandosSqlDaRequisicao.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registrar(request, ComandosSqlDaRequisicao.encerrar());
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ComandosSqlDaRequisicao contagem) {
+        if (contagem == null || contagem.getComandos() == 0) {
+            return;
+        }
+        // O padrão da rota (/reservas/{id}) mantém a cardinalidade das tags baixa
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : URI_NAO_MAPEADA;
+        DistributionSummary.builder("ecodrive.requisicao.sql.comandos")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registro)
+                .record(contagem.getComandos());
+        Timer.builder("ecodrive.requisicao.sql.tempo")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registro)
+                .record(contagem.getNanosJdbc(), TimeUnit.NANOSECONDS);
+
+        long tempoJdbcMs = TimeUnit.NANOSECONDS.toMillis(contagem.getNanosJdbc());
+        if (contagem.getComandos() > limiteComandos || tempoJdbcMs > limiteTempoJdbcMs) {
+            Map.Entry<String, Integer> maisRepetido = contagem.getMaisRepetido();
+            logger.warn("{} {} executou {} comandos SQL em {} ms de JDBC (limites: {} comandos, {} ms); mais repetido ({}x): {}",
+                    request.getMethod(), request.getRequestURI(), contagem.getComandos(), tempoJdbcMs,
+                    limiteComandos, limiteTempoJdbcMs, maisRepetido.getValue(), maisRepetido.getKey());
+        }
+    }
+}
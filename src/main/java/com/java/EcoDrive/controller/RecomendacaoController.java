@@ -0,0 +1,59 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.dto.Recomendacao.RecomendacaoEstacaoDTO;
+import com.java.EcoDrive.service.RecomendacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+@RestController
+@RequestMapping(value = "/recomendacoes", produces = "application/json")
+@Tag(name = "Recomendações", description = "Recomendação de Estações de Recarga")
+public class RecomendacaoController {
+
+    private final RecomendacaoService recomendacaoService;
+
+    @Autowired
+    public RecomendacaoController(RecomendacaoService recomendacaoService) {
+        this.recomendacaoService = recomendacaoService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Recomendar estações de recarga", description = "Retorna as estações mais indicadas para carregar agora a partir do ponto informado, pontuadas pelo preço por kWh vigente, pela distância, pela redução de carbono e pelo status atual; estações em manutenção ou defeituosas não são recomendadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recomendações retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<RecomendacaoEstacaoDTO>> recomendar(
+            @Parameter(description = "Latitude do ponto de referência") @RequestParam Double lat,
+            @Parameter(description = "Longitude do ponto de referência") @RequestParam Double lon,
+            @Parameter(description = "Quantidade de estações recomendadas") @RequestParam(required = false) Integer n,
+            @Parameter(description = "Raio máximo de busca em quilômetros") @RequestParam(required = false) Double raioKm,
+            @Parameter(description = "Tipo de carregador desejado") @RequestParam(required = false) String tipoCarregador,
+            @Parameter(description = "Peso do preço por kWh vigente") @RequestParam(required = false) Double pesoPreco,
+            @Parameter(description = "Peso da distância") @RequestParam(required = false) Double pesoDistancia,
+            @Parameter(description = "Peso da redução de carbono") @RequestParam(required = false) Double pesoSustentabilidade,
+            @Parameter(description = "Peso do status atual conhecido") @RequestParam(required = false) Double pesoDisponibilidade
+    ) {
+        List<EntityModel<RecomendacaoEstacaoDTO>> recomendacoes = recomendacaoService.recomendar(lat, lon, n, raioKm, tipoCarregador,
+                        pesoPreco, pesoDistancia, pesoSustentabilidade, pesoDisponibilidade).stream()
+                .map(recomendacao -> EntityModel.of(recomendacao,
+                        linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(recomendacao.getEstacao().getEstacaoId(), null)).withRel("estacao")))
+                .toList();
+
+        return CollectionModel.of(recomendacoes,
+                linkTo(methodOn(RecomendacaoController.class).recomendar(lat, lon, n, raioKm, tipoCarregador,
+                        pesoPreco, pesoDistancia, pesoSustentabilidade, pesoDisponibilidade)).withSelfRel());
+    }
+}
@@ -0,0 +1,26 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+
+/**
+ * Requisições condicionais dos GETs: compara a versão do recurso, lida sem carregar as
+ * entidades, com If-None-Match/If-Modified-Since. Quando nada mudou a resposta já sai como 304
+ * e o controller retorna null, sem consultar o serviço nem serializar o corpo; caso contrário
+ * o ETag (e o Last-Modified, se houver) acompanham a resposta 200.
+ */
+final class RequisicaoCondicional {
+
+    private RequisicaoCondicional() {
+    }
+
+    static boolean naoModificado(WebRequest requisicao, VersaoRecursoDTO versao) {
+        if (versao.getUltimaModificacao() == null) {
+            return requisicao.checkNotModified(versao.getEtag());
+        }
+        return requisicao.checkNotModified(versao.getEtag(),
+                versao.getUltimaModificacao().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -1,16 +1,22 @@
 package com.java.EcoDrive.controller;
 
+import com.java.EcoDrive.dto.Reserva.HorarioLivreDTO;
 import com.java.EcoDrive.dto.Reserva.ReservaCreateDTO;
 import com.java.EcoDrive.dto.Reserva.ReservaDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import com.java.EcoDrive.service.ReservaService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,6 +24,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -53,25 +60,96 @@ public class ReservaController {
         // Substituição de .collect(Collectors.toList()) por .toList()
         List<EntityModel<ReservaDTO>> reservas = reservasPaginadas.getContent().stream()
                 .map(reservaDTO -> EntityModel.of(reservaDTO,
-                        linkTo(methodOn(ReservaController.class).obterReserva(reservaDTO.getReservaId())).withSelfRel()))
+                        linkTo(methodOn(ReservaController.class).obterReserva(reservaDTO.getReservaId(), null)).withSelfRel()))
                 .toList();
 
         return CollectionModel.of(reservas, linkTo(methodOn(ReservaController.class).listarTodas(page, size)).withSelfRel());
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todas as reservas por cursor", description = "Retorna todas as reservas em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<ReservaDTO>> listarTodasPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit
+    ) {
+        PaginaCursor<ReservaDTO> pagina = reservaService.listarTodasPorCursor(after, limit);
+
+        List<EntityModel<ReservaDTO>> reservas = pagina.itens().stream()
+                .map(reservaDTO -> EntityModel.of(reservaDTO,
+                        linkTo(methodOn(ReservaController.class).obterReserva(reservaDTO.getReservaId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<ReservaDTO>> colecao = CollectionModel.of(reservas,
+                linkTo(methodOn(ReservaController.class).listarTodasPorCursor(after, limit)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(ReservaController.class).listarTodasPorCursor(pagina.proximoCursor(), limit)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids", consumes = "*/*")
+    @Operation(summary = "Buscar reservas por IDs", description = "Retorna numa única consulta as reservas dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<ReservaDTO>> listarPorIds(
+            @Parameter(description = "IDs das reservas separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<ReservaDTO> resultado = reservaService.listarPorIds(ids);
+
+        List<EntityModel<ReservaDTO>> reservas = resultado.itens().stream()
+                .map(reservaDTO -> EntityModel.of(reservaDTO,
+                        linkTo(methodOn(ReservaController.class).obterReserva(reservaDTO.getReservaId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<ReservaDTO>> colecao = new ColecaoPorIds<>(reservas, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(ReservaController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
+    }
+
     @GetMapping(value = "/{id}")
     @Operation(summary = "Obter uma reserva específica", description = "Retorna os detalhes de uma reserva pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reserva encontrada"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<ReservaDTO> obterReserva(
-            @Parameter(description = "ID da reserva a ser obtida") @PathVariable Long id) {
+            @Parameter(description = "ID da reserva a ser obtida") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (reservaService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         ReservaDTO reservaDTO = reservaService.obterPorId(id);
 
         return EntityModel.of(reservaDTO,
-                linkTo(methodOn(ReservaController.class).obterReserva(id)).withSelfRel(),
+                linkTo(methodOn(ReservaController.class).obterReserva(id, null)).withSelfRel(),
+                linkTo(methodOn(ReservaController.class).listarTodas(0, 10)).withRel(LISTAR_RESERVAS));
+    }
+
+    @GetMapping(value = "/estacoes/{estacaoId}/horarios-livres", consumes = "*/*")
+    @Operation(summary = "Listar horários livres de uma estação", description = "Retorna os slots ainda não reservados de uma estação de recarga no dia informado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Horários livres retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "404", description = "Estação de recarga não encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<HorarioLivreDTO> listarHorariosLivres(
+            @Parameter(description = "ID da estação de recarga") @PathVariable Long estacaoId,
+            @Parameter(description = "Dia consultado (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        List<HorarioLivreDTO> horarios = reservaService.listarHorariosLivres(estacaoId, data);
+
+        return CollectionModel.of(horarios,
+                linkTo(methodOn(ReservaController.class).listarHorariosLivres(estacaoId, data)).withSelfRel(),
                 linkTo(methodOn(ReservaController.class).listarTodas(0, 10)).withRel(LISTAR_RESERVAS));
     }
 
@@ -87,7 +165,7 @@ public class ReservaController {
         ReservaDTO reservaDTO = reservaService.criarReserva(reservaCreateDTO);
 
         return EntityModel.of(reservaDTO,
-                linkTo(methodOn(ReservaController.class).obterReserva(reservaDTO.getReservaId())).withSelfRel(),
+                linkTo(methodOn(ReservaController.class).obterReserva(reservaDTO.getReservaId(), null)).withSelfRel(),
                 linkTo(methodOn(ReservaController.class).listarTodas(0, 10)).withRel(LISTAR_RESERVAS));
     }
 
@@ -105,7 +183,24 @@ public class ReservaController {
         ReservaDTO reservaDTO = reservaService.atualizarReserva(id, reservaCreateDTO);
 
         return EntityModel.of(reservaDTO,
-                linkTo(methodOn(ReservaController.class).obterReserva(id)).withSelfRel(),
+                linkTo(methodOn(ReservaController.class).obterReserva(id, null)).withSelfRel(),
+                linkTo(methodOn(ReservaController.class).listarTodas(0, 10)).withRel(LISTAR_RESERVAS));
+    }
+
+    @PostMapping(value = "/{id}/confirmar", consumes = "*/*")
+    @Operation(summary = "Confirmar uma reserva", description = "Confirma uma reserva pendente antes que o prazo de confirmação expire")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Reserva expirada ou cancelada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public EntityModel<ReservaDTO> confirmarReserva(
+            @Parameter(description = "ID da reserva a ser confirmada") @PathVariable Long id) {
+        ReservaDTO reservaDTO = reservaService.confirmarReserva(id);
+
+        return EntityModel.of(reservaDTO,
+                linkTo(methodOn(ReservaController.class).obterReserva(id, null)).withSelfRel(),
                 linkTo(methodOn(ReservaController.class).listarTodas(0, 10)).withRel(LISTAR_RESERVAS));
     }
 
@@ -0,0 +1,45 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.dto.Rota.PlanejamentoRotaDTO;
+import com.java.EcoDrive.dto.Rota.PlanoRotaDTO;
+import com.java.EcoDrive.service.RotaService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+@RestController
+@RequestMapping(value = "/rotas", produces = "application/json")
+@Tag(name = "Rotas", description = "Planejamento de Viagens com Paradas de Recarga")
+public class RotaController {
+
+    private final RotaService rotaService;
+
+    @Autowired
+    public RotaController(RotaService rotaService) {
+        this.rotaService = rotaService;
+    }
+
+    @PostMapping("/planejamento")
+    @Operation(summary = "Planejar paradas de recarga", description = "Calcula a sequência de paradas de recarga entre a origem e o destino que minimiza o tempo total "
+            + "da viagem ou o custo das recargas, respeitando a carga mínima da bateria; as recargas usam o preço por kWh vigente no horário estimado de chegada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rota planejada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida ou veículo não elétrico"),
+            @ApiResponse(responseCode = "404", description = "Veículo não encontrado ou nenhuma rota viável"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public EntityModel<PlanoRotaDTO> planejarRota(
+            @Parameter(description = "Veículo, origem, destino e dados da bateria") @Valid @RequestBody PlanejamentoRotaDTO planejamento) {
+        PlanoRotaDTO plano = rotaService.planejar(planejamento);
+        return EntityModel.of(plano,
+                linkTo(methodOn(VeiculoController.class).obterVeiculo(planejamento.getVeiculoId(), null)).withRel("veiculo"));
+    }
+}
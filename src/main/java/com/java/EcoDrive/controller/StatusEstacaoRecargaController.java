@@ -2,13 +2,22 @@ package com.java.EcoDrive.controller;
 
 import com.java.EcoDrive.model.StatusEstacaoRecarga;
 import com.java.EcoDrive.service.StatusEstacaoRecargaService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaCreateDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaLoteDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.ResultadoIngestaoStatusDTO;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -42,39 +51,138 @@ public class StatusEstacaoRecargaController {
     @Operation(summary = "Listar todos os status das estações", description = "Retorna uma lista paginada de todos os status das estações")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de status retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<StatusEstacaoRecarga>> listarTodos(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, statusEstacaoRecargaService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<StatusEstacaoRecarga> statusPaginados = statusEstacaoRecargaService.listarTodosPaginado(pageable);
 
         List<EntityModel<StatusEstacaoRecarga>> statusList = statusPaginados.getContent().stream()
                 .map(status -> EntityModel.of(status,
-                        linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(status.getStatusId())).withSelfRel()))
+                        linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(status.getStatusId(), null)).withSelfRel()))
                 .toList();
 
         return CollectionModel.of(statusList,
-                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodos(page, size)).withSelfRel());
+                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodos(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todos os status das estações por cursor", description = "Retorna todos os status das estações em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<StatusEstacaoRecarga>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, statusEstacaoRecargaService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<StatusEstacaoRecarga> pagina = statusEstacaoRecargaService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<StatusEstacaoRecarga>> statusList = pagina.itens().stream()
+                .map(status -> EntityModel.of(status,
+                        linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(status.getStatusId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<StatusEstacaoRecarga>> colecao = CollectionModel.of(statusList,
+                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodosPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodosPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar status das estações por IDs", description = "Retorna numa única consulta os status das estações dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<StatusEstacaoRecarga>> listarPorIds(
+            @Parameter(description = "IDs dos status das estações separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<StatusEstacaoRecarga> resultado = statusEstacaoRecargaService.listarPorIds(ids);
+
+        List<EntityModel<StatusEstacaoRecarga>> statusList = resultado.itens().stream()
+                .map(status -> EntityModel.of(status,
+                        linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(status.getStatusId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<StatusEstacaoRecarga>> colecao = new ColecaoPorIds<>(statusList, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(StatusEstacaoRecargaController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar status das estações em tempo real", description = "Abre um fluxo Server-Sent Events: o primeiro evento traz o status atual de todas as estações e os seguintes trazem cada alteração")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fluxo de eventos aberto com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public SseEmitter acompanharStatus() {
+        return statusEstacaoRecargaService.acompanharStatus();
+    }
+
+    @GetMapping(value = "/atuais")
+    @Operation(summary = "Listar o status atual das estações", description = "Retorna o status mais recente de cada estação de recarga")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status atuais retornados com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<StatusEstacaoRecargaDTO> listarStatusAtuais() {
+        return CollectionModel.of(statusEstacaoRecargaService.listarStatusAtuais(),
+                linkTo(methodOn(StatusEstacaoRecargaController.class).listarStatusAtuais()).withSelfRel());
+    }
+
+    @GetMapping(value = "/estacao/{estacaoId}/atual")
+    @Operation(summary = "Obter o status atual de uma estação", description = "Retorna o status mais recente de uma estação de recarga")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status atual encontrado"),
+            @ApiResponse(responseCode = "404", description = "Nenhum status registrado para a estação"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public EntityModel<StatusEstacaoRecargaDTO> obterStatusAtual(
+            @Parameter(description = "ID da estação de recarga") @PathVariable Long estacaoId) {
+        StatusEstacaoRecargaDTO status = statusEstacaoRecargaService.obterStatusAtual(estacaoId);
+        return EntityModel.of(status,
+                linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatusAtual(estacaoId)).withSelfRel(),
+                linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(status.getStatusId(), null)).withRel("status"));
     }
 
     @GetMapping(value = "/{id}")
     @Operation(summary = "Obter um status específico", description = "Retorna os detalhes de um status pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Status encontrado"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match/If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Status não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<StatusEstacaoRecarga> obterStatus(
-            @Parameter(description = "ID do status a ser obtido") @PathVariable Long id) {
+            @Parameter(description = "ID do status a ser obtido") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (statusEstacaoRecargaService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         StatusEstacaoRecarga status = statusEstacaoRecargaService.obterPorId(id);
 
         return EntityModel.of(status,
-                linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(id)).withSelfRel(),
-                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodos(0, 10)).withRel("status-estacoes"));
+                linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(id, null)).withSelfRel(),
+                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodos(0, 10, null)).withRel("status-estacoes"));
     }
 
     @PostMapping("/inserir")
@@ -90,6 +198,19 @@ public class StatusEstacaoRecargaController {
         return ResponseEntity.ok(statusEstacao);
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Receber status em lote", description = "Enfileira um lote de status enviados pelos carregadores para gravação assíncrona; status repetidos são descartados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Lote aceito para processamento"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "503", description = "Fila de ingestão cheia, tente novamente após o tempo indicado em Retry-After"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoIngestaoStatusDTO> receberLote(
+            @Parameter(description = "Lote de status a ser gravado") @Valid @RequestBody StatusEstacaoRecargaLoteDTO loteDTO) {
+        return ResponseEntity.accepted().body(statusEstacaoRecargaService.receberLote(loteDTO));
+    }
+
     @PutMapping(value = "/{id}")
     @Operation(summary = "Atualizar um status", description = "Atualiza as informações de um status existente pelo seu ID")
     @ApiResponses(value = {
@@ -104,8 +225,8 @@ public class StatusEstacaoRecargaController {
         StatusEstacaoRecarga status = statusEstacaoRecargaService.atualizarStatus(id, statusAtualizado);
 
         return EntityModel.of(status,
-                linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(id)).withSelfRel(),
-                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodos(0, 10)).withRel("status-estacoes"));
+                linkTo(methodOn(StatusEstacaoRecargaController.class).obterStatus(id, null)).withSelfRel(),
+                linkTo(methodOn(StatusEstacaoRecargaController.class).listarTodos(0, 10, null)).withRel("status-estacoes"));
     }
 
     @DeleteMapping(value = "/{id}")
@@ -0,0 +1,67 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoCreateDTO;
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoDTO;
+import com.java.EcoDrive.service.TarifaEstacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+@RestController
+@RequestMapping("/estacoes-recarga/{estacaoId}/tarifas")
+@Tag(name = "Tarifas das Estações", description = "Tarifa Estacao Controller")
+@Validated
+public class TarifaEstacaoController {
+
+    private final TarifaEstacaoService tarifaEstacaoService;
+
+    @Autowired
+    public TarifaEstacaoController(TarifaEstacaoService tarifaEstacaoService) {
+        this.tarifaEstacaoService = tarifaEstacaoService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar as tarifas de uma estação", description = "Retorna as faixas horárias de preço por kWh da estação de recarga; as horas sem faixa usam o preço da estação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarifas retornadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Estação de recarga não encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<TarifaEstacaoDTO> listarTarifas(
+            @Parameter(description = "ID da estação de recarga") @PathVariable Long estacaoId) {
+        List<TarifaEstacaoDTO> tarifas = tarifaEstacaoService.listarPorEstacao(estacaoId);
+
+        return CollectionModel.of(tarifas,
+                linkTo(methodOn(TarifaEstacaoController.class).listarTarifas(estacaoId)).withSelfRel(),
+                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacaoId, null)).withRel("estacao"));
+    }
+
+    @PutMapping
+    @Operation(summary = "Substituir as tarifas de uma estação", description = "Substitui todas as faixas horárias da estação de recarga; uma lista vazia volta ao preço único. Os gastos já gravados só mudam com a retarifação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarifas substituídas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Faixas inválidas ou sobrepostas"),
+            @ApiResponse(responseCode = "404", description = "Estação de recarga não encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<TarifaEstacaoDTO> substituirTarifas(
+            @Parameter(description = "ID da estação de recarga") @PathVariable Long estacaoId,
+            @Parameter(description = "Faixas horárias da tarifa") @RequestBody List<@Valid TarifaEstacaoCreateDTO> faixas) {
+        List<TarifaEstacaoDTO> tarifas = tarifaEstacaoService.substituirTarifas(estacaoId, faixas);
+
+        return CollectionModel.of(tarifas,
+                linkTo(methodOn(TarifaEstacaoController.class).listarTarifas(estacaoId)).withSelfRel(),
+                linkTo(methodOn(EstacaoRecargaController.class).obterEstacaoRecarga(estacaoId, null)).withRel("estacao"));
+    }
+}
@@ -2,7 +2,11 @@ package com.java.EcoDrive.controller;
 
 import com.java.EcoDrive.dto.Usuario.UsuarioCreateDTO;
 import com.java.EcoDrive.dto.Usuario.UsuarioDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
 import com.java.EcoDrive.service.UsuarioService;
+import com.java.EcoDrive.service.ImportacaoEmLote;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,10 +19,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -54,25 +64,78 @@ public class UsuarioController {
 
         List<EntityModel<UsuarioDTO>> usuarios = usuariosPaginados.stream()
                 .map(usuarioDTO -> EntityModel.of(usuarioDTO,
-                        linkTo(methodOn(UsuarioController.class).obterUsuario(usuarioDTO.getUsuarioId())).withSelfRel()))
+                        linkTo(methodOn(UsuarioController.class).obterUsuario(usuarioDTO.getUsuarioId(), null)).withSelfRel()))
                 .toList();
 
         return CollectionModel.of(usuarios, linkTo(methodOn(UsuarioController.class).listarTodos(page, size)).withSelfRel());
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todos os usuários por cursor", description = "Retorna todos os usuários em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<UsuarioDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit
+    ) {
+        PaginaCursor<UsuarioDTO> pagina = usuarioService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<UsuarioDTO>> usuarios = pagina.itens().stream()
+                .map(usuarioDTO -> EntityModel.of(usuarioDTO,
+                        linkTo(methodOn(UsuarioController.class).obterUsuario(usuarioDTO.getUsuarioId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<UsuarioDTO>> colecao = CollectionModel.of(usuarios,
+                linkTo(methodOn(UsuarioController.class).listarTodosPorCursor(after, limit)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(UsuarioController.class).listarTodosPorCursor(pagina.proximoCursor(), limit)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar usuários por IDs", description = "Retorna numa única consulta os usuários dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<UsuarioDTO>> listarPorIds(
+            @Parameter(description = "IDs dos usuários separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<UsuarioDTO> resultado = usuarioService.listarPorIds(ids);
+
+        List<EntityModel<UsuarioDTO>> usuarios = resultado.itens().stream()
+                .map(usuarioDTO -> EntityModel.of(usuarioDTO,
+                        linkTo(methodOn(UsuarioController.class).obterUsuario(usuarioDTO.getUsuarioId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<UsuarioDTO>> colecao = new ColecaoPorIds<>(usuarios, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(UsuarioController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter um usuário específico", description = "Retorna os detalhes de um usuário pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuário encontrado"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<UsuarioDTO> obterUsuario(
-            @Parameter(description = "ID do usuário a ser obtido") @PathVariable Long id) {
+            @Parameter(description = "ID do usuário a ser obtido") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (usuarioService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         UsuarioDTO usuarioDTO = usuarioService.obterPorId(id);
 
         return EntityModel.of(usuarioDTO,
-                linkTo(methodOn(UsuarioController.class).obterUsuario(id)).withSelfRel(),
+                linkTo(methodOn(UsuarioController.class).obterUsuario(id, null)).withSelfRel(),
                 linkTo(methodOn(UsuarioController.class).listarTodos(0, 10)).withRel(USUARIOS_REL));
     }
 
@@ -89,11 +152,24 @@ public class UsuarioController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(
                 EntityModel.of(usuarioDTO,
-                        linkTo(methodOn(UsuarioController.class).obterUsuario(usuarioDTO.getUsuarioId())).withSelfRel(),
+                        linkTo(methodOn(UsuarioController.class).obterUsuario(usuarioDTO.getUsuarioId(), null)).withSelfRel(),
                         linkTo(methodOn(UsuarioController.class).listarTodos(0, 10)).withRel(USUARIOS_REL))
         );
     }
 
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar usuários em lote", description = "Importa os usuários de um arquivo CSV (com cabeçalho) ou JSON (array ou NDJSON) com os campos do cadastro; as linhas inválidas são relatadas sem interromper a importação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo processado; as linhas rejeitadas são listadas em erros"),
+            @ApiResponse(responseCode = "400", description = "Formato de arquivo não suportado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResultadoImportacaoDTO importarUsuarios(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream entrada) throws IOException {
+        return usuarioService.importarUsuarios(entrada, ImportacaoEmLote.Formato.doContentType(contentType));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar um usuário", description = "Atualiza as informações de um usuário existente pelo seu ID")
     @ApiResponses(value = {
@@ -109,7 +185,7 @@ public class UsuarioController {
 
         return ResponseEntity.ok(
                 EntityModel.of(usuarioDTO,
-                        linkTo(methodOn(UsuarioController.class).obterUsuario(id)).withSelfRel(),
+                        linkTo(methodOn(UsuarioController.class).obterUsuario(id, null)).withSelfRel(),
                         linkTo(methodOn(UsuarioController.class).listarTodos(0, 10)).withRel(USUARIOS_REL))
         );
     }
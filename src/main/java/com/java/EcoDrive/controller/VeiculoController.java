@@ -4,9 +4,13 @@ import com.java.EcoDrive.dto.Veiculo.VeiculoCreateDTO;
 import com.java.EcoDrive.dto.Veiculo.VeiculoDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.*;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import com.java.EcoDrive.service.VeiculoService;
+import com.java.EcoDrive.service.PaginaCursor;
+import com.java.EcoDrive.service.ResultadoPorIds;
 
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -41,38 +45,101 @@ public class VeiculoController {
     @Operation(summary = "Listar todos os veículos", description = "Retorna uma lista paginada de todos os veículos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de veículos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Requisição inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public CollectionModel<EntityModel<VeiculoDTO>> listarTodos(
             @Parameter(description = "Página a ser exibida") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Quantidade de elementos por página") @RequestParam(defaultValue = "10") int size,
+            WebRequest requisicao
     ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, veiculoService.obterVersaoDaColecao())) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<VeiculoDTO> veiculosPaginados = veiculoService.listarTodosPaginado(pageable);
 
         List<EntityModel<VeiculoDTO>> veiculos = veiculosPaginados.getContent().stream()
                 .map(veiculoDTO -> EntityModel.of(veiculoDTO,
-                        linkTo(methodOn(VeiculoController.class).obterVeiculo(veiculoDTO.getVeiculoId())).withSelfRel()))
+                        linkTo(methodOn(VeiculoController.class).obterVeiculo(veiculoDTO.getVeiculoId(), null)).withSelfRel()))
                 .toList(); // Substituição de collect(Collectors.toList()) por toList()
 
-        return CollectionModel.of(veiculos, linkTo(methodOn(VeiculoController.class).listarTodos(page, size)).withSelfRel());
+        return CollectionModel.of(veiculos, linkTo(methodOn(VeiculoController.class).listarTodos(page, size, null)).withSelfRel());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar todos os veículos por cursor", description = "Retorna todos os veículos em ordem de ID a partir do cursor, sem contagem total; o link next traz o cursor da página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CollectionModel<EntityModel<VeiculoDTO>> listarTodosPorCursor(
+            @Parameter(description = "Cursor recebido no link next da página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de elementos por página") @RequestParam int limit,
+            WebRequest requisicao
+    ) {
+        if (RequisicaoCondicional.naoModificado(requisicao, veiculoService.obterVersaoDaColecao())) {
+            return null;
+        }
+        PaginaCursor<VeiculoDTO> pagina = veiculoService.listarTodosPorCursor(after, limit);
+
+        List<EntityModel<VeiculoDTO>> veiculos = pagina.itens().stream()
+                .map(veiculoDTO -> EntityModel.of(veiculoDTO,
+                        linkTo(methodOn(VeiculoController.class).obterVeiculo(veiculoDTO.getVeiculoId(), null)).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<VeiculoDTO>> colecao = CollectionModel.of(veiculos,
+                linkTo(methodOn(VeiculoController.class).listarTodosPorCursor(after, limit, null)).withSelfRel());
+        if (pagina.proximoCursor() != null) {
+            colecao.add(linkTo(methodOn(VeiculoController.class).listarTodosPorCursor(pagina.proximoCursor(), limit, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return colecao;
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar veículos por IDs", description = "Retorna numa única consulta os veículos dos IDs informados, na ordem pedida; os IDs que não existem são listados em idsNaoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso, mesmo que nem todos os IDs tenham sido encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou maior que o máximo permitido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ColecaoPorIds<EntityModel<VeiculoDTO>> listarPorIds(
+            @Parameter(description = "IDs dos veículos separados por vírgula") @RequestParam List<Long> ids
+    ) {
+        ResultadoPorIds<VeiculoDTO> resultado = veiculoService.listarPorIds(ids);
+
+        List<EntityModel<VeiculoDTO>> veiculos = resultado.itens().stream()
+                .map(veiculoDTO -> EntityModel.of(veiculoDTO,
+                        linkTo(methodOn(VeiculoController.class).obterVeiculo(veiculoDTO.getVeiculoId(), null)).withSelfRel()))
+                .toList();
+
+        ColecaoPorIds<EntityModel<VeiculoDTO>> colecao = new ColecaoPorIds<>(veiculos, resultado.idsNaoEncontrados());
+        colecao.add(linkTo(methodOn(VeiculoController.class).listarPorIds(ids)).withSelfRel());
+        return colecao;
     }
 
     @GetMapping(value = "/{id}")
     @Operation(summary = "Obter um veículo específico", description = "Retorna os detalhes de um veículo pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Veículo encontrado"),
+            @ApiResponse(responseCode = "304", description = "Recurso não modificado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Veículo não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public EntityModel<VeiculoDTO> obterVeiculo(
-            @Parameter(description = "ID do veículo a ser obtido") @PathVariable Long id) {
+            @Parameter(description = "ID do veículo a ser obtido") @PathVariable Long id,
+            WebRequest requisicao) {
+        if (veiculoService.obterVersao(id).map(versao -> RequisicaoCondicional.naoModificado(requisicao, versao)).orElse(false)) {
+            return null;
+        }
         VeiculoDTO veiculoDTO = veiculoService.obterPorId(id);
 
         return EntityModel.of(veiculoDTO,
-                linkTo(methodOn(VeiculoController.class).obterVeiculo(id)).withSelfRel(),
-                linkTo(methodOn(VeiculoController.class).listarTodos(0, 10)).withRel(VEICULOS_REL));
+                linkTo(methodOn(VeiculoController.class).obterVeiculo(id, null)).withSelfRel(),
+                linkTo(methodOn(VeiculoController.class).listarTodos(0, 10, null)).withRel(VEICULOS_REL));
     }
 
     @PostMapping
@@ -87,8 +154,8 @@ public class VeiculoController {
         VeiculoDTO veiculoDTO = veiculoService.criarVeiculo(veiculoCreateDTO);
 
         return EntityModel.of(veiculoDTO,
-                linkTo(methodOn(VeiculoController.class).obterVeiculo(veiculoDTO.getVeiculoId())).withSelfRel(),
-                linkTo(methodOn(VeiculoController.class).listarTodos(0, 10)).withRel(VEICULOS_REL));
+                linkTo(methodOn(VeiculoController.class).obterVeiculo(veiculoDTO.getVeiculoId(), null)).withSelfRel(),
+                linkTo(methodOn(VeiculoController.class).listarTodos(0, 10, null)).withRel(VEICULOS_REL));
     }
 
     @PutMapping(value = "/{id}")
@@ -105,8 +172,8 @@ public class VeiculoController {
         VeiculoDTO veiculoDTO = veiculoService.atualizarVeiculo(id, veiculoCreateDTO);
 
         return EntityModel.of(veiculoDTO,
-                linkTo(methodOn(VeiculoController.class).obterVeiculo(id)).withSelfRel(),
-                linkTo(methodOn(VeiculoController.class).listarTodos(0, 10)).withRel(VEICULOS_REL));
+                linkTo(methodOn(VeiculoController.class).obterVeiculo(id, null)).withSelfRel(),
+                linkTo(methodOn(VeiculoController.class).listarTodos(0, 10, null)).withRel(VEICULOS_REL));
     }
 
     @DeleteMapping(value = "/{id}")
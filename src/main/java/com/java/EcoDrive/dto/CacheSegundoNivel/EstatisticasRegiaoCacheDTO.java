@@ -0,0 +1,65 @@
+package com.java.EcoDrive.dto.CacheSegundoNivel;
+
+public class EstatisticasRegiaoCacheDTO {
+
+    private String regiao;
+    private long acertos;
+    private long falhas;
+    private long gravacoes;
+    private Double taxaDeAcerto;
+
+    // Construtor padrão
+    public EstatisticasRegiaoCacheDTO() {
+    }
+
+    // Construtor completo
+    public EstatisticasRegiaoCacheDTO(String regiao, long acertos, long falhas, long gravacoes, Double taxaDeAcerto) {
+        this.regiao = regiao;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.gravacoes = gravacoes;
+        this.taxaDeAcerto = taxaDeAcerto;
+    }
+
+    // Getters e Setters
+
+    public String getRegiao() {
+        return regiao;
+    }
+
+    public void setRegiao(String regiao) {
+        this.regiao = regiao;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getGravacoes() {
+        return gravacoes;
+    }
+
+    public void setGravacoes(long gravacoes) {
+        this.gravacoes = gravacoes;
+    }
+
+    public Double getTaxaDeAcerto() {
+        return taxaDeAcerto;
+    }
+
+    public void setTaxaDeAcerto(Double taxaDeAcerto) {
+        this.taxaDeAcerto = taxaDeAcerto;
+    }
+}
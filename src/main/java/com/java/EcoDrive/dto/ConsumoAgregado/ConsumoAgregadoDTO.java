@@ -0,0 +1,57 @@
+package com.java.EcoDrive.dto.ConsumoAgregado;
+
+import java.time.LocalDateTime;
+
+public class ConsumoAgregadoDTO {
+
+    private LocalDateTime periodo;
+    private Double kwhTotal;
+    private Double custoTotal;
+    private Long sessoes;
+
+    // Construtor padrão
+    public ConsumoAgregadoDTO() {
+    }
+
+    // Construtor completo
+    public ConsumoAgregadoDTO(LocalDateTime periodo, Double kwhTotal, Double custoTotal, Long sessoes) {
+        this.periodo = periodo;
+        this.kwhTotal = kwhTotal;
+        this.custoTotal = custoTotal;
+        this.sessoes = sessoes;
+    }
+
+    // Getters e Setters
+
+    public LocalDateTime getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(LocalDateTime periodo) {
+        this.periodo = periodo;
+    }
+
+    public Double getKwhTotal() {
+        return kwhTotal;
+    }
+
+    public void setKwhTotal(Double kwhTotal) {
+        this.kwhTotal = kwhTotal;
+    }
+
+    public Double getCustoTotal() {
+        return custoTotal;
+    }
+
+    public void setCustoTotal(Double custoTotal) {
+        this.custoTotal = custoTotal;
+    }
+
+    public Long getSessoes() {
+        return sessoes;
+    }
+
+    public void setSessoes(Long sessoes) {
+        this.sessoes = sessoes;
+    }
+}
@@ -0,0 +1,67 @@
+package com.java.EcoDrive.dto.ConsumoAgregado;
+
+import java.time.LocalDateTime;
+
+public class ResultadoReconstrucaoConsumoDTO {
+
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private long linhasPorHora;
+    private long linhasPorDia;
+    private long duracaoMs;
+
+    // Construtor padrão
+    public ResultadoReconstrucaoConsumoDTO() {
+    }
+
+    // Construtor completo
+    public ResultadoReconstrucaoConsumoDTO(LocalDateTime inicio, LocalDateTime fim, long linhasPorHora, long linhasPorDia, long duracaoMs) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.linhasPorHora = linhasPorHora;
+        this.linhasPorDia = linhasPorDia;
+        this.duracaoMs = duracaoMs;
+    }
+
+    // Getters e Setters
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public long getLinhasPorHora() {
+        return linhasPorHora;
+    }
+
+    public void setLinhasPorHora(long linhasPorHora) {
+        this.linhasPorHora = linhasPorHora;
+    }
+
+    public long getLinhasPorDia() {
+        return linhasPorDia;
+    }
+
+    public void setLinhasPorDia(long linhasPorDia) {
+        this.linhasPorDia = linhasPorDia;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+}
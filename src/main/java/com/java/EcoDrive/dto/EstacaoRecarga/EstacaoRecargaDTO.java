@@ -10,6 +10,22 @@ public class EstacaoRecargaDTO {
     private String tipoCarregador;
     private Double precoPorKwh;
 
+    // Construtor padrão
+    public EstacaoRecargaDTO() {
+    }
+
+    // Construtor completo (usado nas consultas JPQL com projeção direta para DTO)
+    public EstacaoRecargaDTO(Long estacaoId, String nome, Long bairroId, Double latitude, Double longitude,
+                             String tipoCarregador, Double precoPorKwh) {
+        this.estacaoId = estacaoId;
+        this.nome = nome;
+        this.bairroId = bairroId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.tipoCarregador = tipoCarregador;
+        this.precoPorKwh = precoPorKwh;
+    }
+
     // Getters e Setters
 
     public Long getEstacaoId() {
@@ -0,0 +1,35 @@
+package com.java.EcoDrive.dto.EstacaoRecarga;
+
+public class EstacaoRecargaProximaDTO {
+
+    private EstacaoRecargaDTO estacao;
+    private Double distanciaKm;
+
+    // Construtor padrão
+    public EstacaoRecargaProximaDTO() {
+    }
+
+    // Construtor completo
+    public EstacaoRecargaProximaDTO(EstacaoRecargaDTO estacao, Double distanciaKm) {
+        this.estacao = estacao;
+        this.distanciaKm = distanciaKm;
+    }
+
+    // Getters e Setters
+
+    public EstacaoRecargaDTO getEstacao() {
+        return estacao;
+    }
+
+    public void setEstacao(EstacaoRecargaDTO estacao) {
+        this.estacao = estacao;
+    }
+
+    public Double getDistanciaKm() {
+        return distanciaKm;
+    }
+
+    public void setDistanciaKm(Double distanciaKm) {
+        this.distanciaKm = distanciaKm;
+    }
+}
@@ -6,6 +6,17 @@ public class EstacaoSustentavelDTO {
     private Long fonteId;
     private Double reducaoCarbono;
 
+    // Construtor padrão
+    public EstacaoSustentavelDTO() {
+    }
+
+    // Construtor completo
+    public EstacaoSustentavelDTO(Long estacaoId, Long fonteId, Double reducaoCarbono) {
+        this.estacaoId = estacaoId;
+        this.fonteId = fonteId;
+        this.reducaoCarbono = reducaoCarbono;
+    }
+
     // Getters e Setters
 
     public Long getEstacaoId() {
@@ -0,0 +1,78 @@
+package com.java.EcoDrive.dto.GastoCarregamento;
+
+import java.time.LocalDateTime;
+
+public class ResultadoRetarifacaoDTO {
+
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private long historicosLidos;
+    private long gastosAtualizados;
+    private long gastosCriados;
+    private long duracaoMs;
+
+    // Construtor padrão
+    public ResultadoRetarifacaoDTO() {
+    }
+
+    // Construtor completo
+    public ResultadoRetarifacaoDTO(LocalDateTime inicio, LocalDateTime fim, long historicosLidos,
+                                   long gastosAtualizados, long gastosCriados, long duracaoMs) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.historicosLidos = historicosLidos;
+        this.gastosAtualizados = gastosAtualizados;
+        this.gastosCriados = gastosCriados;
+        this.duracaoMs = duracaoMs;
+    }
+
+    // Getters e Setters
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public long getHistoricosLidos() {
+        return historicosLidos;
+    }
+
+    public void setHistoricosLidos(long historicosLidos) {
+        this.historicosLidos = historicosLidos;
+    }
+
+    public long getGastosAtualizados() {
+        return gastosAtualizados;
+    }
+
+    public void setGastosAtualizados(long gastosAtualizados) {
+        this.gastosAtualizados = gastosAtualizados;
+    }
+
+    public long getGastosCriados() {
+        return gastosCriados;
+    }
+
+    public void setGastosCriados(long gastosCriados) {
+        this.gastosCriados = gastosCriados;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+}
@@ -11,6 +11,21 @@ public class HistoricoCarregamentoDTO {
     private LocalDateTime dataCarregamento;
     private Double kwhConsumidos;
 
+    // Construtor padrão
+    public HistoricoCarregamentoDTO() {
+    }
+
+    // Construtor completo
+    public HistoricoCarregamentoDTO(Long historicoId, Long usuarioId, Long veiculoId, Long estacaoId,
+                                    LocalDateTime dataCarregamento, Double kwhConsumidos) {
+        this.historicoId = historicoId;
+        this.usuarioId = usuarioId;
+        this.veiculoId = veiculoId;
+        this.estacaoId = estacaoId;
+        this.dataCarregamento = dataCarregamento;
+        this.kwhConsumidos = kwhConsumidos;
+    }
+
     // Getters e Setters
 
     public Long getHistoricoId() {
@@ -0,0 +1,35 @@
+package com.java.EcoDrive.dto.Importacao;
+
+public class ErroImportacaoDTO {
+
+    private int linha;
+    private String mensagem;
+
+    // Construtor padrão
+    public ErroImportacaoDTO() {
+    }
+
+    // Construtor completo
+    public ErroImportacaoDTO(int linha, String mensagem) {
+        this.linha = linha;
+        this.mensagem = mensagem;
+    }
+
+    // Getters e Setters
+
+    public int getLinha() {
+        return linha;
+    }
+
+    public void setLinha(int linha) {
+        this.linha = linha;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,59 @@
+package com.java.EcoDrive.dto.Importacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultadoImportacaoDTO {
+
+    private int lidas;
+    private int importadas;
+    private int rejeitadas;
+    // Limitada aos primeiros erros; o total fica em rejeitadas
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+
+    // Construtor padrão
+    public ResultadoImportacaoDTO() {
+    }
+
+    // Construtor completo
+    public ResultadoImportacaoDTO(int lidas, int importadas, int rejeitadas, List<ErroImportacaoDTO> erros) {
+        this.lidas = lidas;
+        this.importadas = importadas;
+        this.rejeitadas = rejeitadas;
+        this.erros = erros;
+    }
+
+    // Getters e Setters
+
+    public int getLidas() {
+        return lidas;
+    }
+
+    public void setLidas(int lidas) {
+        this.lidas = lidas;
+    }
+
+    public int getImportadas() {
+        return importadas;
+    }
+
+    public void setImportadas(int importadas) {
+        this.importadas = importadas;
+    }
+
+    public int getRejeitadas() {
+        return rejeitadas;
+    }
+
+    public void setRejeitadas(int rejeitadas) {
+        this.rejeitadas = rejeitadas;
+    }
+
+    public List<ErroImportacaoDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroImportacaoDTO> erros) {
+        this.erros = erros;
+    }
+}
@@ -0,0 +1,88 @@
+package com.java.EcoDrive.dto.Recomendacao;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+
+public class RecomendacaoEstacaoDTO {
+
+    private EstacaoRecargaDTO estacao;
+    private Double distanciaKm;
+    private Double precoPorKwhAtual;
+    private String status;
+    private Double reducaoCarbono;
+    private String tipoEnergia;
+    private Double pontuacao;
+
+    // Construtor padrão
+    public RecomendacaoEstacaoDTO() {
+    }
+
+    // Construtor completo
+    public RecomendacaoEstacaoDTO(EstacaoRecargaDTO estacao, Double distanciaKm, Double precoPorKwhAtual, String status,
+                                  Double reducaoCarbono, String tipoEnergia, Double pontuacao) {
+        this.estacao = estacao;
+        this.distanciaKm = distanciaKm;
+        this.precoPorKwhAtual = precoPorKwhAtual;
+        this.status = status;
+        this.reducaoCarbono = reducaoCarbono;
+        this.tipoEnergia = tipoEnergia;
+        this.pontuacao = pontuacao;
+    }
+
+    // Getters e Setters
+
+    public EstacaoRecargaDTO getEstacao() {
+        return estacao;
+    }
+
+    public void setEstacao(EstacaoRecargaDTO estacao) {
+        this.estacao = estacao;
+    }
+
+    public Double getDistanciaKm() {
+        return distanciaKm;
+    }
+
+    public void setDistanciaKm(Double distanciaKm) {
+        this.distanciaKm = distanciaKm;
+    }
+
+    public Double getPrecoPorKwhAtual() {
+        return precoPorKwhAtual;
+    }
+
+    public void setPrecoPorKwhAtual(Double precoPorKwhAtual) {
+        this.precoPorKwhAtual = precoPorKwhAtual;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Double getReducaoCarbono() {
+        return reducaoCarbono;
+    }
+
+    public void setReducaoCarbono(Double reducaoCarbono) {
+        this.reducaoCarbono = reducaoCarbono;
+    }
+
+    public String getTipoEnergia() {
+        return tipoEnergia;
+    }
+
+    public void setTipoEnergia(String tipoEnergia) {
+        this.tipoEnergia = tipoEnergia;
+    }
+
+    public Double getPontuacao() {
+        return pontuacao;
+    }
+
+    public void setPontuacao(Double pontuacao) {
+        this.pontuacao = pontuacao;
+    }
+}
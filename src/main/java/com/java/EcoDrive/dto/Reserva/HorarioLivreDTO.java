@@ -0,0 +1,47 @@
+package com.java.EcoDrive.dto.Reserva;
+
+import java.time.LocalDateTime;
+
+public class HorarioLivreDTO {
+
+    private Long estacaoId;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+
+    // Construtor padrão
+    public HorarioLivreDTO() {
+    }
+
+    // Construtor completo
+    public HorarioLivreDTO(Long estacaoId, LocalDateTime inicio, LocalDateTime fim) {
+        this.estacaoId = estacaoId;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    // Getters e Setters
+
+    public Long getEstacaoId() {
+        return estacaoId;
+    }
+
+    public void setEstacaoId(Long estacaoId) {
+        this.estacaoId = estacaoId;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+}
@@ -15,7 +15,7 @@ public class ReservaCreateDTO {
     @NotNull(message = "A data da reserva é obrigatória")
     private LocalDateTime dataReserva;
 
-    @NotNull(message = "O status é obrigatório")
+    // Opcional: novas reservas começam como pendentes (0) quando o status não é informado
     private Integer status;
 
     // Getters e Setters
@@ -9,6 +9,7 @@ public class ReservaDTO {
     private Long estacaoId;
     private LocalDateTime dataReserva;
     private Integer status;
+    private LocalDateTime expiraEm;
 
     // Getters e Setters
 
@@ -51,4 +52,12 @@ public class ReservaDTO {
     public void setStatus(Integer status) {
         this.status = status;
     }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
 }
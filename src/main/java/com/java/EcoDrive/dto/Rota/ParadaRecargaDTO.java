@@ -0,0 +1,98 @@
+package com.java.EcoDrive.dto.Rota;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+
+public class ParadaRecargaDTO {
+
+    private EstacaoRecargaDTO estacao;
+    private Double minutosAteChegada;
+    private Double cargaChegadaPercentual;
+    private Double cargaSaidaPercentual;
+    private Double energiaKwh;
+    private Double tempoRecargaMinutos;
+    private Double precoPorKwh;
+    private Double custo;
+
+    // Construtor padrão
+    public ParadaRecargaDTO() {
+    }
+
+    // Construtor completo
+    public ParadaRecargaDTO(EstacaoRecargaDTO estacao, Double minutosAteChegada, Double cargaChegadaPercentual, Double cargaSaidaPercentual,
+                            Double energiaKwh, Double tempoRecargaMinutos, Double precoPorKwh, Double custo) {
+        this.estacao = estacao;
+        this.minutosAteChegada = minutosAteChegada;
+        this.cargaChegadaPercentual = cargaChegadaPercentual;
+        this.cargaSaidaPercentual = cargaSaidaPercentual;
+        this.energiaKwh = energiaKwh;
+        this.tempoRecargaMinutos = tempoRecargaMinutos;
+        this.precoPorKwh = precoPorKwh;
+        this.custo = custo;
+    }
+
+    // Getters e Setters
+
+    public EstacaoRecargaDTO getEstacao() {
+        return estacao;
+    }
+
+    public void setEstacao(EstacaoRecargaDTO estacao) {
+        this.estacao = estacao;
+    }
+
+    public Double getMinutosAteChegada() {
+        return minutosAteChegada;
+    }
+
+    public void setMinutosAteChegada(Double minutosAteChegada) {
+        this.minutosAteChegada = minutosAteChegada;
+    }
+
+    public Double getCargaChegadaPercentual() {
+        return cargaChegadaPercentual;
+    }
+
+    public void setCargaChegadaPercentual(Double cargaChegadaPercentual) {
+        this.cargaChegadaPercentual = cargaChegadaPercentual;
+    }
+
+    public Double getCargaSaidaPercentual() {
+        return cargaSaidaPercentual;
+    }
+
+    public void setCargaSaidaPercentual(Double cargaSaidaPercentual) {
+        this.cargaSaidaPercentual = cargaSaidaPercentual;
+    }
+
+    public Double getEnergiaKwh() {
+        return energiaKwh;
+    }
+
+    public void setEnergiaKwh(Double energiaKwh) {
+        this.energiaKwh = energiaKwh;
+    }
+
+    public Double getTempoRecargaMinutos() {
+        return tempoRecargaMinutos;
+    }
+
+    public void setTempoRecargaMinutos(Double tempoRecargaMinutos) {
+        this.tempoRecargaMinutos = tempoRecargaMinutos;
+    }
+
+    public Double getPrecoPorKwh() {
+        return precoPorKwh;
+    }
+
+    public void setPrecoPorKwh(Double precoPorKwh) {
+        this.precoPorKwh = precoPorKwh;
+    }
+
+    public Double getCusto() {
+        return custo;
+    }
+
+    public void setCusto(Double custo) {
+        this.custo = custo;
+    }
+}
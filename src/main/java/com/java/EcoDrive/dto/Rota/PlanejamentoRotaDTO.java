@@ -0,0 +1,180 @@
+package com.java.EcoDrive.dto.Rota;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDateTime;
+
+public class PlanejamentoRotaDTO {
+
+    @NotNull(message = "O ID do veículo é obrigatório")
+    private Long veiculoId;
+
+    @NotNull(message = "A latitude de origem é obrigatória")
+    @DecimalMin(value = "-90", message = "A latitude de origem deve estar entre -90 e 90")
+    @DecimalMax(value = "90", message = "A latitude de origem deve estar entre -90 e 90")
+    private Double origemLatitude;
+
+    @NotNull(message = "A longitude de origem é obrigatória")
+    @DecimalMin(value = "-180", message = "A longitude de origem deve estar entre -180 e 180")
+    @DecimalMax(value = "180", message = "A longitude de origem deve estar entre -180 e 180")
+    private Double origemLongitude;
+
+    @NotNull(message = "A latitude de destino é obrigatória")
+    @DecimalMin(value = "-90", message = "A latitude de destino deve estar entre -90 e 90")
+    @DecimalMax(value = "90", message = "A latitude de destino deve estar entre -90 e 90")
+    private Double destinoLatitude;
+
+    @NotNull(message = "A longitude de destino é obrigatória")
+    @DecimalMin(value = "-180", message = "A longitude de destino deve estar entre -180 e 180")
+    @DecimalMax(value = "180", message = "A longitude de destino deve estar entre -180 e 180")
+    private Double destinoLongitude;
+
+    // O cadastro de veículos não tem os dados da bateria, então eles vêm na requisição
+    @NotNull(message = "A capacidade da bateria é obrigatória")
+    @DecimalMin(value = "0", inclusive = false, message = "A capacidade da bateria deve ser maior que zero")
+    private Double capacidadeBateriaKwh;
+
+    @NotNull(message = "O consumo por km é obrigatório")
+    @DecimalMin(value = "0", inclusive = false, message = "O consumo por km deve ser maior que zero")
+    private Double consumoKwhPorKm;
+
+    // Opcionais: quando não informados, usam os valores padrão de ecodrive.rotas.*
+    @DecimalMin(value = "0", message = "A carga inicial deve estar entre 0 e 100")
+    @DecimalMax(value = "100", message = "A carga inicial deve estar entre 0 e 100")
+    private Double cargaInicialPercentual;
+
+    @DecimalMin(value = "0", message = "A carga mínima deve estar entre 0 e 100")
+    @DecimalMax(value = "100", message = "A carga mínima deve estar entre 0 e 100")
+    private Double cargaMinimaPercentual;
+
+    @DecimalMin(value = "0", message = "A carga máxima deve estar entre 0 e 100")
+    @DecimalMax(value = "100", message = "A carga máxima deve estar entre 0 e 100")
+    private Double cargaMaximaPercentual;
+
+    // Opcional: sem tipo, qualquer estação serve para recarregar
+    private String tipoCarregador;
+
+    @DecimalMin(value = "0", inclusive = false, message = "A potência de recarga deve ser maior que zero")
+    private Double potenciaRecargaKw;
+
+    // "tempo" (padrão) ou "custo"
+    @Pattern(regexp = "(?i)tempo|custo", message = "O critério deve ser 'tempo' ou 'custo'")
+    private String criterio;
+
+    // Opcional: sem data de saída, a viagem começa agora
+    private LocalDateTime saida;
+
+    // Getters e Setters
+
+    public Long getVeiculoId() {
+        return veiculoId;
+    }
+
+    public void setVeiculoId(Long veiculoId) {
+        this.veiculoId = veiculoId;
+    }
+
+    public Double getOrigemLatitude() {
+        return origemLatitude;
+    }
+
+    public void setOrigemLatitude(Double origemLatitude) {
+        this.origemLatitude = origemLatitude;
+    }
+
+    public Double getOrigemLongitude() {
+        return origemLongitude;
+    }
+
+    public void setOrigemLongitude(Double origemLongitude) {
+        this.origemLongitude = origemLongitude;
+    }
+
+    public Double getDestinoLatitude() {
+        return destinoLatitude;
+    }
+
+    public void setDestinoLatitude(Double destinoLatitude) {
+        this.destinoLatitude = destinoLatitude;
+    }
+
+    public Double getDestinoLongitude() {
+        return destinoLongitude;
+    }
+
+    public void setDestinoLongitude(Double destinoLongitude) {
+        this.destinoLongitude = destinoLongitude;
+    }
+
+    public Double getCapacidadeBateriaKwh() {
+        return capacidadeBateriaKwh;
+    }
+
+    public void setCapacidadeBateriaKwh(Double capacidadeBateriaKwh) {
+        this.capacidadeBateriaKwh = capacidadeBateriaKwh;
+    }
+
+    public Double getConsumoKwhPorKm() {
+        return consumoKwhPorKm;
+    }
+
+    public void setConsumoKwhPorKm(Double consumoKwhPorKm) {
+        this.consumoKwhPorKm = consumoKwhPorKm;
+    }
+
+    public Double getCargaInicialPercentual() {
+        return cargaInicialPercentual;
+    }
+
+    public void setCargaInicialPercentual(Double cargaInicialPercentual) {
+        this.cargaInicialPercentual = cargaInicialPercentual;
+    }
+
+    public Double getCargaMinimaPercentual() {
+        return cargaMinimaPercentual;
+    }
+
+    public void setCargaMinimaPercentual(Double cargaMinimaPercentual) {
+        this.cargaMinimaPercentual = cargaMinimaPercentual;
+    }
+
+    public Double getCargaMaximaPercentual() {
+        return cargaMaximaPercentual;
+    }
+
+    public void setCargaMaximaPercentual(Double cargaMaximaPercentual) {
+        this.cargaMaximaPercentual = cargaMaximaPercentual;
+    }
+
+    public String getTipoCarregador() {
+        return tipoCarregador;
+    }
+
+    public void setTipoCarregador(String tipoCarregador) {
+        this.tipoCarregador = tipoCarregador;
+    }
+
+    public Double getPotenciaRecargaKw() {
+        return potenciaRecargaKw;
+    }
+
+    public void setPotenciaRecargaKw(Double potenciaRecargaKw) {
+        this.potenciaRecargaKw = potenciaRecargaKw;
+    }
+
+    public String getCriterio() {
+        return criterio;
+    }
+
+    public void setCriterio(String criterio) {
+        this.criterio = criterio;
+    }
+
+    public LocalDateTime getSaida() {
+        return saida;
+    }
+
+    public void setSaida(LocalDateTime saida) {
+        this.saida = saida;
+    }
+}
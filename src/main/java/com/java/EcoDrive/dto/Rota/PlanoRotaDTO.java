@@ -0,0 +1,78 @@
+package com.java.EcoDrive.dto.Rota;
+
+import java.util.List;
+
+public class PlanoRotaDTO {
+
+    private String criterio;
+    private Double distanciaTotalKm;
+    private Double tempoTotalMinutos;
+    private Double custoTotal;
+    private Double cargaChegadaPercentual;
+    private List<ParadaRecargaDTO> paradas;
+
+    // Construtor padrão
+    public PlanoRotaDTO() {
+    }
+
+    // Construtor completo
+    public PlanoRotaDTO(String criterio, Double distanciaTotalKm, Double tempoTotalMinutos, Double custoTotal,
+                        Double cargaChegadaPercentual, List<ParadaRecargaDTO> paradas) {
+        this.criterio = criterio;
+        this.distanciaTotalKm = distanciaTotalKm;
+        this.tempoTotalMinutos = tempoTotalMinutos;
+        this.custoTotal = custoTotal;
+        this.cargaChegadaPercentual = cargaChegadaPercentual;
+        this.paradas = paradas;
+    }
+
+    // Getters e Setters
+
+    public String getCriterio() {
+        return criterio;
+    }
+
+    public void setCriterio(String criterio) {
+        this.criterio = criterio;
+    }
+
+    public Double getDistanciaTotalKm() {
+        return distanciaTotalKm;
+    }
+
+    public void setDistanciaTotalKm(Double distanciaTotalKm) {
+        this.distanciaTotalKm = distanciaTotalKm;
+    }
+
+    public Double getTempoTotalMinutos() {
+        return tempoTotalMinutos;
+    }
+
+    public void setTempoTotalMinutos(Double tempoTotalMinutos) {
+        this.tempoTotalMinutos = tempoTotalMinutos;
+    }
+
+    public Double getCustoTotal() {
+        return custoTotal;
+    }
+
+    public void setCustoTotal(Double custoTotal) {
+        this.custoTotal = custoTotal;
+    }
+
+    public Double getCargaChegadaPercentual() {
+        return cargaChegadaPercentual;
+    }
+
+    public void setCargaChegadaPercentual(Double cargaChegadaPercentual) {
+        this.cargaChegadaPercentual = cargaChegadaPercentual;
+    }
+
+    public List<ParadaRecargaDTO> getParadas() {
+        return paradas;
+    }
+
+    public void setParadas(List<ParadaRecargaDTO> paradas) {
+        this.paradas = paradas;
+    }
+}
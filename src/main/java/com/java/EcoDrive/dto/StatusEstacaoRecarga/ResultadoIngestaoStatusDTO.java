@@ -0,0 +1,45 @@
+package com.java.EcoDrive.dto.StatusEstacaoRecarga;
+
+public class ResultadoIngestaoStatusDTO {
+
+    private int recebidas;
+    private int enfileiradas;
+    private int descartadas;
+
+    // Construtor padrão
+    public ResultadoIngestaoStatusDTO() {
+    }
+
+    // Construtor completo
+    public ResultadoIngestaoStatusDTO(int recebidas, int enfileiradas, int descartadas) {
+        this.recebidas = recebidas;
+        this.enfileiradas = enfileiradas;
+        this.descartadas = descartadas;
+    }
+
+    // Getters e Setters
+
+    public int getRecebidas() {
+        return recebidas;
+    }
+
+    public void setRecebidas(int recebidas) {
+        this.recebidas = recebidas;
+    }
+
+    public int getEnfileiradas() {
+        return enfileiradas;
+    }
+
+    public void setEnfileiradas(int enfileiradas) {
+        this.enfileiradas = enfileiradas;
+    }
+
+    public int getDescartadas() {
+        return descartadas;
+    }
+
+    public void setDescartadas(int descartadas) {
+        this.descartadas = descartadas;
+    }
+}
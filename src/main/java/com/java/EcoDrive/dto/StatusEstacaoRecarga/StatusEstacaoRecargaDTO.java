@@ -9,6 +9,18 @@ public class StatusEstacaoRecargaDTO {
     private String status;
     private LocalDateTime ultimaAtualizacao;
 
+    // Construtor padrão
+    public StatusEstacaoRecargaDTO() {
+    }
+
+    // Construtor completo (usado nas consultas JPQL com projeção direta para DTO)
+    public StatusEstacaoRecargaDTO(Long statusId, Long estacaoId, String status, LocalDateTime ultimaAtualizacao) {
+        this.statusId = statusId;
+        this.estacaoId = estacaoId;
+        this.status = status;
+        this.ultimaAtualizacao = ultimaAtualizacao;
+    }
+
     // Getters e Setters
 
     public Long getStatusId() {
@@ -0,0 +1,22 @@
+package com.java.EcoDrive.dto.StatusEstacaoRecarga;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class StatusEstacaoRecargaLoteDTO {
+
+    @NotEmpty(message = "O lote deve conter ao menos uma atualização de status")
+    private List<@Valid StatusEstacaoRecargaCreateDTO> atualizacoes;
+
+    // Getters e Setters
+
+    public List<StatusEstacaoRecargaCreateDTO> getAtualizacoes() {
+        return atualizacoes;
+    }
+
+    public void setAtualizacoes(List<StatusEstacaoRecargaCreateDTO> atualizacoes) {
+        this.atualizacoes = atualizacoes;
+    }
+}
@@ -0,0 +1,49 @@
+package com.java.EcoDrive.dto.TarifaEstacao;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class TarifaEstacaoCreateDTO {
+
+    @NotNull(message = "A hora de início é obrigatória")
+    @Min(value = 0, message = "A hora de início deve estar entre 0 e 23")
+    @Max(value = 23, message = "A hora de início deve estar entre 0 e 23")
+    private Integer horaInicio;
+
+    @NotNull(message = "A hora de fim é obrigatória")
+    @Min(value = 1, message = "A hora de fim deve estar entre 1 e 24")
+    @Max(value = 24, message = "A hora de fim deve estar entre 1 e 24")
+    private Integer horaFim;
+
+    @NotNull(message = "O preço por kWh é obrigatório")
+    @Positive(message = "O preço por kWh deve ser maior que zero")
+    private Double precoPorKwh;
+
+    // Getters e Setters
+
+    public Integer getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(Integer horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public Integer getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(Integer horaFim) {
+        this.horaFim = horaFim;
+    }
+
+    public Double getPrecoPorKwh() {
+        return precoPorKwh;
+    }
+
+    public void setPrecoPorKwh(Double precoPorKwh) {
+        this.precoPorKwh = precoPorKwh;
+    }
+}
@@ -0,0 +1,55 @@
+package com.java.EcoDrive.dto.TarifaEstacao;
+
+public class TarifaEstacaoDTO {
+
+    private Long estacaoId;
+    private Integer horaInicio;
+    private Integer horaFim;
+    private Double precoPorKwh;
+
+    // Construtor padrão
+    public TarifaEstacaoDTO() {
+    }
+
+    // Construtor completo
+    public TarifaEstacaoDTO(Long estacaoId, Integer horaInicio, Integer horaFim, Double precoPorKwh) {
+        this.estacaoId = estacaoId;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+        this.precoPorKwh = precoPorKwh;
+    }
+
+    // Getters e Setters
+
+    public Long getEstacaoId() {
+        return estacaoId;
+    }
+
+    public void setEstacaoId(Long estacaoId) {
+        this.estacaoId = estacaoId;
+    }
+
+    public Integer getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(Integer horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public Integer getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(Integer horaFim) {
+        this.horaFim = horaFim;
+    }
+
+    public Double getPrecoPorKwh() {
+        return precoPorKwh;
+    }
+
+    public void setPrecoPorKwh(Double precoPorKwh) {
+        this.precoPorKwh = precoPorKwh;
+    }
+}
@@ -0,0 +1,61 @@
+package com.java.EcoDrive.dto.VersaoRecurso;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão de um recurso ou de uma coleção, lida do banco sem carregar as entidades, usada
+ * para responder às requisições condicionais (If-None-Match/If-Modified-Since) com 304.
+ */
+public class VersaoRecursoDTO {
+
+    private String etag;
+    private LocalDateTime ultimaModificacao;
+
+    // Construtor padrão
+    public VersaoRecursoDTO() {
+    }
+
+    // Registro com coluna de versão
+    public VersaoRecursoDTO(Long id, Long versao) {
+        this.etag = etagFraca(id + "-" + versao);
+    }
+
+    // Registro com data da última atualização
+    public VersaoRecursoDTO(Long id, LocalDateTime ultimaAtualizacao) {
+        this.etag = etagFraca(id + "-" + ultimaAtualizacao);
+        this.ultimaModificacao = ultimaAtualizacao;
+    }
+
+    // Coleção: a quantidade muda com exclusões, o maior ID com inclusões e a soma das versões com atualizações
+    public VersaoRecursoDTO(Long quantidade, Long maiorId, Long somaVersoes) {
+        this.etag = etagFraca(quantidade + "-" + maiorId + "-" + somaVersoes);
+    }
+
+    // Coleção com data da última atualização no lugar da soma das versões
+    public VersaoRecursoDTO(Long quantidade, Long maiorId, LocalDateTime ultimaAtualizacao) {
+        this.etag = etagFraca(quantidade + "-" + maiorId + "-" + ultimaAtualizacao);
+    }
+
+    // Fraca: o corpo inclui links que dependem do host da requisição
+    private static String etagFraca(String valor) {
+        return "W/\"" + valor + "\"";
+    }
+
+    // Getters e Setters
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public LocalDateTime getUltimaModificacao() {
+        return ultimaModificacao;
+    }
+
+    public void setUltimaModificacao(LocalDateTime ultimaModificacao) {
+        this.ultimaModificacao = ultimaModificacao;
+    }
+}
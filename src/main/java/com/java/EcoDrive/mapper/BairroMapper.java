@@ -0,0 +1,25 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.Bairro.BairroCreateDTO;
+import com.java.EcoDrive.dto.Bairro.BairroDTO;
+import com.java.EcoDrive.model.Bairro;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BairroMapper implements EntityMapper<Bairro, BairroDTO, BairroCreateDTO> {
+
+    @Override
+    public BairroDTO paraDTO(Bairro bairro) {
+        BairroDTO dto = new BairroDTO();
+        dto.setBairroId(bairro.getBairroId());
+        dto.setNome(bairro.getNome());
+        return dto;
+    }
+
+    @Override
+    public Bairro paraEntidade(BairroCreateDTO dto) {
+        Bairro bairro = new Bairro();
+        bairro.setNome(dto.getNome());
+        return bairro;
+    }
+}
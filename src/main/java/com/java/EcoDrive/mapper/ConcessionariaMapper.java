@@ -0,0 +1,38 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.Concessionaria.ConcessionariaCreateDTO;
+import com.java.EcoDrive.dto.Concessionaria.ConcessionariaDTO;
+import com.java.EcoDrive.model.Concessionaria;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConcessionariaMapper implements EntityMapper<Concessionaria, ConcessionariaDTO, ConcessionariaCreateDTO> {
+
+    @Override
+    public ConcessionariaDTO paraDTO(Concessionaria concessionaria) {
+        ConcessionariaDTO dto = new ConcessionariaDTO();
+        dto.setConcessionariaId(concessionaria.getConcessionariaId());
+        dto.setNome(concessionaria.getNome());
+        // O bairro é LAZY: ler o ID do proxy não dispara a consulta
+        if (concessionaria.getBairro() != null) {
+            dto.setBairroId(concessionaria.getBairro().getBairroId());
+        }
+        dto.setMarca(concessionaria.getMarca());
+        // No banco o indicador é gravado como 0/1
+        if (concessionaria.getTemEstacaoRecarga() != null) {
+            dto.setTemEstacaoRecarga(concessionaria.getTemEstacaoRecarga() != 0);
+        }
+        return dto;
+    }
+
+    @Override
+    public Concessionaria paraEntidade(ConcessionariaCreateDTO dto) {
+        Concessionaria concessionaria = new Concessionaria();
+        concessionaria.setNome(dto.getNome());
+        concessionaria.setMarca(dto.getMarca());
+        if (dto.getTemEstacaoRecarga() != null) {
+            concessionaria.setTemEstacaoRecarga(dto.getTemEstacaoRecarga() ? 1 : 0);
+        }
+        return concessionaria;
+    }
+}
@@ -0,0 +1,32 @@
+package com.java.EcoDrive.mapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Conversão entre uma entidade e seus DTOs. As implementações são escritas à mão, com
+ * acesso direto aos getters e setters, em vez da correspondência por reflexão do ModelMapper.
+ *
+ * @param <E> entidade JPA.
+ * @param <D> DTO de leitura.
+ * @param <C> DTO de criação.
+ */
+public interface EntityMapper<E, D, C> {
+
+    D paraDTO(E entidade);
+
+    /**
+     * Cria uma nova entidade com os campos simples do DTO de criação. Os relacionamentos não
+     * são preenchidos: cabe ao serviço buscá-los e atribuí-los.
+     */
+    E paraEntidade(C dto);
+
+    default List<D> paraDTOs(Collection<? extends E> entidades) {
+        List<D> dtos = new ArrayList<>(entidades.size());
+        for (E entidade : entidades) {
+            dtos.add(paraDTO(entidade));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaCreateDTO;
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.model.EstacaoRecarga;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EstacaoRecargaMapper implements EntityMapper<EstacaoRecarga, EstacaoRecargaDTO, EstacaoRecargaCreateDTO> {
+
+    @Override
+    public EstacaoRecargaDTO paraDTO(EstacaoRecarga estacao) {
+        return new EstacaoRecargaDTO(estacao.getEstacaoId(), estacao.getNome(),
+                estacao.getBairro() != null ? estacao.getBairro().getBairroId() : null,
+                estacao.getLatitude(), estacao.getLongitude(), estacao.getTipoCarregador(), estacao.getPrecoPorKwh());
+    }
+
+    @Override
+    public EstacaoRecarga paraEntidade(EstacaoRecargaCreateDTO dto) {
+        EstacaoRecarga estacao = new EstacaoRecarga();
+        estacao.setNome(dto.getNome());
+        estacao.setLatitude(dto.getLatitude());
+        estacao.setLongitude(dto.getLongitude());
+        estacao.setTipoCarregador(dto.getTipoCarregador());
+        estacao.setPrecoPorKwh(dto.getPrecoPorKwh());
+        return estacao;
+    }
+}
@@ -0,0 +1,29 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelCreateDTO;
+import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO;
+import com.java.EcoDrive.model.EstacaoSustentavel;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EstacaoSustentavelMapper implements EntityMapper<EstacaoSustentavel, EstacaoSustentavelDTO, EstacaoSustentavelCreateDTO> {
+
+    @Override
+    public EstacaoSustentavelDTO paraDTO(EstacaoSustentavel estacao) {
+        EstacaoSustentavelDTO dto = new EstacaoSustentavelDTO();
+        dto.setEstacaoId(estacao.getEstacaoId());
+        if (estacao.getFonteEnergia() != null) {
+            dto.setFonteId(estacao.getFonteEnergia().getFonteId());
+        }
+        dto.setReducaoCarbono(estacao.getReducaoCarbono());
+        return dto;
+    }
+
+    @Override
+    public EstacaoSustentavel paraEntidade(EstacaoSustentavelCreateDTO dto) {
+        EstacaoSustentavel estacao = new EstacaoSustentavel();
+        // O ID vem da estação de recarga associada (@MapsId); preenchido aqui, o save faria merge em vez de persist
+        estacao.setReducaoCarbono(dto.getReducaoCarbono());
+        return estacao;
+    }
+}
@@ -0,0 +1,25 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaCreateDTO;
+import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaDTO;
+import com.java.EcoDrive.model.FonteEnergia;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FonteEnergiaMapper implements EntityMapper<FonteEnergia, FonteEnergiaDTO, FonteEnergiaCreateDTO> {
+
+    @Override
+    public FonteEnergiaDTO paraDTO(FonteEnergia fonte) {
+        FonteEnergiaDTO dto = new FonteEnergiaDTO();
+        dto.setFonteId(fonte.getFonteId());
+        dto.setTipoEnergia(fonte.getTipoEnergia());
+        return dto;
+    }
+
+    @Override
+    public FonteEnergia paraEntidade(FonteEnergiaCreateDTO dto) {
+        FonteEnergia fonte = new FonteEnergia();
+        fonte.setTipoEnergia(dto.getTipoEnergia());
+        return fonte;
+    }
+}
@@ -0,0 +1,28 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoCreateDTO;
+import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoDTO;
+import com.java.EcoDrive.model.GastoCarregamento;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GastoCarregamentoMapper implements EntityMapper<GastoCarregamento, GastoCarregamentoDTO, GastoCarregamentoCreateDTO> {
+
+    @Override
+    public GastoCarregamentoDTO paraDTO(GastoCarregamento gasto) {
+        GastoCarregamentoDTO dto = new GastoCarregamentoDTO();
+        dto.setGastoId(gasto.getGastoId());
+        if (gasto.getHistoricoCarregamento() != null) {
+            dto.setHistoricoId(gasto.getHistoricoCarregamento().getHistoricoId());
+        }
+        dto.setCustoTotal(gasto.getCustoTotal());
+        return dto;
+    }
+
+    @Override
+    public GastoCarregamento paraEntidade(GastoCarregamentoCreateDTO dto) {
+        GastoCarregamento gasto = new GastoCarregamento();
+        gasto.setCustoTotal(dto.getCustoTotal());
+        return gasto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoCreateDTO;
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
+import com.java.EcoDrive.model.HistoricoCarregamento;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HistoricoCarregamentoMapper implements EntityMapper<HistoricoCarregamento, HistoricoCarregamentoDTO, HistoricoCarregamentoCreateDTO> {
+
+    @Override
+    public HistoricoCarregamentoDTO paraDTO(HistoricoCarregamento historico) {
+        HistoricoCarregamentoDTO dto = new HistoricoCarregamentoDTO();
+        dto.setHistoricoId(historico.getHistoricoId());
+        if (historico.getUsuario() != null) {
+            dto.setUsuarioId(historico.getUsuario().getUsuarioId());
+        }
+        if (historico.getVeiculo() != null) {
+            dto.setVeiculoId(historico.getVeiculo().getVeiculoId());
+        }
+        if (historico.getEstacaoRecarga() != null) {
+            dto.setEstacaoId(historico.getEstacaoRecarga().getEstacaoId());
+        }
+        dto.setDataCarregamento(historico.getDataCarregamento());
+        dto.setKwhConsumidos(historico.getKwhConsumidos());
+        return dto;
+    }
+
+    @Override
+    public HistoricoCarregamento paraEntidade(HistoricoCarregamentoCreateDTO dto) {
+        HistoricoCarregamento historico = new HistoricoCarregamento();
+        historico.setDataCarregamento(dto.getDataCarregamento());
+        historico.setKwhConsumidos(dto.getKwhConsumidos());
+        return historico;
+    }
+}
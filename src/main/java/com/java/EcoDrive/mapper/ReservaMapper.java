@@ -0,0 +1,35 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.Reserva.ReservaCreateDTO;
+import com.java.EcoDrive.dto.Reserva.ReservaDTO;
+import com.java.EcoDrive.model.Reserva;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservaMapper implements EntityMapper<Reserva, ReservaDTO, ReservaCreateDTO> {
+
+    @Override
+    public ReservaDTO paraDTO(Reserva reserva) {
+        ReservaDTO dto = new ReservaDTO();
+        dto.setReservaId(reserva.getReservaId());
+        // Usuário e estação são LAZY: ler o ID do proxy não dispara a consulta
+        if (reserva.getUsuario() != null) {
+            dto.setUsuarioId(reserva.getUsuario().getUsuarioId());
+        }
+        if (reserva.getEstacaoRecarga() != null) {
+            dto.setEstacaoId(reserva.getEstacaoRecarga().getEstacaoId());
+        }
+        dto.setDataReserva(reserva.getDataReserva());
+        dto.setStatus(reserva.getStatus());
+        dto.setExpiraEm(reserva.getExpiraEm());
+        return dto;
+    }
+
+    @Override
+    public Reserva paraEntidade(ReservaCreateDTO dto) {
+        Reserva reserva = new Reserva();
+        reserva.setDataReserva(dto.getDataReserva());
+        reserva.setStatus(dto.getStatus());
+        return reserva;
+    }
+}
@@ -0,0 +1,24 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaCreateDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.model.StatusEstacaoRecarga;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StatusEstacaoRecargaMapper implements EntityMapper<StatusEstacaoRecarga, StatusEstacaoRecargaDTO, StatusEstacaoRecargaCreateDTO> {
+
+    @Override
+    public StatusEstacaoRecargaDTO paraDTO(StatusEstacaoRecarga status) {
+        return new StatusEstacaoRecargaDTO(status.getStatusId(),
+                status.getEstacaoRecarga() != null ? status.getEstacaoRecarga().getEstacaoId() : null,
+                status.getStatus(), status.getUltimaAtualizacao());
+    }
+
+    @Override
+    public StatusEstacaoRecarga paraEntidade(StatusEstacaoRecargaCreateDTO dto) {
+        StatusEstacaoRecarga status = new StatusEstacaoRecarga();
+        status.setStatus(dto.getStatus());
+        return status;
+    }
+}
@@ -0,0 +1,31 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoCreateDTO;
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoDTO;
+import com.java.EcoDrive.model.TarifaEstacao;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TarifaEstacaoMapper implements EntityMapper<TarifaEstacao, TarifaEstacaoDTO, TarifaEstacaoCreateDTO> {
+
+    @Override
+    public TarifaEstacaoDTO paraDTO(TarifaEstacao tarifa) {
+        TarifaEstacaoDTO dto = new TarifaEstacaoDTO();
+        if (tarifa.getEstacaoRecarga() != null) {
+            dto.setEstacaoId(tarifa.getEstacaoRecarga().getEstacaoId());
+        }
+        dto.setHoraInicio(tarifa.getHoraInicio());
+        dto.setHoraFim(tarifa.getHoraFim());
+        dto.setPrecoPorKwh(tarifa.getPrecoPorKwh());
+        return dto;
+    }
+
+    @Override
+    public TarifaEstacao paraEntidade(TarifaEstacaoCreateDTO dto) {
+        TarifaEstacao tarifa = new TarifaEstacao();
+        tarifa.setHoraInicio(dto.getHoraInicio());
+        tarifa.setHoraFim(dto.getHoraFim());
+        tarifa.setPrecoPorKwh(dto.getPrecoPorKwh());
+        return tarifa;
+    }
+}
@@ -0,0 +1,31 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.Usuario.UsuarioCreateDTO;
+import com.java.EcoDrive.dto.Usuario.UsuarioDTO;
+import com.java.EcoDrive.model.Usuario;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsuarioMapper implements EntityMapper<Usuario, UsuarioDTO, UsuarioCreateDTO> {
+
+    @Override
+    public UsuarioDTO paraDTO(Usuario usuario) {
+        // A senha nunca é copiada para o DTO
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setUsuarioId(usuario.getUsuarioId());
+        dto.setNome(usuario.getNome());
+        dto.setEmail(usuario.getEmail());
+        dto.setTelefone(usuario.getTelefone());
+        return dto;
+    }
+
+    @Override
+    public Usuario paraEntidade(UsuarioCreateDTO dto) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(dto.getNome());
+        usuario.setEmail(dto.getEmail());
+        usuario.setSenha(dto.getSenha());
+        usuario.setTelefone(dto.getTelefone());
+        return usuario;
+    }
+}
@@ -0,0 +1,34 @@
+package com.java.EcoDrive.mapper;
+
+import com.java.EcoDrive.dto.Veiculo.VeiculoCreateDTO;
+import com.java.EcoDrive.dto.Veiculo.VeiculoDTO;
+import com.java.EcoDrive.model.Veiculo;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VeiculoMapper implements EntityMapper<Veiculo, VeiculoDTO, VeiculoCreateDTO> {
+
+    @Override
+    public VeiculoDTO paraDTO(Veiculo veiculo) {
+        VeiculoDTO dto = new VeiculoDTO();
+        dto.setVeiculoId(veiculo.getVeiculoId());
+        if (veiculo.getUsuario() != null) {
+            dto.setUsuarioId(veiculo.getUsuario().getUsuarioId());
+        }
+        dto.setMarca(veiculo.getMarca());
+        dto.setModelo(veiculo.getModelo());
+        dto.setAno(veiculo.getAno());
+        dto.setIsEletrico(veiculo.getIsEletrico());
+        return dto;
+    }
+
+    @Override
+    public Veiculo paraEntidade(VeiculoCreateDTO dto) {
+        Veiculo veiculo = new Veiculo();
+        veiculo.setMarca(dto.getMarca());
+        veiculo.setModelo(dto.getModelo());
+        veiculo.setAno(dto.getAno());
+        veiculo.setIsEletrico(dto.getIsEletrico());
+        return veiculo;
+    }
+}
@@ -1,11 +1,17 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.List;
 import java.util.ArrayList;
 
+// Associação das estações: carregada junto com cada estação, então também fica no cache de segundo nível
 @Entity
 @Table(name = "bairro")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bairro")
 public class Bairro {
 
     @Id
@@ -16,6 +22,12 @@ public class Bairro {
     @Column(name = "nome", nullable = false, length = 100)
     private String nome;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToMany(mappedBy = "bairro")
     private List<EstacaoRecarga> estacoesRecarga = new ArrayList<>();
@@ -56,4 +68,12 @@ public class Bairro {
     public void setConcessionarias(List<Concessionaria> concessionarias) {
         this.concessionarias = concessionarias;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -1,6 +1,7 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +27,12 @@ public class Concessionaria {
     @Column(name = "tem_estacao_recarga", nullable = false)
     private Integer temEstacaoRecarga;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToMany(mappedBy = "concessionaria", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Veiculo> veiculos = new ArrayList<>();
@@ -79,4 +86,12 @@ public class Concessionaria {
     public void setVeiculos(List<Veiculo> veiculos) {
         this.veiculos = veiculos;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -0,0 +1,99 @@
+package com.java.EcoDrive.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consumo de uma estação de recarga em uma hora ou em um dia: soma de kWh, soma do custo
+ * dos gastos e quantidade de sessões dos históricos iniciados no período. As linhas são
+ * mantidas por {@code AgregacaoConsumo}, nunca pela API.
+ */
+@Entity
+@Table(name = "consumo_agregado",
+        uniqueConstraints = @UniqueConstraint(name = "uk_consumo_agregado_periodo", columnNames = {"granularidade", "estacao_id", "periodo"}),
+        indexes = @Index(name = "idx_consumo_agregado_periodo", columnList = "granularidade, periodo"))
+public class ConsumoAgregado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "consumo_id")
+    private Long consumoId;
+
+    @Column(name = "granularidade", nullable = false, length = 4)
+    private String granularidade;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "estacao_id", nullable = false)
+    private EstacaoRecarga estacaoRecarga;
+
+    @Column(name = "periodo", nullable = false)
+    private LocalDateTime periodo;
+
+    @Column(name = "kwh_total", nullable = false)
+    private Double kwhTotal;
+
+    @Column(name = "custo_total", nullable = false)
+    private Double custoTotal;
+
+    @Column(name = "sessoes", nullable = false)
+    private Long sessoes;
+
+    // Getters e Setters
+
+    public Long getConsumoId() {
+        return consumoId;
+    }
+
+    public void setConsumoId(Long consumoId) {
+        this.consumoId = consumoId;
+    }
+
+    public String getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(String granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public EstacaoRecarga getEstacaoRecarga() {
+        return estacaoRecarga;
+    }
+
+    public void setEstacaoRecarga(EstacaoRecarga estacaoRecarga) {
+        this.estacaoRecarga = estacaoRecarga;
+    }
+
+    public LocalDateTime getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(LocalDateTime periodo) {
+        this.periodo = periodo;
+    }
+
+    public Double getKwhTotal() {
+        return kwhTotal;
+    }
+
+    public void setKwhTotal(Double kwhTotal) {
+        this.kwhTotal = kwhTotal;
+    }
+
+    public Double getCustoTotal() {
+        return custoTotal;
+    }
+
+    public void setCustoTotal(Double custoTotal) {
+        this.custoTotal = custoTotal;
+    }
+
+    public Long getSessoes() {
+        return sessoes;
+    }
+
+    public void setSessoes(Long sessoes) {
+        this.sessoes = sessoes;
+    }
+}
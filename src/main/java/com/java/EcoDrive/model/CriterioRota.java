@@ -0,0 +1,20 @@
+package com.java.EcoDrive.model;
+
+import java.util.Arrays;
+
+/**
+ * O que o planejador de rotas minimiza: o tempo total da viagem (direção e recargas) ou o custo
+ * das recargas.
+ */
+public enum CriterioRota {
+
+    TEMPO,
+    CUSTO;
+
+    public static CriterioRota de(String valor) {
+        return Arrays.stream(values())
+                .filter(criterio -> criterio.name().equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Critério de rota inválido: " + valor));
+    }
+}
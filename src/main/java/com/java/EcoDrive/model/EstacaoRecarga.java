@@ -1,11 +1,17 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.List;
 import java.util.ArrayList;
 
+// Lida muito mais do que escrita: fica no cache de segundo nível do Hibernate
 @Entity
 @Table(name = "estacao_recarga")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "estacaoRecarga")
 public class EstacaoRecarga {
 
     @Id
@@ -32,6 +38,11 @@ public class EstacaoRecarga {
     @Column(name = "preco_por_kwh", nullable = false, precision = 10)
     private Double precoPorKwh;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToOne(mappedBy = "estacaoRecarga")
     private EstacaoSustentavel estacaoSustentavel;
@@ -134,4 +145,12 @@ public class EstacaoRecarga {
     public void setStatusEstacoes(List<StatusEstacaoRecarga> statusEstacoes) {
         this.statusEstacoes = statusEstacoes;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -1,9 +1,14 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "estacao_sustentavel")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "estacaoSustentavel")
 public class EstacaoSustentavel {
 
     @Id
@@ -22,6 +27,12 @@ public class EstacaoSustentavel {
     @Column(name = "reducao_carbono", nullable = false, precision = 10)
     private Double reducaoCarbono;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Getters e Setters
 
     public Long getEstacaoId() {
@@ -55,4 +66,12 @@ public class EstacaoSustentavel {
     public void setReducaoCarbono(Double reducaoCarbono) {
         this.reducaoCarbono = reducaoCarbono;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
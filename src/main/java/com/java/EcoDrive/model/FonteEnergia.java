@@ -1,10 +1,16 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.Set;
 
+// Associação das estações sustentáveis: também fica no cache de segundo nível
 @Entity
 @Table(name = "fonte_energia")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "fonteEnergia")
 public class FonteEnergia {
 
     @Id
@@ -15,6 +21,12 @@ public class FonteEnergia {
     @Column(name = "tipo_energia", nullable = false, length = 50)
     private String tipoEnergia;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToMany(mappedBy = "fonteEnergia")
     private Set<EstacaoSustentavel> estacoesSustentaveis;
@@ -44,4 +56,12 @@ public class FonteEnergia {
     public void setEstacoesSustentaveis(Set<EstacaoSustentavel> estacoesSustentaveis) {
         this.estacoesSustentaveis = estacoesSustentaveis;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -1,6 +1,7 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -23,6 +24,12 @@ public class GastoCarregamento {
     @Column(name = "custo_total", nullable = false, precision = 10)
     private Double custoTotal;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Getters e Setters
 
     public Long getGastoId() {
@@ -41,6 +48,14 @@ public class GastoCarregamento {
         this.historicoCarregamento = historicoCarregamento;
     }
 
+    public LocalDateTime getDataGasto() {
+        return dataGasto;
+    }
+
+    public void setDataGasto(LocalDateTime dataGasto) {
+        this.dataGasto = dataGasto;
+    }
+
     public Double getCustoTotal() {
         return custoTotal;
     }
@@ -48,4 +63,12 @@ public class GastoCarregamento {
     public void setCustoTotal(Double custoTotal) {
         this.custoTotal = custoTotal;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -0,0 +1,36 @@
+package com.java.EcoDrive.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Granularidade dos agregados de consumo. O nome é o valor gravado na coluna {@code granularidade}.
+ */
+public enum GranularidadeConsumo {
+
+    HORA(ChronoUnit.HOURS),
+    DIA(ChronoUnit.DAYS);
+
+    private final ChronoUnit unidade;
+
+    GranularidadeConsumo(ChronoUnit unidade) {
+        this.unidade = unidade;
+    }
+
+    public ChronoUnit getUnidade() {
+        return unidade;
+    }
+
+    // Início do período que contém o instante informado
+    public LocalDateTime inicioDoPeriodo(LocalDateTime instante) {
+        return instante.truncatedTo(unidade);
+    }
+
+    public static GranularidadeConsumo de(String valor) {
+        return Arrays.stream(values())
+                .filter(granularidade -> granularidade.name().equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Granularidade inválida: " + valor));
+    }
+}
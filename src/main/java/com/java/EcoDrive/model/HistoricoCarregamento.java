@@ -1,10 +1,12 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "historico_carregamento")
+@Table(name = "historico_carregamento",
+        indexes = @Index(name = "idx_historico_data_carregamento", columnList = "data_carregamento"))
 public class HistoricoCarregamento {
 
     @Id
@@ -30,6 +32,12 @@ public class HistoricoCarregamento {
     @Column(name = "kwh_consumidos", nullable = false, precision = 10)
     private Double kwhConsumidos;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToOne(mappedBy = "historicoCarregamento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private GastoCarregamento gastoCarregamento;
@@ -91,4 +99,12 @@ public class HistoricoCarregamento {
     public void setGastoCarregamento(GastoCarregamento gastoCarregamento) {
         this.gastoCarregamento = gastoCarregamento;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
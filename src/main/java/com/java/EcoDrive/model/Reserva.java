@@ -1,10 +1,14 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reserva")
+@Table(name = "reserva", indexes = {
+        @Index(name = "idx_reserva_estacao_data", columnList = "estacao_id, data_reserva"),
+        @Index(name = "idx_reserva_status_expira", columnList = "status, expira_em")
+})
 public class Reserva {
 
     @Id
@@ -26,6 +30,15 @@ public class Reserva {
     @Column(name = "status", nullable = false)
     private Integer status;
 
+    // Prazo para confirmação de uma reserva pendente
+    @Column(name = "expira_em")
+    private LocalDateTime expiraEm;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Construtor padrão
     public Reserva() {
     }
@@ -79,4 +92,20 @@ public class Reserva {
     public void setStatus(Integer status) {
         this.status = status;
     }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
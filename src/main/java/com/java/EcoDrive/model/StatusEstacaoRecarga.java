@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "status_estacao_recarga")
+@Table(name = "status_estacao_recarga",
+        indexes = @Index(name = "idx_status_estacao_atualizacao", columnList = "estacao_id, ultima_atualizacao"))
 public class StatusEstacaoRecarga {
 
     @Id
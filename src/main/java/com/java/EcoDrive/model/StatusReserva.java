@@ -0,0 +1,58 @@
+package com.java.EcoDrive.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Ciclo de vida de uma reserva. O código é o valor gravado na coluna {@code status}.
+ */
+public enum StatusReserva {
+
+    PENDENTE(0),
+    CONFIRMADA(1),
+    EXPIRADA(2),
+    CANCELADA(3);
+
+    private final int codigo;
+
+    StatusReserva(int codigo) {
+        this.codigo = codigo;
+    }
+
+    public int getCodigo() {
+        return codigo;
+    }
+
+    // Reservas encerradas não ocupam mais o horário na estação
+    public boolean ocupaHorario() {
+        return this == PENDENTE || this == CONFIRMADA;
+    }
+
+    public boolean encerrada() {
+        return this == EXPIRADA || this == CANCELADA;
+    }
+
+    /**
+     * Status informado pelo cliente.
+     *
+     * @throws IllegalArgumentException se o código não corresponder a nenhum status.
+     */
+    public static StatusReserva deCodigo(Integer codigo) {
+        return buscar(codigo).orElseThrow(() -> new IllegalArgumentException("Status de reserva inválido: " + codigo));
+    }
+
+    /**
+     * Status de uma reserva já gravada. Reservas anteriores ao ciclo de vida podem ter outros
+     * códigos; elas não são carregadas na agenda, por isso são tratadas como canceladas: não
+     * ocupam horário nem podem ser reativadas, mas continuam podendo ser alteradas e removidas.
+     */
+    public static StatusReserva doRegistro(Integer codigo) {
+        return buscar(codigo).orElse(CANCELADA);
+    }
+
+    private static Optional<StatusReserva> buscar(Integer codigo) {
+        return Arrays.stream(values())
+                .filter(status -> codigo != null && status.codigo == codigo)
+                .findFirst();
+    }
+}
@@ -0,0 +1,74 @@
+package com.java.EcoDrive.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Faixa horária da tarifa de uma estação de recarga: o preço por kWh vale para os
+ * carregamentos iniciados entre {@code horaInicio} (inclusive) e {@code horaFim} (exclusive).
+ * Fora das faixas cadastradas vale o {@code precoPorKwh} da própria estação.
+ */
+@Entity
+@Table(name = "tarifa_estacao",
+        indexes = @Index(name = "idx_tarifa_estacao_estacao", columnList = "estacao_id, hora_inicio"))
+public class TarifaEstacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tarifa_id")
+    private Long tarifaId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "estacao_id", nullable = false)
+    private EstacaoRecarga estacaoRecarga;
+
+    @Column(name = "hora_inicio", nullable = false)
+    private Integer horaInicio;
+
+    @Column(name = "hora_fim", nullable = false)
+    private Integer horaFim;
+
+    @Column(name = "preco_por_kwh", nullable = false, precision = 10)
+    private Double precoPorKwh;
+
+    // Getters e Setters
+
+    public Long getTarifaId() {
+        return tarifaId;
+    }
+
+    public void setTarifaId(Long tarifaId) {
+        this.tarifaId = tarifaId;
+    }
+
+    public EstacaoRecarga getEstacaoRecarga() {
+        return estacaoRecarga;
+    }
+
+    public void setEstacaoRecarga(EstacaoRecarga estacaoRecarga) {
+        this.estacaoRecarga = estacaoRecarga;
+    }
+
+    public Integer getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(Integer horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public Integer getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(Integer horaFim) {
+        this.horaFim = horaFim;
+    }
+
+    public Double getPrecoPorKwh() {
+        return precoPorKwh;
+    }
+
+    public void setPrecoPorKwh(Double precoPorKwh) {
+        this.precoPorKwh = precoPorKwh;
+    }
+}
@@ -1,11 +1,16 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.List;
 import java.util.ArrayList;
 
 @Entity
 @Table(name = "usuario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 public class Usuario {
 
     @Id
@@ -25,6 +30,12 @@ public class Usuario {
     @Column(name = "telefone", length = 20)
     private String telefone;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToMany(mappedBy = "usuario")
     private List<Veiculo> veiculos = new ArrayList<>();
@@ -100,4 +111,12 @@ public class Usuario {
     public void setHistoricos(List<HistoricoCarregamento> historicos) {
         this.historicos = historicos;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
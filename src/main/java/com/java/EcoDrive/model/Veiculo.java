@@ -1,6 +1,7 @@
 package com.java.EcoDrive.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -33,6 +34,12 @@ public class Veiculo {
     @Column(name = "is_eletrico", nullable = false)
     private Integer isEletrico;
 
+    // Incrementada a cada atualização; também serve de ETag nas respostas da API
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Relacionamentos
     @OneToMany(mappedBy = "veiculo")
     private List<HistoricoCarregamento> historicos = new ArrayList<>();
@@ -102,4 +109,12 @@ public class Veiculo {
     public void setHistoricos(List<HistoricoCarregamento> historicos) {
         this.historicos = historicos;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -1,12 +1,32 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.Bairro;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BairroRepository extends JpaRepository<Bairro, Long> {
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<Bairro> findByBairroIdGreaterThanOrderByBairroIdAsc(Long bairroId, Limit limit);
     List<Bairro> findByNomeContainingIgnoreCase(String nome);
+
+    @Query("SELECT b.bairroId FROM Bairro b")
+    List<Long> buscarTodosIds();
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(b.bairroId, b.versao) " +
+            "FROM Bairro b WHERE b.bairroId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(b), MAX(b.bairroId), SUM(b.versao)) " +
+            "FROM Bairro b")
+    VersaoRecursoDTO buscarVersaoDaColecao();
 }
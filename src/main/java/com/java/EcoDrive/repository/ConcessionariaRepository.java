@@ -1,13 +1,30 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.Concessionaria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ConcessionariaRepository extends JpaRepository<Concessionaria, Long> {
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<Concessionaria> findByConcessionariaIdGreaterThanOrderByConcessionariaIdAsc(Long concessionariaId, Limit limit);
     List<Concessionaria> findByBairroBairroId(Long bairroId);
     List<Concessionaria> findByMarcaContainingIgnoreCase(String marca);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(c.concessionariaId, c.versao) " +
+            "FROM Concessionaria c WHERE c.concessionariaId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(c), MAX(c.concessionariaId), SUM(c.versao)) " +
+            "FROM Concessionaria c")
+    VersaoRecursoDTO buscarVersaoDaColecao();
 }
@@ -0,0 +1,31 @@
+package com.java.EcoDrive.repository;
+
+import com.java.EcoDrive.dto.ConsumoAgregado.ConsumoAgregadoDTO;
+import com.java.EcoDrive.model.ConsumoAgregado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ConsumoAgregadoRepository extends JpaRepository<ConsumoAgregado, Long> {
+    // Série do período somada sobre as estações filtradas; sem filtro, soma a rede inteira
+    @Query("SELECT new com.java.EcoDrive.dto.ConsumoAgregado.ConsumoAgregadoDTO(c.periodo, SUM(c.kwhTotal), SUM(c.custoTotal), SUM(c.sessoes)) "
+            + "FROM ConsumoAgregado c JOIN c.estacaoRecarga e "
+            + "WHERE c.granularidade = :granularidade AND c.periodo >= :inicio AND c.periodo < :fim "
+            + "AND (:estacaoId IS NULL OR e.estacaoId = :estacaoId) "
+            + "AND (:bairroId IS NULL OR e.bairro.bairroId = :bairroId) "
+            + "GROUP BY c.periodo ORDER BY c.periodo")
+    List<ConsumoAgregadoDTO> somarPorPeriodo(@Param("granularidade") String granularidade,
+                                             @Param("inicio") LocalDateTime inicio,
+                                             @Param("fim") LocalDateTime fim,
+                                             @Param("estacaoId") Long estacaoId,
+                                             @Param("bairroId") Long bairroId);
+    @Modifying
+    @Query("DELETE FROM ConsumoAgregado c WHERE c.estacaoRecarga.estacaoId = :estacaoId")
+    int removerPorEstacao(@Param("estacaoId") Long estacaoId);
+}
@@ -1,13 +1,83 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.EstacaoRecarga;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EstacaoRecargaRepository extends JpaRepository<EstacaoRecarga, Long> {
+    // Busca em lote por IDs: as associações carregadas de forma ansiosa vêm na mesma consulta, sem um SELECT por registro
+    @Override
+    @EntityGraph(attributePaths = {"bairro", "estacaoSustentavel.fonteEnergia"})
+    List<EstacaoRecarga> findAllById(Iterable<Long> ids);
+
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<EstacaoRecarga> findByEstacaoIdGreaterThanOrderByEstacaoIdAsc(Long estacaoId, Limit limit);
+
+    // Consultas frequentes no cache de consultas: guardam só os IDs, as estações vêm do cache de entidades.
+    // Qualquer escrita na tabela estacao_recarga invalida as regiões.
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "estacoesPorBairro")})
     List<EstacaoRecarga> findByBairroBairroId(Long bairroId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "estacoesPorTipoCarregador")})
     List<EstacaoRecarga> findByTipoCarregadorContainingIgnoreCase(String tipoCarregador);
+
+    /**
+     * Carrega todas as estações já no formato de DTO, em uma única consulta e sem
+     * inicializar os relacionamentos da entidade.
+     *
+     * @return lista com todas as estações de recarga.
+     */
+    @Query("SELECT new com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO(e.estacaoId, e.nome, e.bairro.bairroId, " +
+            "e.latitude, e.longitude, e.tipoCarregador, e.precoPorKwh) FROM EstacaoRecarga e")
+    List<EstacaoRecargaDTO> buscarTodasComoDTO();
+
+    /**
+     * Busca a estação com a trava de escrita da linha (SELECT ... FOR UPDATE) até o fim da
+     * transação, de forma que duas transações que alteram a agenda da mesma estação, mesmo em
+     * nós diferentes, sejam executadas uma depois da outra. A linha não é alterada: a versão da
+     * estação, o cache de segundo nível e o ETag continuam mudando só quando a estação muda.
+     *
+     * @param estacaoId ID da estação de recarga.
+     * @return a estação, se existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EstacaoRecarga e WHERE e.estacaoId = :estacaoId")
+    Optional<EstacaoRecarga> buscarComTravaDeEscrita(@Param("estacaoId") Long estacaoId);
+
+    /**
+     * Retorna, dentre os IDs informados, apenas os que pertencem a estações existentes.
+     *
+     * @param ids IDs a verificar (no máximo 1000, limite da cláusula IN no Oracle).
+     * @return IDs das estações encontradas.
+     */
+    @Query("SELECT e.estacaoId FROM EstacaoRecarga e WHERE e.estacaoId IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(e.estacaoId, e.versao) " +
+            "FROM EstacaoRecarga e WHERE e.estacaoId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(e), MAX(e.estacaoId), SUM(e.versao)) " +
+            "FROM EstacaoRecarga e")
+    VersaoRecursoDTO buscarVersaoDaColecao();
 }
@@ -1,12 +1,35 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
+import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO;
 import com.java.EcoDrive.model.EstacaoSustentavel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EstacaoSustentavelRepository extends JpaRepository<EstacaoSustentavel, Long> {
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<EstacaoSustentavel> findByEstacaoIdGreaterThanOrderByEstacaoIdAsc(Long estacaoId, Limit limit);
     List<EstacaoSustentavel> findByFonteEnergiaTipoEnergiaContainingIgnoreCase(String tipoEnergia);
+
+    // Carga do motor de recomendação, sem carregar as entidades
+    @Query("SELECT new com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO(e.estacaoId, e.fonteEnergia.fonteId, e.reducaoCarbono) "
+            + "FROM EstacaoSustentavel e")
+    List<EstacaoSustentavelDTO> listarTodasDTOs();
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(e.estacaoId, e.versao) " +
+            "FROM EstacaoSustentavel e WHERE e.estacaoId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(e), MAX(e.estacaoId), SUM(e.versao)) " +
+            "FROM EstacaoSustentavel e")
+    VersaoRecursoDTO buscarVersaoDaColecao();
 }
@@ -1,12 +1,29 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.FonteEnergia;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FonteEnergiaRepository extends JpaRepository<FonteEnergia, Long> {
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<FonteEnergia> findByFonteIdGreaterThanOrderByFonteIdAsc(Long fonteId, Limit limit);
     List<FonteEnergia> findByTipoEnergiaContainingIgnoreCase(String tipoEnergia);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(f.fonteId, f.versao) " +
+            "FROM FonteEnergia f WHERE f.fonteId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(f), MAX(f.fonteId), SUM(f.versao)) " +
+            "FROM FonteEnergia f")
+    VersaoRecursoDTO buscarVersaoDaColecao();
 }
@@ -1,14 +1,37 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.GastoCarregamento;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GastoCarregamentoRepository extends JpaRepository<GastoCarregamento, Long> {
+    // Busca em lote por IDs: as associações carregadas de forma ansiosa vêm na mesma consulta, sem um SELECT por registro
+    @Override
+    @EntityGraph(attributePaths = {"historicoCarregamento.usuario", "historicoCarregamento.veiculo.usuario",
+            "historicoCarregamento.veiculo.concessionaria", "historicoCarregamento.estacaoRecarga.bairro",
+            "historicoCarregamento.estacaoRecarga.estacaoSustentavel.fonteEnergia"})
+    List<GastoCarregamento> findAllById(Iterable<Long> ids);
+
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<GastoCarregamento> findByGastoIdGreaterThanOrderByGastoIdAsc(Long gastoId, Limit limit);
     List<GastoCarregamento> findByHistoricoCarregamentoHistoricoId(Long historicoId);
+    boolean existsByHistoricoCarregamentoHistoricoId(Long historicoId);
     List<GastoCarregamento> findByDataGastoBetween(LocalDateTime inicio, LocalDateTime fim);
+    @Query("SELECT COALESCE(SUM(g.custoTotal), 0) FROM GastoCarregamento g WHERE g.historicoCarregamento.historicoId = :historicoId")
+    Double somarCustoPorHistorico(@Param("historicoId") Long historicoId);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(g.gastoId, g.versao) " +
+            "FROM GastoCarregamento g WHERE g.gastoId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
 }
@@ -1,14 +1,67 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
 import com.java.EcoDrive.model.HistoricoCarregamento;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HistoricoCarregamentoRepository extends JpaRepository<HistoricoCarregamento, Long> {
+
+    // Projeção no formato do DTO: as chaves estrangeiras são lidas da própria tabela, sem carregar as entidades relacionadas
+    String SELECIONAR_DTO = "SELECT new com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO(" +
+            "h.historicoId, h.usuario.usuarioId, h.veiculo.veiculoId, h.estacaoRecarga.estacaoId, " +
+            "h.dataCarregamento, h.kwhConsumidos) FROM HistoricoCarregamento h ";
+
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<HistoricoCarregamento> findByHistoricoIdGreaterThanOrderByHistoricoIdAsc(Long historicoId, Limit limit);
+
+    /**
+     * Variantes que devolvem as entidades com os relacionamentos EAGER e os um-para-um inversos
+     * (gasto e estação sustentável) em um único SELECT com joins, em vez de uma consulta por linha.
+     */
+    @EntityGraph(attributePaths = {"usuario", "veiculo.usuario", "veiculo.concessionaria", "estacaoRecarga.bairro",
+            "estacaoRecarga.estacaoSustentavel.fonteEnergia", "gastoCarregamento"})
     List<HistoricoCarregamento> findByUsuarioUsuarioId(Long usuarioId);
+
+    @EntityGraph(attributePaths = {"usuario", "veiculo.usuario", "veiculo.concessionaria", "estacaoRecarga.bairro",
+            "estacaoRecarga.estacaoSustentavel.fonteEnergia", "gastoCarregamento"})
     List<HistoricoCarregamento> findByVeiculoVeiculoId(Long veiculoId);
-}
 
+    @Query(value = SELECIONAR_DTO, countQuery = "SELECT COUNT(h) FROM HistoricoCarregamento h")
+    Page<HistoricoCarregamentoDTO> listarDTOs(Pageable pageable);
+
+    @Query(SELECIONAR_DTO + "ORDER BY h.historicoId")
+    List<HistoricoCarregamentoDTO> listarTodosDTOs();
+
+    @Query(SELECIONAR_DTO + "WHERE h.historicoId > :historicoId ORDER BY h.historicoId")
+    List<HistoricoCarregamentoDTO> listarDTOsAposId(@Param("historicoId") Long historicoId, Limit limit);
+
+    @Query(SELECIONAR_DTO + "WHERE h.historicoId = :historicoId")
+    Optional<HistoricoCarregamentoDTO> buscarDTOPorId(@Param("historicoId") Long historicoId);
+
+    @Query(SELECIONAR_DTO + "WHERE h.historicoId IN :historicoIds")
+    List<HistoricoCarregamentoDTO> listarDTOsPorIds(@Param("historicoIds") Collection<Long> historicoIds);
+
+    @Query(SELECIONAR_DTO + "WHERE h.usuario.usuarioId = :usuarioId ORDER BY h.historicoId")
+    List<HistoricoCarregamentoDTO> listarDTOsPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query(SELECIONAR_DTO + "WHERE h.veiculo.veiculoId = :veiculoId ORDER BY h.historicoId")
+    List<HistoricoCarregamentoDTO> listarDTOsPorVeiculo(@Param("veiculoId") Long veiculoId);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(h.historicoId, h.versao) " +
+            "FROM HistoricoCarregamento h WHERE h.historicoId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+}
@@ -1,15 +1,94 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.Reserva;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservaRepository extends JpaRepository<Reserva, Long> {
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<Reserva> findByReservaIdGreaterThanOrderByReservaIdAsc(Long reservaId, Limit limit);
     List<Reserva> findByStatus(Integer status);
     List<Reserva> findByUsuarioUsuarioId(Long usuarioId);
     List<Reserva> findByDataReservaBetween(LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Busca apenas os horários das reservas de uma estação em um intervalo [inicio, fim).
+     *
+     * @param estacaoId ID da estação de recarga.
+     * @param inicio    início do intervalo (inclusivo).
+     * @param fim       fim do intervalo (exclusivo).
+     * @param status    status das reservas que ainda ocupam o horário.
+     * @return horários reservados na estação.
+     */
+    @Query("SELECT r.dataReserva FROM Reserva r WHERE r.estacaoRecarga.estacaoId = :estacaoId " +
+            "AND r.dataReserva >= :inicio AND r.dataReserva < :fim AND r.status IN :status")
+    List<LocalDateTime> buscarHorariosReservados(@Param("estacaoId") Long estacaoId,
+                                                 @Param("inicio") LocalDateTime inicio,
+                                                 @Param("fim") LocalDateTime fim,
+                                                 @Param("status") Collection<Integer> status);
+
+    /**
+     * Busca os IDs das reservas de uma estação que ocupam o intervalo [inicio, fim), usado para
+     * conferir no banco um slot que a agenda em memória indica como livre.
+     *
+     * @param estacaoId ID da estação de recarga.
+     * @param inicio    início do intervalo (inclusivo).
+     * @param fim       fim do intervalo (exclusivo).
+     * @param status    status das reservas que ainda ocupam o horário.
+     * @return IDs das reservas no intervalo.
+     */
+    @Query("SELECT r.reservaId FROM Reserva r WHERE r.estacaoRecarga.estacaoId = :estacaoId " +
+            "AND r.dataReserva >= :inicio AND r.dataReserva < :fim AND r.status IN :status")
+    List<Long> buscarReservasNoIntervalo(@Param("estacaoId") Long estacaoId,
+                                         @Param("inicio") LocalDateTime inicio,
+                                         @Param("fim") LocalDateTime fim,
+                                         @Param("status") Collection<Integer> status);
+
+    /**
+     * Busca as reservas com o status informado que possuem prazo de expiração, usando o índice (status, expira_em).
+     *
+     * @param status status das reservas (pendente).
+     * @return dados necessários para reagendar a expiração de cada reserva.
+     */
+    @Query("SELECT r.reservaId AS reservaId, r.estacaoRecarga.estacaoId AS estacaoId, r.dataReserva AS dataReserva, " +
+            "r.expiraEm AS expiraEm FROM Reserva r WHERE r.status = :status AND r.expiraEm IS NOT NULL")
+    List<ReservaComPrazo> buscarComPrazoPorStatus(@Param("status") Integer status);
+
+    /**
+     * Altera o status apenas se a reserva ainda estiver no status esperado, incrementando a versão.
+     *
+     * @return quantidade de reservas alteradas (0 ou 1).
+     */
+    @Modifying
+    @Query("UPDATE Reserva r SET r.status = :novoStatus, r.versao = r.versao + 1 " +
+            "WHERE r.reservaId = :reservaId AND r.status = :statusEsperado")
+    int alterarStatusSeAtual(@Param("reservaId") Long reservaId,
+                             @Param("statusEsperado") Integer statusEsperado,
+                             @Param("novoStatus") Integer novoStatus);
+
+    @Query("SELECT r.estacaoRecarga.estacaoId FROM Reserva r WHERE r.reservaId = :reservaId")
+    Optional<Long> buscarEstacaoIdDaReserva(@Param("reservaId") Long reservaId);
+
+    interface ReservaComPrazo {
+        Long getReservaId();
+        Long getEstacaoId();
+        LocalDateTime getDataReserva();
+        LocalDateTime getExpiraEm();
+    }
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(r.reservaId, r.versao) " +
+            "FROM Reserva r WHERE r.reservaId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
 }
@@ -1,14 +1,29 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.EstacaoRecarga;
 import com.java.EcoDrive.model.StatusEstacaoRecarga;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StatusEstacaoRecargaRepository extends JpaRepository<StatusEstacaoRecarga, Long> {
+    // Busca em lote por IDs: as associações carregadas de forma ansiosa vêm na mesma consulta, sem um SELECT por registro
+    @Override
+    @EntityGraph(attributePaths = {"estacaoRecarga.bairro", "estacaoRecarga.estacaoSustentavel.fonteEnergia"})
+    List<StatusEstacaoRecarga> findAllById(Iterable<Long> ids);
+
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<StatusEstacaoRecarga> findByStatusIdGreaterThanOrderByStatusIdAsc(Long statusId, Limit limit);
 
     /**
      * Busca todos os status relacionados a uma estação de recarga específica.
@@ -17,4 +32,46 @@ public interface StatusEstacaoRecargaRepository extends JpaRepository<StatusEsta
      * @return lista de status relacionados à estação.
      */
     List<StatusEstacaoRecarga> findByEstacaoRecarga(EstacaoRecarga estacaoRecarga);
+
+    /**
+     * Busca o status mais recente de cada estação de recarga em uma única consulta.
+     * Em caso de empate na data, mais de um status da mesma estação pode ser retornado.
+     *
+     * @return lista com o último status de cada estação.
+     */
+    @Query("SELECT new com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO(s.statusId, " +
+            "s.estacaoRecarga.estacaoId, s.status, s.ultimaAtualizacao) FROM StatusEstacaoRecarga s " +
+            "WHERE s.ultimaAtualizacao = (SELECT MAX(s2.ultimaAtualizacao) FROM StatusEstacaoRecarga s2 " +
+            "WHERE s2.estacaoRecarga = s.estacaoRecarga)")
+    List<StatusEstacaoRecargaDTO> buscarUltimoStatusDeCadaEstacao();
+
+    /**
+     * Busca o status mais recente de cada uma das estações informadas, em uma única consulta.
+     *
+     * @param estacaoIds IDs das estações (no máximo 1000, limite da cláusula IN no Oracle).
+     * @return lista com o último status de cada estação que possui status registrado.
+     */
+    @Query("SELECT new com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO(s.statusId, " +
+            "s.estacaoRecarga.estacaoId, s.status, s.ultimaAtualizacao) FROM StatusEstacaoRecarga s " +
+            "WHERE s.estacaoRecarga.estacaoId IN :estacaoIds AND s.ultimaAtualizacao = " +
+            "(SELECT MAX(s2.ultimaAtualizacao) FROM StatusEstacaoRecarga s2 WHERE s2.estacaoRecarga = s.estacaoRecarga)")
+    List<StatusEstacaoRecargaDTO> buscarUltimoStatusDasEstacoes(@Param("estacaoIds") Collection<Long> estacaoIds);
+
+    /**
+     * Busca o status mais recente de uma estação de recarga.
+     *
+     * @param estacaoId ID da estação de recarga.
+     * @return o último status registrado, se houver.
+     */
+    Optional<StatusEstacaoRecarga> findFirstByEstacaoRecargaEstacaoIdOrderByUltimaAtualizacaoDescStatusIdDesc(Long estacaoId);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(s.statusId, s.ultimaAtualizacao) " +
+            "FROM StatusEstacaoRecarga s WHERE s.statusId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(s), MAX(s.statusId), MAX(s.ultimaAtualizacao)) " +
+            "FROM StatusEstacaoRecarga s")
+    VersaoRecursoDTO buscarVersaoDaColecao();
 }
@@ -0,0 +1,23 @@
+package com.java.EcoDrive.repository;
+
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoDTO;
+import com.java.EcoDrive.model.TarifaEstacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TarifaEstacaoRepository extends JpaRepository<TarifaEstacao, Long> {
+    // Projeção direta para o cache de tarifas, sem carregar as estações
+    @Query("SELECT new com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoDTO(t.estacaoRecarga.estacaoId, t.horaInicio, t.horaFim, t.precoPorKwh) "
+            + "FROM TarifaEstacao t ORDER BY t.estacaoRecarga.estacaoId, t.horaInicio")
+    List<TarifaEstacaoDTO> listarTodasDTOs();
+    List<TarifaEstacao> findByEstacaoRecargaEstacaoIdOrderByHoraInicioAsc(Long estacaoId);
+    @Modifying
+    @Query("DELETE FROM TarifaEstacao t WHERE t.estacaoRecarga.estacaoId = :estacaoId")
+    int removerPorEstacao(@Param("estacaoId") Long estacaoId);
+}
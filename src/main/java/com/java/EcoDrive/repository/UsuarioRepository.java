@@ -1,16 +1,35 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<Usuario> findByUsuarioIdGreaterThanOrderByUsuarioIdAsc(Long usuarioId, Limit limit);
     boolean existsByEmail(String email);
 
     boolean existsByEmailAndUsuarioIdNot(String email, Long usuarioId); // Novo método
 
     List<Usuario> findByNomeContainingIgnoreCase(String nome);
+
+    @Query("SELECT u.usuarioId FROM Usuario u WHERE u.usuarioId IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    List<String> buscarEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(u.usuarioId, u.versao) " +
+            "FROM Usuario u WHERE u.usuarioId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
 }
@@ -1,20 +1,44 @@
 package com.java.EcoDrive.repository;
 
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.model.Veiculo;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
+    // Busca em lote por IDs: as associações carregadas de forma ansiosa vêm na mesma consulta, sem um SELECT por registro
+    @Override
+    @EntityGraph(attributePaths = {"usuario", "concessionaria"})
+    List<Veiculo> findAllById(Iterable<Long> ids);
+
+    // Listagem por cursor: busca pela chave primária, sem OFFSET e sem contagem
+    List<Veiculo> findByVeiculoIdGreaterThanOrderByVeiculoIdAsc(Long veiculoId, Limit limit);
     boolean existsByMarca(String marca);
 
     List<Veiculo> findByUsuarioNome(String nome);
 
     @Query("SELECT v FROM Veiculo v WHERE v.marca = :marca")
     List<Veiculo> buscarVeiculosPorMarca(@Param("marca") String marca);
-}
 
+    @Query("SELECT v.veiculoId FROM Veiculo v WHERE v.veiculoId IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Versão do registro para as requisições condicionais, sem carregar a entidade
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(v.veiculoId, v.versao) " +
+            "FROM Veiculo v WHERE v.veiculoId = :id")
+    Optional<VersaoRecursoDTO> buscarVersao(@Param("id") Long id);
+
+    // Versão da coleção inteira: qualquer inclusão, exclusão ou atualização a altera
+    @Query("SELECT new com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO(COUNT(v), MAX(v.veiculoId), SUM(v.versao)) " +
+            "FROM Veiculo v")
+    VersaoRecursoDTO buscarVersaoDaColecao();
+}
@@ -0,0 +1,218 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.model.StatusReserva;
+import com.java.EcoDrive.repository.ReservaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agenda em memória dos horários reservados de cada estação de recarga.
+ * O dia é dividido em slots de duração fixa e, para cada estação, os slots ocupados
+ * de cada dia ficam em um {@link BitSet}. O dia é carregado do banco na primeira vez em
+ * que é consultado e depois mantido pelas operações de reserva. Cada estação guarda no máximo
+ * {@code ecodrive.reservas.agenda.dias-por-estacao} dias: acima disso sai o dia consultado há
+ * mais tempo, que volta a ser lido do banco se for consultado de novo.
+ */
+@Component
+public class AgendaReservas {
+
+    private static final int MINUTOS_POR_DIA = 24 * 60;
+    private static final List<Integer> STATUS_QUE_OCUPAM = Arrays.stream(StatusReserva.values())
+            .filter(StatusReserva::ocupaHorario)
+            .map(StatusReserva::getCodigo)
+            .toList();
+
+    private final ReservaRepository reservaRepository;
+    private final int duracaoSlotMinutos;
+    private final int slotsPorDia;
+    private final int diasPorEstacao;
+
+    private final Map<Long, AgendaEstacao> agendas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AgendaReservas(ReservaRepository reservaRepository,
+                          @Value("${ecodrive.reservas.duracao-slot-minutos:60}") int duracaoSlotMinutos,
+                          @Value("${ecodrive.reservas.agenda.dias-por-estacao:60}") int diasPorEstacao) {
+        if (duracaoSlotMinutos <= 0 || MINUTOS_POR_DIA % duracaoSlotMinutos != 0) {
+            throw new IllegalArgumentException("A duração do slot de reserva deve dividir as 24 horas do dia em partes iguais.");
+        }
+        if (diasPorEstacao <= 0) {
+            throw new IllegalArgumentException("A agenda de reservas deve guardar ao menos um dia por estação.");
+        }
+        this.reservaRepository = reservaRepository;
+        this.duracaoSlotMinutos = duracaoSlotMinutos;
+        this.slotsPorDia = MINUTOS_POR_DIA / duracaoSlotMinutos;
+        this.diasPorEstacao = diasPorEstacao;
+    }
+
+    public int getDuracaoSlotMinutos() {
+        return duracaoSlotMinutos;
+    }
+
+    public LocalDateTime inicioDoSlot(LocalDateTime dataHora) {
+        return dataHora.toLocalDate().atStartOfDay().plusMinutes((long) slotDoDia(dataHora) * duracaoSlotMinutos);
+    }
+
+    /**
+     * Marca como ocupado o slot que contém o horário informado. Um slot livre na agenda ainda é
+     * conferido no banco, já que outro nó pode tê-lo reservado depois que o dia foi carregado.
+     *
+     * @param reservaId reserva que está sendo movida para o slot, desconsiderada na conferência
+     *                  ({@code null} para uma nova reserva).
+     * @return {@code false} se o slot já estava ocupado por outra reserva.
+     */
+    public boolean ocupar(Long estacaoId, LocalDateTime dataHora, Long reservaId) {
+        AgendaEstacao agenda = agendaDa(estacaoId);
+        agenda.trava.lock();
+        try {
+            BitSet ocupados = diaCarregado(agenda, estacaoId, dataHora.toLocalDate());
+            int slot = slotDoDia(dataHora);
+            if (ocupados.get(slot)) {
+                return false;
+            }
+            boolean ocupadoNoBanco = ocupadoNoBanco(estacaoId, dataHora, reservaId);
+            // Marca o slot também quando ele já está ocupado no banco, atualizando o dia em memória
+            ocupados.set(slot);
+            return !ocupadoNoBanco;
+        } finally {
+            agenda.trava.unlock();
+        }
+    }
+
+    /**
+     * Ocupa o slot como {@link #ocupar}, liberando-o novamente se a transação corrente não for confirmada.
+     */
+    public boolean ocuparNaTransacao(Long estacaoId, LocalDateTime dataHora, Long reservaId) {
+        if (!ocupar(estacaoId, dataHora, reservaId)) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    liberar(estacaoId, dataHora);
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Libera o slot somente depois que a transação corrente for confirmada.
+     */
+    public void liberarAposCommit(Long estacaoId, LocalDateTime dataHora) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                liberar(estacaoId, dataHora);
+            }
+        });
+    }
+
+    public void liberar(Long estacaoId, LocalDateTime dataHora) {
+        AgendaEstacao agenda = agendas.get(estacaoId);
+        if (agenda == null) {
+            return;
+        }
+        agenda.trava.lock();
+        try {
+            BitSet ocupados = agenda.dias.get(dataHora.toLocalDate());
+            if (ocupados != null) {
+                ocupados.clear(slotDoDia(dataHora));
+            }
+        } finally {
+            agenda.trava.unlock();
+        }
+    }
+
+    /**
+     * Descarta os dias carregados da estação, que serão recarregados do banco no próximo acesso.
+     */
+    public void descartar(Long estacaoId) {
+        agendas.remove(estacaoId);
+    }
+
+    /**
+     * Lista o horário de início de cada slot livre da estação no dia informado.
+     */
+    public List<LocalDateTime> listarSlotsLivres(Long estacaoId, LocalDate dia) {
+        AgendaEstacao agenda = agendaDa(estacaoId);
+        BitSet ocupados;
+        agenda.trava.lock();
+        try {
+            ocupados = (BitSet) diaCarregado(agenda, estacaoId, dia).clone();
+        } finally {
+            agenda.trava.unlock();
+        }
+
+        LocalDateTime inicioDoDia = dia.atStartOfDay();
+        List<LocalDateTime> livres = new ArrayList<>(slotsPorDia - ocupados.cardinality());
+        for (int slot = ocupados.nextClearBit(0); slot < slotsPorDia; slot = ocupados.nextClearBit(slot + 1)) {
+            livres.add(inicioDoDia.plusMinutes((long) slot * duracaoSlotMinutos));
+        }
+        return livres;
+    }
+
+    private AgendaEstacao agendaDa(Long estacaoId) {
+        return agendas.computeIfAbsent(estacaoId, id -> new AgendaEstacao(diasPorEstacao));
+    }
+
+    // Deve ser chamado com a trava da agenda adquirida
+    private BitSet diaCarregado(AgendaEstacao agenda, Long estacaoId, LocalDate dia) {
+        BitSet ocupados = agenda.dias.get(dia);
+        if (ocupados == null) {
+            agenda.dias.keySet().removeIf(diaCarregado -> diaCarregado.isBefore(LocalDate.now().minusDays(1)));
+            ocupados = new BitSet(slotsPorDia);
+            for (LocalDateTime dataReserva : reservaRepository.buscarHorariosReservados(estacaoId,
+                    dia.atStartOfDay(), dia.plusDays(1).atStartOfDay(), STATUS_QUE_OCUPAM)) {
+                ocupados.set(slotDoDia(dataReserva));
+            }
+            agenda.dias.put(dia, ocupados);
+        }
+        return ocupados;
+    }
+
+    private boolean ocupadoNoBanco(Long estacaoId, LocalDateTime dataHora, Long reservaId) {
+        LocalDateTime inicio = inicioDoSlot(dataHora);
+        return reservaRepository.buscarReservasNoIntervalo(estacaoId, inicio, inicio.plusMinutes(duracaoSlotMinutos),
+                        STATUS_QUE_OCUPAM).stream()
+                .anyMatch(id -> !id.equals(reservaId));
+    }
+
+    private int slotDoDia(LocalDateTime dataHora) {
+        return (dataHora.getHour() * 60 + dataHora.getMinute()) / duracaoSlotMinutos;
+    }
+
+    private static final class AgendaEstacao {
+        // ReentrantLock em vez de synchronized: o primeiro acesso ao dia consulta o banco com a
+        // trava adquirida, e um monitor prenderia a thread virtual à thread de plataforma
+        private final ReentrantLock trava = new ReentrantLock();
+        private final Map<LocalDate, BitSet> dias;
+
+        private AgendaEstacao(int diasPorEstacao) {
+            // Em ordem de acesso, para que o dia descartado ao passar do limite seja o consultado há mais tempo.
+            // Um dia descartado com uma reserva ainda não confirmada é relido do banco só depois do commit,
+            // já que as reservas da estação esperam a trava de ConcorrenciaEstacoes
+            this.dias = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, BitSet> maisAntigo) {
+                    return size() > diasPorEstacao;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.ConsumoAgregado.ResultadoReconstrucaoConsumoDTO;
+import com.java.EcoDrive.model.GranularidadeConsumo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manutenção dos agregados de consumo por estação, hora e dia. Cada histórico e cada gasto
+ * gravado pela API soma sua parte às linhas da hora e do dia em que o carregamento começou,
+ * na mesma transação da gravação; o custo de um gasto entra no período do seu histórico.
+ * A reconstrução recalcula os agregados de um intervalo a partir das tabelas de origem, para
+ * a carga inicial e para os dados gravados fora da API (importação em lote, scripts), em
+ * janelas de alguns dias, cada uma em sua própria transação.
+ */
+@Component
+public class AgregacaoConsumo {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgregacaoConsumo.class);
+
+    private static final String SQL_SOMAR = "UPDATE consumo_agregado "
+            + "SET kwh_total = kwh_total + ?, custo_total = custo_total + ?, sessoes = sessoes + ? "
+            + "WHERE granularidade = ? AND estacao_id = ? AND periodo = ?";
+    private static final String SQL_INSERIR = "INSERT INTO consumo_agregado "
+            + "(kwh_total, custo_total, sessoes, granularidade, estacao_id, periodo) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_REMOVER_INTERVALO = "DELETE FROM consumo_agregado WHERE periodo >= ? AND periodo < ?";
+    private static final String SQL_INTERVALO_HISTORICOS =
+            "SELECT MIN(data_carregamento) AS inicio, MAX(data_carregamento) AS fim FROM historico_carregamento";
+    // A hora é extraída em partes porque TRUNC(data, 'HH24') não existe no H2 do perfil perf
+    private static final String SQL_AGREGAR_POR_HORA = "SELECT h.estacao_id, "
+            + "EXTRACT(YEAR FROM h.data_carregamento) AS ano, EXTRACT(MONTH FROM h.data_carregamento) AS mes, "
+            + "EXTRACT(DAY FROM h.data_carregamento) AS dia, EXTRACT(HOUR FROM h.data_carregamento) AS hora, "
+            + "SUM(h.kwh_consumidos) AS kwh, SUM(COALESCE(g.custo_total, 0)) AS custo, COUNT(*) AS sessoes "
+            + "FROM historico_carregamento h LEFT JOIN gasto_carregamento g ON g.historico_id = h.historico_id "
+            + "WHERE h.data_carregamento >= ? AND h.data_carregamento < ? "
+            + "GROUP BY h.estacao_id, EXTRACT(YEAR FROM h.data_carregamento), EXTRACT(MONTH FROM h.data_carregamento), "
+            + "EXTRACT(DAY FROM h.data_carregamento), EXTRACT(HOUR FROM h.data_carregamento) "
+            + "ORDER BY 1, 2, 3, 4, 5";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final int diasPorTransacao;
+
+    @Autowired
+    public AgregacaoConsumo(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${ecodrive.consumo.reconstrucao.tamanho-lote:1000}") int tamanhoLote,
+                            @Value("${ecodrive.consumo.reconstrucao.dias-por-transacao:7}") int diasPorTransacao) {
+        if (tamanhoLote <= 0 || diasPorTransacao <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote e os dias por transação da reconstrução dos agregados devem ser maiores que zero.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.diasPorTransacao = diasPorTransacao;
+    }
+
+    /**
+     * Soma a variação informada aos agregados da hora e do dia de {@code dataCarregamento}.
+     * Deve ser chamado dentro da transação que grava a alteração de origem; valores negativos
+     * desfazem uma contribuição anterior.
+     */
+    public void registrar(Long estacaoId, LocalDateTime dataCarregamento, double kwh, double custo, long sessoes) {
+        for (GranularidadeConsumo granularidade : GranularidadeConsumo.values()) {
+            Timestamp periodo = Timestamp.valueOf(granularidade.inicioDoPeriodo(dataCarregamento));
+            Object[] parametros = {kwh, custo, sessoes, granularidade.name(), estacaoId, periodo};
+            if (jdbcTemplate.update(SQL_SOMAR, parametros) > 0) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update(SQL_INSERIR, parametros);
+            } catch (DuplicateKeyException e) {
+                // Outra transação criou a linha do período entre o UPDATE e o INSERT
+                jdbcTemplate.update(SQL_SOMAR, parametros);
+            }
+        }
+    }
+
+    /**
+     * Recalcula os agregados dos dias entre {@code inicio} e {@code fim} (inclusive) a partir
+     * dos históricos e gastos. Cada janela de dias é apagada e regravada em uma transação, de
+     * modo que uma consulta nunca vê um dia pela metade e o volume de cada transação não
+     * cresce com o intervalo. Sem limites, o intervalo é o de todos os históricos gravados.
+     */
+    public ResultadoReconstrucaoConsumoDTO reconstruir(LocalDateTime inicio, LocalDateTime fim) {
+        long inicioMs = System.currentTimeMillis();
+        if (inicio == null || fim == null) {
+            // getTimestamp em vez de getObject: o driver Oracle devolve tipos próprios no getObject
+            LocalDateTime[] intervalo = jdbcTemplate.queryForObject(SQL_INTERVALO_HISTORICOS, (rs, linha) -> new LocalDateTime[]{
+                    rs.getTimestamp("inicio") != null ? rs.getTimestamp("inicio").toLocalDateTime() : null,
+                    rs.getTimestamp("fim") != null ? rs.getTimestamp("fim").toLocalDateTime() : null});
+            if (inicio == null) {
+                inicio = intervalo[0];
+            }
+            if (fim == null) {
+                fim = intervalo[1];
+            }
+        }
+        if (inicio == null || fim == null || inicio.isAfter(fim)) {
+            return new ResultadoReconstrucaoConsumoDTO(inicio, fim, 0, 0, System.currentTimeMillis() - inicioMs);
+        }
+
+        // O intervalo é alinhado a dias inteiros para que os agregados diários saiam completos
+        LocalDateTime primeiroDia = inicio.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime diaSeguinteAoFim = fim.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        long[] linhas = new long[2];
+        for (LocalDateTime janela = primeiroDia; janela.isBefore(diaSeguinteAoFim); janela = janela.plusDays(diasPorTransacao)) {
+            LocalDateTime inicioJanela = janela;
+            LocalDateTime fimJanela = janela.plusDays(diasPorTransacao).isBefore(diaSeguinteAoFim)
+                    ? janela.plusDays(diasPorTransacao) : diaSeguinteAoFim;
+            Reconstrucao reconstrucao = new Reconstrucao();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(SQL_REMOVER_INTERVALO, Timestamp.valueOf(inicioJanela), Timestamp.valueOf(fimJanela));
+                jdbcTemplate.query(conexao -> {
+                    PreparedStatement ps = conexao.prepareStatement(SQL_AGREGAR_POR_HORA, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(tamanhoLote);
+                    ps.setTimestamp(1, Timestamp.valueOf(inicioJanela));
+                    ps.setTimestamp(2, Timestamp.valueOf(fimJanela));
+                    return ps;
+                }, reconstrucao::adicionarHora);
+                reconstrucao.concluir();
+            });
+            linhas[0] += reconstrucao.linhasPorHora;
+            linhas[1] += reconstrucao.linhasPorDia;
+        }
+
+        long duracao = System.currentTimeMillis() - inicioMs;
+        logger.info("Agregados de consumo reconstruídos de {} a {}: {} linhas por hora e {} por dia em {} ms.",
+                primeiroDia, diaSeguinteAoFim, linhas[0], linhas[1], duracao);
+        return new ResultadoReconstrucaoConsumoDTO(primeiroDia, diaSeguinteAoFim, linhas[0], linhas[1], duracao);
+    }
+
+    /**
+     * Consome as somas por hora, que chegam ordenadas por estação e período, gravando-as em
+     * lote e acumulando o dia corrente da estação até a virada para o próximo dia.
+     */
+    private class Reconstrucao {
+
+        private final List<Object[]> lote = new ArrayList<>(tamanhoLote);
+        private Long estacaoDoDia;
+        private LocalDateTime dia;
+        private double kwhDoDia;
+        private double custoDoDia;
+        private long sessoesDoDia;
+        private long linhasPorHora;
+        private long linhasPorDia;
+
+        void adicionarHora(ResultSet rs) throws SQLException {
+            long estacaoId = rs.getLong("estacao_id");
+            LocalDateTime hora = LocalDateTime.of(rs.getInt("ano"), rs.getInt("mes"), rs.getInt("dia"), rs.getInt("hora"), 0);
+            double kwh = rs.getDouble("kwh");
+            double custo = rs.getDouble("custo");
+            long sessoes = rs.getLong("sessoes");
+
+            LocalDateTime diaDaHora = hora.truncatedTo(ChronoUnit.DAYS);
+            if (estacaoDoDia == null || estacaoDoDia != estacaoId || !dia.equals(diaDaHora)) {
+                fecharDia();
+                estacaoDoDia = estacaoId;
+                dia = diaDaHora;
+            }
+            kwhDoDia += kwh;
+            custoDoDia += custo;
+            sessoesDoDia += sessoes;
+
+            adicionar(GranularidadeConsumo.HORA, estacaoId, hora, kwh, custo, sessoes);
+            linhasPorHora++;
+        }
+
+        void concluir() {
+            fecharDia();
+            gravarLote();
+        }
+
+        private void fecharDia() {
+            if (estacaoDoDia == null) {
+                return;
+            }
+            adicionar(GranularidadeConsumo.DIA, estacaoDoDia, dia, kwhDoDia, custoDoDia, sessoesDoDia);
+            linhasPorDia++;
+            kwhDoDia = 0;
+            custoDoDia = 0;
+            sessoesDoDia = 0;
+        }
+
+        private void adicionar(GranularidadeConsumo granularidade, long estacaoId, LocalDateTime periodo,
+                               double kwh, double custo, long sessoes) {
+            lote.add(new Object[]{kwh, custo, sessoes, granularidade.name(), estacaoId, Timestamp.valueOf(periodo)});
+            if (lote.size() == tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        private void gravarLote() {
+            if (!lote.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_INSERIR, lote);
+                lote.clear();
+            }
+        }
+    }
+}
@@ -2,39 +2,72 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.Bairro.BairroCreateDTO;
 import com.java.EcoDrive.dto.Bairro.BairroDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
 import com.java.EcoDrive.model.Bairro;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.BairroMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import com.java.EcoDrive.repository.BairroRepository;
 
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Os bairros mudam poucas vezes por mês e são consultados a cada criação de estação, então a
+ * busca por ID fica no cache "bairros" (Caffeine, com tamanho máximo e expiração configurados
+ * em spring.cache.caffeine.spec). As escritas desta classe atualizam ou removem a entrada.
+ */
 @Service
 public class BairroService {
 
     private static final String BAIRRO_NAO_ENCONTRADO = "Bairro não encontrado com ID: ";
 
     private final BairroRepository bairroRepository;
-    private final ModelMapper modelMapper;
+    private final BairroMapper bairroMapper;
 
     @Autowired
-    public BairroService(BairroRepository bairroRepository, ModelMapper modelMapper) {
+    public BairroService(BairroRepository bairroRepository, BairroMapper bairroMapper) {
         this.bairroRepository = bairroRepository;
-        this.modelMapper = modelMapper;
+        this.bairroMapper = bairroMapper;
     }
 
     public Page<BairroDTO> listarTodosPaginado(Pageable pageable) {
         Page<Bairro> bairros = bairroRepository.findAll(pageable);
-        return bairros.map(bairro -> modelMapper.map(bairro, BairroDTO.class));
+        return bairros.map(bairroMapper::paraDTO);
+    }
+
+    public PaginaCursor<BairroDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<Bairro> resultados = bairroRepository.findByBairroIdGreaterThanOrderByBairroIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, Bairro::getBairroId, bairroMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<BairroDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, bairroRepository.findAllById(idsDistintos),
+                Bairro::getBairroId, bairroMapper::paraDTOs);
     }
 
+    @Cacheable(value = "bairros", key = "#id")
     public BairroDTO obterPorId(Long id) {
         Bairro bairro = bairroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(BAIRRO_NAO_ENCONTRADO + id));
-        return modelMapper.map(bairro, BairroDTO.class);
+        return bairroMapper.paraDTO(bairro);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return bairroRepository.buscarVersao(id);
+    }
+
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return bairroRepository.buscarVersaoDaColecao();
     }
 
     public BairroDTO criarBairro(BairroCreateDTO bairroCreateDTO) {
@@ -42,11 +75,12 @@ public class BairroService {
             throw new InvalidRequestException("Nome do bairro é obrigatório.");
         }
 
-        Bairro bairro = modelMapper.map(bairroCreateDTO, Bairro.class);
+        Bairro bairro = bairroMapper.paraEntidade(bairroCreateDTO);
         Bairro bairroSalvo = bairroRepository.save(bairro);
-        return modelMapper.map(bairroSalvo, BairroDTO.class);
+        return bairroMapper.paraDTO(bairroSalvo);
     }
 
+    @CachePut(value = "bairros", key = "#id")
     public BairroDTO atualizarBairro(Long id, BairroCreateDTO bairroCreateDTO) {
         Bairro bairroExistente = bairroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(BAIRRO_NAO_ENCONTRADO + id));
@@ -58,9 +92,10 @@ public class BairroService {
         bairroExistente.setNome(bairroCreateDTO.getNome());
 
         Bairro bairroAtualizado = bairroRepository.save(bairroExistente);
-        return modelMapper.map(bairroAtualizado, BairroDTO.class);
+        return bairroMapper.paraDTO(bairroAtualizado);
     }
 
+    @CacheEvict(value = "bairros", key = "#id")
     public void deletarBairro(Long id) {
         Bairro bairro = bairroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(BAIRRO_NAO_ENCONTRADO + id));
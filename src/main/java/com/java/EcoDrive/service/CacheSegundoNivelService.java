@@ -0,0 +1,79 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.CacheSegundoNivel.EstatisticasRegiaoCacheDTO;
+import com.java.EcoDrive.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estatísticas e remoção das regiões do cache de segundo nível do Hibernate (entidades e
+ * consultas). As contagens dependem de hibernate.generate_statistics, ligado apenas no perfil
+ * perf: sem ele as regiões continuam listadas, mas com acertos, falhas e gravações zerados.
+ */
+@Service
+public class CacheSegundoNivelService {
+
+    private static final String REGIAO_NAO_ENCONTRADA = "Região de cache não encontrada: ";
+    // Regiões do cache de consultas de EstacaoRecargaRepository
+    private static final String[] REGIOES_CONSULTAS_ESTACOES = {"estacoesPorBairro", "estacoesPorTipoCarregador"};
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public CacheSegundoNivelService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public List<EstatisticasRegiaoCacheDTO> listarRegioes() {
+        Statistics estatisticas = sessionFactory.getStatistics();
+        return Arrays.stream(estatisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(regiao -> paraDTO(regiao, estatisticas.getCacheRegionStatistics(regiao)))
+                .toList();
+    }
+
+    public EstatisticasRegiaoCacheDTO obterRegiao(String regiao) {
+        verificarRegiao(regiao);
+        return paraDTO(regiao, sessionFactory.getStatistics().getCacheRegionStatistics(regiao));
+    }
+
+    public void removerRegiao(String regiao) {
+        verificarRegiao(regiao);
+        sessionFactory.getCache().evictRegion(regiao);
+    }
+
+    public void removerTodas() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    /**
+     * Descarta as consultas de estações em cache após gravações feitas direto por JDBC, que o
+     * Hibernate não enxerga e que por isso não invalidam o cache de consultas.
+     */
+    public void invalidarConsultasDeEstacoes() {
+        for (String regiao : REGIOES_CONSULTAS_ESTACOES) {
+            sessionFactory.getCache().evictQueryRegion(regiao);
+        }
+    }
+
+    // As regiões de consultas só passam a existir depois da primeira execução da consulta
+    private void verificarRegiao(String regiao) {
+        if (!Arrays.asList(sessionFactory.getStatistics().getSecondLevelCacheRegionNames()).contains(regiao)) {
+            throw new ResourceNotFoundException(REGIAO_NAO_ENCONTRADA + regiao);
+        }
+    }
+
+    private EstatisticasRegiaoCacheDTO paraDTO(String regiao, CacheRegionStatistics estatisticas) {
+        long acertos = estatisticas.getHitCount();
+        long falhas = estatisticas.getMissCount();
+        Double taxaDeAcerto = acertos + falhas > 0 ? (double) acertos / (acertos + falhas) : null;
+        return new EstatisticasRegiaoCacheDTO(regiao, acertos, falhas, estatisticas.getPutCount(), taxaDeAcerto);
+    }
+}
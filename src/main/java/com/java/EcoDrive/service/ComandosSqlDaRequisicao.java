@@ -0,0 +1,67 @@
+package com.java.EcoDrive.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contagem dos comandos SQL e do tempo de JDBC da requisição em andamento, preenchida pelo
+ * {@link InspetorComandosSql} e pelo {@link TempoJdbcSessao}, que o Hibernate instancia por
+ * conta própria e por isso chegam à contagem pela thread da requisição. Fora de uma requisição
+ * (tarefas agendadas, executores dos serviços) nada é contado. Comandos emitidos pelo
+ * JdbcTemplate não passam pelo Hibernate e não entram na contagem.
+ */
+public final class ComandosSqlDaRequisicao {
+
+    private static final ThreadLocal<ComandosSqlDaRequisicao> ATUAL = new ThreadLocal<>();
+
+    private int comandos;
+    private long nanosJdbc;
+    // Repetições de cada comando, para apontar o candidato a N+1 nos registros de requisições lentas
+    private Map<String, Integer> repeticoes;
+
+    private ComandosSqlDaRequisicao() {
+    }
+
+    public static void iniciar() {
+        ATUAL.set(new ComandosSqlDaRequisicao());
+    }
+
+    public static ComandosSqlDaRequisicao encerrar() {
+        ComandosSqlDaRequisicao contagem = ATUAL.get();
+        ATUAL.remove();
+        return contagem;
+    }
+
+    static void registrarComando(String sql) {
+        ComandosSqlDaRequisicao contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.comandos++;
+            if (contagem.repeticoes == null) {
+                contagem.repeticoes = new HashMap<>();
+            }
+            contagem.repeticoes.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void registrarTempoJdbc(long nanos) {
+        ComandosSqlDaRequisicao contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.nanosJdbc += nanos;
+        }
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getNanosJdbc() {
+        return nanosJdbc;
+    }
+
+    public Map.Entry<String, Integer> getMaisRepetido() {
+        if (repeticoes == null) {
+            return null;
+        }
+        return repeticoes.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
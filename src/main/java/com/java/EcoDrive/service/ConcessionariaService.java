@@ -2,12 +2,17 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.Concessionaria.ConcessionariaCreateDTO;
 import com.java.EcoDrive.dto.Concessionaria.ConcessionariaDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
 import com.java.EcoDrive.model.Bairro;
 import com.java.EcoDrive.model.Concessionaria;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.ConcessionariaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -15,7 +20,13 @@ import com.java.EcoDrive.repository.BairroRepository;
 import com.java.EcoDrive.repository.ConcessionariaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Concessionárias por ID, por bairro e por marca ficam nos caches "concessionarias",
+ * "concessionariasPorBairro" e "concessionariasPorMarca". Uma escrita atualiza a entrada do ID e
+ * descarta todas as buscas, já que a concessionária pode ter mudado de bairro ou de marca.
+ */
 @Service
 public class ConcessionariaService {
 
@@ -23,26 +34,51 @@ public class ConcessionariaService {
 
     private final ConcessionariaRepository concessionariaRepository;
     private final BairroRepository bairroRepository;
-    private final ModelMapper modelMapper;
+    private final ConcessionariaMapper concessionariaMapper;
+    private final BairroService bairroService;
 
     @Autowired
-    public ConcessionariaService(ConcessionariaRepository concessionariaRepository, BairroRepository bairroRepository, ModelMapper modelMapper) {
+    public ConcessionariaService(ConcessionariaRepository concessionariaRepository, BairroRepository bairroRepository, ConcessionariaMapper concessionariaMapper,
+                                 BairroService bairroService) {
         this.concessionariaRepository = concessionariaRepository;
         this.bairroRepository = bairroRepository;
-        this.modelMapper = modelMapper;
+        this.concessionariaMapper = concessionariaMapper;
+        this.bairroService = bairroService;
     }
 
     public Page<ConcessionariaDTO> listarTodosPaginado(Pageable pageable) {
         Page<Concessionaria> concessionarias = concessionariaRepository.findAll(pageable);
-        return concessionarias.map(concessionaria -> modelMapper.map(concessionaria, ConcessionariaDTO.class));
+        return concessionarias.map(concessionariaMapper::paraDTO);
     }
 
+    public PaginaCursor<ConcessionariaDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<Concessionaria> resultados = concessionariaRepository.findByConcessionariaIdGreaterThanOrderByConcessionariaIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, Concessionaria::getConcessionariaId, concessionariaMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<ConcessionariaDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, concessionariaRepository.findAllById(idsDistintos),
+                Concessionaria::getConcessionariaId, concessionariaMapper::paraDTOs);
+    }
+
+    @Cacheable(value = "concessionarias", key = "#id")
     public ConcessionariaDTO obterPorId(Long id) {
         Concessionaria concessionaria = concessionariaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CONCESSIONARIA_NAO_ENCONTRADA + id));
-        return modelMapper.map(concessionaria, ConcessionariaDTO.class);
+        return concessionariaMapper.paraDTO(concessionaria);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return concessionariaRepository.buscarVersao(id);
+    }
+
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return concessionariaRepository.buscarVersaoDaColecao();
     }
 
+    @CacheEvict(value = {"concessionariasPorBairro", "concessionariasPorMarca"}, allEntries = true)
     public ConcessionariaDTO criarConcessionaria(ConcessionariaCreateDTO concessionariaCreateDTO) {
         if (concessionariaCreateDTO.getNome() == null || concessionariaCreateDTO.getNome().isEmpty()) {
             throw new InvalidRequestException("Nome da concessionária é obrigatório.");
@@ -52,17 +88,20 @@ public class ConcessionariaService {
             throw new InvalidRequestException("Marca da concessionária é obrigatória.");
         }
 
-        Bairro bairro = bairroRepository.findById(concessionariaCreateDTO.getBairroId())
-                .orElseThrow(() -> new ResourceNotFoundException("Bairro não encontrado com ID: " + concessionariaCreateDTO.getBairroId()));
+        // O bairro é validado pelo cache e associado por referência, sem SELECT
+        bairroService.obterPorId(concessionariaCreateDTO.getBairroId());
+        Bairro bairro = bairroRepository.getReferenceById(concessionariaCreateDTO.getBairroId());
 
-        Concessionaria concessionaria = modelMapper.map(concessionariaCreateDTO, Concessionaria.class);
+        Concessionaria concessionaria = concessionariaMapper.paraEntidade(concessionariaCreateDTO);
         concessionaria.setBairro(bairro);
         concessionaria.setTemEstacaoRecarga(concessionariaCreateDTO.getTemEstacaoRecarga() ? 1 : 0);
 
         Concessionaria concessionariaSalva = concessionariaRepository.save(concessionaria);
-        return modelMapper.map(concessionariaSalva, ConcessionariaDTO.class);
+        return concessionariaMapper.paraDTO(concessionariaSalva);
     }
 
+    @Caching(put = @CachePut(value = "concessionarias", key = "#id"),
+            evict = @CacheEvict(value = {"concessionariasPorBairro", "concessionariasPorMarca"}, allEntries = true))
     public ConcessionariaDTO atualizarConcessionaria(Long id, ConcessionariaCreateDTO concessionariaCreateDTO) {
         Concessionaria concessionariaExistente = concessionariaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CONCESSIONARIA_NAO_ENCONTRADA + id));
@@ -80,38 +119,38 @@ public class ConcessionariaService {
         concessionariaExistente.setTemEstacaoRecarga(concessionariaCreateDTO.getTemEstacaoRecarga() ? 1 : 0);
 
         if (concessionariaCreateDTO.getBairroId() != null && !concessionariaCreateDTO.getBairroId().equals(concessionariaExistente.getBairro().getBairroId())) {
-            Bairro novoBairro = bairroRepository.findById(concessionariaCreateDTO.getBairroId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Bairro não encontrado com ID: " + concessionariaCreateDTO.getBairroId()));
+            bairroService.obterPorId(concessionariaCreateDTO.getBairroId());
+            Bairro novoBairro = bairroRepository.getReferenceById(concessionariaCreateDTO.getBairroId());
             concessionariaExistente.setBairro(novoBairro);
         }
 
         Concessionaria concessionariaAtualizada = concessionariaRepository.save(concessionariaExistente);
-        return modelMapper.map(concessionariaAtualizada, ConcessionariaDTO.class);
+        return concessionariaMapper.paraDTO(concessionariaAtualizada);
     }
 
+    @Caching(evict = {@CacheEvict(value = "concessionarias", key = "#id"),
+            @CacheEvict(value = {"concessionariasPorBairro", "concessionariasPorMarca"}, allEntries = true)})
     public void deletarConcessionaria(Long id) {
         Concessionaria concessionaria = concessionariaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CONCESSIONARIA_NAO_ENCONTRADA + id));
         concessionariaRepository.delete(concessionaria);
     }
 
+    @Cacheable(value = "concessionariasPorBairro", key = "#bairroId")
     public List<ConcessionariaDTO> listarPorBairro(Long bairroId) {
         List<Concessionaria> concessionarias = concessionariaRepository.findByBairroBairroId(bairroId);
         if (concessionarias.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma concessionária encontrada para o bairro com ID: " + bairroId);
         }
-        return concessionarias.stream()
-                .map(concessionaria -> modelMapper.map(concessionaria, ConcessionariaDTO.class))
-                .toList();
+        return concessionariaMapper.paraDTOs(concessionarias);
     }
 
+    @Cacheable(value = "concessionariasPorMarca", key = "#marca.toLowerCase()")
     public List<ConcessionariaDTO> listarPorMarca(String marca) {
         List<Concessionaria> concessionarias = concessionariaRepository.findByMarcaContainingIgnoreCase(marca);
         if (concessionarias.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma concessionária encontrada para a marca: " + marca);
         }
-        return concessionarias.stream()
-                .map(concessionaria -> modelMapper.map(concessionaria, ConcessionariaDTO.class))
-                .toList();
+        return concessionariaMapper.paraDTOs(concessionarias);
     }
 }
\ No newline at end of file
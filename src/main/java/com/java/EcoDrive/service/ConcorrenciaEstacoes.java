@@ -0,0 +1,95 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.exception.ResourceConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Controle de concorrência das operações que alteram a agenda de uma estação de recarga.
+ * Dentro do nó, as operações de uma mesma estação são serializadas por travas distribuídas
+ * em faixas (lock striping) pelo ID da estação, enquanto estações diferentes seguem em paralelo.
+ * Entre nós, as reservas de uma estação esperam a trava de escrita da linha da estação no
+ * banco, e o {@code @Version} das entidades detecta as demais escritas concorrentes: a operação
+ * é repetida em uma nova transação, até o limite de tentativas configurado.
+ */
+@Component
+public class ConcorrenciaEstacoes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcorrenciaEstacoes.class);
+
+    private static final String CONFLITO_PERSISTENTE = "A estação de recarga está sendo alterada por outra operação. Tente novamente.";
+
+    private final ReentrantLock[] travas;
+    private final int tentativasMaximas;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ConcorrenciaEstacoes(TransactionTemplate transactionTemplate,
+                                @Value("${ecodrive.estacoes.travas.quantidade:64}") int quantidadeTravas,
+                                @Value("${ecodrive.estacoes.travas.tentativas-maximas:3}") int tentativasMaximas) {
+        if (quantidadeTravas <= 0 || tentativasMaximas <= 0) {
+            throw new IllegalArgumentException("A quantidade de travas e de tentativas deve ser maior que zero.");
+        }
+        // Arredonda para potência de dois para escolher a faixa com uma máscara
+        int tamanho = Integer.highestOneBit(quantidadeTravas - 1) << 1;
+        this.travas = new ReentrantLock[Math.max(tamanho, 1)];
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        this.tentativasMaximas = tentativasMaximas;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Executa a operação em uma transação, com a trava da estação adquirida.
+     *
+     * @param estacaoId   estação cuja agenda é alterada pela operação.
+     * @param operacao    operação a executar; é repetida integralmente em caso de conflito de versão.
+     * @param aoConflitar ação executada após cada conflito de versão, antes da nova tentativa.
+     */
+    public <T> T executar(Long estacaoId, Supplier<T> operacao, Runnable aoConflitar) {
+        ReentrantLock trava = travaDa(estacaoId);
+        trava.lock();
+        try {
+            for (int tentativa = 1; ; tentativa++) {
+                try {
+                    return transactionTemplate.execute(status -> operacao.get());
+                } catch (OptimisticLockingFailureException e) {
+                    aoConflitar.run();
+                    if (tentativa >= tentativasMaximas) {
+                        logger.warn("Conflito de versão na estação {} persistiu após {} tentativas.", estacaoId, tentativa);
+                        throw new ResourceConflictException(CONFLITO_PERSISTENTE);
+                    }
+                    logger.debug("Conflito de versão na estação {} (tentativa {}), repetindo.", estacaoId, tentativa);
+                    aguardarAntesDeRepetir(tentativa);
+                }
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private ReentrantLock travaDa(Long estacaoId) {
+        int hash = estacaoId.hashCode();
+        hash ^= (hash >>> 16);
+        return travas[hash & (travas.length - 1)];
+    }
+
+    private void aguardarAntesDeRepetir(int tentativa) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * tentativa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceConflictException(CONFLITO_PERSISTENTE);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.ConsumoAgregado.ConsumoAgregadoDTO;
+import com.java.EcoDrive.dto.ConsumoAgregado.ResultadoReconstrucaoConsumoDTO;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.exception.ResourceNotFoundException;
+import com.java.EcoDrive.model.GranularidadeConsumo;
+import com.java.EcoDrive.repository.BairroRepository;
+import com.java.EcoDrive.repository.ConsumoAgregadoRepository;
+import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class ConsumoAgregadoService {
+
+    private static final String ESTACAO_NAO_ENCONTRADA = "Estação de recarga não encontrada com ID: ";
+    private static final String BAIRRO_NAO_ENCONTRADO = "Bairro não encontrado com ID: ";
+    // Limita a série a algumas centenas de pontos: 31 dias por hora ou 366 dias por dia
+    private static final Duration INTERVALO_MAXIMO_HORA = Duration.ofDays(31);
+    private static final Duration INTERVALO_MAXIMO_DIA = Duration.ofDays(366);
+
+    private final ConsumoAgregadoRepository consumoAgregadoRepository;
+    private final EstacaoRecargaRepository estacaoRecargaRepository;
+    private final BairroRepository bairroRepository;
+    private final AgregacaoConsumo agregacaoConsumo;
+
+    @Autowired
+    public ConsumoAgregadoService(ConsumoAgregadoRepository consumoAgregadoRepository,
+                                  EstacaoRecargaRepository estacaoRecargaRepository,
+                                  BairroRepository bairroRepository,
+                                  AgregacaoConsumo agregacaoConsumo) {
+        this.consumoAgregadoRepository = consumoAgregadoRepository;
+        this.estacaoRecargaRepository = estacaoRecargaRepository;
+        this.bairroRepository = bairroRepository;
+        this.agregacaoConsumo = agregacaoConsumo;
+    }
+
+    /**
+     * Série de consumo no intervalo [inicio, fim), por hora ou por dia, de uma estação, das
+     * estações de um bairro ou de toda a rede. Sem intervalo, retorna as últimas 24 horas ou
+     * os últimos 30 dias.
+     */
+    public List<ConsumoAgregadoDTO> consultar(String granularidade, Long estacaoId, Long bairroId,
+                                              LocalDateTime inicio, LocalDateTime fim) {
+        GranularidadeConsumo granularidadeConsumo;
+        try {
+            granularidadeConsumo = GranularidadeConsumo.de(granularidade);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Granularidade inválida: " + granularidade + ". Use hora ou dia.");
+        }
+
+        Duration intervaloMaximo = granularidadeConsumo == GranularidadeConsumo.HORA ? INTERVALO_MAXIMO_HORA : INTERVALO_MAXIMO_DIA;
+        if (fim == null) {
+            fim = LocalDateTime.now();
+        }
+        if (inicio == null) {
+            inicio = granularidadeConsumo == GranularidadeConsumo.HORA ? fim.minusHours(24) : fim.minusDays(30);
+        }
+        if (!inicio.isBefore(fim)) {
+            throw new InvalidRequestException("A data de início deve ser anterior à data de fim.");
+        }
+        if (Duration.between(inicio, fim).compareTo(intervaloMaximo) > 0) {
+            throw new InvalidRequestException("O intervalo máximo para a granularidade " + granularidadeConsumo.name().toLowerCase()
+                    + " é de " + intervaloMaximo.toDays() + " dias.");
+        }
+
+        if (estacaoId != null && !estacaoRecargaRepository.existsById(estacaoId)) {
+            throw new ResourceNotFoundException(ESTACAO_NAO_ENCONTRADA + estacaoId);
+        }
+        if (bairroId != null && !bairroRepository.existsById(bairroId)) {
+            throw new ResourceNotFoundException(BAIRRO_NAO_ENCONTRADO + bairroId);
+        }
+
+        // O início é alinhado ao período para que o primeiro ponto não seja parcial
+        return consumoAgregadoRepository.somarPorPeriodo(granularidadeConsumo.name(),
+                granularidadeConsumo.inicioDoPeriodo(inicio), fim, estacaoId, bairroId);
+    }
+
+    public ResultadoReconstrucaoConsumoDTO reconstruir(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new InvalidRequestException("A data de início deve ser anterior à data de fim.");
+        }
+        return agregacaoConsumo.reconstruir(inicio, fim);
+    }
+}
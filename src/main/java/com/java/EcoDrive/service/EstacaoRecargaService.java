@@ -2,19 +2,31 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaCreateDTO;
 import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaProximaDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
 import com.java.EcoDrive.model.Bairro;
 import com.java.EcoDrive.model.EstacaoRecarga;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.EstacaoRecargaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import com.java.EcoDrive.repository.BairroRepository;
+import com.java.EcoDrive.repository.ConsumoAgregadoRepository;
 import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import com.java.EcoDrive.repository.TarifaEstacaoRepository;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EstacaoRecargaService {
@@ -23,27 +35,76 @@ public class EstacaoRecargaService {
     private static final String BAIRRO_NAO_ENCONTRADO = "Bairro não encontrado com ID: ";
     private static final String NENHUMA_ESTACAO_ENCONTRADA_BAIRRO = "Nenhuma estação de recarga encontrada para o bairro com ID: ";
     private static final String NENHUMA_ESTACAO_ENCONTRADA_TIPO = "Nenhuma estação de recarga encontrada com o tipo de carregador: ";
+    private static final int K_PADRAO = 10;
+    private static final int K_MAXIMO = 1000;
+    // Metade da circunferência da Terra: qualquer raio maior já cobre o planeta inteiro
+    private static final double RAIO_MAXIMO_KM = 20_000;
+    private static final String SQL_INSERIR_ESTACAO = "INSERT INTO estacao_recarga "
+            + "(nome, bairro_id, latitude, longitude, tipo_carregador, preco_por_kwh, versao) VALUES (?, ?, ?, ?, ?, ?, 0)";
 
     private final EstacaoRecargaRepository estacaoRecargaRepository;
     private final BairroRepository bairroRepository;
-    private final ModelMapper modelMapper;
+    private final EstacaoRecargaMapper estacaoRecargaMapper;
+    private final IndiceEspacialEstacoes indiceEspacial;
+    private final ConcorrenciaEstacoes concorrenciaEstacoes;
+    private final ImportacaoEmLote importacaoEmLote;
+    private final TarifaEstacaoRepository tarifaEstacaoRepository;
+    private final ConsumoAgregadoRepository consumoAgregadoRepository;
+    private final BairroService bairroService;
+    private final CacheSegundoNivelService cacheSegundoNivelService;
+    private final GrafoEstacoes grafoEstacoes;
 
     @Autowired
-    public EstacaoRecargaService(EstacaoRecargaRepository estacaoRecargaRepository, BairroRepository bairroRepository, ModelMapper modelMapper) {
+    public EstacaoRecargaService(EstacaoRecargaRepository estacaoRecargaRepository, BairroRepository bairroRepository,
+                                 EstacaoRecargaMapper estacaoRecargaMapper, IndiceEspacialEstacoes indiceEspacial,
+                                 ConcorrenciaEstacoes concorrenciaEstacoes, ImportacaoEmLote importacaoEmLote,
+                                 TarifaEstacaoRepository tarifaEstacaoRepository,
+                                 ConsumoAgregadoRepository consumoAgregadoRepository,
+                                 BairroService bairroService,
+                                 CacheSegundoNivelService cacheSegundoNivelService,
+                                 GrafoEstacoes grafoEstacoes) {
         this.estacaoRecargaRepository = estacaoRecargaRepository;
         this.bairroRepository = bairroRepository;
-        this.modelMapper = modelMapper;
+        this.estacaoRecargaMapper = estacaoRecargaMapper;
+        this.indiceEspacial = indiceEspacial;
+        this.concorrenciaEstacoes = concorrenciaEstacoes;
+        this.importacaoEmLote = importacaoEmLote;
+        this.tarifaEstacaoRepository = tarifaEstacaoRepository;
+        this.consumoAgregadoRepository = consumoAgregadoRepository;
+        this.bairroService = bairroService;
+        this.cacheSegundoNivelService = cacheSegundoNivelService;
+        this.grafoEstacoes = grafoEstacoes;
     }
 
     public Page<EstacaoRecargaDTO> listarTodosPaginado(Pageable pageable) {
         Page<EstacaoRecarga> estacoes = estacaoRecargaRepository.findAll(pageable);
-        return estacoes.map(estacao -> modelMapper.map(estacao, EstacaoRecargaDTO.class));
+        return estacoes.map(estacaoRecargaMapper::paraDTO);
+    }
+
+    public PaginaCursor<EstacaoRecargaDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<EstacaoRecarga> resultados = estacaoRecargaRepository.findByEstacaoIdGreaterThanOrderByEstacaoIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, EstacaoRecarga::getEstacaoId, estacaoRecargaMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<EstacaoRecargaDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, estacaoRecargaRepository.findAllById(idsDistintos),
+                EstacaoRecarga::getEstacaoId, estacaoRecargaMapper::paraDTOs);
     }
 
     public EstacaoRecargaDTO obterPorId(Long id) {
         EstacaoRecarga estacao = estacaoRecargaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + id));
-        return modelMapper.map(estacao, EstacaoRecargaDTO.class);
+        return estacaoRecargaMapper.paraDTO(estacao);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return estacaoRecargaRepository.buscarVersao(id);
+    }
+
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return estacaoRecargaRepository.buscarVersaoDaColecao();
     }
 
     public EstacaoRecargaDTO criarEstacaoRecarga(EstacaoRecargaCreateDTO estacaoCreateDTO) {
@@ -51,21 +112,65 @@ public class EstacaoRecargaService {
             throw new InvalidRequestException("Nome da estação de recarga é obrigatório.");
         }
 
-        Bairro bairro = bairroRepository.findById(estacaoCreateDTO.getBairroId())
-                .orElseThrow(() -> new ResourceNotFoundException(BAIRRO_NAO_ENCONTRADO + estacaoCreateDTO.getBairroId()));
+        // O bairro é validado pelo cache e associado por referência, sem SELECT
+        bairroService.obterPorId(estacaoCreateDTO.getBairroId());
+        Bairro bairro = bairroRepository.getReferenceById(estacaoCreateDTO.getBairroId());
 
         if (estacaoCreateDTO.getLatitude() == null || estacaoCreateDTO.getLongitude() == null) {
             throw new InvalidRequestException("Latitude e Longitude são obrigatórios.");
         }
 
-        EstacaoRecarga estacaoRecarga = modelMapper.map(estacaoCreateDTO, EstacaoRecarga.class);
+        EstacaoRecarga estacaoRecarga = estacaoRecargaMapper.paraEntidade(estacaoCreateDTO);
         estacaoRecarga.setBairro(bairro);
 
         EstacaoRecarga estacaoSalva = estacaoRecargaRepository.save(estacaoRecarga);
-        return modelMapper.map(estacaoSalva, EstacaoRecargaDTO.class);
+        EstacaoRecargaDTO estacaoDTO = estacaoRecargaMapper.paraDTO(estacaoSalva);
+        indiceEspacial.registrar(estacaoDTO);
+        grafoEstacoes.registrar(estacaoDTO);
+        return estacaoDTO;
+    }
+
+    public ResultadoImportacaoDTO importarEstacoes(InputStream entrada, ImportacaoEmLote.Formato formato) throws IOException {
+        // Os bairros são poucos: os IDs são carregados uma única vez e valem para o arquivo inteiro
+        Set<Long> bairros = new HashSet<>(bairroRepository.buscarTodosIds());
+
+        ResultadoImportacaoDTO resultado = importacaoEmLote.importar(entrada, formato, EstacaoRecargaCreateDTO.class,
+                linhas -> {
+                    Map<Integer, String> recusadas = new HashMap<>();
+                    for (ImportacaoEmLote.Linha<EstacaoRecargaCreateDTO> linha : linhas) {
+                        if (!bairros.contains(linha.dados().getBairroId())) {
+                            recusadas.put(linha.numero(), BAIRRO_NAO_ENCONTRADO + linha.dados().getBairroId());
+                        }
+                    }
+                    return recusadas;
+                },
+                SQL_INSERIR_ESTACAO, (ps, estacao) -> {
+                    ps.setString(1, estacao.getNome());
+                    ps.setLong(2, estacao.getBairroId());
+                    ps.setDouble(3, estacao.getLatitude());
+                    ps.setDouble(4, estacao.getLongitude());
+                    ps.setString(5, estacao.getTipoCarregador());
+                    ps.setDouble(6, estacao.getPrecoPorKwh());
+                });
+
+        if (resultado.getImportadas() > 0) {
+            // Os IDs gerados não retornam do insert em lote, então o índice é reconstruído a partir do banco
+            indiceEspacial.reconstruir();
+            grafoEstacoes.reconstruir();
+            cacheSegundoNivelService.invalidarConsultasDeEstacoes();
+        }
+        return resultado;
     }
 
     public EstacaoRecargaDTO atualizarEstacaoRecarga(Long id, EstacaoRecargaCreateDTO estacaoCreateDTO) {
+        // Uma atualização concorrente da estação em outro nó é detectada pela versão, e a atualização é repetida
+        EstacaoRecargaDTO estacaoDTO = concorrenciaEstacoes.executar(id, () -> salvarEstacaoAtualizada(id, estacaoCreateDTO), () -> { });
+        indiceEspacial.registrar(estacaoDTO);
+        grafoEstacoes.registrar(estacaoDTO);
+        return estacaoDTO;
+    }
+
+    private EstacaoRecargaDTO salvarEstacaoAtualizada(Long id, EstacaoRecargaCreateDTO estacaoCreateDTO) {
         EstacaoRecarga estacaoExistente = estacaoRecargaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + id));
 
@@ -80,19 +185,50 @@ public class EstacaoRecargaService {
         estacaoExistente.setPrecoPorKwh(estacaoCreateDTO.getPrecoPorKwh());
 
         if (estacaoCreateDTO.getBairroId() != null && !estacaoCreateDTO.getBairroId().equals(estacaoExistente.getBairro().getBairroId())) {
-            Bairro novoBairro = bairroRepository.findById(estacaoCreateDTO.getBairroId())
-                    .orElseThrow(() -> new ResourceNotFoundException(BAIRRO_NAO_ENCONTRADO + estacaoCreateDTO.getBairroId()));
+            bairroService.obterPorId(estacaoCreateDTO.getBairroId());
+            Bairro novoBairro = bairroRepository.getReferenceById(estacaoCreateDTO.getBairroId());
             estacaoExistente.setBairro(novoBairro);
         }
 
-        EstacaoRecarga estacaoAtualizada = estacaoRecargaRepository.save(estacaoExistente);
-        return modelMapper.map(estacaoAtualizada, EstacaoRecargaDTO.class);
+        EstacaoRecarga estacaoAtualizada = estacaoRecargaRepository.saveAndFlush(estacaoExistente);
+        return estacaoRecargaMapper.paraDTO(estacaoAtualizada);
     }
 
     public void deletarEstacaoRecarga(Long id) {
-        EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + id));
-        estacaoRecargaRepository.delete(estacaoRecarga);
+        concorrenciaEstacoes.executar(id, () -> {
+            EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + id));
+            // Tarifas e agregados pertencem à estação; históricos e reservas continuam impedindo a exclusão
+            tarifaEstacaoRepository.removerPorEstacao(id);
+            consumoAgregadoRepository.removerPorEstacao(id);
+            estacaoRecargaRepository.delete(estacaoRecarga);
+            return null;
+        }, () -> { });
+        indiceEspacial.remover(id);
+        grafoEstacoes.remover(id);
+    }
+
+    public List<EstacaoRecargaProximaDTO> listarProximas(Double latitude, Double longitude, Integer k, Double raioKm) {
+        if (latitude == null || longitude == null) {
+            throw new InvalidRequestException("Latitude e Longitude são obrigatórios.");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new InvalidRequestException("Latitude deve estar entre -90 e 90 e Longitude entre -180 e 180.");
+        }
+        if (k != null && (k <= 0 || k > K_MAXIMO)) {
+            throw new InvalidRequestException("A quantidade de estações (k) deve estar entre 1 e " + K_MAXIMO + ".");
+        }
+        if (raioKm != null && (raioKm <= 0 || raioKm > RAIO_MAXIMO_KM)) {
+            throw new InvalidRequestException("O raio deve ser maior que zero e de no máximo " + (int) RAIO_MAXIMO_KM + " km.");
+        }
+
+        // Apenas o raio informado: retorna todas as estações dentro dele; caso contrário, as k mais próximas
+        List<IndiceEspacialEstacoes.Resultado> resultados = k == null && raioKm != null
+                ? indiceEspacial.buscarNoRaio(latitude, longitude, raioKm)
+                : indiceEspacial.buscarMaisProximas(latitude, longitude, k != null ? k : K_PADRAO, raioKm);
+        return resultados.stream()
+                .map(resultado -> new EstacaoRecargaProximaDTO(resultado.estacao(), resultado.distanciaKm()))
+                .toList();
     }
 
     public List<EstacaoRecargaDTO> listarPorBairro(Long bairroId) {
@@ -100,9 +236,7 @@ public class EstacaoRecargaService {
         if (estacoes.isEmpty()) {
             throw new ResourceNotFoundException(NENHUMA_ESTACAO_ENCONTRADA_BAIRRO + bairroId);
         }
-        return estacoes.stream()
-                .map(estacao -> modelMapper.map(estacao, EstacaoRecargaDTO.class))
-                .toList();
+        return estacaoRecargaMapper.paraDTOs(estacoes);
     }
 
     public List<EstacaoRecargaDTO> listarPorTipoCarregador(String tipoCarregador) {
@@ -110,8 +244,6 @@ public class EstacaoRecargaService {
         if (estacoes.isEmpty()) {
             throw new ResourceNotFoundException(NENHUMA_ESTACAO_ENCONTRADA_TIPO + tipoCarregador);
         }
-        return estacoes.stream()
-                .map(estacao -> modelMapper.map(estacao, EstacaoRecargaDTO.class))
-                .toList();
+        return estacaoRecargaMapper.paraDTOs(estacoes);
     }
 }
\ No newline at end of file
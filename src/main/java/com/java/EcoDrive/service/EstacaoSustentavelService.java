@@ -2,13 +2,17 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelCreateDTO;
 import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.exception.ResourceConflictException;
 import com.java.EcoDrive.model.EstacaoRecarga;
 import com.java.EcoDrive.model.EstacaoSustentavel;
 import com.java.EcoDrive.model.FonteEnergia;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.EstacaoSustentavelMapper;
+import com.java.EcoDrive.service.ReferenciasEntidades.Referencia;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,59 +21,98 @@ import com.java.EcoDrive.repository.EstacaoSustentavelRepository;
 import com.java.EcoDrive.repository.FonteEnergiaRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class EstacaoSustentavelService {
 
     private static final String ESTACAO_SUSTENTAVEL_NAO_ENCONTRADA = "Estação sustentável não encontrada com ID: ";
-    private static final String FONTE_NAO_ENCONTRADA = "Fonte de energia não encontrada com ID: ";
-    private static final String ESTACAO_RECARGA_NAO_ENCONTRADA = "Estação de recarga não encontrada com ID: ";
+    private static final String ESTACAO_JA_SUSTENTAVEL = "A estação de recarga já está cadastrada como sustentável: ";
     private static final String NENHUMA_ESTACAO_ENCONTRADA = "Nenhuma estação sustentável encontrada para o tipo de energia: ";
 
     private final EstacaoSustentavelRepository estacaoSustentavelRepository;
     private final EstacaoRecargaRepository estacaoRecargaRepository;
     private final FonteEnergiaRepository fonteEnergiaRepository;
-    private final ModelMapper modelMapper;
+    private final EstacaoSustentavelMapper estacaoSustentavelMapper;
+    private final FonteEnergiaService fonteEnergiaService;
+    private final ReferenciasEntidades referenciasEntidades;
+    private final MotorRecomendacao motorRecomendacao;
 
     @Autowired
     public EstacaoSustentavelService(EstacaoSustentavelRepository estacaoSustentavelRepository,
                                      EstacaoRecargaRepository estacaoRecargaRepository,
                                      FonteEnergiaRepository fonteEnergiaRepository,
-                                     ModelMapper modelMapper) {
+                                     EstacaoSustentavelMapper estacaoSustentavelMapper,
+                                     FonteEnergiaService fonteEnergiaService,
+                                     ReferenciasEntidades referenciasEntidades,
+                                     MotorRecomendacao motorRecomendacao) {
         this.estacaoSustentavelRepository = estacaoSustentavelRepository;
         this.estacaoRecargaRepository = estacaoRecargaRepository;
         this.fonteEnergiaRepository = fonteEnergiaRepository;
-        this.modelMapper = modelMapper;
+        this.estacaoSustentavelMapper = estacaoSustentavelMapper;
+        this.fonteEnergiaService = fonteEnergiaService;
+        this.referenciasEntidades = referenciasEntidades;
+        this.motorRecomendacao = motorRecomendacao;
     }
 
     public Page<EstacaoSustentavelDTO> listarTodosPaginado(Pageable pageable) {
         Page<EstacaoSustentavel> estacoes = estacaoSustentavelRepository.findAll(pageable);
-        return estacoes.map(estacao -> modelMapper.map(estacao, EstacaoSustentavelDTO.class));
+        return estacoes.map(estacaoSustentavelMapper::paraDTO);
+    }
+
+    public PaginaCursor<EstacaoSustentavelDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<EstacaoSustentavel> resultados = estacaoSustentavelRepository.findByEstacaoIdGreaterThanOrderByEstacaoIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, EstacaoSustentavel::getEstacaoId, estacaoSustentavelMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<EstacaoSustentavelDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, estacaoSustentavelRepository.findAllById(idsDistintos),
+                EstacaoSustentavel::getEstacaoId, estacaoSustentavelMapper::paraDTOs);
     }
 
     public EstacaoSustentavelDTO obterPorId(Long id) {
         EstacaoSustentavel estacao = estacaoSustentavelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_SUSTENTAVEL_NAO_ENCONTRADA + id));
-        return modelMapper.map(estacao, EstacaoSustentavelDTO.class);
+        return estacaoSustentavelMapper.paraDTO(estacao);
     }
 
-    public EstacaoSustentavelDTO criarEstacaoSustentavel(EstacaoSustentavelCreateDTO estacaoCreateDTO) {
-        EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.findById(estacaoCreateDTO.getEstacaoId())
-                .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + estacaoCreateDTO.getEstacaoId()));
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return estacaoSustentavelRepository.buscarVersao(id);
+    }
 
-        FonteEnergia fonteEnergia = fonteEnergiaRepository.findById(estacaoCreateDTO.getFonteId())
-                .orElseThrow(() -> new ResourceNotFoundException(FONTE_NAO_ENCONTRADA + estacaoCreateDTO.getFonteId()));
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return estacaoSustentavelRepository.buscarVersaoDaColecao();
+    }
+
+    public EstacaoSustentavelDTO criarEstacaoSustentavel(EstacaoSustentavelCreateDTO estacaoCreateDTO) {
+        // Estação e fonte são verificadas juntas e associadas por referência
+        referenciasEntidades.verificar(Map.of(
+                Referencia.ESTACAO_RECARGA, estacaoCreateDTO.getEstacaoId(),
+                Referencia.FONTE_ENERGIA, estacaoCreateDTO.getFonteId()));
+        EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.getReferenceById(estacaoCreateDTO.getEstacaoId());
+        FonteEnergia fonteEnergia = fonteEnergiaRepository.getReferenceById(estacaoCreateDTO.getFonteId());
 
         if (estacaoCreateDTO.getReducaoCarbono() == null || estacaoCreateDTO.getReducaoCarbono() <= 0) {
             throw new InvalidRequestException("O valor de redução de carbono deve ser maior que zero.");
         }
 
-        EstacaoSustentavel estacaoSustentavel = modelMapper.map(estacaoCreateDTO, EstacaoSustentavel.class);
+        EstacaoSustentavel estacaoSustentavel = estacaoSustentavelMapper.paraEntidade(estacaoCreateDTO);
         estacaoSustentavel.setEstacaoRecarga(estacaoRecarga);
         estacaoSustentavel.setFonteEnergia(fonteEnergia);
 
-        EstacaoSustentavel estacaoSalva = estacaoSustentavelRepository.save(estacaoSustentavel);
-        return modelMapper.map(estacaoSalva, EstacaoSustentavelDTO.class);
+        // A chave primária recusa a estação já cadastrada, sem uma consulta prévia
+        EstacaoSustentavel estacaoSalva;
+        try {
+            estacaoSalva = estacaoSustentavelRepository.saveAndFlush(estacaoSustentavel);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceConflictException(ESTACAO_JA_SUSTENTAVEL + estacaoCreateDTO.getEstacaoId());
+        }
+        EstacaoSustentavelDTO estacaoDTO = estacaoSustentavelMapper.paraDTO(estacaoSalva);
+        motorRecomendacao.registrarSustentavel(estacaoDTO);
+        return estacaoDTO;
     }
 
     public EstacaoSustentavelDTO atualizarEstacaoSustentavel(Long id, EstacaoSustentavelCreateDTO estacaoCreateDTO) {
@@ -77,8 +120,8 @@ public class EstacaoSustentavelService {
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_SUSTENTAVEL_NAO_ENCONTRADA + id));
 
         if (estacaoCreateDTO.getFonteId() != null && !estacaoCreateDTO.getFonteId().equals(estacaoExistente.getFonteEnergia().getFonteId())) {
-            FonteEnergia novaFonte = fonteEnergiaRepository.findById(estacaoCreateDTO.getFonteId())
-                    .orElseThrow(() -> new ResourceNotFoundException(FONTE_NAO_ENCONTRADA + estacaoCreateDTO.getFonteId()));
+            fonteEnergiaService.obterPorId(estacaoCreateDTO.getFonteId());
+            FonteEnergia novaFonte = fonteEnergiaRepository.getReferenceById(estacaoCreateDTO.getFonteId());
             estacaoExistente.setFonteEnergia(novaFonte);
         }
 
@@ -90,13 +133,16 @@ public class EstacaoSustentavelService {
         }
 
         EstacaoSustentavel estacaoAtualizada = estacaoSustentavelRepository.save(estacaoExistente);
-        return modelMapper.map(estacaoAtualizada, EstacaoSustentavelDTO.class);
+        EstacaoSustentavelDTO estacaoDTO = estacaoSustentavelMapper.paraDTO(estacaoAtualizada);
+        motorRecomendacao.registrarSustentavel(estacaoDTO);
+        return estacaoDTO;
     }
 
     public void deletarEstacaoSustentavel(Long id) {
         EstacaoSustentavel estacaoSustentavel = estacaoSustentavelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_SUSTENTAVEL_NAO_ENCONTRADA + id));
         estacaoSustentavelRepository.delete(estacaoSustentavel);
+        motorRecomendacao.removerSustentavel(id);
     }
 
     public List<EstacaoSustentavelDTO> listarPorTipoEnergia(String tipoEnergia) {
@@ -104,8 +150,6 @@ public class EstacaoSustentavelService {
         if (estacoes.isEmpty()) {
             throw new ResourceNotFoundException(NENHUMA_ESTACAO_ENCONTRADA + tipoEnergia);
         }
-        return estacoes.stream()
-                .map(estacao -> modelMapper.map(estacao, EstacaoSustentavelDTO.class))
-                .toList(); // Substituído Collectors.toList() por Stream.toList()
+        return estacaoSustentavelMapper.paraDTOs(estacoes);
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.model.StatusReserva;
+import com.java.EcoDrive.repository.ReservaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expira as reservas pendentes que não foram confirmadas dentro do prazo configurado.
+ * Os prazos ficam em uma {@link RodaTemporizacao} em memória, avançada por uma única thread,
+ * de modo que nenhuma varredura periódica da tabela de reservas é necessária. Ao iniciar,
+ * a roda é reconstruída com uma única consulta sobre as reservas pendentes.
+ */
+@Component
+public class ExpiracaoReservas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiracaoReservas.class);
+
+    private static final Duration NOVA_TENTATIVA_APOS_FALHA = Duration.ofMinutes(1);
+
+    private final ReservaRepository reservaRepository;
+    private final AgendaReservas agendaReservas;
+    private final ConcorrenciaEstacoes concorrenciaEstacoes;
+    private final Duration prazoConfirmacao;
+    private final long tickMs;
+    private final RodaTemporizacao<ReservaAgendada> roda;
+    private final ScheduledExecutorService relogio = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "expiracao-reservas");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ExpiracaoReservas(ReservaRepository reservaRepository, AgendaReservas agendaReservas,
+                             ConcorrenciaEstacoes concorrenciaEstacoes,
+                             @Value("${ecodrive.reservas.prazo-confirmacao-minutos:15}") long prazoConfirmacaoMinutos,
+                             @Value("${ecodrive.reservas.expiracao.tick-ms:1000}") long tickMs) {
+        this.reservaRepository = reservaRepository;
+        this.agendaReservas = agendaReservas;
+        this.concorrenciaEstacoes = concorrenciaEstacoes;
+        this.prazoConfirmacao = Duration.ofMinutes(prazoConfirmacaoMinutos);
+        this.tickMs = tickMs;
+        this.roda = new RodaTemporizacao<>(tickMs, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        List<ReservaRepository.ReservaComPrazo> pendentes =
+                reservaRepository.buscarComPrazoPorStatus(StatusReserva.PENDENTE.getCodigo());
+        pendentes.forEach(pendente -> agendar(pendente.getReservaId(), pendente.getEstacaoId(),
+                pendente.getDataReserva(), pendente.getExpiraEm()));
+        logger.info("Expiração de reservas iniciada com {} reservas pendentes.", pendentes.size());
+
+        relogio.scheduleAtFixedRate(this::avancar, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        relogio.shutdownNow();
+    }
+
+    public LocalDateTime calcularPrazo(LocalDateTime criacao) {
+        return criacao.plus(prazoConfirmacao);
+    }
+
+    public void agendar(Long reservaId, Long estacaoId, LocalDateTime dataReserva, LocalDateTime expiraEm) {
+        long prazoMs = expiraEm.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        roda.agendar(reservaId, new ReservaAgendada(reservaId, estacaoId, dataReserva, expiraEm), prazoMs);
+    }
+
+    public void cancelar(Long reservaId) {
+        roda.cancelar(reservaId);
+    }
+
+    private void avancar() {
+        for (ReservaAgendada reserva : roda.avancarAte(System.currentTimeMillis())) {
+            try {
+                expirar(reserva);
+            } catch (RuntimeException e) {
+                logger.error("Falha ao expirar a reserva {}: {}", reserva.reservaId(), e.getMessage(), e);
+                roda.agendar(reserva.reservaId(), reserva,
+                        System.currentTimeMillis() + NOVA_TENTATIVA_APOS_FALHA.toMillis());
+            }
+        }
+    }
+
+    private void expirar(ReservaAgendada reserva) {
+        // A alteração é condicional: se a reserva já foi confirmada, cancelada ou removida, nada acontece
+        int alteradas = concorrenciaEstacoes.executar(reserva.estacaoId(), () -> {
+            int resultado = reservaRepository.alterarStatusSeAtual(reserva.reservaId(),
+                    StatusReserva.PENDENTE.getCodigo(), StatusReserva.EXPIRADA.getCodigo());
+            if (resultado > 0) {
+                agendaReservas.liberarAposCommit(reserva.estacaoId(), reserva.dataReserva());
+            }
+            return resultado;
+        }, () -> agendaReservas.descartar(reserva.estacaoId()));
+        if (alteradas > 0) {
+            logger.info("Reserva {} expirada sem confirmação (prazo: {}).", reserva.reservaId(), reserva.expiraEm());
+        }
+    }
+
+    private record ReservaAgendada(Long reservaId, Long estacaoId, LocalDateTime dataReserva, LocalDateTime expiraEm) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.java.EcoDrive.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Exportação completa dos históricos e gastos de carregamento. As linhas são lidas com um
+ * cursor JDBC somente para frente, com fetch size fixo, e escritas uma a uma na saída, de
+ * modo que a memória usada não depende do tamanho da tabela.
+ */
+@Component
+public class ExportacaoCarregamentos {
+
+    public enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extensao;
+
+        Formato(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public static Formato de(String valor) {
+            for (Formato formato : values()) {
+                if (formato.name().equalsIgnoreCase(valor)) {
+                    return formato;
+                }
+            }
+            throw new InvalidRequestException("Formato de exportação inválido: " + valor + ". Use ndjson ou csv.");
+        }
+    }
+
+    public enum Exportacao {
+        HISTORICOS("historico-carregamento",
+                "SELECT historico_id, usuario_id, veiculo_id, estacao_id, data_carregamento, kwh_consumidos "
+                        + "FROM historico_carregamento ORDER BY historico_id",
+                List.of(new Coluna("historicoId", "historico_id", Tipo.INTEIRO),
+                        new Coluna("usuarioId", "usuario_id", Tipo.INTEIRO),
+                        new Coluna("veiculoId", "veiculo_id", Tipo.INTEIRO),
+                        new Coluna("estacaoId", "estacao_id", Tipo.INTEIRO),
+                        new Coluna("dataCarregamento", "data_carregamento", Tipo.DATA_HORA),
+                        new Coluna("kwhConsumidos", "kwh_consumidos", Tipo.DECIMAL))),
+        GASTOS("gastos-carregamento",
+                "SELECT gasto_id, historico_id, data_gasto, custo_total FROM gasto_carregamento ORDER BY gasto_id",
+                List.of(new Coluna("gastoId", "gasto_id", Tipo.INTEIRO),
+                        new Coluna("historicoId", "historico_id", Tipo.INTEIRO),
+                        new Coluna("dataGasto", "data_gasto", Tipo.DATA_HORA),
+                        new Coluna("custoTotal", "custo_total", Tipo.DECIMAL)));
+
+        private final String nomeArquivo;
+        private final String sql;
+        private final List<Coluna> colunas;
+
+        Exportacao(String nomeArquivo, String sql, List<Coluna> colunas) {
+            this.nomeArquivo = nomeArquivo;
+            this.sql = sql;
+            this.colunas = colunas;
+        }
+
+        public String getNomeArquivo(Formato formato) {
+            return nomeArquivo + "." + formato.getExtensao();
+        }
+    }
+
+    private enum Tipo { INTEIRO, DECIMAL, DATA_HORA }
+
+    // O nome do campo no NDJSON segue os DTOs da API; o cabeçalho do CSV segue as colunas da tabela
+    private record Coluna(String campo, String cabecalho, Tipo tipo) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    @Autowired
+    public ExportacaoCarregamentos(JdbcTemplate jdbcTemplate,
+                                   ObjectMapper objectMapper,
+                                   @Value("${ecodrive.exportacao.fetch-size:1000}") int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("O fetch size da exportação deve ser maior que zero.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escreve todas as linhas da exportação na saída informada. A saída não é fechada.
+     *
+     * @return quantidade de linhas exportadas.
+     */
+    public long exportar(Exportacao exportacao, Formato formato, OutputStream saida) throws IOException {
+        Escritor escritor = formato == Formato.CSV ? new EscritorCsv(saida) : new EscritorNdjson(saida);
+        escritor.iniciar(exportacao.colunas);
+        long[] linhas = {0};
+        try {
+            jdbcTemplate.query(conexao -> {
+                PreparedStatement ps = conexao.prepareStatement(exportacao.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                try {
+                    escritor.escreverLinha(exportacao.colunas, rs);
+                    linhas[0]++;
+                } catch (IOException e) {
+                    // Em geral o cliente encerrou o download; a consulta é interrompida
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.finalizar();
+        return linhas[0];
+    }
+
+    private interface Escritor {
+        void iniciar(List<Coluna> colunas) throws IOException;
+
+        void escreverLinha(List<Coluna> colunas, ResultSet rs) throws IOException, SQLException;
+
+        void finalizar() throws IOException;
+    }
+
+    private class EscritorNdjson implements Escritor {
+
+        private final JsonGenerator gerador;
+
+        EscritorNdjson(OutputStream saida) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida, JsonEncoding.UTF8);
+            this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Cada objeto termina com sua própria quebra de linha, sem o separador padrão entre valores
+            this.gerador.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void iniciar(List<Coluna> colunas) {
+            // NDJSON não tem cabeçalho
+        }
+
+        @Override
+        public void escreverLinha(List<Coluna> colunas, ResultSet rs) throws IOException, SQLException {
+            gerador.writeStartObject();
+            for (int i = 0; i < colunas.size(); i++) {
+                Coluna coluna = colunas.get(i);
+                gerador.writeFieldName(coluna.campo());
+                switch (coluna.tipo()) {
+                    case INTEIRO -> {
+                        long valor = rs.getLong(i + 1);
+                        if (rs.wasNull()) {
+                            gerador.writeNull();
+                        } else {
+                            gerador.writeNumber(valor);
+                        }
+                    }
+                    case DECIMAL -> {
+                        double valor = rs.getDouble(i + 1);
+                        if (rs.wasNull()) {
+                            gerador.writeNull();
+                        } else {
+                            gerador.writeNumber(valor);
+                        }
+                    }
+                    case DATA_HORA -> {
+                        Timestamp valor = rs.getTimestamp(i + 1);
+                        if (valor == null) {
+                            gerador.writeNull();
+                        } else {
+                            gerador.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(valor.toLocalDateTime()));
+                        }
+                    }
+                }
+            }
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            gerador.close();
+        }
+    }
+
+    private static class EscritorCsv implements Escritor {
+
+        private final Writer escritor;
+
+        EscritorCsv(OutputStream saida) {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void iniciar(List<Coluna> colunas) throws IOException {
+            for (int i = 0; i < colunas.size(); i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                escritor.write(colunas.get(i).cabecalho());
+            }
+            escritor.write('\n');
+        }
+
+        @Override
+        public void escreverLinha(List<Coluna> colunas, ResultSet rs) throws IOException, SQLException {
+            // Só há números e datas nas colunas exportadas, então nenhum valor precisa de aspas
+            for (int i = 0; i < colunas.size(); i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                switch (colunas.get(i).tipo()) {
+                    case INTEIRO -> {
+                        long valor = rs.getLong(i + 1);
+                        if (!rs.wasNull()) {
+                            escritor.write(Long.toString(valor));
+                        }
+                    }
+                    case DECIMAL -> {
+                        double valor = rs.getDouble(i + 1);
+                        if (!rs.wasNull()) {
+                            escritor.write(Double.toString(valor));
+                        }
+                    }
+                    case DATA_HORA -> {
+                        Timestamp valor = rs.getTimestamp(i + 1);
+                        if (valor != null) {
+                            escritor.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(valor.toLocalDateTime()));
+                        }
+                    }
+                }
+            }
+            escritor.write('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            escritor.flush();
+        }
+    }
+}
@@ -2,50 +2,85 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaCreateDTO;
 import com.java.EcoDrive.dto.FonteEnergia.FonteEnergiaDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
 import com.java.EcoDrive.model.FonteEnergia;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.FonteEnergiaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import com.java.EcoDrive.repository.FonteEnergiaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * As fontes de energia quase não mudam: a busca por ID e a busca por tipo ficam nos caches
+ * "fontesEnergia" e "fontesEnergiaPorTipo". Uma escrita atualiza a entrada do ID e descarta
+ * todas as buscas por tipo, já que qualquer uma delas pode conter a fonte alterada.
+ */
 @Service
 public class FonteEnergiaService {
 
     private static final String FONTE_NAO_ENCONTRADA = "Fonte de energia não encontrada com ID: ";
 
     private final FonteEnergiaRepository fonteEnergiaRepository;
-    private final ModelMapper modelMapper;
+    private final FonteEnergiaMapper fonteEnergiaMapper;
 
     @Autowired
-    public FonteEnergiaService(FonteEnergiaRepository fonteEnergiaRepository, ModelMapper modelMapper) {
+    public FonteEnergiaService(FonteEnergiaRepository fonteEnergiaRepository, FonteEnergiaMapper fonteEnergiaMapper) {
         this.fonteEnergiaRepository = fonteEnergiaRepository;
-        this.modelMapper = modelMapper;
+        this.fonteEnergiaMapper = fonteEnergiaMapper;
     }
 
     public Page<FonteEnergiaDTO> listarTodasPaginado(Pageable pageable) {
         Page<FonteEnergia> fontes = fonteEnergiaRepository.findAll(pageable);
-        return fontes.map(fonte -> modelMapper.map(fonte, FonteEnergiaDTO.class));
+        return fontes.map(fonteEnergiaMapper::paraDTO);
     }
 
+    public PaginaCursor<FonteEnergiaDTO> listarTodasPorCursor(String cursor, int limite) {
+        List<FonteEnergia> resultados = fonteEnergiaRepository.findByFonteIdGreaterThanOrderByFonteIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, FonteEnergia::getFonteId, fonteEnergiaMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<FonteEnergiaDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, fonteEnergiaRepository.findAllById(idsDistintos),
+                FonteEnergia::getFonteId, fonteEnergiaMapper::paraDTOs);
+    }
+
+    @Cacheable(value = "fontesEnergia", key = "#id")
     public FonteEnergiaDTO obterPorId(Long id) {
         FonteEnergia fonte = fonteEnergiaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(FONTE_NAO_ENCONTRADA + id));
-        return modelMapper.map(fonte, FonteEnergiaDTO.class);
+        return fonteEnergiaMapper.paraDTO(fonte);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return fonteEnergiaRepository.buscarVersao(id);
+    }
+
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return fonteEnergiaRepository.buscarVersaoDaColecao();
     }
 
+    @CacheEvict(value = "fontesEnergiaPorTipo", allEntries = true)
     public FonteEnergiaDTO criarFonteEnergia(FonteEnergiaCreateDTO fonteCreateDTO) {
         validarFonteEnergia(fonteCreateDTO);
-        FonteEnergia fonte = modelMapper.map(fonteCreateDTO, FonteEnergia.class);
+        FonteEnergia fonte = fonteEnergiaMapper.paraEntidade(fonteCreateDTO);
         FonteEnergia fonteSalva = fonteEnergiaRepository.save(fonte);
-        return modelMapper.map(fonteSalva, FonteEnergiaDTO.class);
+        return fonteEnergiaMapper.paraDTO(fonteSalva);
     }
 
+    @Caching(put = @CachePut(value = "fontesEnergia", key = "#id"),
+            evict = @CacheEvict(value = "fontesEnergiaPorTipo", allEntries = true))
     public FonteEnergiaDTO atualizarFonteEnergia(Long id, FonteEnergiaCreateDTO fonteCreateDTO) {
         FonteEnergia fonteExistente = fonteEnergiaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(FONTE_NAO_ENCONTRADA + id));
@@ -53,23 +88,25 @@ public class FonteEnergiaService {
         fonteExistente.setTipoEnergia(fonteCreateDTO.getTipoEnergia());
 
         FonteEnergia fonteAtualizada = fonteEnergiaRepository.save(fonteExistente);
-        return modelMapper.map(fonteAtualizada, FonteEnergiaDTO.class);
+        return fonteEnergiaMapper.paraDTO(fonteAtualizada);
     }
 
+    @Caching(evict = {@CacheEvict(value = "fontesEnergia", key = "#id"),
+            @CacheEvict(value = "fontesEnergiaPorTipo", allEntries = true)})
     public void deletarFonteEnergia(Long id) {
         FonteEnergia fonte = fonteEnergiaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(FONTE_NAO_ENCONTRADA + id));
         fonteEnergiaRepository.delete(fonte);
     }
 
+    // A busca ignora maiúsculas, então "Solar" e "solar" compartilham a entrada; a lista vazia vira 404 e não é guardada
+    @Cacheable(value = "fontesEnergiaPorTipo", key = "#tipoEnergia.toLowerCase()")
     public List<FonteEnergiaDTO> listarPorTipoEnergia(String tipoEnergia) {
         List<FonteEnergia> fontes = fonteEnergiaRepository.findByTipoEnergiaContainingIgnoreCase(tipoEnergia);
         if (fontes.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma fonte de energia encontrada contendo: " + tipoEnergia);
         }
-        return fontes.stream()
-                .map(fonte -> modelMapper.map(fonte, FonteEnergiaDTO.class))
-                .toList(); // Substituído Collectors.toList() por Stream.toList()
+        return fonteEnergiaMapper.paraDTOs(fontes);
     }
 
     private void validarFonteEnergia(FonteEnergiaCreateDTO fonteCreateDTO) {
@@ -2,20 +2,27 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoCreateDTO;
 import com.java.EcoDrive.dto.GastoCarregamento.GastoCarregamentoDTO;
+import com.java.EcoDrive.dto.GastoCarregamento.ResultadoRetarifacaoDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.exception.ResourceConflictException;
 import com.java.EcoDrive.model.GastoCarregamento;
 import com.java.EcoDrive.model.HistoricoCarregamento;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.GastoCarregamentoMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.java.EcoDrive.repository.GastoCarregamentoRepository;
 import com.java.EcoDrive.repository.HistoricoCarregamentoRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class GastoCarregamentoService {
@@ -26,20 +33,44 @@ public class GastoCarregamentoService {
 
     private final GastoCarregamentoRepository gastoCarregamentoRepository;
     private final HistoricoCarregamentoRepository historicoCarregamentoRepository;
-    private final ModelMapper modelMapper;
+    private final GastoCarregamentoMapper gastoCarregamentoMapper;
+    private final ExportacaoCarregamentos exportacaoCarregamentos;
+    private final AgregacaoConsumo agregacaoConsumo;
+    private final RetarifacaoGastos retarifacaoGastos;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public GastoCarregamentoService(GastoCarregamentoRepository gastoCarregamentoRepository,
                                     HistoricoCarregamentoRepository historicoCarregamentoRepository,
-                                    ModelMapper modelMapper) {
+                                    GastoCarregamentoMapper gastoCarregamentoMapper,
+                                    ExportacaoCarregamentos exportacaoCarregamentos,
+                                    AgregacaoConsumo agregacaoConsumo,
+                                    RetarifacaoGastos retarifacaoGastos,
+                                    TransactionTemplate transactionTemplate) {
         this.gastoCarregamentoRepository = gastoCarregamentoRepository;
         this.historicoCarregamentoRepository = historicoCarregamentoRepository;
-        this.modelMapper = modelMapper;
+        this.gastoCarregamentoMapper = gastoCarregamentoMapper;
+        this.exportacaoCarregamentos = exportacaoCarregamentos;
+        this.agregacaoConsumo = agregacaoConsumo;
+        this.retarifacaoGastos = retarifacaoGastos;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public Page<GastoCarregamentoDTO> listarTodosPaginado(Pageable pageable) {
         Page<GastoCarregamento> gastos = gastoCarregamentoRepository.findAll(pageable);
-        return gastos.map(gasto -> modelMapper.map(gasto, GastoCarregamentoDTO.class));
+        return gastos.map(gastoCarregamentoMapper::paraDTO);
+    }
+
+    public PaginaCursor<GastoCarregamentoDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<GastoCarregamento> resultados = gastoCarregamentoRepository.findByGastoIdGreaterThanOrderByGastoIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, GastoCarregamento::getGastoId, gastoCarregamentoMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<GastoCarregamentoDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, gastoCarregamentoRepository.findAllById(idsDistintos),
+                GastoCarregamento::getGastoId, gastoCarregamentoMapper::paraDTOs);
     }
 
     public List<GastoCarregamentoDTO> listarPorHistoricoCarregamento(Long historicoId) {
@@ -47,9 +78,7 @@ public class GastoCarregamentoService {
         if (gastos.isEmpty()) {
             throw new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + historicoId);
         }
-        return gastos.stream()
-                .map(gasto -> modelMapper.map(gasto, GastoCarregamentoDTO.class))
-                .toList(); // Usando `Stream.toList()` para simplificação e evitar modificações.
+        return gastoCarregamentoMapper.paraDTOs(gastos);
     }
 
     public List<GastoCarregamentoDTO> listarPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
@@ -57,15 +86,17 @@ public class GastoCarregamentoService {
         if (gastos.isEmpty()) {
             throw new ResourceNotFoundException(GASTOS_PERIODO_NAO_ENCONTRADOS);
         }
-        return gastos.stream()
-                .map(gasto -> modelMapper.map(gasto, GastoCarregamentoDTO.class))
-                .toList();
+        return gastoCarregamentoMapper.paraDTOs(gastos);
     }
 
     public GastoCarregamentoDTO obterPorId(Long id) {
         GastoCarregamento gasto = gastoCarregamentoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(GASTO_NAO_ENCONTRADO + id));
-        return modelMapper.map(gasto, GastoCarregamentoDTO.class);
+        return gastoCarregamentoMapper.paraDTO(gasto);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return gastoCarregamentoRepository.buscarVersao(id);
     }
 
     public GastoCarregamentoDTO criarGastoCarregamento(GastoCarregamentoCreateDTO gastoCreateDTO) {
@@ -77,34 +108,71 @@ public class GastoCarregamentoService {
             throw new InvalidRequestException("O custo total deve ser maior que zero.");
         }
 
-        HistoricoCarregamento historico = historicoCarregamentoRepository.findById(gastoCreateDTO.getHistoricoId())
-                .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + gastoCreateDTO.getHistoricoId()));
+        // O gasto e os agregados de consumo do período são gravados na mesma transação
+        return transactionTemplate.execute(status -> {
+            HistoricoCarregamento historico = historicoCarregamentoRepository.findById(gastoCreateDTO.getHistoricoId())
+                    .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + gastoCreateDTO.getHistoricoId()));
+            // Os históricos criados pela API já recebem o gasto calculado pela tarifa da estação
+            if (gastoCarregamentoRepository.existsByHistoricoCarregamentoHistoricoId(historico.getHistoricoId())) {
+                throw new ResourceConflictException("O histórico de carregamento " + historico.getHistoricoId() + " já possui gasto.");
+            }
 
-        GastoCarregamento gasto = modelMapper.map(gastoCreateDTO, GastoCarregamento.class);
-        gasto.setHistoricoCarregamento(historico);
+            GastoCarregamento gasto = gastoCarregamentoMapper.paraEntidade(gastoCreateDTO);
+            gasto.setHistoricoCarregamento(historico);
+            gasto.setDataGasto(LocalDateTime.now());
 
-        GastoCarregamento gastoSalvo = gastoCarregamentoRepository.save(gasto);
-        return modelMapper.map(gastoSalvo, GastoCarregamentoDTO.class);
+            GastoCarregamento gastoSalvo = gastoCarregamentoRepository.save(gasto);
+            registrarConsumo(historico, gastoSalvo.getCustoTotal());
+            return gastoCarregamentoMapper.paraDTO(gastoSalvo);
+        });
     }
 
     public GastoCarregamentoDTO atualizarGastoCarregamento(Long id, GastoCarregamentoCreateDTO gastoCreateDTO) {
-        GastoCarregamento gastoExistente = gastoCarregamentoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(GASTO_NAO_ENCONTRADO + id));
-
-        if (gastoCreateDTO.getCustoTotal() != null) {
-            if (gastoCreateDTO.getCustoTotal() <= 0) {
-                throw new InvalidRequestException("O custo total deve ser maior que zero.");
+        return transactionTemplate.execute(status -> {
+            GastoCarregamento gastoExistente = gastoCarregamentoRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(GASTO_NAO_ENCONTRADO + id));
+            double custoAnterior = gastoExistente.getCustoTotal();
+
+            if (gastoCreateDTO.getCustoTotal() != null) {
+                if (gastoCreateDTO.getCustoTotal() <= 0) {
+                    throw new InvalidRequestException("O custo total deve ser maior que zero.");
+                }
+                gastoExistente.setCustoTotal(gastoCreateDTO.getCustoTotal());
             }
-            gastoExistente.setCustoTotal(gastoCreateDTO.getCustoTotal());
-        }
 
-        GastoCarregamento gastoAtualizado = gastoCarregamentoRepository.save(gastoExistente);
-        return modelMapper.map(gastoAtualizado, GastoCarregamentoDTO.class);
+            GastoCarregamento gastoAtualizado = gastoCarregamentoRepository.save(gastoExistente);
+            if (gastoAtualizado.getCustoTotal() != custoAnterior) {
+                registrarConsumo(gastoAtualizado.getHistoricoCarregamento(), gastoAtualizado.getCustoTotal() - custoAnterior);
+            }
+            return gastoCarregamentoMapper.paraDTO(gastoAtualizado);
+        });
     }
 
     public void deletarGastoCarregamento(Long id) {
-        GastoCarregamento gasto = gastoCarregamentoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(GASTO_NAO_ENCONTRADO + id));
-        gastoCarregamentoRepository.delete(gasto);
+        transactionTemplate.executeWithoutResult(status -> {
+            GastoCarregamento gasto = gastoCarregamentoRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(GASTO_NAO_ENCONTRADO + id));
+            gastoCarregamentoRepository.delete(gasto);
+            registrarConsumo(gasto.getHistoricoCarregamento(), -gasto.getCustoTotal());
+        });
+    }
+
+    // O custo entra no período em que o carregamento do histórico começou
+    private void registrarConsumo(HistoricoCarregamento historico, double custo) {
+        agregacaoConsumo.registrar(historico.getEstacaoRecarga().getEstacaoId(), historico.getDataCarregamento(), 0, custo, 0);
+    }
+
+    public ResultadoRetarifacaoDTO retarifar(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null || fim == null) {
+            throw new InvalidRequestException("As datas de início e fim são obrigatórias.");
+        }
+        if (inicio.isAfter(fim)) {
+            throw new InvalidRequestException("A data de início deve ser anterior à data de fim.");
+        }
+        return retarifacaoGastos.retarifar(inicio, fim, false);
+    }
+
+    public long exportar(ExportacaoCarregamentos.Formato formato, OutputStream saida) throws IOException {
+        return exportacaoCarregamentos.exportar(ExportacaoCarregamentos.Exportacao.GASTOS, formato, saida);
     }
 }
\ No newline at end of file
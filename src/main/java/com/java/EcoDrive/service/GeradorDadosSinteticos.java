@@ -0,0 +1,239 @@
+package com.java.EcoDrive.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Gera dados sintéticos no banco embarcado do perfil {@code perf}, em volumes configuráveis,
+ * com inserts em lote via JDBC. Cada tabela usa um gerador aleatório derivado da semente,
+ * de modo que a mesma semente e os mesmos volumes produzem sempre os mesmos dados.
+ * Roda antes do {@code ApplicationReadyEvent}, então os índices e caches em memória já
+ * são montados sobre os dados gerados.
+ */
+@Component
+@Profile("perf")
+public class GeradorDadosSinteticos implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeradorDadosSinteticos.class);
+
+    private static final LocalDateTime DATA_INICIAL = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] TIPOS_CARREGADOR = {"CCS2", "Tipo 2", "CHAdeMO"};
+    private static final String[] STATUS_ESTACAO = {"Ativa", "Ativa", "Ativa", "Em Manutenção", "Defeituosa"};
+    private static final String[] FONTES_ENERGIA = {"Solar", "Eólica", "Hidrelétrica", "Biomassa"};
+    private static final String[] MARCAS_CONCESSIONARIA = {"BYD", "Tesla", "Volvo", "Renault", "Nissan", "BMW"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AgregacaoConsumo agregacaoConsumo;
+    private final long semente;
+    private final int tamanhoLote;
+    private final int bairros;
+    private final int concessionarias;
+    private final int estacoes;
+    private final int usuarios;
+    private final int veiculos;
+    private final int reservas;
+    private final int historicos;
+    private final int gastos;
+    private final boolean reconstruirAgregados;
+
+    @Autowired
+    public GeradorDadosSinteticos(JdbcTemplate jdbcTemplate,
+                                  AgregacaoConsumo agregacaoConsumo,
+                                  @Value("${ecodrive.perf.semente:42}") long semente,
+                                  @Value("${ecodrive.perf.tamanho-lote:5000}") int tamanhoLote,
+                                  @Value("${ecodrive.perf.bairros:100}") int bairros,
+                                  @Value("${ecodrive.perf.concessionarias:50}") int concessionarias,
+                                  @Value("${ecodrive.perf.estacoes:2000}") int estacoes,
+                                  @Value("${ecodrive.perf.usuarios:10000}") int usuarios,
+                                  @Value("${ecodrive.perf.veiculos:10000}") int veiculos,
+                                  @Value("${ecodrive.perf.reservas:100000}") int reservas,
+                                  @Value("${ecodrive.perf.historicos:1000000}") int historicos,
+                                  @Value("${ecodrive.perf.gastos:1000000}") int gastos,
+                                  @Value("${ecodrive.perf.reconstruir-agregados:true}") boolean reconstruirAgregados) {
+        if (tamanhoLote <= 0 || bairros <= 0 || estacoes <= 0 || usuarios <= 0) {
+            throw new IllegalArgumentException("O gerador de dados precisa de ao menos um bairro, uma estação e um usuário, e de um lote maior que zero.");
+        }
+        if (historicos > 0 && veiculos < usuarios) {
+            throw new IllegalArgumentException("O gerador de dados precisa de ao menos um veículo por usuário para gerar históricos.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.agregacaoConsumo = agregacaoConsumo;
+        this.semente = semente;
+        this.tamanhoLote = tamanhoLote;
+        this.bairros = bairros;
+        this.concessionarias = concessionarias;
+        this.estacoes = estacoes;
+        this.usuarios = usuarios;
+        this.veiculos = veiculos;
+        this.reservas = reservas;
+        this.historicos = historicos;
+        this.gastos = Math.min(gastos, historicos);
+        this.reconstruirAgregados = reconstruirAgregados;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.currentTimeMillis();
+
+        inserir("bairro", "bairro_id", "INSERT INTO bairro (bairro_id, nome, versao) VALUES (?, ?, 0)", bairros,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "Bairro " + id);
+                });
+        inserir("fonte_energia", "fonte_id", "INSERT INTO fonte_energia (fonte_id, tipo_energia, versao) VALUES (?, ?, 0)", FONTES_ENERGIA.length,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, FONTES_ENERGIA[(int) id - 1]);
+                });
+        inserir("concessionaria", "concessionaria_id",
+                "INSERT INTO concessionaria (concessionaria_id, nome, bairro_id, marca, tem_estacao_recarga, versao) VALUES (?, ?, ?, ?, ?, 0)", concessionarias,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "Concessionária " + id);
+                    ps.setLong(3, 1 + random.nextInt(bairros));
+                    ps.setString(4, MARCAS_CONCESSIONARIA[random.nextInt(MARCAS_CONCESSIONARIA.length)]);
+                    ps.setInt(5, random.nextInt(2));
+                });
+        // Estações espalhadas pela região metropolitana de São Paulo
+        inserir("estacao_recarga", "estacao_id",
+                "INSERT INTO estacao_recarga (estacao_id, nome, bairro_id, latitude, longitude, tipo_carregador, preco_por_kwh, versao) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)", estacoes,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "Estação " + id);
+                    ps.setLong(3, 1 + random.nextInt(bairros));
+                    ps.setDouble(4, -23.40 - random.nextDouble() * 0.40);
+                    ps.setDouble(5, -46.40 - random.nextDouble() * 0.50);
+                    ps.setString(6, TIPOS_CARREGADOR[random.nextInt(TIPOS_CARREGADOR.length)]);
+                    ps.setDouble(7, 1.20 + random.nextInt(150) / 100.0);
+                });
+        // Uma a cada cinco estações é sustentável
+        inserir("estacao_sustentavel", null,
+                "INSERT INTO estacao_sustentavel (estacao_id, fonte_id, reducao_carbono, versao) VALUES (?, ?, ?, 0)", estacoes / 5,
+                (ps, id, random) -> {
+                    ps.setLong(1, id * 5);
+                    ps.setLong(2, 1 + random.nextInt(FONTES_ENERGIA.length));
+                    ps.setDouble(3, 5 + random.nextInt(9_500) / 100.0);
+                });
+        inserir("status_estacao_recarga", "status_id",
+                "INSERT INTO status_estacao_recarga (status_id, estacao_id, status, ultima_atualizacao) VALUES (?, ?, ?, ?)", estacoes,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setLong(2, id);
+                    ps.setString(3, STATUS_ESTACAO[random.nextInt(STATUS_ESTACAO.length)]);
+                    ps.setTimestamp(4, Timestamp.valueOf(DATA_INICIAL.plusMinutes(random.nextInt(60 * 24 * 30))));
+                });
+        inserir("usuario", "usuario_id", "INSERT INTO usuario (usuario_id, nome, email, senha, telefone, versao) VALUES (?, ?, ?, ?, ?, 0)", usuarios,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "Usuário " + id);
+                    ps.setString(3, "usuario" + id + "@ecodrive.com");
+                    ps.setString(4, "senha" + random.nextInt(1_000_000));
+                    ps.setString(5, String.format("119%08d", id));
+                });
+        // O veículo N pertence ao usuário ((N - 1) % usuarios) + 1; a marca é única na tabela
+        inserir("veiculo", "veiculo_id",
+                "INSERT INTO veiculo (veiculo_id, usuario_id, concessionaria_id, marca, modelo, ano, is_eletrico, versao) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", veiculos,
+                (ps, id, random) -> {
+                    ps.setLong(1, id);
+                    ps.setLong(2, (id - 1) % usuarios + 1);
+                    if (concessionarias > 0) {
+                        ps.setLong(3, 1 + random.nextInt(concessionarias));
+                    } else {
+                        ps.setNull(3, java.sql.Types.BIGINT);
+                    }
+                    ps.setString(4, "Marca " + id);
+                    ps.setString(5, "Modelo " + random.nextInt(50));
+                    ps.setInt(6, 2015 + random.nextInt(10));
+                    ps.setInt(7, random.nextInt(10) < 8 ? 1 : 0);
+                });
+        // Cada estação recebe no máximo uma reserva por dia, sempre no início de um slot de uma hora
+        inserir("reserva", "reserva_id",
+                "INSERT INTO reserva (reserva_id, usuario_id, estacao_id, data_reserva, status, versao) VALUES (?, ?, ?, ?, ?, 0)", reservas,
+                (ps, id, random) -> {
+                    long dia = (id - 1) / estacoes;
+                    ps.setLong(1, id);
+                    ps.setLong(2, 1 + random.nextInt(usuarios));
+                    ps.setLong(3, (id - 1) % estacoes + 1);
+                    ps.setTimestamp(4, Timestamp.valueOf(DATA_INICIAL.plusDays(dia).plusHours(random.nextInt(24))));
+                    ps.setInt(5, 1 + random.nextInt(3));
+                });
+        inserir("historico_carregamento", "historico_id",
+                "INSERT INTO historico_carregamento (historico_id, usuario_id, veiculo_id, estacao_id, data_carregamento, kwh_consumidos, versao) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 0)", historicos,
+                (ps, id, random) -> {
+                    long usuario = 1 + random.nextInt(usuarios);
+                    ps.setLong(1, id);
+                    ps.setLong(2, usuario);
+                    ps.setLong(3, usuario);
+                    ps.setLong(4, 1 + random.nextInt(estacoes));
+                    ps.setTimestamp(5, Timestamp.valueOf(DATA_INICIAL.plusMinutes(random.nextInt(60 * 24 * 365))));
+                    ps.setDouble(6, 5 + random.nextInt(7_000) / 100.0);
+                });
+        // O gasto é derivado do histórico e do preço da estação, em um único INSERT ... SELECT
+        if (gastos > 0) {
+            long inicioTabela = System.currentTimeMillis();
+            jdbcTemplate.update("INSERT INTO gasto_carregamento (gasto_id, historico_id, data_gasto, custo_total, versao) "
+                    + "SELECT h.historico_id, h.historico_id, h.data_carregamento, ROUND(h.kwh_consumidos * e.preco_por_kwh, 2), 0 "
+                    + "FROM historico_carregamento h JOIN estacao_recarga e ON e.estacao_id = h.estacao_id "
+                    + "WHERE h.historico_id <= ?", gastos);
+            reiniciarIdentidade("gasto_carregamento", "gasto_id", gastos);
+            logger.info("Gerados {} registros em gasto_carregamento ({} ms).", gastos, System.currentTimeMillis() - inicioTabela);
+        }
+
+        // Os dados entram direto por JDBC, então os agregados de consumo são montados pela reconstrução completa
+        if (reconstruirAgregados) {
+            agregacaoConsumo.reconstruir(null, null);
+        }
+
+        logger.info("Dados sintéticos gerados com a semente {} em {} ms.", semente, System.currentTimeMillis() - inicio);
+    }
+
+    private void inserir(String tabela, String colunaId, String sql, int quantidade, Linha linha) {
+        long inicioTabela = System.currentTimeMillis();
+        Random random = new Random(semente * 31 + tabela.hashCode());
+        for (int primeiro = 1; primeiro <= quantidade; primeiro += tamanhoLote) {
+            int inicioLote = primeiro;
+            int tamanho = Math.min(tamanhoLote, quantidade - primeiro + 1);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    linha.preencher(ps, inicioLote + i, random);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return tamanho;
+                }
+            });
+        }
+        if (colunaId != null) {
+            reiniciarIdentidade(tabela, colunaId, quantidade);
+        }
+        logger.info("Gerados {} registros em {} ({} ms).", quantidade, tabela, System.currentTimeMillis() - inicioTabela);
+    }
+
+    // Os IDs foram informados explicitamente; a identidade continua a partir do último gerado
+    private void reiniciarIdentidade(String tabela, String colunaId, int ultimoId) {
+        jdbcTemplate.execute("ALTER TABLE " + tabela + " ALTER COLUMN " + colunaId + " RESTART WITH " + (ultimoId + 1));
+    }
+
+    @FunctionalInterface
+    private interface Linha {
+        void preencher(PreparedStatement ps, long id, Random random) throws SQLException;
+    }
+}
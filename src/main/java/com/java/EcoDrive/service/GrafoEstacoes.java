@@ -0,0 +1,350 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Grafo em memória das estações de recarga usado pelo planejador de rotas. Cada estação guarda
+ * as arestas de saída já calculadas para as k estações mais próximas e para a mais próxima em
+ * cada um dos 8 setores de 45° ao seu redor, até um alcance máximo: as k mais próximas cobrem a
+ * vizinhança imediata e os setores garantem saídas em todas as direções mesmo quando a vizinhança
+ * está concentrada de um lado.
+ * <p>
+ * As alterações de estações são aplicadas de forma incremental: só são recalculadas as arestas
+ * da estação alterada, das estações que apontavam para ela e das estações para as quais ela
+ * passa a ser uma vizinha melhor que as atuais.
+ */
+@Component
+public class GrafoEstacoes {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrafoEstacoes.class);
+
+    private static final double KM_POR_GRAU = 111.32;
+    private static final int SETORES = 8;
+
+    private final EstacaoRecargaRepository estacaoRecargaRepository;
+    private final int vizinhosPorEstacao;
+    private final double alcanceMaximoKm;
+
+    private final Map<Long, No> nos = new HashMap<>();
+    // Estações que têm uma aresta para a estação da chave, para recalculá-las quando ela muda
+    private final Map<Long, Set<Long>> entrantes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public GrafoEstacoes(EstacaoRecargaRepository estacaoRecargaRepository,
+                         @Value("${ecodrive.rotas.vizinhos-por-estacao:8}") int vizinhosPorEstacao,
+                         @Value("${ecodrive.rotas.alcance-maximo-aresta-km:400}") double alcanceMaximoKm) {
+        if (vizinhosPorEstacao <= 0 || alcanceMaximoKm <= 0) {
+            throw new IllegalArgumentException("A quantidade de vizinhos por estação e o alcance máximo das arestas devem ser maiores que zero.");
+        }
+        this.estacaoRecargaRepository = estacaoRecargaRepository;
+        this.vizinhosPorEstacao = vizinhosPorEstacao;
+        this.alcanceMaximoKm = alcanceMaximoKm;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        List<EstacaoRecargaDTO> estacoes = estacaoRecargaRepository.buscarTodasComoDTO();
+        long inicio = System.nanoTime();
+        int arestas = 0;
+        lock.writeLock().lock();
+        try {
+            nos.clear();
+            entrantes.clear();
+            for (EstacaoRecargaDTO estacao : estacoes) {
+                if (estacao.getLatitude() != null && estacao.getLongitude() != null) {
+                    nos.put(estacao.getEstacaoId(), new No(estacao));
+                }
+            }
+            for (No no : nos.values()) {
+                calcularArestas(no);
+                arestas += no.saida.destinos().length;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Grafo de estações reconstruído com {} estações e {} arestas em {} ms.",
+                estacoes.size(), arestas, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    public void registrar(EstacaoRecargaDTO estacao) {
+        if (estacao.getEstacaoId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            No anterior = nos.get(estacao.getEstacaoId());
+            if (anterior != null && anterior.mesmaPosicao(estacao)) {
+                // Nome, carregador ou preço mudaram: as arestas continuam as mesmas
+                anterior.estacao = estacao;
+                return;
+            }
+            removerSemLock(estacao.getEstacaoId());
+            if (estacao.getLatitude() == null || estacao.getLongitude() == null) {
+                return;
+            }
+            No novo = new No(estacao);
+            nos.put(novo.id, novo);
+            calcularArestas(novo);
+            for (No outro : nos.values()) {
+                if (outro != novo && melhoraVizinhanca(outro, novo)) {
+                    calcularArestas(outro);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long estacaoId) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(estacaoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return nos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Executa a consulta com o grafo travado para leitura, de modo que as estações e arestas lidas
+     * por {@link #no(long)} e {@link #arestasDoPonto(double, double)} não mudam durante a consulta.
+     */
+    public <T> T consultar(Supplier<T> consulta) {
+        lock.readLock().lock();
+        try {
+            return consulta.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Só deve ser chamado dentro de consultar
+    No no(long estacaoId) {
+        return nos.get(estacaoId);
+    }
+
+    // Menor preço por kWh das próprias estações (sem faixas horárias); só deve ser chamado dentro de consultar
+    double menorPrecoPorKwh() {
+        double menor = Double.POSITIVE_INFINITY;
+        for (No no : nos.values()) {
+            Double preco = no.estacao.getPrecoPorKwh();
+            menor = Math.min(menor, preco != null ? preco : 0.0);
+        }
+        return menor;
+    }
+
+    // Arestas de um ponto qualquer (origem da rota), escolhidas pelo mesmo critério das estações; só deve ser chamado dentro de consultar
+    Arestas arestasDoPonto(double latitude, double longitude) {
+        return selecionarVizinhos(latitude, longitude, null).arestas();
+    }
+
+    private void removerSemLock(Long estacaoId) {
+        No removido = nos.remove(estacaoId);
+        if (removido == null) {
+            return;
+        }
+        desligarSaidas(removido);
+        Set<Long> origens = entrantes.remove(estacaoId);
+        if (origens != null) {
+            for (Long origem : origens) {
+                calcularArestas(nos.get(origem));
+            }
+        }
+    }
+
+    private void calcularArestas(No no) {
+        desligarSaidas(no);
+        Vizinhanca vizinhanca = selecionarVizinhos(no.latitude, no.longitude, no.id);
+        no.saida = vizinhanca.arestas();
+        no.limiteVizinhos = vizinhanca.limiteVizinhos();
+        no.limitesPorSetor = vizinhanca.limitesPorSetor();
+        for (long destino : no.saida.destinos()) {
+            entrantes.computeIfAbsent(destino, d -> new HashSet<>()).add(no.id);
+        }
+    }
+
+    private void desligarSaidas(No no) {
+        for (long destino : no.saida.destinos()) {
+            Set<Long> origens = entrantes.get(destino);
+            if (origens != null) {
+                origens.remove(no.id);
+                if (origens.isEmpty()) {
+                    entrantes.remove(destino);
+                }
+            }
+        }
+    }
+
+    // A nova estação entra nas arestas do nó se for mais próxima que a k-ésima vizinha ou que a mais próxima do seu setor
+    private boolean melhoraVizinhanca(No no, No novo) {
+        double dx = deltaXKm(no.latitude, no.longitude, novo.longitude);
+        double dy = deltaYKm(no.latitude, novo.latitude);
+        double distanciaQuadrada = dx * dx + dy * dy;
+        return distanciaQuadrada <= alcanceMaximoKm * alcanceMaximoKm
+                && (distanciaQuadrada < no.limiteVizinhos || distanciaQuadrada < no.limitesPorSetor[setor(dx, dy)]);
+    }
+
+    /*
+     * Varre as estações uma vez com a distância em plano local (suficiente para ordenar vizinhas
+     * dentro do alcance) e calcula a distância geodésica apenas das escolhidas.
+     */
+    private Vizinhanca selecionarVizinhos(double latitude, double longitude, Long ignorar) {
+        double alcanceQuadrado = alcanceMaximoKm * alcanceMaximoKm;
+        long[] maisProximas = new long[vizinhosPorEstacao];
+        double[] distanciasMaisProximas = new double[vizinhosPorEstacao];
+        int quantidade = 0;
+        long[] porSetor = new long[SETORES];
+        double[] distanciasPorSetor = new double[SETORES];
+        Arrays.fill(distanciasPorSetor, Double.POSITIVE_INFINITY);
+        double kmPorGrauLongitude = KM_POR_GRAU * Math.cos(Math.toRadians(latitude));
+
+        for (No outro : nos.values()) {
+            if (ignorar != null && outro.id == ignorar) {
+                continue;
+            }
+            double dx = (outro.longitude - longitude) * kmPorGrauLongitude;
+            double dy = deltaYKm(latitude, outro.latitude);
+            double distanciaQuadrada = dx * dx + dy * dy;
+            if (distanciaQuadrada > alcanceQuadrado) {
+                continue;
+            }
+            int setor = setor(dx, dy);
+            if (distanciaQuadrada < distanciasPorSetor[setor]) {
+                distanciasPorSetor[setor] = distanciaQuadrada;
+                porSetor[setor] = outro.id;
+            }
+            if (quantidade < vizinhosPorEstacao || distanciaQuadrada < distanciasMaisProximas[quantidade - 1]) {
+                // Inserção ordenada: k é pequeno
+                int posicao = quantidade < vizinhosPorEstacao ? quantidade++ : quantidade - 1;
+                while (posicao > 0 && distanciasMaisProximas[posicao - 1] > distanciaQuadrada) {
+                    maisProximas[posicao] = maisProximas[posicao - 1];
+                    distanciasMaisProximas[posicao] = distanciasMaisProximas[posicao - 1];
+                    posicao--;
+                }
+                maisProximas[posicao] = outro.id;
+                distanciasMaisProximas[posicao] = distanciaQuadrada;
+            }
+        }
+
+        long[] destinos = new long[quantidade + SETORES];
+        int total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            destinos[total++] = maisProximas[i];
+        }
+        for (int setor = 0; setor < SETORES; setor++) {
+            if (distanciasPorSetor[setor] != Double.POSITIVE_INFINITY && !contem(destinos, total, porSetor[setor])) {
+                destinos[total++] = porSetor[setor];
+            }
+        }
+        destinos = Arrays.copyOf(destinos, total);
+        double[] distanciasKm = new double[total];
+        for (int i = 0; i < total; i++) {
+            No destino = nos.get(destinos[i]);
+            distanciasKm[i] = IndiceEspacialEstacoes.distanciaKm(latitude, longitude, destino.latitude, destino.longitude);
+        }
+
+        double limiteVizinhos = quantidade == vizinhosPorEstacao ? distanciasMaisProximas[quantidade - 1] : Double.POSITIVE_INFINITY;
+        return new Vizinhanca(new Arestas(destinos, distanciasKm), limiteVizinhos, distanciasPorSetor);
+    }
+
+    private static boolean contem(long[] ids, int total, long id) {
+        for (int i = 0; i < total; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double deltaXKm(double latitude, double longitude, double outraLongitude) {
+        return (outraLongitude - longitude) * KM_POR_GRAU * Math.cos(Math.toRadians(latitude));
+    }
+
+    private static double deltaYKm(double latitude, double outraLatitude) {
+        return (outraLatitude - latitude) * KM_POR_GRAU;
+    }
+
+    // Setor de 45° a partir do quadrante e de qual eixo domina o deslocamento
+    private static int setor(double dx, double dy) {
+        int quadrante = dy >= 0 ? (dx >= 0 ? 0 : 1) : (dx < 0 ? 2 : 3);
+        return 2 * quadrante + (Math.abs(dx) >= Math.abs(dy) ? 0 : 1);
+    }
+
+    static final class No {
+
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private volatile EstacaoRecargaDTO estacao;
+        private Arestas saida = new Arestas(new long[0], new double[0]);
+        // Distâncias quadradas da k-ésima vizinha e da mais próxima de cada setor
+        private double limiteVizinhos;
+        private double[] limitesPorSetor;
+
+        No(EstacaoRecargaDTO estacao) {
+            this.id = estacao.getEstacaoId();
+            this.latitude = estacao.getLatitude();
+            this.longitude = estacao.getLongitude();
+            this.estacao = estacao;
+        }
+
+        long id() {
+            return id;
+        }
+
+        double latitude() {
+            return latitude;
+        }
+
+        double longitude() {
+            return longitude;
+        }
+
+        EstacaoRecargaDTO estacao() {
+            return estacao;
+        }
+
+        Arestas saida() {
+            return saida;
+        }
+
+        private boolean mesmaPosicao(EstacaoRecargaDTO outra) {
+            return outra.getLatitude() != null && outra.getLongitude() != null
+                    && outra.getLatitude() == latitude && outra.getLongitude() == longitude;
+        }
+    }
+
+    record Arestas(long[] destinos, double[] distanciasKm) {
+    }
+
+    private record Vizinhanca(Arestas arestas, double limiteVizinhos, double[] limitesPorSetor) {
+    }
+}
@@ -2,23 +2,39 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoCreateDTO;
 import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.model.GastoCarregamento;
 import com.java.EcoDrive.model.HistoricoCarregamento;
 import com.java.EcoDrive.model.Usuario;
 import com.java.EcoDrive.model.Veiculo;
 import com.java.EcoDrive.model.EstacaoRecarga;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.HistoricoCarregamentoMapper;
+import com.java.EcoDrive.service.ReferenciasEntidades.Referencia;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.java.EcoDrive.repository.HistoricoCarregamentoRepository;
 import com.java.EcoDrive.repository.UsuarioRepository;
 import com.java.EcoDrive.repository.VeiculoRepository;
 import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import com.java.EcoDrive.repository.GastoCarregamentoRepository;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class HistoricoCarregamentoService {
@@ -27,53 +43,87 @@ public class HistoricoCarregamentoService {
     private static final String USUARIO_NAO_ENCONTRADO = "Usuário não encontrado com ID: ";
     private static final String VEICULO_NAO_ENCONTRADO = "Veículo não encontrado com ID: ";
     private static final String ESTACAO_NAO_ENCONTRADA = "Estação de recarga não encontrada com ID: ";
+    private static final String SQL_INSERIR_HISTORICO = "INSERT INTO historico_carregamento "
+            + "(usuario_id, veiculo_id, estacao_id, data_carregamento, kwh_consumidos, versao) VALUES (?, ?, ?, ?, ?, 0)";
 
     private final HistoricoCarregamentoRepository historicoCarregamentoRepository;
     private final UsuarioRepository usuarioRepository;
     private final VeiculoRepository veiculoRepository;
     private final EstacaoRecargaRepository estacaoRecargaRepository;
-    private final ModelMapper modelMapper;
+    private final HistoricoCarregamentoMapper historicoCarregamentoMapper;
+    private final ExportacaoCarregamentos exportacaoCarregamentos;
+    private final ImportacaoEmLote importacaoEmLote;
+    private final GastoCarregamentoRepository gastoCarregamentoRepository;
+    private final AgregacaoConsumo agregacaoConsumo;
+    private final MotorTarifacao motorTarifacao;
+    private final RetarifacaoGastos retarifacaoGastos;
+    private final ReferenciasEntidades referenciasEntidades;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public HistoricoCarregamentoService(HistoricoCarregamentoRepository historicoCarregamentoRepository,
                                         UsuarioRepository usuarioRepository,
                                         VeiculoRepository veiculoRepository,
                                         EstacaoRecargaRepository estacaoRecargaRepository,
-                                        ModelMapper modelMapper) {
+                                        HistoricoCarregamentoMapper historicoCarregamentoMapper,
+                                        ExportacaoCarregamentos exportacaoCarregamentos,
+                                        ImportacaoEmLote importacaoEmLote,
+                                        GastoCarregamentoRepository gastoCarregamentoRepository,
+                                        AgregacaoConsumo agregacaoConsumo,
+                                        MotorTarifacao motorTarifacao,
+                                        RetarifacaoGastos retarifacaoGastos,
+                                        ReferenciasEntidades referenciasEntidades,
+                                        TransactionTemplate transactionTemplate) {
         this.historicoCarregamentoRepository = historicoCarregamentoRepository;
         this.usuarioRepository = usuarioRepository;
         this.veiculoRepository = veiculoRepository;
         this.estacaoRecargaRepository = estacaoRecargaRepository;
-        this.modelMapper = modelMapper;
+        this.historicoCarregamentoMapper = historicoCarregamentoMapper;
+        this.exportacaoCarregamentos = exportacaoCarregamentos;
+        this.importacaoEmLote = importacaoEmLote;
+        this.gastoCarregamentoRepository = gastoCarregamentoRepository;
+        this.agregacaoConsumo = agregacaoConsumo;
+        this.motorTarifacao = motorTarifacao;
+        this.retarifacaoGastos = retarifacaoGastos;
+        this.referenciasEntidades = referenciasEntidades;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public Page<HistoricoCarregamentoDTO> listarTodosPaginado(Pageable pageable) {
-        return historicoCarregamentoRepository.findAll(pageable)
-                .map(historico -> modelMapper.map(historico, HistoricoCarregamentoDTO.class));
+        return historicoCarregamentoRepository.listarDTOs(pageable);
+    }
+
+    public PaginaCursor<HistoricoCarregamentoDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<HistoricoCarregamentoDTO> resultados = historicoCarregamentoRepository.listarDTOsAposId(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, HistoricoCarregamentoDTO::getHistoricoId, lista -> lista);
+    }
+
+    public ResultadoPorIds<HistoricoCarregamentoDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, historicoCarregamentoRepository.listarDTOsPorIds(idsDistintos),
+                HistoricoCarregamentoDTO::getHistoricoId, lista -> lista);
     }
 
     public List<HistoricoCarregamentoDTO> listarTodos() {
-        return historicoCarregamentoRepository.findAll().stream()
-                .map(historico -> modelMapper.map(historico, HistoricoCarregamentoDTO.class))
-                .toList();
+        return historicoCarregamentoRepository.listarTodosDTOs();
     }
 
     public HistoricoCarregamentoDTO obterPorId(Long id) {
-        HistoricoCarregamento historico = historicoCarregamentoRepository.findById(id)
+        return historicoCarregamentoRepository.buscarDTOPorId(id)
                 .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + id));
-        return modelMapper.map(historico, HistoricoCarregamentoDTO.class);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return historicoCarregamentoRepository.buscarVersao(id);
     }
 
     public List<HistoricoCarregamentoDTO> listarPorUsuario(Long usuarioId) {
-        return historicoCarregamentoRepository.findByUsuarioUsuarioId(usuarioId).stream()
-                .map(historico -> modelMapper.map(historico, HistoricoCarregamentoDTO.class))
-                .toList();
+        return historicoCarregamentoRepository.listarDTOsPorUsuario(usuarioId);
     }
 
     public List<HistoricoCarregamentoDTO> listarPorVeiculo(Long veiculoId) {
-        return historicoCarregamentoRepository.findByVeiculoVeiculoId(veiculoId).stream()
-                .map(historico -> modelMapper.map(historico, HistoricoCarregamentoDTO.class))
-                .toList();
+        return historicoCarregamentoRepository.listarDTOsPorVeiculo(veiculoId);
     }
 
     public HistoricoCarregamentoDTO criarHistorico(HistoricoCarregamentoCreateDTO historicoCreateDTO) {
@@ -85,44 +135,145 @@ public class HistoricoCarregamentoService {
             throw new InvalidRequestException("Kwh consumidos deve ser maior que zero.");
         }
 
-        Usuario usuario = usuarioRepository.findById(historicoCreateDTO.getUsuarioId())
-                .orElseThrow(() -> new ResourceNotFoundException(USUARIO_NAO_ENCONTRADO + historicoCreateDTO.getUsuarioId()));
-        Veiculo veiculo = veiculoRepository.findById(historicoCreateDTO.getVeiculoId())
-                .orElseThrow(() -> new ResourceNotFoundException(VEICULO_NAO_ENCONTRADO + historicoCreateDTO.getVeiculoId()));
-        EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.findById(historicoCreateDTO.getEstacaoId())
-                .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_NAO_ENCONTRADA + historicoCreateDTO.getEstacaoId()));
+        // O histórico, o gasto calculado e os agregados de consumo do período são gravados na mesma transação
+        return transactionTemplate.execute(status -> {
+            // Uma verificação para as três chaves estrangeiras; as entidades entram por referência
+            referenciasEntidades.verificar(Map.of(
+                    Referencia.USUARIO, historicoCreateDTO.getUsuarioId(),
+                    Referencia.VEICULO, historicoCreateDTO.getVeiculoId(),
+                    Referencia.ESTACAO_RECARGA, historicoCreateDTO.getEstacaoId()));
+            Usuario usuario = usuarioRepository.getReferenceById(historicoCreateDTO.getUsuarioId());
+            Veiculo veiculo = veiculoRepository.getReferenceById(historicoCreateDTO.getVeiculoId());
+            EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.getReferenceById(historicoCreateDTO.getEstacaoId());
 
-        HistoricoCarregamento historico = modelMapper.map(historicoCreateDTO, HistoricoCarregamento.class);
-        historico.setUsuario(usuario);
-        historico.setVeiculo(veiculo);
-        historico.setEstacaoRecarga(estacaoRecarga);
+            HistoricoCarregamento historico = historicoCarregamentoMapper.paraEntidade(historicoCreateDTO);
+            historico.setUsuario(usuario);
+            historico.setVeiculo(veiculo);
+            historico.setEstacaoRecarga(estacaoRecarga);
 
-        HistoricoCarregamento historicoSalvo = historicoCarregamentoRepository.save(historico);
-        return modelMapper.map(historicoSalvo, HistoricoCarregamentoDTO.class);
+            HistoricoCarregamento historicoSalvo = historicoCarregamentoRepository.save(historico);
+            GastoCarregamento gasto = new GastoCarregamento();
+            gasto.setHistoricoCarregamento(historicoSalvo);
+            gasto.setDataGasto(LocalDateTime.now());
+            gasto.setCustoTotal(calcularCusto(historicoSalvo));
+            gastoCarregamentoRepository.save(gasto);
+
+            agregacaoConsumo.registrar(estacaoRecarga.getEstacaoId(), historicoSalvo.getDataCarregamento(),
+                    historicoSalvo.getKwhConsumidos(), gasto.getCustoTotal(), 1);
+            return historicoCarregamentoMapper.paraDTO(historicoSalvo);
+        });
+    }
+
+    public ResultadoImportacaoDTO importarHistoricos(InputStream entrada, ImportacaoEmLote.Formato formato) throws IOException {
+        // Intervalo das linhas aceitas, cujos gastos e agregados de consumo são gerados ao final
+        LocalDateTime[] intervalo = new LocalDateTime[2];
+        ResultadoImportacaoDTO resultado = importacaoEmLote.importar(entrada, formato, HistoricoCarregamentoCreateDTO.class,
+                linhas -> {
+                    // Uma consulta por tabela referenciada em cada bloco, em vez de um findById por linha
+                    Set<Long> usuarios = new HashSet<>(usuarioRepository.buscarIdsExistentes(
+                            linhas.stream().map(linha -> linha.dados().getUsuarioId()).distinct().toList()));
+                    Set<Long> veiculos = new HashSet<>(veiculoRepository.buscarIdsExistentes(
+                            linhas.stream().map(linha -> linha.dados().getVeiculoId()).distinct().toList()));
+                    Set<Long> estacoes = new HashSet<>(estacaoRecargaRepository.buscarIdsExistentes(
+                            linhas.stream().map(linha -> linha.dados().getEstacaoId()).distinct().toList()));
+
+                    Map<Integer, String> recusadas = new HashMap<>();
+                    for (ImportacaoEmLote.Linha<HistoricoCarregamentoCreateDTO> linha : linhas) {
+                        HistoricoCarregamentoCreateDTO historico = linha.dados();
+                        if (historico.getKwhConsumidos() <= 0) {
+                            recusadas.put(linha.numero(), "Kwh consumidos deve ser maior que zero.");
+                        } else if (!usuarios.contains(historico.getUsuarioId())) {
+                            recusadas.put(linha.numero(), USUARIO_NAO_ENCONTRADO + historico.getUsuarioId());
+                        } else if (!veiculos.contains(historico.getVeiculoId())) {
+                            recusadas.put(linha.numero(), VEICULO_NAO_ENCONTRADO + historico.getVeiculoId());
+                        } else if (!estacoes.contains(historico.getEstacaoId())) {
+                            recusadas.put(linha.numero(), ESTACAO_NAO_ENCONTRADA + historico.getEstacaoId());
+                        } else {
+                            LocalDateTime data = historico.getDataCarregamento();
+                            intervalo[0] = intervalo[0] == null || data.isBefore(intervalo[0]) ? data : intervalo[0];
+                            intervalo[1] = intervalo[1] == null || data.isAfter(intervalo[1]) ? data : intervalo[1];
+                        }
+                    }
+                    return recusadas;
+                },
+                SQL_INSERIR_HISTORICO, (ps, historico) -> {
+                    ps.setLong(1, historico.getUsuarioId());
+                    ps.setLong(2, historico.getVeiculoId());
+                    ps.setLong(3, historico.getEstacaoId());
+                    ps.setTimestamp(4, Timestamp.valueOf(historico.getDataCarregamento()));
+                    ps.setDouble(5, historico.getKwhConsumidos());
+                });
+        // As linhas entram por JDBC em lote, então os gastos que faltam são calculados de uma vez
+        // pela retarifação, que também reconstrói os agregados do intervalo
+        if (resultado.getImportadas() > 0) {
+            retarifacaoGastos.retarifar(intervalo[0], intervalo[1], true);
+        }
+        return resultado;
     }
 
     public HistoricoCarregamentoDTO atualizarHistorico(Long id, HistoricoCarregamentoCreateDTO historicoCreateDTO) {
-        HistoricoCarregamento historicoExistente = historicoCarregamentoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + id));
+        return transactionTemplate.execute(status -> {
+            HistoricoCarregamento historicoExistente = historicoCarregamentoRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + id));
+            LocalDateTime dataAnterior = historicoExistente.getDataCarregamento();
+            double kwhAnterior = historicoExistente.getKwhConsumidos();
 
-        if (historicoCreateDTO.getKwhConsumidos() != null) {
-            if (historicoCreateDTO.getKwhConsumidos() <= 0) {
-                throw new InvalidRequestException("Kwh consumidos deve ser maior que zero.");
+            if (historicoCreateDTO.getKwhConsumidos() != null) {
+                if (historicoCreateDTO.getKwhConsumidos() <= 0) {
+                    throw new InvalidRequestException("Kwh consumidos deve ser maior que zero.");
+                }
+                historicoExistente.setKwhConsumidos(historicoCreateDTO.getKwhConsumidos());
             }
-            historicoExistente.setKwhConsumidos(historicoCreateDTO.getKwhConsumidos());
-        }
 
-        if (historicoCreateDTO.getDataCarregamento() != null) {
-            historicoExistente.setDataCarregamento(historicoCreateDTO.getDataCarregamento());
-        }
+            if (historicoCreateDTO.getDataCarregamento() != null) {
+                historicoExistente.setDataCarregamento(historicoCreateDTO.getDataCarregamento());
+            }
+
+            HistoricoCarregamento historicoAtualizado = historicoCarregamentoRepository.save(historicoExistente);
+            if (!historicoAtualizado.getDataCarregamento().equals(dataAnterior) || historicoAtualizado.getKwhConsumidos() != kwhAnterior) {
+                // O custo é recalculado e a sessão sai do período anterior para entrar no novo
+                Long estacaoId = historicoAtualizado.getEstacaoRecarga().getEstacaoId();
+                double custoAnterior = gastoCarregamentoRepository.somarCustoPorHistorico(id);
+                double custo = calcularCusto(historicoAtualizado);
+                List<GastoCarregamento> gastos = gastoCarregamentoRepository.findByHistoricoCarregamentoHistoricoId(id);
+                if (gastos.isEmpty()) {
+                    GastoCarregamento gasto = new GastoCarregamento();
+                    gasto.setHistoricoCarregamento(historicoAtualizado);
+                    gasto.setDataGasto(LocalDateTime.now());
+                    gastos = List.of(gasto);
+                }
+                gastos.forEach(gasto -> gasto.setCustoTotal(custo));
+                gastoCarregamentoRepository.saveAll(gastos);
 
-        HistoricoCarregamento historicoAtualizado = historicoCarregamentoRepository.save(historicoExistente);
-        return modelMapper.map(historicoAtualizado, HistoricoCarregamentoDTO.class);
+                agregacaoConsumo.registrar(estacaoId, dataAnterior, -kwhAnterior, -custoAnterior, -1);
+                agregacaoConsumo.registrar(estacaoId, historicoAtualizado.getDataCarregamento(),
+                        historicoAtualizado.getKwhConsumidos(), custo, 1);
+            }
+            return historicoCarregamentoMapper.paraDTO(historicoAtualizado);
+        });
     }
 
     public void deletarHistorico(Long id) {
-        HistoricoCarregamento historico = historicoCarregamentoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + id));
-        historicoCarregamentoRepository.delete(historico);
+        transactionTemplate.executeWithoutResult(status -> {
+            HistoricoCarregamento historico = historicoCarregamentoRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(HISTORICO_NAO_ENCONTRADO + id));
+            double custo = gastoCarregamentoRepository.somarCustoPorHistorico(id);
+            // O gasto é derivado do histórico e sai junto com ele
+            gastoCarregamentoRepository.deleteAll(gastoCarregamentoRepository.findByHistoricoCarregamentoHistoricoId(id));
+            historicoCarregamentoRepository.delete(historico);
+            agregacaoConsumo.registrar(historico.getEstacaoRecarga().getEstacaoId(), historico.getDataCarregamento(),
+                    -historico.getKwhConsumidos(), -custo, -1);
+        });
+    }
+
+    // O preço da estação vem do cache de segundo nível, e as tarifas por faixa horária da memória
+    private double calcularCusto(HistoricoCarregamento historico) {
+        EstacaoRecarga estacao = historico.getEstacaoRecarga();
+        return motorTarifacao.calcularCusto(estacao.getEstacaoId(), estacao.getPrecoPorKwh(),
+                historico.getDataCarregamento(), historico.getKwhConsumidos());
+    }
+
+    public long exportar(ExportacaoCarregamentos.Formato formato, OutputStream saida) throws IOException {
+        return exportacaoCarregamentos.exportar(ExportacaoCarregamentos.Exportacao.HISTORICOS, formato, saida);
     }
 }
\ No newline at end of file
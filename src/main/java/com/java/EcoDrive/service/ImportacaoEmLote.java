@@ -0,0 +1,330 @@
+package com.java.EcoDrive.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.java.EcoDrive.dto.Importacao.ErroImportacaoDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em lote de arquivos CSV ou JSON (array ou NDJSON). O arquivo é lido registro a
+ * registro e processado em blocos: cada bloco passa pela Bean Validation do DTO de criação e
+ * pelas regras do serviço (chaves estrangeiras, unicidade), e as linhas aceitas são gravadas
+ * com um único insert em lote via JDBC. Linhas rejeitadas são relatadas com o número da linha
+ * sem interromper o restante do arquivo.
+ */
+@Component
+public class ImportacaoEmLote {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoEmLote.class);
+
+    private static final int LIMITE_CLAUSULA_IN = 1000;
+    private static final int LIMITE_ERROS_DETALHADOS = 1000;
+
+    public enum Formato {
+        CSV, JSON;
+
+        /**
+         * @throws InvalidRequestException se o Content-Type não for CSV, JSON ou NDJSON.
+         */
+        public static Formato doContentType(String contentType) {
+            try {
+                MediaType tipo = MediaType.parseMediaType(contentType);
+                if (tipo.isCompatibleWith(MediaType.valueOf("text/csv"))) {
+                    return CSV;
+                }
+                if (tipo.isCompatibleWith(MediaType.APPLICATION_JSON) || tipo.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                    return JSON;
+                }
+            } catch (IllegalArgumentException e) {
+                // Tratado abaixo como formato não suportado
+            }
+            throw new InvalidRequestException("Formato de importação não suportado: " + contentType
+                    + ". Use text/csv, application/json ou application/x-ndjson.");
+        }
+    }
+
+    /**
+     * Registro lido do arquivo. Em CSV o número é a linha física (o cabeçalho é a linha 1);
+     * em JSON é a posição do registro.
+     */
+    public record Linha<T>(int numero, T dados) {
+    }
+
+    /**
+     * Regras do serviço aplicadas a cada bloco, após a Bean Validation.
+     */
+    @FunctionalInterface
+    public interface RegrasLote<T> {
+        /**
+         * @return mensagem de erro de cada linha rejeitada, pelo número da linha.
+         */
+        Map<Integer, String> verificar(List<Linha<T>> linhas);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int tamanhoLote;
+
+    @Autowired
+    public ImportacaoEmLote(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            Validator validator,
+                            @Value("${ecodrive.importacao.tamanho-lote:500}") int tamanhoLote) {
+        if (tamanhoLote <= 0 || tamanhoLote > LIMITE_CLAUSULA_IN) {
+            throw new IllegalArgumentException("O tamanho do lote da importação deve estar entre 1 e " + LIMITE_CLAUSULA_IN + ".");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Importa o arquivo, gravando cada bloco de linhas aceitas com o insert informado.
+     *
+     * @param sql    insert parametrizado de uma linha.
+     * @param setter preenche os parâmetros do insert a partir do DTO.
+     */
+    public <T> ResultadoImportacaoDTO importar(InputStream entrada, Formato formato, Class<T> tipo, RegrasLote<T> regras,
+                                               String sql, ParameterizedPreparedStatementSetter<T> setter) throws IOException {
+        Importacao<T> importacao = new Importacao<>(tipo, regras, sql, setter);
+        if (formato == Formato.CSV) {
+            lerCsv(entrada, importacao);
+        } else {
+            lerJson(entrada, importacao);
+        }
+        importacao.gravarLote();
+        logger.info("Importação de {}: {} linhas lidas, {} importadas, {} rejeitadas.", tipo.getSimpleName(),
+                importacao.lidas, importacao.importadas, importacao.rejeitadas);
+        // As rejeições das regras e da gravação são conhecidas só ao fim de cada bloco
+        importacao.erros.sort(Comparator.comparingInt(ErroImportacaoDTO::getLinha));
+        return new ResultadoImportacaoDTO(importacao.lidas, importacao.importadas, importacao.rejeitadas, importacao.erros);
+    }
+
+    private void lerCsv(InputStream entrada, Importacao<?> importacao) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String linha = leitor.readLine();
+        if (linha == null) {
+            return;
+        }
+        // Remove o BOM que algumas planilhas gravam no início do arquivo
+        List<String> cabecalho = separarCampos(linha.startsWith("\uFEFF") ? linha.substring(1) : linha).stream()
+                .map(String::trim)
+                .toList();
+        int numero = 1;
+        while ((linha = leitor.readLine()) != null) {
+            numero++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            List<String> campos = separarCampos(linha);
+            if (campos.size() != cabecalho.size()) {
+                importacao.rejeitar(numero, "A linha tem " + campos.size() + " colunas e o cabeçalho tem " + cabecalho.size() + ".");
+                continue;
+            }
+            ObjectNode registro = objectMapper.createObjectNode();
+            for (int i = 0; i < campos.size(); i++) {
+                if (!campos.get(i).isEmpty()) {
+                    registro.put(cabecalho.get(i), campos.get(i));
+                }
+            }
+            importacao.adicionar(numero, registro);
+        }
+    }
+
+    // Separa os campos de uma linha CSV, aceitando valores entre aspas com vírgulas e aspas duplicadas
+    private static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private void lerJson(InputStream entrada, Importacao<?> importacao) throws IOException {
+        int numero = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            JsonToken token = parser.nextToken();
+            // Aceita um array de objetos ou objetos soltos, um por linha (NDJSON)
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                numero++;
+                JsonNode registro = parser.readValueAsTree();
+                if (registro instanceof ObjectNode) {
+                    importacao.adicionar(numero, registro);
+                } else {
+                    importacao.rejeitar(numero, "O registro deve ser um objeto JSON.");
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // Depois de um erro de sintaxe não há como localizar o próximo registro; o que já foi lido é gravado
+            importacao.rejeitar(numero, "JSON malformado, a leitura foi interrompida: " + e.getOriginalMessage());
+        }
+    }
+
+    private final class Importacao<T> {
+
+        private final Class<T> tipo;
+        private final RegrasLote<T> regras;
+        private final String sql;
+        private final ParameterizedPreparedStatementSetter<T> setter;
+        private final List<Linha<T>> lote = new ArrayList<>(tamanhoLote);
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private int lidas;
+        private int importadas;
+        private int rejeitadas;
+
+        Importacao(Class<T> tipo, RegrasLote<T> regras, String sql, ParameterizedPreparedStatementSetter<T> setter) {
+            this.tipo = tipo;
+            this.regras = regras;
+            this.sql = sql;
+            this.setter = setter;
+        }
+
+        void adicionar(int numero, JsonNode registro) {
+            lidas++;
+            T dados;
+            try {
+                dados = objectMapper.treeToValue(registro, tipo);
+            } catch (JsonMappingException e) {
+                String campo = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+                registrarErro(numero, campo != null ? "Valor inválido para o campo " + campo + "." : "Registro inválido.");
+                return;
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                registrarErro(numero, "Registro inválido.");
+                return;
+            }
+
+            Set<ConstraintViolation<T>> violacoes = validator.validate(dados);
+            if (!violacoes.isEmpty()) {
+                registrarErro(numero, violacoes.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            lote.add(new Linha<>(numero, dados));
+            if (lote.size() == tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        // Linha que nem chegou a ser convertida no DTO
+        void rejeitar(int numero, String mensagem) {
+            lidas++;
+            registrarErro(numero, mensagem);
+        }
+
+        void registrarErro(int numero, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < LIMITE_ERROS_DETALHADOS) {
+                erros.add(new ErroImportacaoDTO(numero, mensagem));
+            }
+        }
+
+        void gravarLote() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            Map<Integer, String> recusadas = regras.verificar(lote);
+            List<Linha<T>> aceitas = new ArrayList<>(lote.size());
+            for (Linha<T> linha : lote) {
+                String mensagem = recusadas.get(linha.numero());
+                if (mensagem != null) {
+                    registrarErro(linha.numero(), mensagem);
+                } else {
+                    aceitas.add(linha);
+                }
+            }
+            lote.clear();
+            if (aceitas.isEmpty()) {
+                return;
+            }
+
+            List<T> dados = aceitas.stream().map(Linha::dados).toList();
+            // Insert em lote por JDBC, e não por saveAll: com IDENTITY o Hibernate precisa do ID de cada
+            // linha logo após o insert e desliga o batching. Trocar as entidades por sequences com
+            // allocationSize não é viável aqui: em produção o schema evolui por ddl-auto=update, que
+            // criaria as sequences a partir de 1 sobre tabelas já populadas, sem migrar os valores
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, dados, dados.size(), setter));
+                importadas += aceitas.size();
+            } catch (DataAccessException e) {
+                // O lote foi desfeito; as linhas são regravadas uma a uma para identificar as que falharam
+                logger.warn("Falha no insert em lote da importação de {}, regravando linha a linha: {}",
+                        tipo.getSimpleName(), e.getMostSpecificCause().getMessage());
+                gravarIndividualmente(aceitas);
+            }
+        }
+
+        private void gravarIndividualmente(List<Linha<T>> linhas) {
+            for (Linha<T> linha : linhas) {
+                try {
+                    jdbcTemplate.update(sql, ps -> setter.setValues(ps, linha.dados()));
+                    importadas++;
+                } catch (DataAccessException e) {
+                    registrarErro(linha.numero(), "Falha ao gravar a linha: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial em memória das estações de recarga, organizado como uma grade
+ * regular de latitude/longitude. Cada célula guarda os IDs das estações contidas nela,
+ * de modo que as buscas por raio e pelos k vizinhos mais próximos examinam apenas as
+ * células ao redor do ponto consultado, sem varrer a tabela.
+ */
+@Component
+public class IndiceEspacialEstacoes {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceEspacialEstacoes.class);
+
+    private static final double RAIO_TERRA_KM = 6371.0088;
+    private static final double KM_POR_GRAU = 111.32;
+
+    private final EstacaoRecargaRepository estacaoRecargaRepository;
+    private final double tamanhoCelula;
+
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private final Map<Long, Set<Long>> celulas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public IndiceEspacialEstacoes(EstacaoRecargaRepository estacaoRecargaRepository,
+                                  @Value("${ecodrive.estacoes.indice.tamanho-celula-graus:0.01}") double tamanhoCelula) {
+        if (tamanhoCelula <= 0) {
+            throw new IllegalArgumentException("O tamanho da célula do índice espacial deve ser maior que zero.");
+        }
+        this.estacaoRecargaRepository = estacaoRecargaRepository;
+        this.tamanhoCelula = tamanhoCelula;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        List<EstacaoRecargaDTO> estacoes = estacaoRecargaRepository.buscarTodasComoDTO();
+        lock.writeLock().lock();
+        try {
+            entradas.clear();
+            celulas.clear();
+            estacoes.forEach(this::inserirSemLock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice espacial de estações reconstruído com {} estações.", estacoes.size());
+    }
+
+    public void registrar(EstacaoRecargaDTO estacao) {
+        if (estacao.getEstacaoId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removerSemLock(estacao.getEstacaoId());
+            inserirSemLock(estacao);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long estacaoId) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(estacaoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contem(Long estacaoId) {
+        lock.readLock().lock();
+        try {
+            return entradas.containsKey(estacaoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return entradas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna as estações dentro do raio informado, ordenadas pela distância ao ponto.
+     */
+    public List<Resultado> buscarNoRaio(double latitude, double longitude, double raioKm) {
+        lock.readLock().lock();
+        try {
+            double deltaLat = raioKm / KM_POR_GRAU;
+            double deltaLon = raioKm / (KM_POR_GRAU * Math.max(Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + deltaLat))), 1e-6));
+
+            // Limitado às células de coordenadas válidas, para que um raio enorme não gere um retângulo sem fim
+            int latMin = Math.max(indice(latitude - deltaLat), indice(-90));
+            int latMax = Math.min(indice(latitude + deltaLat), indice(90));
+            int lonMin = Math.max(indice(longitude - deltaLon), indice(-180));
+            int lonMax = Math.min(indice(longitude + deltaLon), indice(180));
+
+            List<Resultado> resultados = new ArrayList<>();
+            long celulasNoRetangulo = ((long) latMax - latMin + 1) * ((long) lonMax - lonMin + 1);
+            if (celulasNoRetangulo > celulas.size()) {
+                // Raio muito grande: é mais barato percorrer apenas as células ocupadas
+                celulas.forEach((chave, ids) -> {
+                    int lat = latDaChave(chave);
+                    int lon = lonDaChave(chave);
+                    if (lat >= latMin && lat <= latMax && lon >= lonMin && lon <= lonMax) {
+                        coletarNoRaio(ids, latitude, longitude, raioKm, resultados);
+                    }
+                });
+            } else {
+                for (int lat = latMin; lat <= latMax; lat++) {
+                    for (int lon = lonMin; lon <= lonMax; lon++) {
+                        Set<Long> ids = celulas.get(chave(lat, lon));
+                        if (ids != null) {
+                            coletarNoRaio(ids, latitude, longitude, raioKm, resultados);
+                        }
+                    }
+                }
+            }
+            resultados.sort(Comparator.comparingDouble(Resultado::distanciaKm));
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna as k estações mais próximas do ponto, opcionalmente limitadas a um raio máximo.
+     * A busca percorre anéis de células ao redor do ponto e para assim que nenhum anel
+     * ainda não visitado pode conter uma estação mais próxima que a k-ésima encontrada.
+     */
+    public List<Resultado> buscarMaisProximas(double latitude, double longitude, int k, Double raioKm) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || entradas.isEmpty()) {
+                return List.of();
+            }
+            double limite = raioKm != null ? raioKm : Double.POSITIVE_INFINITY;
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(Math.min(k, entradas.size()) + 1,
+                    Comparator.comparingDouble(Resultado::distanciaKm).reversed());
+
+            int latCentro = indice(latitude);
+            int lonCentro = indice(longitude);
+            int examinadas = 0;
+
+            for (int anel = 0; ; anel++) {
+                double distanciaMinimaAnel = distanciaMinimaAteAnel(latitude, anel);
+                if (distanciaMinimaAnel > limite) {
+                    break;
+                }
+                if (melhores.size() == k && distanciaMinimaAnel > melhores.peek().distanciaKm()) {
+                    break;
+                }
+                if (examinadas == entradas.size()) {
+                    break;
+                }
+
+                if (8L * anel > celulas.size()) {
+                    // Os anéis passaram a ter mais células que a grade ocupada: percorre o restante diretamente
+                    for (Map.Entry<Long, Set<Long>> celula : celulas.entrySet()) {
+                        int distanciaEmCelulas = Math.max(Math.abs(latDaChave(celula.getKey()) - latCentro),
+                                Math.abs(lonDaChave(celula.getKey()) - lonCentro));
+                        if (distanciaEmCelulas >= anel) {
+                            coletarMaisProximas(celula.getValue(), latitude, longitude, k, limite, melhores);
+                        }
+                    }
+                    break;
+                }
+
+                for (int lat = latCentro - anel; lat <= latCentro + anel; lat++) {
+                    boolean borda = lat == latCentro - anel || lat == latCentro + anel;
+                    int passo = borda || anel == 0 ? 1 : 2 * anel;
+                    for (int lon = lonCentro - anel; lon <= lonCentro + anel; lon += passo) {
+                        Set<Long> ids = celulas.get(chave(lat, lon));
+                        if (ids != null) {
+                            examinadas += ids.size();
+                            coletarMaisProximas(ids, latitude, longitude, k, limite, melhores);
+                        }
+                    }
+                }
+            }
+
+            List<Resultado> resultados = new ArrayList<>(melhores);
+            resultados.sort(Comparator.comparingDouble(Resultado::distanciaKm));
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void coletarNoRaio(Set<Long> ids, double latitude, double longitude, double raioKm, List<Resultado> resultados) {
+        for (Long id : ids) {
+            Entrada entrada = entradas.get(id);
+            double distancia = distanciaKm(latitude, longitude, entrada.latitude(), entrada.longitude());
+            if (distancia <= raioKm) {
+                resultados.add(new Resultado(entrada.estacao(), distancia));
+            }
+        }
+    }
+
+    private void coletarMaisProximas(Set<Long> ids, double latitude, double longitude, int k, double limite,
+                                     PriorityQueue<Resultado> melhores) {
+        for (Long id : ids) {
+            Entrada entrada = entradas.get(id);
+            double distancia = distanciaKm(latitude, longitude, entrada.latitude(), entrada.longitude());
+            if (distancia > limite) {
+                continue;
+            }
+            if (melhores.size() < k) {
+                melhores.add(new Resultado(entrada.estacao(), distancia));
+            } else if (distancia < melhores.peek().distanciaKm()) {
+                melhores.poll();
+                melhores.add(new Resultado(entrada.estacao(), distancia));
+            }
+        }
+    }
+
+    // Menor distância possível entre o ponto e qualquer célula do anel informado
+    private double distanciaMinimaAteAnel(double latitude, int anel) {
+        if (anel <= 1) {
+            return 0;
+        }
+        double grausAteAnel = (anel - 1) * tamanhoCelula;
+        double latMaisAlta = Math.min(89.0, Math.abs(latitude) + grausAteAnel);
+        return grausAteAnel * KM_POR_GRAU * Math.cos(Math.toRadians(latMaisAlta));
+    }
+
+    private void inserirSemLock(EstacaoRecargaDTO estacao) {
+        if (estacao.getLatitude() == null || estacao.getLongitude() == null) {
+            return;
+        }
+        long chave = chave(indice(estacao.getLatitude()), indice(estacao.getLongitude()));
+        entradas.put(estacao.getEstacaoId(), new Entrada(estacao, estacao.getLatitude(), estacao.getLongitude(), chave));
+        celulas.computeIfAbsent(chave, c -> new HashSet<>()).add(estacao.getEstacaoId());
+    }
+
+    private void removerSemLock(Long estacaoId) {
+        Entrada anterior = entradas.remove(estacaoId);
+        if (anterior != null) {
+            Set<Long> ids = celulas.get(anterior.celula());
+            ids.remove(estacaoId);
+            if (ids.isEmpty()) {
+                celulas.remove(anterior.celula());
+            }
+        }
+    }
+
+    private int indice(double grau) {
+        return (int) Math.floor(grau / tamanhoCelula);
+    }
+
+    private static long chave(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+
+    private static int latDaChave(long chave) {
+        return (int) (chave >> 32);
+    }
+
+    private static int lonDaChave(long chave) {
+        return (int) chave;
+    }
+
+    private record Entrada(EstacaoRecargaDTO estacao, double latitude, double longitude, long celula) {
+    }
+
+    public record Resultado(EstacaoRecargaDTO estacao, double distanciaKm) {
+    }
+}
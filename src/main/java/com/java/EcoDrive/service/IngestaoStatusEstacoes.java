@@ -0,0 +1,231 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.ResultadoIngestaoStatusDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaCreateDTO;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.exception.ServiceOverloadedException;
+import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import com.java.EcoDrive.repository.StatusEstacaoRecargaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline de ingestão dos status enviados pelos carregadores. Os lotes recebidos entram em
+ * uma fila limitada e são gravados por uma única thread a cada janela de descarga: as
+ * atualizações de uma mesma estação dentro da janela são reduzidas à mais recente, os status
+ * iguais ao atual são descartados e o restante é gravado com inserts em lote via JDBC.
+ * Quando a fila está cheia o lote é recusado inteiro, para que o cliente reenvie mais tarde.
+ */
+@Component
+public class IngestaoStatusEstacoes {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestaoStatusEstacoes.class);
+
+    private static final String SQL_INSERIR_STATUS =
+            "INSERT INTO status_estacao_recarga (estacao_id, status, ultima_atualizacao) VALUES (?, ?, ?)";
+    private static final int LIMITE_CLAUSULA_IN = 1000;
+    private static final long TENTAR_NOVAMENTE_APOS_SEGUNDOS = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EstacaoRecargaRepository estacaoRecargaRepository;
+    private final StatusEstacaoRecargaRepository statusRepository;
+    private final StatusAtualEstacoes statusAtualEstacoes;
+    private final int capacidadeFila;
+    private final long janelaMs;
+    private final int tamanhoLote;
+
+    private final Queue<Atualizacao> fila = new ConcurrentLinkedQueue<>();
+    private final Semaphore vagas;
+    // Último status enfileirado e ainda não gravado de cada estação, usado para descartar repetições
+    private final Map<Long, String> pendentes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService descarga = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "ingestao-status-estacoes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public IngestaoStatusEstacoes(JdbcTemplate jdbcTemplate,
+                                  EstacaoRecargaRepository estacaoRecargaRepository,
+                                  StatusEstacaoRecargaRepository statusRepository,
+                                  StatusAtualEstacoes statusAtualEstacoes,
+                                  @Value("${ecodrive.status.ingestao.capacidade-fila:50000}") int capacidadeFila,
+                                  @Value("${ecodrive.status.ingestao.janela-ms:200}") long janelaMs,
+                                  @Value("${ecodrive.status.ingestao.tamanho-lote:500}") int tamanhoLote) {
+        if (capacidadeFila <= 0 || janelaMs <= 0 || tamanhoLote <= 0 || tamanhoLote > LIMITE_CLAUSULA_IN) {
+            throw new IllegalArgumentException("Configuração inválida da ingestão de status: a capacidade e a janela devem ser "
+                    + "maiores que zero e o tamanho do lote deve estar entre 1 e " + LIMITE_CLAUSULA_IN + ".");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.estacaoRecargaRepository = estacaoRecargaRepository;
+        this.statusRepository = statusRepository;
+        this.statusAtualEstacoes = statusAtualEstacoes;
+        this.capacidadeFila = capacidadeFila;
+        this.janelaMs = janelaMs;
+        this.tamanhoLote = tamanhoLote;
+        this.vagas = new Semaphore(capacidadeFila);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        descarga.scheduleWithFixedDelay(this::descarregarComSeguranca, janelaMs, janelaMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        descarga.shutdown();
+        descarga.awaitTermination(5, TimeUnit.SECONDS);
+        // Grava o que ainda estiver na fila antes de desligar
+        descarregarComSeguranca();
+    }
+
+    /**
+     * Enfileira um lote de atualizações de status, descartando as que repetem o status atual
+     * da estação.
+     *
+     * @throws ServiceOverloadedException se a fila não tiver espaço para o lote.
+     */
+    public ResultadoIngestaoStatusDTO enfileirar(List<StatusEstacaoRecargaCreateDTO> atualizacoes) {
+        if (atualizacoes.size() > capacidadeFila) {
+            throw new InvalidRequestException("O lote excede o limite de " + capacidadeFila + " atualizações de status.");
+        }
+        // Reserva vagas para o lote inteiro, para recusá-lo sem aceitar só uma parte; as repetições devolvem a vaga
+        if (!vagas.tryAcquire(atualizacoes.size())) {
+            throw new ServiceOverloadedException("A fila de ingestão de status está cheia. Tente novamente em instantes.",
+                    TENTAR_NOVAMENTE_APOS_SEGUNDOS);
+        }
+        int aceitas = 0;
+        try {
+            for (StatusEstacaoRecargaCreateDTO atualizacao : atualizacoes) {
+                if (enfileirar(atualizacao.getEstacaoId(), atualizacao.getStatus())) {
+                    aceitas++;
+                }
+            }
+        } finally {
+            vagas.release(atualizacoes.size() - aceitas);
+        }
+        return new ResultadoIngestaoStatusDTO(atualizacoes.size(), aceitas, atualizacoes.size() - aceitas);
+    }
+
+    /*
+     * Compara a atualização com a última aceita da estação (ou, sem nenhuma pendente, com o status
+     * atual) e a enfileira dentro do mesmo compute: a verificação, o registro em pendentes e a
+     * entrada na fila são atômicos por estação, então a ordem da fila é a mesma de pendentes e a
+     * descarga sempre grava por último o status que está em pendentes. O horário também é lido
+     * dentro do compute, para que a ordem de ultima_atualizacao acompanhe a da fila.
+     */
+    private boolean enfileirar(Long estacaoId, String status) {
+        boolean[] aceita = {false};
+        pendentes.compute(estacaoId, (id, anterior) -> {
+            boolean repetido = anterior != null
+                    ? anterior.equals(status)
+                    : statusAtualEstacoes.isStatusInalterado(id, status);
+            if (repetido) {
+                return anterior;
+            }
+            fila.add(new Atualizacao(id, status, LocalDateTime.now()));
+            aceita[0] = true;
+            return status;
+        });
+        return aceita[0];
+    }
+
+    private void descarregarComSeguranca() {
+        try {
+            descarregar();
+        } catch (RuntimeException e) {
+            // Os carregadores reenviam o status no próximo heartbeat, então a janela perdida não é reprocessada
+            logger.error("Falha ao gravar lote de status das estações: {}", e.getMessage(), e);
+        }
+    }
+
+    private void descarregar() {
+        // Retira tudo o que chegou na janela, mantendo apenas a atualização mais recente de cada estação
+        Map<Long, Atualizacao> maisRecentes = new LinkedHashMap<>();
+        int retiradas = 0;
+        Atualizacao atualizacao;
+        while ((atualizacao = fila.poll()) != null) {
+            maisRecentes.put(atualizacao.estacaoId(), atualizacao);
+            retiradas++;
+        }
+        if (retiradas == 0) {
+            return;
+        }
+        vagas.release(retiradas);
+
+        List<Atualizacao> lote = new ArrayList<>(tamanhoLote);
+        try {
+            for (Atualizacao maisRecente : maisRecentes.values()) {
+                lote.add(maisRecente);
+                if (lote.size() == tamanhoLote) {
+                    gravar(lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravar(lote);
+            }
+        } finally {
+            maisRecentes.values().forEach(gravada -> pendentes.remove(gravada.estacaoId(), gravada.status()));
+        }
+        logger.debug("Ingestão de status: {} atualizações reduzidas a {} estações.", retiradas, maisRecentes.size());
+    }
+
+    private void gravar(List<Atualizacao> lote) {
+        List<Atualizacao> alteradas = lote.stream()
+                .filter(atualizacao -> !statusAtualEstacoes.isStatusInalterado(atualizacao.estacaoId(), atualizacao.status()))
+                .toList();
+        if (alteradas.isEmpty()) {
+            return;
+        }
+
+        Set<Long> existentes = new HashSet<>(estacaoRecargaRepository.buscarIdsExistentes(
+                alteradas.stream().map(Atualizacao::estacaoId).toList()));
+        List<Atualizacao> validas = alteradas.stream()
+                .filter(atualizacao -> existentes.contains(atualizacao.estacaoId()))
+                .toList();
+        if (validas.size() < alteradas.size()) {
+            logger.warn("Ingestão de status: {} atualizações ignoradas por referenciarem estações inexistentes.",
+                    alteradas.size() - validas.size());
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(SQL_INSERIR_STATUS, validas, validas.size(), (ps, atualizacao) -> {
+            ps.setLong(1, atualizacao.estacaoId());
+            ps.setString(2, atualizacao.status());
+            ps.setTimestamp(3, Timestamp.valueOf(atualizacao.recebidoEm()));
+        });
+
+        // Os IDs gerados não retornam do insert em lote; o status atual é relido com uma única consulta
+        statusRepository.buscarUltimoStatusDasEstacoes(validas.stream().map(Atualizacao::estacaoId).toList())
+                .forEach(statusAtualEstacoes::registrar);
+    }
+
+    private record Atualizacao(Long estacaoId, String status, LocalDateTime recebidoEm) {
+    }
+}
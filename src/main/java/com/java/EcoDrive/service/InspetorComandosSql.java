@@ -0,0 +1,16 @@
+package com.java.EcoDrive.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada comando SQL preparado pelo Hibernate na requisição em andamento, sem alterá-lo.
+ * Registrado em hibernate.session_factory.statement_inspector.
+ */
+public class InspetorComandosSql implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ComandosSqlDaRequisicao.registrarComando(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,82 @@
+package com.java.EcoDrive.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de cada método público dos serviços ({@code ecodrive.servico}) e dos mappers
+ * ({@code ecodrive.mapeamento}), com as tags classe, método, entidade e exceção. As consultas
+ * dos repositórios já são medidas pelo Spring Data em {@code spring.data.repository.invocations}
+ * e as requisições, com a montagem dos links HATEOAS, em {@code http.server.requests}.
+ * Chamadas internas de um serviço a ele mesmo não passam pelo proxy e não são medidas.
+ */
+@Aspect
+@Component
+public class InstrumentacaoMetodos {
+
+    private static final String METRICA_SERVICO = "ecodrive.servico";
+    private static final String METRICA_MAPEAMENTO = "ecodrive.mapeamento";
+    private static final String SEM_EXCECAO = "none";
+
+    private final MeterRegistry registro;
+
+    // Timers das chamadas sem exceção por classe e método, para não consultar o registro a cada chamada
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InstrumentacaoMetodos(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && within(com.java.EcoDrive.service..*) && execution(public * *(..))")
+    public Object medirServico(ProceedingJoinPoint chamada) throws Throwable {
+        return medir(chamada, METRICA_SERVICO, "Service");
+    }
+
+    @Around("within(com.java.EcoDrive.mapper..*) && execution(public * *(..))")
+    public Object medirMapeamento(ProceedingJoinPoint chamada) throws Throwable {
+        return medir(chamada, METRICA_MAPEAMENTO, "Mapper");
+    }
+
+    private Object medir(ProceedingJoinPoint chamada, String metrica, String sufixo) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = chamada.proceed();
+            Class<?> classe = ClassUtils.getUserClass(chamada.getTarget());
+            Method metodo = ((MethodSignature) chamada.getSignature()).getMethod();
+            timers.computeIfAbsent(classe, c -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(metodo, m -> timer(metrica, sufixo, classe, m, SEM_EXCECAO))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            // Caminho raro: o registro devolve o timer já existente para as mesmas tags
+            timer(metrica, sufixo, ClassUtils.getUserClass(chamada.getTarget()),
+                    ((MethodSignature) chamada.getSignature()).getMethod(), e.getClass().getSimpleName())
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(String metrica, String sufixo, Class<?> classe, Method metodo, String excecao) {
+        String nomeClasse = classe.getSimpleName();
+        String entidade = nomeClasse.endsWith(sufixo) ? nomeClasse.substring(0, nomeClasse.length() - sufixo.length()) : nomeClasse;
+        return Timer.builder(metrica)
+                .tag("classe", nomeClasse)
+                .tag("metodo", metodo.getName())
+                .tag("entidade", entidade)
+                .tag("excecao", excecao)
+                .register(registro);
+    }
+}
@@ -0,0 +1,52 @@
+package com.java.EcoDrive.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Modo de execução da aplicação: threads de plataforma (padrão) ou threads virtuais, ligadas
+ * por spring.threads.virtual.enabled (perfil virtual). Com threads virtuais, o Spring Boot já
+ * atende as requisições do Tomcat e executa as tarefas assíncronas do MVC em threads virtuais;
+ * os executores próprios dos serviços são criados aqui para seguir o mesmo modo. Threads
+ * virtuais exigem JDK 21 ou superior: em JDKs anteriores a aplicação não sobe com a propriedade ligada.
+ */
+@Component
+public class ModoExecucao {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModoExecucao.class);
+
+    private final boolean threadsVirtuais;
+
+    @Autowired
+    public ModoExecucao(Environment environment) {
+        this.threadsVirtuais = Threading.VIRTUAL.isActive(environment);
+        if (!threadsVirtuais && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            // O Spring Boot ignoraria a propriedade em silêncio e a aplicação subiria com threads de plataforma
+            throw new IllegalStateException("spring.threads.virtual.enabled=true exige JDK 21 ou superior (JDK em uso: "
+                    + Runtime.version().feature() + "). Rode com JDK 21+ ou sem o perfil virtual.");
+        }
+        logger.info("Modo de execução: threads {}.", threadsVirtuais ? "virtuais" : "de plataforma");
+    }
+
+    public boolean isThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+
+    /**
+     * Executor com uma thread por tarefa, virtual ou de plataforma conforme o modo, e no máximo
+     * {@code limite} tarefas simultâneas: acima disso, quem submete espera uma vaga. O limite
+     * continua necessário com threads virtuais, já que cada tarefa ocupa uma conexão do pool.
+     */
+    public SimpleAsyncTaskExecutor executorLimitado(String prefixo, int limite) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefixo);
+        executor.setVirtualThreads(threadsVirtuais);
+        executor.setDaemon(true);
+        executor.setConcurrencyLimit(limite);
+        return executor;
+    }
+}
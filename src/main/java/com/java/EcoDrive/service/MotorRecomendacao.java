@@ -0,0 +1,151 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.dto.EstacaoSustentavel.EstacaoSustentavelDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.repository.EstacaoSustentavelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Classificação das estações de recarga para "onde carregar agora". Os candidatos são as
+ * estações mais próximas do índice espacial; cada uma recebe uma pontuação entre 0 e 1, a
+ * média ponderada de quatro critérios normalizados entre os candidatos: preço por kWh vigente
+ * na hora (tarifas por faixa horária do {@link MotorTarifacao}), distância, redução de carbono
+ * da estação sustentável e status atual conhecido. Estações em manutenção ou defeituosas são
+ * descartadas. Todos os dados vêm de memória: a redução de carbono fica aqui, e o restante no
+ * índice espacial, no status atual e nas tarifas, de modo que a consulta não acessa o banco.
+ */
+@Component
+public class MotorRecomendacao {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotorRecomendacao.class);
+
+    private static final String STATUS_ATIVA = "Ativa";
+
+    private final EstacaoSustentavelRepository estacaoSustentavelRepository;
+    private final IndiceEspacialEstacoes indiceEspacial;
+    private final StatusAtualEstacoes statusAtualEstacoes;
+    private final MotorTarifacao motorTarifacao;
+
+    private final Map<Long, EstacaoSustentavelDTO> sustentaveisPorEstacao = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MotorRecomendacao(EstacaoSustentavelRepository estacaoSustentavelRepository,
+                             IndiceEspacialEstacoes indiceEspacial,
+                             StatusAtualEstacoes statusAtualEstacoes,
+                             MotorTarifacao motorTarifacao) {
+        this.estacaoSustentavelRepository = estacaoSustentavelRepository;
+        this.indiceEspacial = indiceEspacial;
+        this.statusAtualEstacoes = statusAtualEstacoes;
+        this.motorTarifacao = motorTarifacao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        sustentaveisPorEstacao.clear();
+        estacaoSustentavelRepository.listarTodasDTOs().forEach(this::registrarSustentavel);
+        logger.info("Redução de carbono carregada para {} estações sustentáveis.", sustentaveisPorEstacao.size());
+    }
+
+    public void registrarSustentavel(EstacaoSustentavelDTO estacao) {
+        sustentaveisPorEstacao.put(estacao.getEstacaoId(), estacao);
+    }
+
+    public void removerSustentavel(Long estacaoId) {
+        sustentaveisPorEstacao.remove(estacaoId);
+    }
+
+    /**
+     * Retorna as {@code quantidade} estações mais bem pontuadas entre os {@code candidatos}
+     * mais próximos do ponto, da maior para a menor pontuação.
+     *
+     * @param tipoCarregador quando informado, só considera as estações com esse tipo de carregador.
+     */
+    public List<Recomendacao> recomendar(double latitude, double longitude, Double raioKm, String tipoCarregador,
+                                         int candidatos, int quantidade, Pesos pesos, LocalDateTime agora) {
+        List<Recomendacao> avaliadas = new ArrayList<>();
+        for (IndiceEspacialEstacoes.Resultado resultado : indiceEspacial.buscarMaisProximas(latitude, longitude, candidatos, raioKm)) {
+            EstacaoRecargaDTO estacao = resultado.estacao();
+            if (tipoCarregador != null && (estacao.getTipoCarregador() == null
+                    || !estacao.getTipoCarregador().toLowerCase().contains(tipoCarregador.toLowerCase()))) {
+                continue;
+            }
+            String status = statusAtualEstacoes.obter(estacao.getEstacaoId()).map(StatusEstacaoRecargaDTO::getStatus).orElse(null);
+            if (status != null && !STATUS_ATIVA.equals(status)) {
+                continue;
+            }
+            double precoDaEstacao = estacao.getPrecoPorKwh() != null ? estacao.getPrecoPorKwh() : 0.0;
+            EstacaoSustentavelDTO sustentavel = sustentaveisPorEstacao.get(estacao.getEstacaoId());
+            avaliadas.add(new Recomendacao(estacao, resultado.distanciaKm(),
+                    motorTarifacao.precoPorKwh(estacao.getEstacaoId(), precoDaEstacao, agora), status,
+                    sustentavel != null ? sustentavel.getReducaoCarbono() : 0.0,
+                    sustentavel != null ? sustentavel.getFonteId() : null, 0.0));
+        }
+        if (avaliadas.isEmpty()) {
+            return List.of();
+        }
+
+        Faixa precos = Faixa.de(avaliadas, Recomendacao::precoPorKwh);
+        Faixa distancias = Faixa.de(avaliadas, Recomendacao::distanciaKm);
+        Faixa reducoes = Faixa.de(avaliadas, Recomendacao::reducaoCarbono);
+        double somaPesos = pesos.preco() + pesos.distancia() + pesos.sustentabilidade() + pesos.disponibilidade();
+
+        return avaliadas.stream()
+                .map(avaliada -> avaliada.comPontuacao((pesos.preco() * precos.menorMelhor(avaliada.precoPorKwh())
+                        + pesos.distancia() * distancias.menorMelhor(avaliada.distanciaKm())
+                        + pesos.sustentabilidade() * reducoes.maiorMelhor(avaliada.reducaoCarbono())
+                        + pesos.disponibilidade() * (avaliada.status() != null ? 1.0 : 0.0)) / somaPesos))
+                .sorted(Comparator.comparingDouble(Recomendacao::pontuacao).reversed()
+                        .thenComparingDouble(Recomendacao::distanciaKm))
+                .limit(quantidade)
+                .toList();
+    }
+
+    // Menor e maior valor de um critério entre os candidatos, para normalizá-lo entre 0 e 1
+    private record Faixa(double minimo, double maximo) {
+
+        static Faixa de(List<Recomendacao> avaliadas, ToDoubleFunction<Recomendacao> criterio) {
+            double minimo = Double.POSITIVE_INFINITY;
+            double maximo = Double.NEGATIVE_INFINITY;
+            for (Recomendacao avaliada : avaliadas) {
+                double valor = criterio.applyAsDouble(avaliada);
+                minimo = Math.min(minimo, valor);
+                maximo = Math.max(maximo, valor);
+            }
+            return new Faixa(minimo, maximo);
+        }
+
+        // Todos os candidatos iguais no critério: ninguém ganha nem perde por ele
+        double maiorMelhor(double valor) {
+            return maximo > minimo ? (valor - minimo) / (maximo - minimo) : 1.0;
+        }
+
+        double menorMelhor(double valor) {
+            return maximo > minimo ? (maximo - valor) / (maximo - minimo) : 1.0;
+        }
+    }
+
+    public record Pesos(double preco, double distancia, double sustentabilidade, double disponibilidade) {
+    }
+
+    public record Recomendacao(EstacaoRecargaDTO estacao, double distanciaKm, double precoPorKwh, String status,
+                               double reducaoCarbono, Long fonteId, double pontuacao) {
+
+        Recomendacao comPontuacao(double novaPontuacao) {
+            return new Recomendacao(estacao, distanciaKm, precoPorKwh, status, reducaoCarbono, fonteId, novaPontuacao);
+        }
+    }
+}
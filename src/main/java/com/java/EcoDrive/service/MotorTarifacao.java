@@ -0,0 +1,100 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoDTO;
+import com.java.EcoDrive.repository.TarifaEstacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cálculo do custo de um carregamento: kWh consumidos vezes o preço por kWh vigente na
+ * hora em que o carregamento começou, arredondado em centavos. As tarifas por faixa horária
+ * de todas as estações ficam em memória, indexadas pela hora do dia, de modo que o cálculo
+ * não consulta o banco; a estação sem faixa para a hora usa o seu próprio preço por kWh.
+ */
+@Component
+public class MotorTarifacao {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotorTarifacao.class);
+
+    private static final int HORAS_DO_DIA = 24;
+
+    private final TarifaEstacaoRepository tarifaEstacaoRepository;
+
+    // Preço de cada hora do dia por estação; null nas horas sem faixa cadastrada
+    private final Map<Long, Double[]> precosPorEstacao = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MotorTarifacao(TarifaEstacaoRepository tarifaEstacaoRepository) {
+        this.tarifaEstacaoRepository = tarifaEstacaoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Map<Long, List<TarifaEstacaoDTO>> faixasPorEstacao = new HashMap<>();
+        for (TarifaEstacaoDTO faixa : tarifaEstacaoRepository.listarTodasDTOs()) {
+            faixasPorEstacao.computeIfAbsent(faixa.getEstacaoId(), id -> new ArrayList<>()).add(faixa);
+        }
+        // Substitui estação a estação, sem deixar o mapa vazio para os cálculos em andamento
+        faixasPorEstacao.forEach(this::atualizar);
+        precosPorEstacao.keySet().retainAll(faixasPorEstacao.keySet());
+        logger.info("Tarifas por faixa horária carregadas para {} estações.", precosPorEstacao.size());
+    }
+
+    /**
+     * Substitui as faixas em memória de uma estação; uma lista vazia volta a estação ao preço único.
+     */
+    public void atualizar(Long estacaoId, List<TarifaEstacaoDTO> faixas) {
+        if (faixas.isEmpty()) {
+            precosPorEstacao.remove(estacaoId);
+            return;
+        }
+        Double[] precos = new Double[HORAS_DO_DIA];
+        for (TarifaEstacaoDTO faixa : faixas) {
+            for (int hora = faixa.getHoraInicio(); hora < faixa.getHoraFim(); hora++) {
+                precos[hora] = faixa.getPrecoPorKwh();
+            }
+        }
+        precosPorEstacao.put(estacaoId, precos);
+    }
+
+    public double precoPorKwh(Long estacaoId, double precoDaEstacao, LocalDateTime dataCarregamento) {
+        Double[] precos = precosPorEstacao.get(estacaoId);
+        if (precos == null || precos[dataCarregamento.getHour()] == null) {
+            return precoDaEstacao;
+        }
+        return precos[dataCarregamento.getHour()];
+    }
+
+    // Menor preço entre todas as faixas carregadas; infinito quando não há faixas
+    public double menorPrecoPorKwh() {
+        double menor = Double.POSITIVE_INFINITY;
+        for (Double[] precos : precosPorEstacao.values()) {
+            for (Double preco : precos) {
+                if (preco != null) {
+                    menor = Math.min(menor, preco);
+                }
+            }
+        }
+        return menor;
+    }
+
+    public double calcularCusto(Long estacaoId, double precoDaEstacao, LocalDateTime dataCarregamento, double kwhConsumidos) {
+        // Arredondamento em centavos igual ao ROUND(kwh * preço, 2) do banco
+        return BigDecimal.valueOf(kwhConsumidos * precoPorKwh(estacaoId, precoDaEstacao, dataCarregamento))
+                .setScale(2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+}
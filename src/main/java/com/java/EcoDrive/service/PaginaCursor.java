@@ -0,0 +1,76 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.exception.InvalidRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor (keyset): os registros são buscados em ordem de ID a
+ * partir do último ID da página anterior, sem OFFSET e sem contagem total, de modo que
+ * qualquer página custa o mesmo que a primeira. O cursor é o último ID codificado em
+ * Base64, e o cliente deve tratá-lo como opaco.
+ *
+ * @param itens         registros da página.
+ * @param proximoCursor cursor da página seguinte, ou {@code null} na última página.
+ */
+public record PaginaCursor<T>(List<T> itens, String proximoCursor) {
+
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private static final String PREFIXO = "id:";
+
+    /**
+     * Converte o cursor recebido no último ID já entregue. Sem cursor, a listagem começa do
+     * início (os IDs são gerados a partir de 1).
+     *
+     * @throws InvalidRequestException se o cursor não tiver sido gerado pela API.
+     */
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new InvalidRequestException("Cursor de paginação inválido.");
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Cursor de paginação inválido.");
+        }
+    }
+
+    public static String codificar(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Limite da consulta: um registro além do pedido, para saber se existe página seguinte
+     * sem precisar contar.
+     *
+     * @throws InvalidRequestException se o limite estiver fora do intervalo permitido.
+     */
+    public static Limit limiteDaConsulta(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new InvalidRequestException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return Limit.of(limite + 1);
+    }
+
+    /**
+     * Monta a página a partir do resultado de uma consulta feita com {@link #limiteDaConsulta(int)}.
+     */
+    public static <E, T> PaginaCursor<T> de(List<E> resultados, int limite, Function<E, Long> id,
+                                            Function<List<E>, List<T>> conversor) {
+        if (resultados.size() <= limite) {
+            return new PaginaCursor<>(conversor.apply(resultados), null);
+        }
+        List<E> pagina = resultados.subList(0, limite);
+        return new PaginaCursor<>(conversor.apply(pagina), codificar(id.apply(pagina.get(limite - 1))));
+    }
+}
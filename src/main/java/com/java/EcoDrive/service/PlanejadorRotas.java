@@ -0,0 +1,304 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.EstacaoRecarga.EstacaoRecargaDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.exception.ResourceNotFoundException;
+import com.java.EcoDrive.model.CriterioRota;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Planejamento das paradas de recarga de uma viagem sobre o {@link GrafoEstacoes}. A busca é um
+ * A* com rótulos: cada rótulo é um estado (estação, carga da bateria, tempo, custo) e uma estação
+ * pode guardar vários rótulos que não se dominam, já que chegar mais tarde com mais carga pode
+ * levar a uma rota melhor. A partir de cada rótulo é possível seguir por uma aresta do grafo,
+ * seguir direto ao destino ou, numa estação compatível, recarregar até um dos níveis em passos
+ * de {@code passoCargaPercentual} até a carga máxima da viagem.
+ * <p>
+ * A heurística parte da distância em linha reta até o destino: o tempo de percorrê-la na
+ * velocidade média mais o de recarregar a energia que falta, ou o custo dessa energia no menor
+ * preço conhecido. O custo de cada recarga usa o preço por kWh vigente no horário estimado de
+ * chegada à estação.
+ */
+@Component
+public class PlanejadorRotas {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanejadorRotas.class);
+
+    private static final String STATUS_ATIVA = "Ativa";
+    private static final long ORIGEM = -1L;
+    private static final long DESTINO = -2L;
+    private static final double EPSILON = 1e-9;
+
+    private final GrafoEstacoes grafoEstacoes;
+    private final StatusAtualEstacoes statusAtualEstacoes;
+    private final MotorTarifacao motorTarifacao;
+    private final double velocidadeMediaKmh;
+    private final double fatorDistanciaEstrada;
+    private final double minutosPorParada;
+    private final double passoCargaPercentual;
+    private final int maximoRotulos;
+
+    @Autowired
+    public PlanejadorRotas(GrafoEstacoes grafoEstacoes,
+                           StatusAtualEstacoes statusAtualEstacoes,
+                           MotorTarifacao motorTarifacao,
+                           @Value("${ecodrive.rotas.velocidade-media-kmh:80}") double velocidadeMediaKmh,
+                           @Value("${ecodrive.rotas.fator-distancia-estrada:1.3}") double fatorDistanciaEstrada,
+                           @Value("${ecodrive.rotas.minutos-por-parada:5}") double minutosPorParada,
+                           @Value("${ecodrive.rotas.passo-carga-percentual:10}") double passoCargaPercentual,
+                           @Value("${ecodrive.rotas.maximo-rotulos:200000}") int maximoRotulos) {
+        if (velocidadeMediaKmh <= 0 || fatorDistanciaEstrada < 1 || minutosPorParada < 0
+                || passoCargaPercentual <= 0 || passoCargaPercentual > 100 || maximoRotulos <= 0) {
+            throw new IllegalArgumentException("Configuração do planejador de rotas inválida: a velocidade, o passo de carga e o máximo de rótulos "
+                    + "devem ser maiores que zero, o fator de distância pelo menos 1 e os minutos por parada não podem ser negativos.");
+        }
+        this.grafoEstacoes = grafoEstacoes;
+        this.statusAtualEstacoes = statusAtualEstacoes;
+        this.motorTarifacao = motorTarifacao;
+        this.velocidadeMediaKmh = velocidadeMediaKmh;
+        this.fatorDistanciaEstrada = fatorDistanciaEstrada;
+        this.minutosPorParada = minutosPorParada;
+        this.passoCargaPercentual = passoCargaPercentual;
+        this.maximoRotulos = maximoRotulos;
+    }
+
+    /**
+     * Sequência de paradas de recarga que minimiza o critério da viagem.
+     *
+     * @throws ResourceNotFoundException quando nenhuma rota respeita a carga mínima ou a busca passa do limite de rótulos.
+     */
+    public Plano planejar(Viagem viagem) {
+        return grafoEstacoes.consultar(() -> new Busca(viagem).executar());
+    }
+
+    private final class Busca {
+
+        private final Viagem viagem;
+        private final double passoKwh;
+        private final Map<Long, List<Rotulo>> rotulosPorNo = new HashMap<>();
+        private final PriorityQueue<Rotulo> fila;
+        private final double menorPrecoPorKwh;
+        private int criados;
+
+        Busca(Viagem viagem) {
+            this.viagem = viagem;
+            this.passoKwh = viagem.capacidadeKwh() * passoCargaPercentual / 100;
+            this.fila = new PriorityQueue<>(Comparator.comparingDouble((Rotulo rotulo) -> rotulo.prioridade)
+                    .thenComparingDouble(this::secundario));
+            // Nenhuma recarga custa menos que o menor preço entre as estações e as faixas horárias
+            double menorPreco = viagem.criterio() == CriterioRota.CUSTO
+                    ? Math.min(grafoEstacoes.menorPrecoPorKwh(), motorTarifacao.menorPrecoPorKwh()) : 0;
+            this.menorPrecoPorKwh = Double.isInfinite(menorPreco) ? 0 : menorPreco;
+        }
+
+        Plano executar() {
+            Rotulo inicial = new Rotulo(ORIGEM, null, viagem.cargaInicialKwh(), 0, 0, 0, 0);
+            expandir(inicial, viagem.origemLatitude(), viagem.origemLongitude(),
+                    grafoEstacoes.arestasDoPonto(viagem.origemLatitude(), viagem.origemLongitude()));
+
+            while (!fila.isEmpty()) {
+                Rotulo atual = fila.poll();
+                if (atual.descartado) {
+                    continue;
+                }
+                if (atual.no == DESTINO) {
+                    return montarPlano(atual);
+                }
+                GrafoEstacoes.No no = grafoEstacoes.no(atual.no);
+                expandir(atual, no.latitude(), no.longitude(), no.saida());
+                if (!atual.recarregou && podeRecarregar(no.estacao())) {
+                    recarregar(atual, no.estacao());
+                }
+            }
+            throw new ResourceNotFoundException("Nenhuma rota viável encontrada: não há estações compatíveis ao alcance da bateria entre a origem e o destino.");
+        }
+
+        private void expandir(Rotulo atual, double latitude, double longitude, GrafoEstacoes.Arestas arestas) {
+            dirigir(atual, DESTINO, IndiceEspacialEstacoes.distanciaKm(latitude, longitude,
+                    viagem.destinoLatitude(), viagem.destinoLongitude()), 0);
+            for (int i = 0; i < arestas.destinos().length; i++) {
+                GrafoEstacoes.No destino = grafoEstacoes.no(arestas.destinos()[i]);
+                dirigir(atual, destino.id(), arestas.distanciasKm()[i], IndiceEspacialEstacoes.distanciaKm(destino.latitude(),
+                        destino.longitude(), viagem.destinoLatitude(), viagem.destinoLongitude()));
+            }
+        }
+
+        private void dirigir(Rotulo atual, long destino, double distanciaLinhaRetaKm, double distanciaAteDestinoKm) {
+            double distanciaKm = distanciaLinhaRetaKm * fatorDistanciaEstrada;
+            double carga = atual.cargaKwh - distanciaKm * viagem.consumoKwhPorKm();
+            if (carga < viagem.cargaMinimaKwh() - EPSILON) {
+                return;
+            }
+            Rotulo novo = new Rotulo(destino, atual, carga, atual.minutos + distanciaKm / velocidadeMediaKmh * 60,
+                    atual.custo, atual.distanciaKm + distanciaKm, distanciaAteDestinoKm);
+            adicionar(novo);
+        }
+
+        private void recarregar(Rotulo chegada, EstacaoRecargaDTO estacao) {
+            LocalDateTime horarioChegada = viagem.saida().plusSeconds(Math.round(chegada.minutos * 60));
+            double precoPorKwh = motorTarifacao.precoPorKwh(estacao.getEstacaoId(),
+                    estacao.getPrecoPorKwh() != null ? estacao.getPrecoPorKwh() : 0.0, horarioChegada);
+
+            // Níveis múltiplos do passo acima da carga atual, e a carga máxima quando não é múltiplo
+            for (double alvo = (Math.floor((chegada.cargaKwh + EPSILON) / passoKwh) + 1) * passoKwh; ; alvo += passoKwh) {
+                double nivel = Math.min(alvo, viagem.cargaMaximaKwh());
+                if (nivel <= chegada.cargaKwh + EPSILON) {
+                    break;
+                }
+                double energiaKwh = nivel - chegada.cargaKwh;
+                double minutosRecarga = energiaKwh / viagem.potenciaRecargaKw() * 60 + minutosPorParada;
+                Rotulo recarga = new Rotulo(chegada.no, chegada, nivel, chegada.minutos + minutosRecarga,
+                        chegada.custo + energiaKwh * precoPorKwh, chegada.distanciaKm, chegada.distanciaAteDestinoKm);
+                recarga.recarregou = true;
+                recarga.energiaKwh = energiaKwh;
+                recarga.minutosRecarga = minutosRecarga;
+                recarga.precoPorKwh = precoPorKwh;
+                adicionar(recarga);
+                if (nivel >= viagem.cargaMaximaKwh()) {
+                    break;
+                }
+            }
+        }
+
+        private boolean podeRecarregar(EstacaoRecargaDTO estacao) {
+            if (viagem.tipoCarregador() != null && (estacao.getTipoCarregador() == null
+                    || !estacao.getTipoCarregador().toLowerCase().contains(viagem.tipoCarregador().toLowerCase()))) {
+                return false;
+            }
+            // Estações sem status conhecido são aceitas, como na recomendação
+            String status = statusAtualEstacoes.obter(estacao.getEstacaoId()).map(StatusEstacaoRecargaDTO::getStatus).orElse(null);
+            return status == null || STATUS_ATIVA.equals(status);
+        }
+
+        private void adicionar(Rotulo novo) {
+            novo.prioridade = objetivo(novo) + heuristica(novo);
+            List<Rotulo> existentes = rotulosPorNo.computeIfAbsent(novo.no, no -> new ArrayList<>());
+            for (Rotulo existente : existentes) {
+                if (domina(existente, novo)) {
+                    return;
+                }
+            }
+            existentes.removeIf(existente -> {
+                if (domina(novo, existente)) {
+                    existente.descartado = true;
+                    return true;
+                }
+                return false;
+            });
+            if (++criados > maximoRotulos) {
+                throw new ResourceNotFoundException("Nenhuma rota encontrada dentro do limite de busca; tente uma viagem mais curta ou com mais autonomia.");
+            }
+            existentes.add(novo);
+            fila.add(novo);
+        }
+
+        /*
+         * Um rótulo domina outro da mesma estação se não é pior no critério (e, empatando, no
+         * critério secundário), não tem menos carga e, se acabou de recarregar, o outro também
+         * acabou: quem ainda pode recarregar tem opções que o outro não tem.
+         */
+        private boolean domina(Rotulo a, Rotulo b) {
+            double diferenca = objetivo(a) - objetivo(b);
+            boolean naoPior = diferenca < -EPSILON || (diferenca <= EPSILON && secundario(a) <= secundario(b) + EPSILON);
+            return naoPior && a.cargaKwh >= b.cargaKwh - EPSILON && (!a.recarregou || b.recarregou);
+        }
+
+        private double objetivo(Rotulo rotulo) {
+            return viagem.criterio() == CriterioRota.TEMPO ? rotulo.minutos : rotulo.custo;
+        }
+
+        private double secundario(Rotulo rotulo) {
+            return viagem.criterio() == CriterioRota.TEMPO ? rotulo.custo : rotulo.minutos;
+        }
+
+        /*
+         * Limite inferior do que falta até o destino: a energia que a carga atual não cobre precisa
+         * ser recarregada pelo menos uma vez, na potência do veículo e no menor preço conhecido.
+         * Dirigir nunca reduz essa energia e recarregar reduz no máximo o que foi pago pela recarga,
+         * então a heurística é consistente e o primeiro rótulo do destino retirado da fila é ótimo entre
+         * os planos que recarregam nos passos de carga configurados.
+         */
+        private double heuristica(Rotulo rotulo) {
+            double distanciaKm = rotulo.distanciaAteDestinoKm * fatorDistanciaEstrada;
+            double energiaFaltanteKwh = Math.max(0, distanciaKm * viagem.consumoKwhPorKm() - (rotulo.cargaKwh - viagem.cargaMinimaKwh()));
+            if (viagem.criterio() == CriterioRota.CUSTO) {
+                return energiaFaltanteKwh * menorPrecoPorKwh;
+            }
+            double minutosRecarga = energiaFaltanteKwh > EPSILON ? energiaFaltanteKwh / viagem.potenciaRecargaKw() * 60 + minutosPorParada : 0;
+            return distanciaKm / velocidadeMediaKmh * 60 + minutosRecarga;
+        }
+
+        private Plano montarPlano(Rotulo chegada) {
+            List<Parada> paradas = new ArrayList<>();
+            for (Rotulo rotulo = chegada; rotulo != null; rotulo = rotulo.anterior) {
+                if (rotulo.recarregou) {
+                    Rotulo antes = rotulo.anterior;
+                    paradas.add(new Parada(grafoEstacoes.no(rotulo.no).estacao(), antes.minutos, antes.cargaKwh, rotulo.cargaKwh,
+                            rotulo.energiaKwh, rotulo.minutosRecarga, rotulo.custo - antes.custo, rotulo.precoPorKwh));
+                }
+            }
+            Collections.reverse(paradas);
+            logger.debug("Rota planejada por {} com {} paradas e {} rótulos criados.", viagem.criterio(), paradas.size(), criados);
+            return new Plano(paradas, chegada.distanciaKm, chegada.minutos, chegada.custo, chegada.cargaKwh);
+        }
+    }
+
+    private static final class Rotulo {
+
+        private final long no;
+        private final Rotulo anterior;
+        private final double cargaKwh;
+        private final double minutos;
+        private final double custo;
+        private final double distanciaKm;
+        private final double distanciaAteDestinoKm;
+        // Objetivo mais heurística, calculada ao entrar na fila
+        private double prioridade;
+        private boolean recarregou;
+        private double energiaKwh;
+        private double minutosRecarga;
+        private double precoPorKwh;
+        private boolean descartado;
+
+        Rotulo(long no, Rotulo anterior, double cargaKwh, double minutos, double custo, double distanciaKm, double distanciaAteDestinoKm) {
+            this.no = no;
+            this.anterior = anterior;
+            this.cargaKwh = cargaKwh;
+            this.minutos = minutos;
+            this.custo = custo;
+            this.distanciaKm = distanciaKm;
+            this.distanciaAteDestinoKm = distanciaAteDestinoKm;
+        }
+    }
+
+    /**
+     * Dados da viagem com as cargas já convertidas para kWh.
+     *
+     * @param tipoCarregador quando informado, só recarrega em estações com esse tipo de carregador.
+     */
+    public record Viagem(double origemLatitude, double origemLongitude, double destinoLatitude, double destinoLongitude,
+                         double capacidadeKwh, double consumoKwhPorKm, double cargaInicialKwh, double cargaMinimaKwh,
+                         double cargaMaximaKwh, String tipoCarregador, double potenciaRecargaKw, CriterioRota criterio,
+                         LocalDateTime saida) {
+    }
+
+    public record Parada(EstacaoRecargaDTO estacao, double minutosAteChegada, double cargaChegadaKwh, double cargaSaidaKwh,
+                         double energiaKwh, double minutosRecarga, double custo, double precoPorKwh) {
+    }
+
+    public record Plano(List<Parada> paradas, double distanciaKm, double minutos, double custo, double cargaChegadaKwh) {
+    }
+}
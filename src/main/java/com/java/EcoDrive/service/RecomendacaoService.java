@@ -0,0 +1,91 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.Recomendacao.RecomendacaoEstacaoDTO;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class RecomendacaoService {
+
+    private static final int QUANTIDADE_MAXIMA = 50;
+
+    private final MotorRecomendacao motorRecomendacao;
+    private final FonteEnergiaService fonteEnergiaService;
+    private final int candidatos;
+    private final int quantidadePadrao;
+    private final MotorRecomendacao.Pesos pesosPadrao;
+
+    @Autowired
+    public RecomendacaoService(MotorRecomendacao motorRecomendacao,
+                               FonteEnergiaService fonteEnergiaService,
+                               @Value("${ecodrive.recomendacoes.candidatos:200}") int candidatos,
+                               @Value("${ecodrive.recomendacoes.quantidade-padrao:5}") int quantidadePadrao,
+                               @Value("${ecodrive.recomendacoes.peso-preco:0.35}") double pesoPreco,
+                               @Value("${ecodrive.recomendacoes.peso-distancia:0.35}") double pesoDistancia,
+                               @Value("${ecodrive.recomendacoes.peso-sustentabilidade:0.2}") double pesoSustentabilidade,
+                               @Value("${ecodrive.recomendacoes.peso-disponibilidade:0.1}") double pesoDisponibilidade) {
+        if (candidatos <= 0 || quantidadePadrao <= 0 || quantidadePadrao > QUANTIDADE_MAXIMA) {
+            throw new IllegalArgumentException("A quantidade de candidatos e a quantidade padrão de recomendações devem ser maiores que zero, "
+                    + "e a quantidade padrão no máximo " + QUANTIDADE_MAXIMA + ".");
+        }
+        this.motorRecomendacao = motorRecomendacao;
+        this.fonteEnergiaService = fonteEnergiaService;
+        this.candidatos = candidatos;
+        this.quantidadePadrao = quantidadePadrao;
+        this.pesosPadrao = new MotorRecomendacao.Pesos(pesoPreco, pesoDistancia, pesoSustentabilidade, pesoDisponibilidade);
+        validarPesos(pesosPadrao);
+    }
+
+    /**
+     * Estações recomendadas para carregar agora a partir do ponto informado. Os pesos não
+     * informados usam os valores configurados em ecodrive.recomendacoes.*.
+     */
+    public List<RecomendacaoEstacaoDTO> recomendar(Double latitude, Double longitude, Integer quantidade, Double raioKm,
+                                                   String tipoCarregador, Double pesoPreco, Double pesoDistancia,
+                                                   Double pesoSustentabilidade, Double pesoDisponibilidade) {
+        if (latitude == null || longitude == null) {
+            throw new InvalidRequestException("Latitude e Longitude são obrigatórios.");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new InvalidRequestException("Latitude deve estar entre -90 e 90 e Longitude entre -180 e 180.");
+        }
+        if (quantidade != null && (quantidade <= 0 || quantidade > QUANTIDADE_MAXIMA)) {
+            throw new InvalidRequestException("A quantidade de recomendações deve estar entre 1 e " + QUANTIDADE_MAXIMA + ".");
+        }
+        if (raioKm != null && raioKm <= 0) {
+            throw new InvalidRequestException("O raio deve ser maior que zero.");
+        }
+        MotorRecomendacao.Pesos pesos = new MotorRecomendacao.Pesos(
+                pesoPreco != null ? pesoPreco : pesosPadrao.preco(),
+                pesoDistancia != null ? pesoDistancia : pesosPadrao.distancia(),
+                pesoSustentabilidade != null ? pesoSustentabilidade : pesosPadrao.sustentabilidade(),
+                pesoDisponibilidade != null ? pesoDisponibilidade : pesosPadrao.disponibilidade());
+        try {
+            validarPesos(pesos);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+
+        String tipo = tipoCarregador != null && !tipoCarregador.isBlank() ? tipoCarregador.trim() : null;
+        return motorRecomendacao.recomendar(latitude, longitude, raioKm, tipo, candidatos,
+                        quantidade != null ? quantidade : quantidadePadrao, pesos, LocalDateTime.now()).stream()
+                .map(recomendacao -> new RecomendacaoEstacaoDTO(recomendacao.estacao(), recomendacao.distanciaKm(),
+                        recomendacao.precoPorKwh(), recomendacao.status(), recomendacao.reducaoCarbono(),
+                        // Apenas as fontes das estações retornadas, lidas do cache de fontes de energia
+                        recomendacao.fonteId() != null ? fonteEnergiaService.obterPorId(recomendacao.fonteId()).getTipoEnergia() : null,
+                        recomendacao.pontuacao()))
+                .toList();
+    }
+
+    private static void validarPesos(MotorRecomendacao.Pesos pesos) {
+        if (pesos.preco() < 0 || pesos.distancia() < 0 || pesos.sustentabilidade() < 0 || pesos.disponibilidade() < 0
+                || pesos.preco() + pesos.distancia() + pesos.sustentabilidade() + pesos.disponibilidade() <= 0) {
+            throw new IllegalArgumentException("Os pesos da recomendação não podem ser negativos e ao menos um deve ser maior que zero.");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.exception.ResourceNotFoundException;
+import com.java.EcoDrive.model.EstacaoRecarga;
+import com.java.EcoDrive.model.FonteEnergia;
+import com.java.EcoDrive.model.Usuario;
+import com.java.EcoDrive.model.Veiculo;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Verificação das chaves estrangeiras de um cadastro em uma única ida ao banco, em vez de um
+ * findById por entidade referenciada. As entidades presentes no cache de segundo nível não
+ * são consultadas; as demais são verificadas por um SELECT com um EXISTS por referência.
+ * Depois da verificação, o serviço associa as entidades por referência (getReferenceById).
+ */
+@Component
+public class ReferenciasEntidades {
+
+    public enum Referencia {
+        USUARIO(Usuario.class, "usuario", "usuario_id", "Usuário não encontrado com ID: "),
+        VEICULO(Veiculo.class, "veiculo", "veiculo_id", "Veículo não encontrado com ID: "),
+        ESTACAO_RECARGA(EstacaoRecarga.class, "estacao_recarga", "estacao_id", "Estação de recarga não encontrada com ID: "),
+        FONTE_ENERGIA(FonteEnergia.class, "fonte_energia", "fonte_id", "Fonte de energia não encontrada com ID: ");
+
+        private final Class<?> entidade;
+        private final String tabela;
+        private final String colunaId;
+        private final String naoEncontrada;
+
+        Referencia(Class<?> entidade, String tabela, String colunaId, String naoEncontrada) {
+            this.entidade = entidade;
+            this.tabela = tabela;
+            this.colunaId = colunaId;
+            this.naoEncontrada = naoEncontrada;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cacheSegundoNivel;
+
+    @Autowired
+    public ReferenciasEntidades(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheSegundoNivel = entityManagerFactory.getCache();
+    }
+
+    /**
+     * Garante que todas as entidades referenciadas existem.
+     *
+     * @param ids ID de cada entidade referenciada, não nulo.
+     * @throws ResourceNotFoundException para a primeira referência inexistente, na ordem de {@link Referencia}.
+     */
+    public void verificar(Map<Referencia, Long> ids) {
+        // EnumMap mantém a ordem das referências, e com ela a mensagem de erro de antes
+        List<Map.Entry<Referencia, Long>> aConsultar = new ArrayList<>();
+        for (Map.Entry<Referencia, Long> referencia : new EnumMap<>(ids).entrySet()) {
+            if (!cacheSegundoNivel.contains(referencia.getKey().entidade, referencia.getValue())) {
+                aConsultar.add(referencia);
+            }
+        }
+        if (aConsultar.isEmpty()) {
+            return;
+        }
+
+        StringJoiner colunas = new StringJoiner(", ", "SELECT ", " FROM dual");
+        Object[] parametros = new Object[aConsultar.size()];
+        for (int i = 0; i < aConsultar.size(); i++) {
+            Referencia referencia = aConsultar.get(i).getKey();
+            colunas.add("CASE WHEN EXISTS (SELECT 1 FROM " + referencia.tabela + " WHERE " + referencia.colunaId
+                    + " = ?) THEN 1 ELSE 0 END");
+            parametros[i] = aConsultar.get(i).getValue();
+        }
+        boolean[] existentes = jdbcTemplate.queryForObject(colunas.toString(), (rs, linha) -> {
+            boolean[] resultado = new boolean[aConsultar.size()];
+            for (int i = 0; i < resultado.length; i++) {
+                resultado[i] = rs.getInt(i + 1) == 1;
+            }
+            return resultado;
+        }, parametros);
+
+        for (int i = 0; i < existentes.length; i++) {
+            if (!existentes[i]) {
+                throw new ResourceNotFoundException(aConsultar.get(i).getKey().naoEncontrada + aConsultar.get(i).getValue());
+            }
+        }
+    }
+}
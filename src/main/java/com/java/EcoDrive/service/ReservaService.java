@@ -1,59 +1,98 @@
 package com.java.EcoDrive.service;
 
+import com.java.EcoDrive.dto.Reserva.HorarioLivreDTO;
 import com.java.EcoDrive.dto.Reserva.ReservaCreateDTO;
 import com.java.EcoDrive.dto.Reserva.ReservaDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.exception.ResourceConflictException;
 import com.java.EcoDrive.model.Reserva;
+import com.java.EcoDrive.model.StatusReserva;
 import com.java.EcoDrive.model.Usuario;
 import com.java.EcoDrive.model.EstacaoRecarga;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.ReservaMapper;
+import com.java.EcoDrive.service.ReferenciasEntidades.Referencia;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.java.EcoDrive.repository.ReservaRepository;
 import com.java.EcoDrive.repository.UsuarioRepository;
 import com.java.EcoDrive.repository.EstacaoRecargaRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class ReservaService {
 
     private static final String RESERVA_NAO_ENCONTRADA = "Reserva não encontrada com ID: ";
+    private static final String ESTACAO_NAO_ENCONTRADA = "Estação de recarga não encontrada com ID: ";
+    private static final String HORARIO_INDISPONIVEL = "A estação de recarga já possui uma reserva no horário iniciado em: ";
 
     private final ReservaRepository reservaRepository;
     private final UsuarioRepository usuarioRepository;
     private final EstacaoRecargaRepository estacaoRecargaRepository;
-    private final ModelMapper modelMapper;
+    private final ReservaMapper reservaMapper;
+    private final AgendaReservas agendaReservas;
+    private final IndiceEspacialEstacoes indiceEspacial;
+    private final ConcorrenciaEstacoes concorrenciaEstacoes;
+    private final ExpiracaoReservas expiracaoReservas;
+    private final ReferenciasEntidades referenciasEntidades;
 
     @Autowired
     public ReservaService(ReservaRepository reservaRepository, UsuarioRepository usuarioRepository,
-                          EstacaoRecargaRepository estacaoRecargaRepository, ModelMapper modelMapper) {
+                          EstacaoRecargaRepository estacaoRecargaRepository, ReservaMapper reservaMapper,
+                          AgendaReservas agendaReservas, IndiceEspacialEstacoes indiceEspacial,
+                          ConcorrenciaEstacoes concorrenciaEstacoes, ExpiracaoReservas expiracaoReservas,
+                          ReferenciasEntidades referenciasEntidades) {
         this.reservaRepository = reservaRepository;
         this.usuarioRepository = usuarioRepository;
         this.estacaoRecargaRepository = estacaoRecargaRepository;
-        this.modelMapper = modelMapper;
+        this.reservaMapper = reservaMapper;
+        this.agendaReservas = agendaReservas;
+        this.indiceEspacial = indiceEspacial;
+        this.concorrenciaEstacoes = concorrenciaEstacoes;
+        this.expiracaoReservas = expiracaoReservas;
+        this.referenciasEntidades = referenciasEntidades;
     }
 
     public Page<ReservaDTO> listarTodasPaginado(Pageable pageable) {
         Page<Reserva> reservas = reservaRepository.findAll(pageable);
-        return reservas.map(reserva -> modelMapper.map(reserva, ReservaDTO.class));
+        return reservas.map(reservaMapper::paraDTO);
+    }
+
+    public PaginaCursor<ReservaDTO> listarTodasPorCursor(String cursor, int limite) {
+        List<Reserva> resultados = reservaRepository.findByReservaIdGreaterThanOrderByReservaIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, Reserva::getReservaId, reservaMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<ReservaDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, reservaRepository.findAllById(idsDistintos),
+                Reserva::getReservaId, reservaMapper::paraDTOs);
     }
 
     public List<ReservaDTO> listarTodas() {
         List<Reserva> reservas = reservaRepository.findAll();
-        return reservas.stream()
-                .map(reserva -> modelMapper.map(reserva, ReservaDTO.class))
-                .toList();
+        return reservaMapper.paraDTOs(reservas);
     }
 
     public ReservaDTO obterPorId(Long id) {
         Reserva reserva = reservaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(RESERVA_NAO_ENCONTRADA + id));
-        return modelMapper.map(reserva, ReservaDTO.class);
+        return reservaMapper.paraDTO(reserva);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return reservaRepository.buscarVersao(id);
     }
 
     public List<ReservaDTO> listarPorStatus(Integer status) {
@@ -61,9 +100,7 @@ public class ReservaService {
         if (reservas.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma reserva encontrada com o status: " + status);
         }
-        return reservas.stream()
-                .map(reserva -> modelMapper.map(reserva, ReservaDTO.class))
-                .toList();
+        return reservaMapper.paraDTOs(reservas);
     }
 
     public List<ReservaDTO> listarPorUsuario(Long usuarioId) {
@@ -71,9 +108,7 @@ public class ReservaService {
         if (reservas.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma reserva encontrada para o usuário com ID: " + usuarioId);
         }
-        return reservas.stream()
-                .map(reserva -> modelMapper.map(reserva, ReservaDTO.class))
-                .toList();
+        return reservaMapper.paraDTOs(reservas);
     }
 
     public List<ReservaDTO> listarPorIntervaloDeDatas(LocalDateTime inicio, LocalDateTime fim) {
@@ -81,9 +116,7 @@ public class ReservaService {
         if (reservas.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma reserva encontrada no intervalo de datas especificado.");
         }
-        return reservas.stream()
-                .map(reserva -> modelMapper.map(reserva, ReservaDTO.class))
-                .toList();
+        return reservaMapper.paraDTOs(reservas);
     }
 
     public ReservaDTO criarReserva(ReservaCreateDTO reservaCreateDTO) {
@@ -97,37 +130,175 @@ public class ReservaService {
             throw new InvalidRequestException("A data da reserva é obrigatória.");
         }
 
-        Usuario usuario = usuarioRepository.findById(reservaCreateDTO.getUsuarioId())
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + reservaCreateDTO.getUsuarioId()));
-        EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.findById(reservaCreateDTO.getEstacaoId())
-                .orElseThrow(() -> new ResourceNotFoundException("Estação de recarga não encontrada com ID: " + reservaCreateDTO.getEstacaoId()));
+        Long estacaoId = reservaCreateDTO.getEstacaoId();
+        return concorrenciaEstacoes.executar(estacaoId,
+                () -> salvarNovaReserva(reservaCreateDTO),
+                () -> agendaReservas.descartar(estacaoId));
+    }
+
+    public ReservaDTO atualizarReserva(Long id, ReservaCreateDTO reservaCreateDTO) {
+        Long estacaoId = reservaRepository.buscarEstacaoIdDaReserva(id)
+                .orElseThrow(() -> new ResourceNotFoundException(RESERVA_NAO_ENCONTRADA + id));
+        return concorrenciaEstacoes.executar(estacaoId,
+                () -> salvarReservaAtualizada(id, reservaCreateDTO),
+                () -> agendaReservas.descartar(estacaoId));
+    }
+
+    public ReservaDTO confirmarReserva(Long id) {
+        ReservaCreateDTO confirmacao = new ReservaCreateDTO();
+        confirmacao.setStatus(StatusReserva.CONFIRMADA.getCodigo());
+        return atualizarReserva(id, confirmacao);
+    }
+
+    public void deletarReserva(Long id) {
+        Long estacaoId = reservaRepository.buscarEstacaoIdDaReserva(id)
+                .orElseThrow(() -> new ResourceNotFoundException(RESERVA_NAO_ENCONTRADA + id));
+        concorrenciaEstacoes.executar(estacaoId,
+                () -> removerReserva(id),
+                () -> agendaReservas.descartar(estacaoId));
+    }
+
+    public List<HorarioLivreDTO> listarHorariosLivres(Long estacaoId, LocalDate dia) {
+        if (dia == null) {
+            throw new InvalidRequestException("A data é obrigatória.");
+        }
+        if (!indiceEspacial.contem(estacaoId) && !estacaoRecargaRepository.existsById(estacaoId)) {
+            throw new ResourceNotFoundException(ESTACAO_NAO_ENCONTRADA + estacaoId);
+        }
+        int duracao = agendaReservas.getDuracaoSlotMinutos();
+        return agendaReservas.listarSlotsLivres(estacaoId, dia).stream()
+                .map(inicio -> new HorarioLivreDTO(estacaoId, inicio, inicio.plusMinutes(duracao)))
+                .toList();
+    }
 
-        Reserva reserva = modelMapper.map(reservaCreateDTO, Reserva.class);
+    // Executado na transação aberta por ConcorrenciaEstacoes, com a trava da estação adquirida
+    private ReservaDTO salvarNovaReserva(ReservaCreateDTO reservaCreateDTO) {
+        StatusReserva status = reservaCreateDTO.getStatus() != null
+                ? StatusReserva.deCodigo(reservaCreateDTO.getStatus())
+                : StatusReserva.PENDENTE;
+        if (status.encerrada()) {
+            throw new InvalidRequestException("Uma nova reserva deve ser criada como pendente ou confirmada.");
+        }
+
+        // O usuário normalmente está no cache de segundo nível e entra por referência
+        referenciasEntidades.verificar(Map.of(Referencia.USUARIO, reservaCreateDTO.getUsuarioId()));
+        Usuario usuario = usuarioRepository.getReferenceById(reservaCreateDTO.getUsuarioId());
+        // Trava a linha da estação até o commit: uma reserva simultânea da estação em outro nó espera, e o
+        // slot que ocuparHorario confere no banco já mostra a reserva confirmada antes
+        EstacaoRecarga estacaoRecarga = estacaoRecargaRepository.buscarComTravaDeEscrita(reservaCreateDTO.getEstacaoId())
+                .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_NAO_ENCONTRADA + reservaCreateDTO.getEstacaoId()));
+
+        Reserva reserva = reservaMapper.paraEntidade(reservaCreateDTO);
         reserva.setUsuario(usuario);
         reserva.setEstacaoRecarga(estacaoRecarga);
+        reserva.setStatus(status.getCodigo());
+        if (status == StatusReserva.PENDENTE) {
+            reserva.setExpiraEm(expiracaoReservas.calcularPrazo(LocalDateTime.now()));
+        }
 
-        Reserva reservaSalva = reservaRepository.save(reserva);
-        return modelMapper.map(reservaSalva, ReservaDTO.class);
+        ocuparHorario(estacaoRecarga.getEstacaoId(), reserva.getDataReserva(), null);
+        Reserva reservaSalva = reservaRepository.saveAndFlush(reserva);
+        if (status == StatusReserva.PENDENTE) {
+            agendarExpiracaoAposCommit(reservaSalva);
+        }
+        return reservaMapper.paraDTO(reservaSalva);
     }
 
-    public ReservaDTO atualizarReserva(Long id, ReservaCreateDTO reservaCreateDTO) {
+    // Executado na transação aberta por ConcorrenciaEstacoes, com a trava da estação adquirida
+    private ReservaDTO salvarReservaAtualizada(Long id, ReservaCreateDTO reservaCreateDTO) {
         Reserva reservaExistente = reservaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(RESERVA_NAO_ENCONTRADA + id));
 
+        Long estacaoId = reservaExistente.getEstacaoRecarga().getEstacaoId();
+        LocalDateTime dataAnterior = reservaExistente.getDataReserva();
+        StatusReserva statusAtual = StatusReserva.doRegistro(reservaExistente.getStatus());
+        StatusReserva novoStatus = reservaCreateDTO.getStatus() != null
+                ? StatusReserva.deCodigo(reservaCreateDTO.getStatus())
+                : statusAtual;
+        validarTransicao(statusAtual, novoStatus);
+
         if (reservaCreateDTO.getDataReserva() != null) {
             reservaExistente.setDataReserva(reservaCreateDTO.getDataReserva());
         }
-        if (reservaCreateDTO.getStatus() != null) {
-            reservaExistente.setStatus(reservaCreateDTO.getStatus());
+        if (novoStatus != statusAtual) {
+            // Sem mudança de status, o código gravado é mantido, mesmo que seja um código legado
+            reservaExistente.setStatus(novoStatus.getCodigo());
+        }
+        if (novoStatus != StatusReserva.PENDENTE) {
+            reservaExistente.setExpiraEm(null);
+        }
+
+        boolean mudouDeSlot = !agendaReservas.inicioDoSlot(reservaExistente.getDataReserva())
+                .equals(agendaReservas.inicioDoSlot(dataAnterior));
+        if (statusAtual.ocupaHorario() && novoStatus.ocupaHorario() && mudouDeSlot) {
+            estacaoRecargaRepository.buscarComTravaDeEscrita(estacaoId);
+            ocuparHorario(estacaoId, reservaExistente.getDataReserva(), id);
+            agendaReservas.liberarAposCommit(estacaoId, dataAnterior);
+        } else if (statusAtual.ocupaHorario() && !novoStatus.ocupaHorario()) {
+            agendaReservas.liberarAposCommit(estacaoId, dataAnterior);
         }
 
-        Reserva reservaAtualizada = reservaRepository.save(reservaExistente);
-        return modelMapper.map(reservaAtualizada, ReservaDTO.class);
+        Reserva reservaAtualizada = reservaRepository.saveAndFlush(reservaExistente);
+        if (statusAtual == StatusReserva.PENDENTE && novoStatus != StatusReserva.PENDENTE) {
+            cancelarExpiracaoAposCommit(id);
+        } else if (novoStatus == StatusReserva.PENDENTE && mudouDeSlot) {
+            // O temporizador guarda o horário reservado, usado para liberar o slot na expiração
+            agendarExpiracaoAposCommit(reservaAtualizada);
+        }
+        return reservaMapper.paraDTO(reservaAtualizada);
     }
 
-    public void deletarReserva(Long id) {
+    // Executado na transação aberta por ConcorrenciaEstacoes, com a trava da estação adquirida
+    private Void removerReserva(Long id) {
         Reserva reserva = reservaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(RESERVA_NAO_ENCONTRADA + id));
         reservaRepository.delete(reserva);
+        reservaRepository.flush();
+        cancelarExpiracaoAposCommit(id);
+        if (StatusReserva.doRegistro(reserva.getStatus()).ocupaHorario()) {
+            agendaReservas.liberarAposCommit(reserva.getEstacaoRecarga().getEstacaoId(), reserva.getDataReserva());
+        }
+        return null;
+    }
+
+    private void validarTransicao(StatusReserva statusAtual, StatusReserva novoStatus) {
+        if (statusAtual == novoStatus) {
+            return;
+        }
+        if (statusAtual.encerrada()) {
+            throw new ResourceConflictException("A reserva já está encerrada com o status " + statusAtual + ".");
+        }
+        if (novoStatus == StatusReserva.PENDENTE) {
+            throw new ResourceConflictException("Uma reserva " + statusAtual + " não pode voltar a ficar pendente.");
+        }
+    }
+
+    // Reserva o slot na agenda da estação; a verificação e a marcação acontecem atomicamente
+    private void ocuparHorario(Long estacaoId, LocalDateTime dataReserva, Long reservaId) {
+        if (!agendaReservas.ocuparNaTransacao(estacaoId, dataReserva, reservaId)) {
+            throw new ResourceConflictException(HORARIO_INDISPONIVEL + agendaReservas.inicioDoSlot(dataReserva));
+        }
+    }
+
+    private void agendarExpiracaoAposCommit(Reserva reserva) {
+        Long reservaId = reserva.getReservaId();
+        Long estacaoId = reserva.getEstacaoRecarga().getEstacaoId();
+        LocalDateTime dataReserva = reserva.getDataReserva();
+        LocalDateTime expiraEm = reserva.getExpiraEm();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                expiracaoReservas.agendar(reservaId, estacaoId, dataReserva, expiraEm);
+            }
+        });
+    }
+
+    private void cancelarExpiracaoAposCommit(Long reservaId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                expiracaoReservas.cancelar(reservaId);
+            }
+        });
     }
-}
\ No newline at end of file
+}
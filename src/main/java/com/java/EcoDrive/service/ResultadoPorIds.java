@@ -0,0 +1,66 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resultado de uma busca em lote por IDs ({@code ?ids=1,2,3}): os registros encontrados
+ * numa única consulta, na ordem em que os IDs foram pedidos, e os IDs que não existem. Um ID
+ * repetido na requisição aparece uma única vez, na posição da primeira ocorrência.
+ *
+ * @param itens              registros encontrados, na ordem dos IDs pedidos.
+ * @param idsNaoEncontrados  IDs pedidos que não existem, na ordem em que foram pedidos.
+ */
+public record ResultadoPorIds<T>(List<T> itens, List<Long> idsNaoEncontrados) {
+
+    // O Oracle aceita no máximo 1000 valores numa lista IN
+    public static final int IDS_MAXIMO = 1000;
+
+    /**
+     * IDs distintos a buscar, na ordem da requisição.
+     *
+     * @throws InvalidRequestException se a lista estiver vazia, tiver IDs nulos ou passar do máximo.
+     */
+    public static List<Long> validar(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("Informe ao menos um ID.");
+        }
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.contains(null)) {
+            throw new InvalidRequestException("A lista de IDs não pode conter valores vazios.");
+        }
+        if (distintos.size() > IDS_MAXIMO) {
+            throw new InvalidRequestException("A busca em lote aceita no máximo " + IDS_MAXIMO + " IDs.");
+        }
+        return new ArrayList<>(distintos);
+    }
+
+    /**
+     * Monta o resultado a partir dos registros de uma consulta feita com os IDs de {@link #validar(List)}.
+     */
+    public static <E, T> ResultadoPorIds<T> de(List<Long> ids, List<E> encontrados, Function<E, Long> id,
+                                               Function<List<E>, List<T>> conversor) {
+        Map<Long, E> porId = new HashMap<>(encontrados.size() * 2);
+        for (E encontrado : encontrados) {
+            porId.put(id.apply(encontrado), encontrado);
+        }
+        List<E> ordenados = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long pedido : ids) {
+            E encontrado = porId.get(pedido);
+            if (encontrado != null) {
+                ordenados.add(encontrado);
+            } else {
+                naoEncontrados.add(pedido);
+            }
+        }
+        return new ResultadoPorIds<>(conversor.apply(ordenados), naoEncontrados);
+    }
+}
@@ -0,0 +1,189 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.GastoCarregamento.ResultadoRetarifacaoDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Recalcula os custos dos carregamentos de um intervalo com as tarifas atuais, após uma
+ * correção de tarifa ou uma carga feita fora da API. O intervalo é dividido em blocos de
+ * dias, processados em paralelo, cada um em sua própria transação: os históricos do bloco
+ * são lidos com um cursor JDBC, o custo é calculado pelo {@link MotorTarifacao} e os gastos
+ * que mudaram são gravados com updates em lote (e os que faltam, com inserts em lote). Os
+ * agregados de consumo de um bloco alterado são reconstruídos na mesma transação.
+ */
+@Component
+public class RetarifacaoGastos {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetarifacaoGastos.class);
+
+    private static final String SQL_PRECOS_ESTACOES = "SELECT estacao_id, preco_por_kwh FROM estacao_recarga";
+    private static final String SQL_HISTORICOS_DO_BLOCO = "SELECT h.historico_id, h.estacao_id, h.data_carregamento, "
+            + "h.kwh_consumidos, g.gasto_id, g.custo_total "
+            + "FROM historico_carregamento h LEFT JOIN gasto_carregamento g ON g.historico_id = h.historico_id "
+            + "WHERE h.data_carregamento >= ? AND h.data_carregamento < ?";
+    private static final String FILTRO_SEM_GASTO = " AND g.gasto_id IS NULL";
+    private static final String SQL_ATUALIZAR_GASTO = "UPDATE gasto_carregamento SET custo_total = ?, versao = versao + 1 WHERE gasto_id = ?";
+    private static final String SQL_INSERIR_GASTO =
+            "INSERT INTO gasto_carregamento (historico_id, data_gasto, custo_total, versao) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MotorTarifacao motorTarifacao;
+    private final AgregacaoConsumo agregacaoConsumo;
+    private final int diasPorBloco;
+    private final int tamanhoLote;
+    private final SimpleAsyncTaskExecutor blocos;
+
+    @Autowired
+    public RetarifacaoGastos(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             MotorTarifacao motorTarifacao,
+                             AgregacaoConsumo agregacaoConsumo,
+                             ModoExecucao modoExecucao,
+                             @Value("${ecodrive.tarifacao.retarifacao.dias-por-bloco:1}") int diasPorBloco,
+                             @Value("${ecodrive.tarifacao.retarifacao.tamanho-lote:500}") int tamanhoLote,
+                             @Value("${ecodrive.tarifacao.retarifacao.paralelismo:4}") int paralelismo) {
+        if (diasPorBloco <= 0 || tamanhoLote <= 0 || paralelismo <= 0) {
+            throw new IllegalArgumentException("Os dias por bloco, o tamanho do lote e o paralelismo da retarifação devem ser maiores que zero.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.motorTarifacao = motorTarifacao;
+        this.agregacaoConsumo = agregacaoConsumo;
+        this.diasPorBloco = diasPorBloco;
+        this.tamanhoLote = tamanhoLote;
+        // O paralelismo limita as conexões ocupadas pelos blocos, inclusive com threads virtuais
+        this.blocos = modoExecucao.executorLimitado("retarifacao-gastos-", paralelismo);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        blocos.close();
+    }
+
+    /**
+     * Recalcula os custos dos históricos iniciados entre os dias de {@code inicio} e {@code fim}
+     * (inclusive).
+     *
+     * @param apenasSemGasto quando verdadeiro, só cria os gastos que faltam, sem alterar os existentes.
+     */
+    public ResultadoRetarifacaoDTO retarifar(LocalDateTime inicio, LocalDateTime fim, boolean apenasSemGasto) {
+        long inicioMs = System.currentTimeMillis();
+        LocalDateTime primeiroDia = inicio.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime diaSeguinteAoFim = fim.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+        // Uma consulta para os preços de todas as estações, em vez de uma por histórico
+        Map<Long, Double> precosDasEstacoes = new HashMap<>();
+        jdbcTemplate.query(SQL_PRECOS_ESTACOES, rs -> {
+            precosDasEstacoes.put(rs.getLong("estacao_id"), rs.getDouble("preco_por_kwh"));
+        });
+        String sql = apenasSemGasto ? SQL_HISTORICOS_DO_BLOCO + FILTRO_SEM_GASTO : SQL_HISTORICOS_DO_BLOCO;
+
+        List<CompletableFuture<Bloco>> pendentes = new ArrayList<>();
+        for (LocalDateTime dia = primeiroDia; dia.isBefore(diaSeguinteAoFim); dia = dia.plusDays(diasPorBloco)) {
+            LocalDateTime inicioBloco = dia;
+            LocalDateTime fimBloco = dia.plusDays(diasPorBloco).isBefore(diaSeguinteAoFim) ? dia.plusDays(diasPorBloco) : diaSeguinteAoFim;
+            pendentes.add(CompletableFuture.supplyAsync(() -> processarBloco(sql, inicioBloco, fimBloco, precosDasEstacoes), blocos));
+        }
+
+        long lidos = 0;
+        long atualizados = 0;
+        long criados = 0;
+        try {
+            for (CompletableFuture<Bloco> pendente : pendentes) {
+                Bloco bloco = pendente.join();
+                lidos += bloco.lidos;
+                atualizados += bloco.atualizados;
+                criados += bloco.criados;
+            }
+        } catch (CompletionException e) {
+            // Os blocos já confirmados permanecem; a retarifação pode ser repetida com segurança
+            pendentes.forEach(pendente -> pendente.cancel(false));
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+
+        long duracao = System.currentTimeMillis() - inicioMs;
+        logger.info("Retarifação de {} a {}: {} históricos lidos, {} gastos atualizados e {} criados em {} ms.",
+                primeiroDia, diaSeguinteAoFim, lidos, atualizados, criados, duracao);
+        return new ResultadoRetarifacaoDTO(primeiroDia, diaSeguinteAoFim, lidos, atualizados, criados, duracao);
+    }
+
+    private Bloco processarBloco(String sql, LocalDateTime inicio, LocalDateTime fim, Map<Long, Double> precosDasEstacoes) {
+        Bloco bloco = new Bloco();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query(conexao -> {
+                PreparedStatement ps = conexao.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(tamanhoLote);
+                ps.setTimestamp(1, Timestamp.valueOf(inicio));
+                ps.setTimestamp(2, Timestamp.valueOf(fim));
+                return ps;
+            }, (ResultSet rs) -> bloco.processar(rs, precosDasEstacoes));
+            bloco.gravar();
+            if (bloco.atualizados > 0 || bloco.criados > 0) {
+                agregacaoConsumo.reconstruir(inicio, fim.minusDays(1));
+            }
+        });
+        return bloco;
+    }
+
+    private class Bloco {
+
+        private final List<Object[]> atualizacoes = new ArrayList<>();
+        private final List<Object[]> insercoes = new ArrayList<>();
+        private final Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        private long lidos;
+        private long atualizados;
+        private long criados;
+
+        void processar(ResultSet rs, Map<Long, Double> precosDasEstacoes) throws SQLException {
+            lidos++;
+            long estacaoId = rs.getLong("estacao_id");
+            double custo = motorTarifacao.calcularCusto(estacaoId, precosDasEstacoes.getOrDefault(estacaoId, 0.0),
+                    rs.getTimestamp("data_carregamento").toLocalDateTime(), rs.getDouble("kwh_consumidos"));
+
+            long gastoId = rs.getLong("gasto_id");
+            if (rs.wasNull()) {
+                insercoes.add(new Object[]{rs.getLong("historico_id"), agora, custo});
+                criados++;
+            } else if (rs.getDouble("custo_total") != custo) {
+                atualizacoes.add(new Object[]{custo, gastoId});
+                atualizados++;
+            }
+            if (atualizacoes.size() + insercoes.size() >= tamanhoLote) {
+                gravar();
+            }
+        }
+
+        void gravar() {
+            if (!atualizacoes.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_ATUALIZAR_GASTO, atualizacoes);
+                atualizacoes.clear();
+            }
+            if (!insercoes.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_INSERIR_GASTO, insercoes);
+                insercoes.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.java.EcoDrive.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roda de temporização hierárquica: cada nível tem 64 posições e cada posição de um nível
+ * cobre uma volta inteira do nível abaixo. Agendar e cancelar custam O(1), e o avanço do
+ * relógio só toca as posições que vencem no tick atual, redistribuindo para os níveis
+ * inferiores os temporizadores que se aproximam do prazo.
+ *
+ * @param <V> valor devolvido quando o temporizador vence.
+ */
+public class RodaTemporizacao<V> {
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 4;
+
+    private final long tickMs;
+    private final List<List<Map<Long, Temporizador<V>>>> posicoes;
+    private final Map<Long, Temporizador<V>> temporizadores = new HashMap<>();
+    private final List<Temporizador<V>> vencidos = new ArrayList<>();
+    private long tickAtual;
+
+    public RodaTemporizacao(long tickMs, long agoraMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("O tick da roda de temporização deve ser maior que zero.");
+        }
+        this.tickMs = tickMs;
+        this.tickAtual = agoraMs / tickMs;
+        this.posicoes = new ArrayList<>(NIVEIS);
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            List<Map<Long, Temporizador<V>>> posicoesDoNivel = new ArrayList<>(POSICOES);
+            for (int posicao = 0; posicao < POSICOES; posicao++) {
+                posicoesDoNivel.add(new HashMap<>());
+            }
+            posicoes.add(posicoesDoNivel);
+        }
+    }
+
+    /**
+     * Agenda (ou reagenda) o temporizador identificado pela chave para vencer no instante informado.
+     */
+    public synchronized void agendar(Long chave, V valor, long prazoMs) {
+        cancelar(chave);
+        Temporizador<V> temporizador = new Temporizador<>(chave, valor, (prazoMs + tickMs - 1) / tickMs);
+        temporizadores.put(chave, temporizador);
+        posicionar(temporizador);
+    }
+
+    public synchronized boolean cancelar(Long chave) {
+        Temporizador<V> temporizador = temporizadores.remove(chave);
+        if (temporizador == null) {
+            return false;
+        }
+        if (temporizador.posicao != null) {
+            temporizador.posicao.remove(chave);
+        } else {
+            vencidos.remove(temporizador);
+        }
+        return true;
+    }
+
+    public synchronized int tamanho() {
+        return temporizadores.size();
+    }
+
+    /**
+     * Avança o relógio até o instante informado e devolve os valores dos temporizadores vencidos.
+     */
+    public synchronized List<V> avancarAte(long agoraMs) {
+        long tickAlvo = agoraMs / tickMs;
+        while (tickAtual < tickAlvo) {
+            tickAtual++;
+            // Ao completar uma volta em um nível, a posição corrente do nível acima desce um nível
+            for (int nivel = 1; nivel < NIVEIS && (tickAtual & ((1L << (BITS_POR_NIVEL * nivel)) - 1)) == 0; nivel++) {
+                redistribuir(posicao(nivel, tickAtual));
+            }
+            Map<Long, Temporizador<V>> posicao = posicao(0, tickAtual);
+            posicao.values().forEach(temporizador -> temporizador.posicao = null);
+            vencidos.addAll(posicao.values());
+            posicao.clear();
+        }
+
+        List<V> valores = new ArrayList<>(vencidos.size());
+        for (Temporizador<V> temporizador : vencidos) {
+            temporizadores.remove(temporizador.chave);
+            valores.add(temporizador.valor);
+        }
+        vencidos.clear();
+        return valores;
+    }
+
+    private void redistribuir(Map<Long, Temporizador<V>> posicao) {
+        List<Temporizador<V>> temporizadoresDaPosicao = new ArrayList<>(posicao.values());
+        posicao.clear();
+        temporizadoresDaPosicao.forEach(this::posicionar);
+    }
+
+    private void posicionar(Temporizador<V> temporizador) {
+        long atraso = temporizador.tickPrazo - tickAtual;
+        if (atraso <= 0) {
+            temporizador.posicao = null;
+            vencidos.add(temporizador);
+            return;
+        }
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && atraso >= 1L << (BITS_POR_NIVEL * (nivel + 1))) {
+            nivel++;
+        }
+        // Prazos além do alcance do último nível ficam na posição mais distante e são reposicionados ao descer
+        long tickPosicao = Math.min(temporizador.tickPrazo, tickAtual + (1L << (BITS_POR_NIVEL * NIVEIS)) - 1);
+        Map<Long, Temporizador<V>> posicao = posicao(nivel, tickPosicao);
+        temporizador.posicao = posicao;
+        posicao.put(temporizador.chave, temporizador);
+    }
+
+    // Posição do nível que corresponde ao tick informado
+    private Map<Long, Temporizador<V>> posicao(int nivel, long tick) {
+        return posicoes.get(nivel).get((int) (tick >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+    }
+
+    private static final class Temporizador<V> {
+        private final Long chave;
+        private final V valor;
+        private final long tickPrazo;
+        private Map<Long, Temporizador<V>> posicao;
+
+        private Temporizador(Long chave, V valor, long tickPrazo) {
+            this.chave = chave;
+            this.valor = valor;
+            this.tickPrazo = tickPrazo;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.Rota.ParadaRecargaDTO;
+import com.java.EcoDrive.dto.Rota.PlanejamentoRotaDTO;
+import com.java.EcoDrive.dto.Rota.PlanoRotaDTO;
+import com.java.EcoDrive.dto.Veiculo.VeiculoDTO;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.model.CriterioRota;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class RotaService {
+
+    private static final int VEICULO_ELETRICO = 1;
+
+    private final PlanejadorRotas planejadorRotas;
+    private final VeiculoService veiculoService;
+    private final double cargaInicialPadrao;
+    private final double cargaMinimaPadrao;
+    private final double cargaMaximaPadrao;
+    private final double potenciaRecargaPadrao;
+
+    @Autowired
+    public RotaService(PlanejadorRotas planejadorRotas,
+                       VeiculoService veiculoService,
+                       @Value("${ecodrive.rotas.carga-inicial-percentual:100}") double cargaInicialPadrao,
+                       @Value("${ecodrive.rotas.carga-minima-percentual:10}") double cargaMinimaPadrao,
+                       @Value("${ecodrive.rotas.carga-maxima-percentual:80}") double cargaMaximaPadrao,
+                       @Value("${ecodrive.rotas.potencia-recarga-kw:50}") double potenciaRecargaPadrao) {
+        this.planejadorRotas = planejadorRotas;
+        this.veiculoService = veiculoService;
+        this.cargaInicialPadrao = cargaInicialPadrao;
+        this.cargaMinimaPadrao = cargaMinimaPadrao;
+        this.cargaMaximaPadrao = cargaMaximaPadrao;
+        this.potenciaRecargaPadrao = potenciaRecargaPadrao;
+        validarCargas(cargaInicialPadrao, cargaMinimaPadrao, cargaMaximaPadrao);
+        if (potenciaRecargaPadrao <= 0) {
+            throw new IllegalArgumentException("A potência de recarga padrão deve ser maior que zero.");
+        }
+    }
+
+    /**
+     * Paradas de recarga para ir da origem ao destino com o veículo informado. As cargas da
+     * requisição são percentuais da capacidade da bateria; as não informadas usam os valores
+     * configurados em ecodrive.rotas.*.
+     */
+    public PlanoRotaDTO planejar(PlanejamentoRotaDTO planejamento) {
+        // Os campos já chegam validados pelo DTO; aqui ficam as regras entre campos e os valores padrão
+        double cargaInicial = planejamento.getCargaInicialPercentual() != null ? planejamento.getCargaInicialPercentual() : cargaInicialPadrao;
+        double cargaMinima = planejamento.getCargaMinimaPercentual() != null ? planejamento.getCargaMinimaPercentual() : cargaMinimaPadrao;
+        double cargaMaxima = planejamento.getCargaMaximaPercentual() != null ? planejamento.getCargaMaximaPercentual() : cargaMaximaPadrao;
+        try {
+            validarCargas(cargaInicial, cargaMinima, cargaMaxima);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+        double potencia = planejamento.getPotenciaRecargaKw() != null ? planejamento.getPotenciaRecargaKw() : potenciaRecargaPadrao;
+        CriterioRota criterio = planejamento.getCriterio() != null ? CriterioRota.de(planejamento.getCriterio()) : CriterioRota.TEMPO;
+
+        VeiculoDTO veiculo = veiculoService.obterPorId(planejamento.getVeiculoId());
+        if (veiculo.getIsEletrico() == null || veiculo.getIsEletrico() != VEICULO_ELETRICO) {
+            throw new InvalidRequestException("O veículo informado não é elétrico.");
+        }
+
+        double capacidade = planejamento.getCapacidadeBateriaKwh();
+        String tipo = planejamento.getTipoCarregador() != null && !planejamento.getTipoCarregador().isBlank()
+                ? planejamento.getTipoCarregador().trim() : null;
+        PlanejadorRotas.Plano plano = planejadorRotas.planejar(new PlanejadorRotas.Viagem(
+                planejamento.getOrigemLatitude(), planejamento.getOrigemLongitude(),
+                planejamento.getDestinoLatitude(), planejamento.getDestinoLongitude(),
+                capacidade, planejamento.getConsumoKwhPorKm(),
+                capacidade * cargaInicial / 100, capacidade * cargaMinima / 100, capacidade * cargaMaxima / 100,
+                tipo, potencia, criterio,
+                planejamento.getSaida() != null ? planejamento.getSaida() : LocalDateTime.now()));
+
+        List<ParadaRecargaDTO> paradas = plano.paradas().stream()
+                .map(parada -> new ParadaRecargaDTO(parada.estacao(), arredondar(parada.minutosAteChegada()),
+                        arredondar(parada.cargaChegadaKwh() / capacidade * 100), arredondar(parada.cargaSaidaKwh() / capacidade * 100),
+                        arredondar(parada.energiaKwh()), arredondar(parada.minutosRecarga()),
+                        parada.precoPorKwh(), arredondar(parada.custo())))
+                .toList();
+        return new PlanoRotaDTO(criterio.name().toLowerCase(), arredondar(plano.distanciaKm()), arredondar(plano.minutos()),
+                arredondar(plano.custo()), arredondar(plano.cargaChegadaKwh() / capacidade * 100), paradas);
+    }
+
+    private static void validarCargas(double cargaInicial, double cargaMinima, double cargaMaxima) {
+        if (cargaMinima < 0 || cargaMaxima > 100 || cargaMinima >= cargaMaxima || cargaInicial < cargaMinima || cargaInicial > 100) {
+            throw new IllegalArgumentException("As cargas devem ser percentuais entre 0 e 100, com a mínima menor que a máxima "
+                    + "e a inicial entre a mínima e 100.");
+        }
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
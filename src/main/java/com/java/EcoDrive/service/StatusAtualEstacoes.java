@@ -0,0 +1,162 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.repository.StatusEstacaoRecargaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém em memória o status mais recente de cada estação de recarga, atualizado a cada
+ * gravação de status, e envia as alterações aos clientes inscritos via Server-Sent Events.
+ */
+@Component
+public class StatusAtualEstacoes {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusAtualEstacoes.class);
+
+    private static final String EVENTO_INICIAL = "status-atuais";
+    private static final String EVENTO_ALTERACAO = "status";
+    private static final String EVENTO_REMOCAO = "status-removido";
+    private static final long INTERVALO_HEARTBEAT_SEGUNDOS = 15;
+
+    private static final Comparator<StatusEstacaoRecargaDTO> MAIS_RECENTE = Comparator
+            .comparing(StatusEstacaoRecargaDTO::getUltimaAtualizacao)
+            .thenComparing(StatusEstacaoRecargaDTO::getStatusId);
+
+    private final StatusEstacaoRecargaRepository statusRepository;
+    private final long timeoutEmissorMs;
+
+    private final Map<Long, StatusEstacaoRecargaDTO> statusPorEstacao = new ConcurrentHashMap<>();
+    private final List<SseEmitter> emissores = new CopyOnWriteArrayList<>();
+    // Os envios acontecem em uma thread própria para não atrasar quem gravou o status
+    private final ScheduledExecutorService envio = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "status-estacoes-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public StatusAtualEstacoes(StatusEstacaoRecargaRepository statusRepository,
+                               @Value("${ecodrive.status.sse.timeout-ms:1800000}") long timeoutEmissorMs) {
+        this.statusRepository = statusRepository;
+        this.timeoutEmissorMs = timeoutEmissorMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        statusPorEstacao.clear();
+        statusRepository.buscarUltimoStatusDeCadaEstacao().forEach(this::registrar);
+        logger.info("Status atual carregado para {} estações.", statusPorEstacao.size());
+        envio.scheduleAtFixedRate(this::enviarHeartbeat, INTERVALO_HEARTBEAT_SEGUNDOS, INTERVALO_HEARTBEAT_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envio.shutdownNow();
+        emissores.forEach(SseEmitter::complete);
+    }
+
+    public Optional<StatusEstacaoRecargaDTO> obter(Long estacaoId) {
+        return Optional.ofNullable(statusPorEstacao.get(estacaoId));
+    }
+
+    public List<StatusEstacaoRecargaDTO> listar() {
+        return new ArrayList<>(statusPorEstacao.values());
+    }
+
+    /**
+     * Registra um status gravado. Só substitui o status atual da estação se for mais recente.
+     */
+    public void registrar(StatusEstacaoRecargaDTO status) {
+        StatusEstacaoRecargaDTO atual = statusPorEstacao.merge(status.getEstacaoId(), status,
+                (anterior, novo) -> MAIS_RECENTE.compare(novo, anterior) >= 0 ? novo : anterior);
+        if (atual == status) {
+            publicar(EVENTO_ALTERACAO, status);
+        }
+    }
+
+    /**
+     * Recalcula o status atual da estação a partir do banco, usado quando o status atual
+     * foi removido ou transferido para outra estação.
+     */
+    public void recarregar(Long estacaoId) {
+        Optional<StatusEstacaoRecargaDTO> ultimo = statusRepository
+                .findFirstByEstacaoRecargaEstacaoIdOrderByUltimaAtualizacaoDescStatusIdDesc(estacaoId)
+                .map(status -> new StatusEstacaoRecargaDTO(status.getStatusId(), estacaoId,
+                        status.getStatus(), status.getUltimaAtualizacao()));
+        if (ultimo.isPresent()) {
+            statusPorEstacao.put(estacaoId, ultimo.get());
+            publicar(EVENTO_ALTERACAO, ultimo.get());
+        } else if (statusPorEstacao.remove(estacaoId) != null) {
+            publicar(EVENTO_REMOCAO, Map.of("estacaoId", estacaoId));
+        }
+    }
+
+    public boolean isStatusInalterado(Long estacaoId, String status) {
+        StatusEstacaoRecargaDTO atual = statusPorEstacao.get(estacaoId);
+        return atual != null && atual.getStatus().equals(status);
+    }
+
+    public boolean isStatusAtual(Long estacaoId, Long statusId) {
+        StatusEstacaoRecargaDTO atual = statusPorEstacao.get(estacaoId);
+        return atual != null && atual.getStatusId().equals(statusId);
+    }
+
+    /**
+     * Inscreve um novo cliente. O primeiro evento traz o status atual de todas as estações;
+     * os seguintes trazem apenas as alterações.
+     */
+    public SseEmitter inscrever() {
+        SseEmitter emissor = new SseEmitter(timeoutEmissorMs);
+        emissor.onCompletion(() -> emissores.remove(emissor));
+        emissor.onTimeout(() -> emissores.remove(emissor));
+        emissor.onError(erro -> emissores.remove(emissor));
+        emissores.add(emissor);
+        envio.execute(() -> enviar(emissor, EVENTO_INICIAL, listar()));
+        return emissor;
+    }
+
+    private void publicar(String evento, Object dados) {
+        if (!emissores.isEmpty()) {
+            envio.execute(() -> emissores.forEach(emissor -> enviar(emissor, evento, dados)));
+        }
+    }
+
+    private void enviarHeartbeat() {
+        emissores.forEach(emissor -> {
+            try {
+                emissor.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emissores.remove(emissor);
+            }
+        });
+    }
+
+    private void enviar(SseEmitter emissor, String evento, Object dados) {
+        try {
+            emissor.send(SseEmitter.event().name(evento).data(dados));
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado
+            emissores.remove(emissor);
+        }
+    }
+}
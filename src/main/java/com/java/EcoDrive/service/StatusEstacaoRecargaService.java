@@ -1,19 +1,25 @@
 package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaCreateDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaLoteDTO;
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.ResultadoIngestaoStatusDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.model.EstacaoRecarga;
 import com.java.EcoDrive.model.StatusEstacaoRecarga;
 import com.java.EcoDrive.repository.EstacaoRecargaRepository;
 import com.java.EcoDrive.repository.StatusEstacaoRecargaRepository;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.StatusEstacaoRecargaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class StatusEstacaoRecargaService {
@@ -23,21 +29,39 @@ public class StatusEstacaoRecargaService {
 
     private final StatusEstacaoRecargaRepository statusRepository;
     private final EstacaoRecargaRepository estacaoRecargaRepository;
-    private final ModelMapper modelMapper;
+    private final StatusEstacaoRecargaMapper statusEstacaoRecargaMapper;
+    private final StatusAtualEstacoes statusAtualEstacoes;
+    private final IngestaoStatusEstacoes ingestaoStatusEstacoes;
 
     @Autowired
     public StatusEstacaoRecargaService(StatusEstacaoRecargaRepository statusRepository,
                                        EstacaoRecargaRepository estacaoRecargaRepository,
-                                       ModelMapper modelMapper) {
+                                       StatusEstacaoRecargaMapper statusEstacaoRecargaMapper,
+                                       StatusAtualEstacoes statusAtualEstacoes,
+                                       IngestaoStatusEstacoes ingestaoStatusEstacoes) {
         this.statusRepository = statusRepository;
         this.estacaoRecargaRepository = estacaoRecargaRepository;
-        this.modelMapper = modelMapper;
+        this.statusEstacaoRecargaMapper = statusEstacaoRecargaMapper;
+        this.statusAtualEstacoes = statusAtualEstacoes;
+        this.ingestaoStatusEstacoes = ingestaoStatusEstacoes;
     }
 
     public Page<StatusEstacaoRecarga> listarTodosPaginado(Pageable pageable) {
         return statusRepository.findAll(pageable);
     }
 
+    public PaginaCursor<StatusEstacaoRecarga> listarTodosPorCursor(String cursor, int limite) {
+        List<StatusEstacaoRecarga> resultados = statusRepository.findByStatusIdGreaterThanOrderByStatusIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, StatusEstacaoRecarga::getStatusId, lista -> lista);
+    }
+
+    public ResultadoPorIds<StatusEstacaoRecarga> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, statusRepository.findAllById(idsDistintos),
+                StatusEstacaoRecarga::getStatusId, lista -> lista);
+    }
+
     public List<StatusEstacaoRecarga> listarTodos() {
         return statusRepository.findAll();
     }
@@ -47,6 +71,14 @@ public class StatusEstacaoRecargaService {
                 .orElseThrow(() -> new ResourceNotFoundException(STATUS_NAO_ENCONTRADO + id));
     }
 
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return statusRepository.buscarVersao(id);
+    }
+
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return statusRepository.buscarVersaoDaColecao();
+    }
+
     public List<StatusEstacaoRecarga> listarPorEstacao(Long estacaoId) {
         EstacaoRecarga estacao = estacaoRecargaRepository.findById(estacaoId)
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_NAO_ENCONTRADA + estacaoId));
@@ -58,16 +90,23 @@ public class StatusEstacaoRecargaService {
         EstacaoRecarga estacao = estacaoRecargaRepository.findById(statusDTO.getEstacaoId())
                 .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_NAO_ENCONTRADA + statusDTO.getEstacaoId()));
 
-        StatusEstacaoRecarga status = modelMapper.map(statusDTO, StatusEstacaoRecarga.class);
+        StatusEstacaoRecarga status = statusEstacaoRecargaMapper.paraEntidade(statusDTO);
         status.setEstacaoRecarga(estacao);
         status.setUltimaAtualizacao(LocalDateTime.now());
 
-        return statusRepository.save(status);
+        StatusEstacaoRecarga salvo = statusRepository.save(status);
+        statusAtualEstacoes.registrar(statusEstacaoRecargaMapper.paraDTO(salvo));
+        return salvo;
+    }
+
+    public ResultadoIngestaoStatusDTO receberLote(StatusEstacaoRecargaLoteDTO loteDTO) {
+        return ingestaoStatusEstacoes.enfileirar(loteDTO.getAtualizacoes());
     }
 
     public StatusEstacaoRecarga atualizarStatus(Long id, StatusEstacaoRecargaCreateDTO statusDTO) {
         StatusEstacaoRecarga statusExistente = statusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(STATUS_NAO_ENCONTRADO + id));
+        Long estacaoAnteriorId = statusExistente.getEstacaoRecarga().getEstacaoId();
 
         if (statusDTO.getEstacaoId() != null) {
             EstacaoRecarga estacao = estacaoRecargaRepository.findById(statusDTO.getEstacaoId())
@@ -81,12 +120,36 @@ public class StatusEstacaoRecargaService {
 
         statusExistente.setUltimaAtualizacao(LocalDateTime.now());
 
-        return statusRepository.save(statusExistente);
+        StatusEstacaoRecarga salvo = statusRepository.save(statusExistente);
+        statusAtualEstacoes.registrar(statusEstacaoRecargaMapper.paraDTO(salvo));
+        // O status foi transferido: a estação anterior volta a ter como atual o seu último status restante
+        if (!estacaoAnteriorId.equals(salvo.getEstacaoRecarga().getEstacaoId())) {
+            statusAtualEstacoes.recarregar(estacaoAnteriorId);
+        }
+        return salvo;
     }
 
     public void deletarStatus(Long id) {
         StatusEstacaoRecarga status = statusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(STATUS_NAO_ENCONTRADO + id));
         statusRepository.delete(status);
+
+        Long estacaoId = status.getEstacaoRecarga().getEstacaoId();
+        if (statusAtualEstacoes.isStatusAtual(estacaoId, id)) {
+            statusAtualEstacoes.recarregar(estacaoId);
+        }
+    }
+
+    public List<StatusEstacaoRecargaDTO> listarStatusAtuais() {
+        return statusAtualEstacoes.listar();
+    }
+
+    public StatusEstacaoRecargaDTO obterStatusAtual(Long estacaoId) {
+        return statusAtualEstacoes.obter(estacaoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Nenhum status registrado para a estação com ID: " + estacaoId));
+    }
+
+    public SseEmitter acompanharStatus() {
+        return statusAtualEstacoes.inscrever();
     }
 }
@@ -0,0 +1,86 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoCreateDTO;
+import com.java.EcoDrive.dto.TarifaEstacao.TarifaEstacaoDTO;
+import com.java.EcoDrive.exception.InvalidRequestException;
+import com.java.EcoDrive.exception.ResourceNotFoundException;
+import com.java.EcoDrive.mapper.TarifaEstacaoMapper;
+import com.java.EcoDrive.model.EstacaoRecarga;
+import com.java.EcoDrive.model.TarifaEstacao;
+import com.java.EcoDrive.repository.EstacaoRecargaRepository;
+import com.java.EcoDrive.repository.TarifaEstacaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class TarifaEstacaoService {
+
+    private static final String ESTACAO_RECARGA_NAO_ENCONTRADA = "Estação de recarga não encontrada com ID: ";
+
+    private final TarifaEstacaoRepository tarifaEstacaoRepository;
+    private final EstacaoRecargaRepository estacaoRecargaRepository;
+    private final TarifaEstacaoMapper tarifaEstacaoMapper;
+    private final MotorTarifacao motorTarifacao;
+    private final ConcorrenciaEstacoes concorrenciaEstacoes;
+
+    @Autowired
+    public TarifaEstacaoService(TarifaEstacaoRepository tarifaEstacaoRepository,
+                                EstacaoRecargaRepository estacaoRecargaRepository,
+                                TarifaEstacaoMapper tarifaEstacaoMapper,
+                                MotorTarifacao motorTarifacao,
+                                ConcorrenciaEstacoes concorrenciaEstacoes) {
+        this.tarifaEstacaoRepository = tarifaEstacaoRepository;
+        this.estacaoRecargaRepository = estacaoRecargaRepository;
+        this.tarifaEstacaoMapper = tarifaEstacaoMapper;
+        this.motorTarifacao = motorTarifacao;
+        this.concorrenciaEstacoes = concorrenciaEstacoes;
+    }
+
+    public List<TarifaEstacaoDTO> listarPorEstacao(Long estacaoId) {
+        if (!estacaoRecargaRepository.existsById(estacaoId)) {
+            throw new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + estacaoId);
+        }
+        return tarifaEstacaoMapper.paraDTOs(tarifaEstacaoRepository.findByEstacaoRecargaEstacaoIdOrderByHoraInicioAsc(estacaoId));
+    }
+
+    /**
+     * Substitui todas as faixas horárias da estação. As faixas não podem se sobrepor nem
+     * atravessar a meia-noite (uma tarifa das 22h às 6h é enviada como 22-24 e 0-6); as horas
+     * sem faixa usam o preço por kWh da estação. Os custos já gravados não são recalculados:
+     * para isso existe a retarifação de gastos.
+     */
+    public List<TarifaEstacaoDTO> substituirTarifas(Long estacaoId, List<TarifaEstacaoCreateDTO> faixas) {
+        List<TarifaEstacaoCreateDTO> ordenadas = faixas.stream()
+                .sorted(Comparator.comparing(TarifaEstacaoCreateDTO::getHoraInicio))
+                .toList();
+        for (int i = 0; i < ordenadas.size(); i++) {
+            TarifaEstacaoCreateDTO faixa = ordenadas.get(i);
+            if (faixa.getHoraInicio() >= faixa.getHoraFim()) {
+                throw new InvalidRequestException("A hora de início de cada faixa deve ser anterior à hora de fim.");
+            }
+            if (i > 0 && faixa.getHoraInicio() < ordenadas.get(i - 1).getHoraFim()) {
+                throw new InvalidRequestException("As faixas horárias da tarifa não podem se sobrepor.");
+            }
+        }
+
+        List<TarifaEstacaoDTO> gravadas = concorrenciaEstacoes.executar(estacaoId, () -> {
+            EstacaoRecarga estacao = estacaoRecargaRepository.findById(estacaoId)
+                    .orElseThrow(() -> new ResourceNotFoundException(ESTACAO_RECARGA_NAO_ENCONTRADA + estacaoId));
+            tarifaEstacaoRepository.removerPorEstacao(estacaoId);
+            List<TarifaEstacao> tarifas = ordenadas.stream()
+                    .map(faixa -> {
+                        TarifaEstacao tarifa = tarifaEstacaoMapper.paraEntidade(faixa);
+                        tarifa.setEstacaoRecarga(estacao);
+                        return tarifa;
+                    })
+                    .toList();
+            return tarifaEstacaoMapper.paraDTOs(tarifaEstacaoRepository.saveAll(tarifas));
+        }, () -> { });
+        // O cache só recebe as faixas depois que a transação foi confirmada
+        motorTarifacao.atualizar(estacaoId, gravadas);
+        return gravadas;
+    }
+}
@@ -0,0 +1,32 @@
+package com.java.EcoDrive.service;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Soma à requisição em andamento o tempo de execução dos comandos e lotes JDBC de uma sessão
+ * do Hibernate. Registrado em hibernate.session.events.auto; há uma instância por sessão.
+ */
+public class TempoJdbcSessao implements SessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ComandosSqlDaRequisicao.registrarTempoJdbc(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ComandosSqlDaRequisicao.registrarTempoJdbc(System.nanoTime() - inicio);
+    }
+}
@@ -2,11 +2,13 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.Usuario.UsuarioCreateDTO;
 import com.java.EcoDrive.dto.Usuario.UsuarioDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
 import com.java.EcoDrive.model.Usuario;
 import com.java.EcoDrive.repository.UsuarioRepository;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.UsuarioMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,21 +16,31 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UsuarioService {
 
     private static final String USUARIO_NAO_ENCONTRADO = "Usuário não encontrado com ID: ";
     private static final Logger logger = LoggerFactory.getLogger(UsuarioService.class);
+    private static final String SQL_INSERIR_USUARIO = "INSERT INTO usuario (nome, email, senha, telefone, versao) VALUES (?, ?, ?, ?, 0)";
 
     private final UsuarioRepository usuarioRepository;
-    private final ModelMapper modelMapper;
+    private final UsuarioMapper usuarioMapper;
+    private final ImportacaoEmLote importacaoEmLote;
 
     @Autowired
-    public UsuarioService(UsuarioRepository usuarioRepository, ModelMapper modelMapper) {
+    public UsuarioService(UsuarioRepository usuarioRepository, UsuarioMapper usuarioMapper, ImportacaoEmLote importacaoEmLote) {
         this.usuarioRepository = usuarioRepository;
-        this.modelMapper = modelMapper;
+        this.importacaoEmLote = importacaoEmLote;
+        this.usuarioMapper = usuarioMapper;
     }
 
     public Page<UsuarioDTO> listarTodosPaginado(Pageable pageable) {
@@ -42,13 +54,25 @@ public class UsuarioService {
         }
 
         try {
-            return usuarios.map(usuario -> modelMapper.map(usuario, UsuarioDTO.class));
+            return usuarios.map(usuarioMapper::paraDTO);
         } catch (Exception e) {
             logger.error("Erro ao mapear os usuários para DTO: {}", e.getMessage(), e);
             throw new RuntimeException("Erro interno ao processar a lista de usuários.");
         }
     }
 
+    public PaginaCursor<UsuarioDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<Usuario> resultados = usuarioRepository.findByUsuarioIdGreaterThanOrderByUsuarioIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, Usuario::getUsuarioId, usuarioMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<UsuarioDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, usuarioRepository.findAllById(idsDistintos),
+                Usuario::getUsuarioId, usuarioMapper::paraDTOs);
+    }
+
     public UsuarioDTO obterPorId(Long id) {
         logger.info("Buscando usuário pelo ID: {}", id);
 
@@ -58,7 +82,11 @@ public class UsuarioService {
                     return new ResourceNotFoundException(USUARIO_NAO_ENCONTRADO + id);
                 });
 
-        return modelMapper.map(usuario, UsuarioDTO.class);
+        return usuarioMapper.paraDTO(usuario);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return usuarioRepository.buscarVersao(id);
     }
 
     public List<UsuarioDTO> buscarPorNome(String nome) {
@@ -70,9 +98,7 @@ public class UsuarioService {
             throw new ResourceNotFoundException("Nenhum usuário encontrado com o nome: " + nome);
         }
 
-        return usuarios.stream()
-                .map(usuario -> modelMapper.map(usuario, UsuarioDTO.class))
-                .toList();
+        return usuarioMapper.paraDTOs(usuarios);
     }
 
     public UsuarioDTO criarUsuario(UsuarioCreateDTO usuarioCreateDTO) {
@@ -85,11 +111,42 @@ public class UsuarioService {
             throw new InvalidRequestException("O email já está em uso.");
         }
 
-        Usuario usuario = modelMapper.map(usuarioCreateDTO, Usuario.class);
+        Usuario usuario = usuarioMapper.paraEntidade(usuarioCreateDTO);
         Usuario usuarioSalvo = usuarioRepository.save(usuario);
 
         logger.info("Usuário criado com sucesso com ID: {}", usuarioSalvo.getUsuarioId());
-        return modelMapper.map(usuarioSalvo, UsuarioDTO.class);
+        return usuarioMapper.paraDTO(usuarioSalvo);
+    }
+
+    public ResultadoImportacaoDTO importarUsuarios(InputStream entrada, ImportacaoEmLote.Formato formato) throws IOException {
+        // Emails já aceitos em blocos anteriores do mesmo arquivo
+        Set<String> emailsDoArquivo = new HashSet<>();
+
+        return importacaoEmLote.importar(entrada, formato, UsuarioCreateDTO.class,
+                linhas -> {
+                    Set<String> emailsEmUso = new HashSet<>(usuarioRepository.buscarEmailsExistentes(
+                            linhas.stream().map(linha -> linha.dados().getEmail()).filter(email -> email != null).toList()));
+                    Map<Integer, String> recusadas = new HashMap<>();
+                    for (ImportacaoEmLote.Linha<UsuarioCreateDTO> linha : linhas) {
+                        UsuarioCreateDTO usuario = linha.dados();
+                        if (usuario.getEmail() == null || usuario.getEmail().isEmpty()) {
+                            recusadas.put(linha.numero(), "O email é obrigatório.");
+                        } else if (usuario.getNome() == null || usuario.getNome().isEmpty()) {
+                            recusadas.put(linha.numero(), "O nome é obrigatório.");
+                        } else if (usuario.getSenha() == null) {
+                            recusadas.put(linha.numero(), "A senha é obrigatória.");
+                        } else if (emailsEmUso.contains(usuario.getEmail()) || !emailsDoArquivo.add(usuario.getEmail())) {
+                            recusadas.put(linha.numero(), "O email já está em uso.");
+                        }
+                    }
+                    return recusadas;
+                },
+                SQL_INSERIR_USUARIO, (ps, usuario) -> {
+                    ps.setString(1, usuario.getNome());
+                    ps.setString(2, usuario.getEmail());
+                    ps.setString(3, usuario.getSenha());
+                    ps.setString(4, usuario.getTelefone());
+                });
     }
 
     public UsuarioDTO atualizarUsuario(Long id, UsuarioCreateDTO usuarioCreateDTO) {
@@ -106,7 +163,7 @@ public class UsuarioService {
         Usuario usuarioAtualizado = usuarioRepository.save(usuarioExistente);
 
         logger.info("Usuário com ID: {} atualizado com sucesso.", id);
-        return modelMapper.map(usuarioAtualizado, UsuarioDTO.class);
+        return usuarioMapper.paraDTO(usuarioAtualizado);
     }
 
     private void validarCamposObrigatorios(UsuarioCreateDTO usuarioCreateDTO) {
@@ -2,11 +2,12 @@ package com.java.EcoDrive.service;
 
 import com.java.EcoDrive.dto.Veiculo.VeiculoCreateDTO;
 import com.java.EcoDrive.dto.Veiculo.VeiculoDTO;
+import com.java.EcoDrive.dto.VersaoRecurso.VersaoRecursoDTO;
 import com.java.EcoDrive.exception.ResourceNotFoundException;
 import com.java.EcoDrive.exception.InvalidRequestException;
 import com.java.EcoDrive.model.Usuario;
 import com.java.EcoDrive.model.Veiculo;
-import org.modelmapper.ModelMapper;
+import com.java.EcoDrive.mapper.VeiculoMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +16,7 @@ import com.java.EcoDrive.repository.UsuarioRepository;
 import com.java.EcoDrive.repository.VeiculoRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class VeiculoService {
@@ -24,26 +26,32 @@ public class VeiculoService {
 
     private final VeiculoRepository veiculoRepository;
     private final UsuarioRepository usuarioRepository;
-    private final ModelMapper modelMapper;
+    private final VeiculoMapper veiculoMapper;
 
     @Autowired
-    public VeiculoService(VeiculoRepository veiculoRepository, UsuarioRepository usuarioRepository, ModelMapper modelMapper) {
+    public VeiculoService(VeiculoRepository veiculoRepository, UsuarioRepository usuarioRepository, VeiculoMapper veiculoMapper) {
         this.veiculoRepository = veiculoRepository;
         this.usuarioRepository = usuarioRepository;
-        this.modelMapper = modelMapper;
+        this.veiculoMapper = veiculoMapper;
     }
 
     public List<VeiculoDTO> listarTodos() {
         List<Veiculo> veiculos = veiculoRepository.findAll();
-        return veiculos.stream()
-                .map(veiculo -> modelMapper.map(veiculo, VeiculoDTO.class))
-                .toList(); // Substituição para Stream.toList()
+        return veiculoMapper.paraDTOs(veiculos);
     }
 
     public VeiculoDTO obterPorId(Long id) {
         Veiculo veiculo = veiculoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(VEICULO_NAO_ENCONTRADO + id));
-        return modelMapper.map(veiculo, VeiculoDTO.class);
+        return veiculoMapper.paraDTO(veiculo);
+    }
+
+    public Optional<VersaoRecursoDTO> obterVersao(Long id) {
+        return veiculoRepository.buscarVersao(id);
+    }
+
+    public VersaoRecursoDTO obterVersaoDaColecao() {
+        return veiculoRepository.buscarVersaoDaColecao();
     }
 
     public List<VeiculoDTO> buscarPorMarca(String marca) {
@@ -51,9 +59,7 @@ public class VeiculoService {
         if (veiculos.isEmpty()) {
             throw new ResourceNotFoundException("Nenhum veículo encontrado com a marca: " + marca);
         }
-        return veiculos.stream()
-                .map(veiculo -> modelMapper.map(veiculo, VeiculoDTO.class))
-                .toList(); // Substituição para Stream.toList()
+        return veiculoMapper.paraDTOs(veiculos);
     }
 
     public List<VeiculoDTO> listarVeiculosPorUsuario(Long usuarioId) {
@@ -61,9 +67,7 @@ public class VeiculoService {
                 .orElseThrow(() -> new ResourceNotFoundException(USUARIO_NAO_ENCONTRADO + usuarioId));
 
         List<Veiculo> veiculos = veiculoRepository.findByUsuarioNome(usuario.getNome());
-        return veiculos.stream()
-                .map(veiculo -> modelMapper.map(veiculo, VeiculoDTO.class))
-                .toList(); // Substituição para Stream.toList()
+        return veiculoMapper.paraDTOs(veiculos);
     }
 
     public VeiculoDTO criarVeiculo(VeiculoCreateDTO veiculoCreateDTO) {
@@ -83,11 +87,11 @@ public class VeiculoService {
         Usuario usuario = usuarioRepository.findById(veiculoCreateDTO.getUsuarioId())
                 .orElseThrow(() -> new ResourceNotFoundException(USUARIO_NAO_ENCONTRADO + veiculoCreateDTO.getUsuarioId()));
 
-        Veiculo veiculo = modelMapper.map(veiculoCreateDTO, Veiculo.class);
+        Veiculo veiculo = veiculoMapper.paraEntidade(veiculoCreateDTO);
         veiculo.setUsuario(usuario);
 
         Veiculo veiculoSalvo = veiculoRepository.save(veiculo);
-        return modelMapper.map(veiculoSalvo, VeiculoDTO.class);
+        return veiculoMapper.paraDTO(veiculoSalvo);
     }
 
     public VeiculoDTO atualizarVeiculo(Long id, VeiculoCreateDTO veiculoCreateDTO) {
@@ -120,7 +124,7 @@ public class VeiculoService {
         }
 
         Veiculo veiculoAtualizado = veiculoRepository.save(veiculoExistente);
-        return modelMapper.map(veiculoAtualizado, VeiculoDTO.class);
+        return veiculoMapper.paraDTO(veiculoAtualizado);
     }
 
     public void deletarVeiculo(Long id) {
@@ -132,6 +136,18 @@ public class VeiculoService {
 
     public Page<VeiculoDTO> listarTodosPaginado(Pageable pageable) {
         Page<Veiculo> veiculos = veiculoRepository.findAll(pageable);
-        return veiculos.map(veiculo -> modelMapper.map(veiculo, VeiculoDTO.class));
+        return veiculos.map(veiculoMapper::paraDTO);
+    }
+
+    public PaginaCursor<VeiculoDTO> listarTodosPorCursor(String cursor, int limite) {
+        List<Veiculo> resultados = veiculoRepository.findByVeiculoIdGreaterThanOrderByVeiculoIdAsc(
+                PaginaCursor.decodificar(cursor), PaginaCursor.limiteDaConsulta(limite));
+        return PaginaCursor.de(resultados, limite, Veiculo::getVeiculoId, veiculoMapper::paraDTOs);
+    }
+
+    public ResultadoPorIds<VeiculoDTO> listarPorIds(List<Long> ids) {
+        List<Long> idsDistintos = ResultadoPorIds.validar(ids);
+        return ResultadoPorIds.de(idsDistintos, veiculoRepository.findAllById(idsDistintos),
+                Veiculo::getVeiculoId, veiculoMapper::paraDTOs);
     }
 }
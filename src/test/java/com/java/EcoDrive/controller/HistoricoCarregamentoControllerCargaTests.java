@@ -0,0 +1,126 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.EcoDriveApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga dos modos de execução: sobe a aplicação com threads de plataforma e depois com
+ * o perfil virtual, dispara a mesma carga de POST /historico-carregamento (três consultas e
+ * três inserts por requisição) com mais clientes simultâneos do que threads do Tomcat e
+ * registra a vazão de cada modo. Threads virtuais exigem JDK 21, então em JDKs anteriores o
+ * teste é ignorado.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class HistoricoCarregamentoControllerCargaTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoricoCarregamentoControllerCargaTests.class);
+
+    // Acima das 200 threads padrão do Tomcat, para que o modo de plataforma enfileire conexões
+    private static final int CLIENTES = 800;
+    private static final int AQUECIMENTO = 1_000;
+    private static final int REQUISICOES = 5_000;
+    // Usuários e veículos gerados pelo perfil de teste; o veículo N pertence ao usuário N
+    private static final int USUARIOS = 50;
+    private static final int ESTACOES = 50;
+
+    @Test
+    void comparaVazaoEntreThreadsDePlataformaEVirtuais() throws Exception {
+        double plataforma = medirVazao("plataforma", "perf", "teste");
+        double virtuais = medirVazao("virtual", "perf", "teste", "virtual");
+
+        logger.info("POST /historico-carregamento com {} clientes simultâneos: threads de plataforma {} req/s, "
+                        + "threads virtuais {} req/s ({}x).", CLIENTES, String.format("%.0f", plataforma),
+                String.format("%.0f", virtuais), String.format("%.2f", virtuais / plataforma));
+        assertTrue(plataforma > 0 && virtuais > 0);
+    }
+
+    private double medirVazao(String modo, String... perfis) throws Exception {
+        // Banco e cache de segundo nível próprios, separados do contexto compartilhado pelos demais testes
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(EcoDriveApplication.class)
+                .profiles(perfis)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.javax.cache.uri=classpath:application.conf")
+                .run()) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + porta + "/historico-carregamento");
+
+            ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+            try {
+                disparar(httpClient, clientes, uri, AQUECIMENTO);
+                long inicio = System.nanoTime();
+                disparar(httpClient, clientes, uri, REQUISICOES);
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                logger.info("Modo {}: {} requisições em {} s.", modo, REQUISICOES, String.format("%.2f", segundos));
+                return REQUISICOES / segundos;
+            } finally {
+                clientes.shutdownNow();
+                assertTrue(clientes.awaitTermination(1, TimeUnit.MINUTES));
+            }
+        }
+    }
+
+    private void disparar(HttpClient httpClient, ExecutorService clientes, URI uri, int requisicoes) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger sucessos = new AtomicInteger();
+        List<Future<?>> envios = new ArrayList<>(CLIENTES);
+        for (int i = 0; i < CLIENTES; i++) {
+            envios.add(clientes.submit(() -> {
+                largada.await();
+                int n;
+                while ((n = proxima.getAndIncrement()) < requisicoes) {
+                    HttpResponse<Void> resposta = httpClient.send(requisicao(uri, n), HttpResponse.BodyHandlers.discarding());
+                    if (resposta.statusCode() / 100 == 2) {
+                        sucessos.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> envio : envios) {
+            envio.get(5, TimeUnit.MINUTES);
+        }
+        assertEquals(requisicoes, sucessos.get(), "Todas as requisições devem ser atendidas com sucesso");
+    }
+
+    private HttpRequest requisicao(URI uri, int n) {
+        long usuarioId = 1 + n % USUARIOS;
+        String corpo = String.format("{\"usuarioId\": %d, \"veiculoId\": %d, \"estacaoId\": %d, "
+                        + "\"dataCarregamento\": \"%s\", \"kwhConsumidos\": %d}",
+                usuarioId, usuarioId, 1 + n % ESTACOES, LocalDateTime.of(2024, 6, 1, 0, 0).plusMinutes(n), 5 + n % 40);
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(Duration.ofMinutes(1))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.java.EcoDrive.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Requisições condicionais dos GETs: repetir a requisição com o ETag recebido devolve 304 sem
+ * corpo enquanto o registro não muda, e qualquer atualização gera um ETag novo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"perf", "teste"})
+class RequisicaoCondicionalTests {
+
+    // Registros gerados pelo perfil de teste
+    private static final List<String> RECURSOS = List.of(
+            "/concessionarias/1", "/fontes-energia/1", "/veiculos/1", "/estacoes-sustentaveis/5",
+            "/gastos-carregamento/1", "/historico-carregamento/1",
+            "/concessionarias", "/fontes-energia", "/veiculos", "/estacoes-sustentaveis",
+            "/concessionarias?limit=5", "/fontes-energia?limit=5", "/veiculos?limit=5", "/estacoes-sustentaveis?limit=5");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void recursoNaoModificadoRespondeSemCorpo() {
+        for (String recurso : RECURSOS) {
+            ResponseEntity<String> resposta = obter(recurso, null);
+            assertEquals(HttpStatus.OK, resposta.getStatusCode(), recurso);
+            String etag = resposta.getHeaders().getETag();
+            assertNotNull(etag, "GET " + recurso + " deve trazer o ETag");
+
+            ResponseEntity<String> condicional = obter(recurso, etag);
+            assertEquals(HttpStatus.NOT_MODIFIED, condicional.getStatusCode(), recurso);
+            assertEquals(null, condicional.getBody(), "A resposta 304 de " + recurso + " não deve ter corpo");
+        }
+    }
+
+    @Test
+    void atualizacaoGeraNovoEtag() {
+        String recurso = "/fontes-energia/2";
+        String etagRegistro = obter(recurso, null).getHeaders().getETag();
+        String etagColecao = obter("/fontes-energia", null).getHeaders().getETag();
+
+        atualizarFonte(recurso, "Paineis Solares");
+        atualizarFonte(recurso, "Energia Comum");
+
+        ResponseEntity<String> registro = obter(recurso, etagRegistro);
+        assertEquals(HttpStatus.OK, registro.getStatusCode(), "O ETag antigo não pode valer depois da atualização");
+        assertNotEquals(etagRegistro, registro.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, obter("/fontes-energia", etagColecao).getStatusCode(),
+                "A atualização de um registro deve mudar o ETag da coleção");
+    }
+
+    private ResponseEntity<String> obter(String recurso, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return restTemplate.exchange(recurso, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private void atualizarFonte(String recurso, String tipoEnergia) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        ResponseEntity<String> resposta = restTemplate.exchange(recurso, HttpMethod.PUT,
+                new HttpEntity<>("{\"tipoEnergia\": \"" + tipoEnergia + "\"}", headers), String.class);
+        assertEquals(HttpStatus.OK, resposta.getStatusCode(), resposta.getBody());
+    }
+}
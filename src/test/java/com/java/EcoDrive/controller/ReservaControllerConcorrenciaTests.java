@@ -0,0 +1,126 @@
+package com.java.EcoDrive.controller;
+
+import com.java.EcoDrive.model.StatusReserva;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de estresse da criação de reservas: centenas de clientes disputam o mesmo horário da
+ * mesma estação ao mesmo tempo e apenas um deles pode conseguir a reserva. Também cobre o
+ * horário reservado por outro nó depois que o dia já estava na agenda em memória.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"perf", "teste"})
+class ReservaControllerConcorrenciaTests {
+
+    private static final int CLIENTES = 500;
+    private static final long ESTACAO_ID = 7L;
+    // Bem depois das reservas geradas pelo perfil perf, para que o horário esteja livre
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2031, 3, 10, 14, 0);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void apenasUmClienteReservaOHorarioDisputado() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        Long versaoDaEstacao = versaoDaEstacao();
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<HttpStatus>> respostas = new ArrayList<>(CLIENTES);
+        try {
+            for (int i = 0; i < CLIENTES; i++) {
+                // Usuários diferentes, em minutos diferentes do mesmo slot de 60 minutos
+                String corpo = String.format("{\"usuarioId\": %d, \"estacaoId\": %d, \"dataReserva\": \"%s\", \"status\": %d}",
+                        1 + i % 50, ESTACAO_ID, HORARIO.plusMinutes(i % 60), StatusReserva.CONFIRMADA.getCodigo());
+                HttpEntity<String> requisicao = new HttpEntity<>(corpo, headers);
+                respostas.add(clientes.submit(() -> {
+                    largada.await();
+                    ResponseEntity<String> resposta = restTemplate.postForEntity("/reservas", requisicao, String.class);
+                    return HttpStatus.valueOf(resposta.getStatusCode().value());
+                }));
+            }
+            largada.countDown();
+
+            int sucessos = 0;
+            int conflitos = 0;
+            for (Future<HttpStatus> resposta : respostas) {
+                HttpStatus status = resposta.get(2, TimeUnit.MINUTES);
+                if (status.is2xxSuccessful()) {
+                    sucessos++;
+                } else if (status == HttpStatus.CONFLICT) {
+                    conflitos++;
+                }
+            }
+
+            assertEquals(1, sucessos, "Exatamente um cliente deve conseguir a reserva");
+            assertEquals(CLIENTES - 1, conflitos, "Os demais clientes devem receber 409");
+        } finally {
+            clientes.shutdownNow();
+            assertTrue(clientes.awaitTermination(1, TimeUnit.MINUTES));
+        }
+
+        Integer gravadas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reserva WHERE estacao_id = ? AND data_reserva >= ? AND data_reserva < ?",
+                Integer.class, ESTACAO_ID, HORARIO, HORARIO.plusHours(1));
+        assertEquals(1, gravadas, "Apenas uma reserva deve ter sido gravada no horário disputado");
+        // A reserva não altera a estação, então o ETag e o cache de segundo nível da estação continuam válidos
+        assertEquals(versaoDaEstacao, versaoDaEstacao(), "A reserva não deve alterar a versão da estação");
+    }
+
+    @Test
+    void horarioReservadoPorOutroNoNaoEhAceito() {
+        LocalDateTime horario = HORARIO.plusDays(1);
+        // Carrega o dia na agenda em memória enquanto o horário ainda está livre
+        ResponseEntity<String> livres = restTemplate.getForEntity("/reservas/estacoes/{id}/horarios-livres?data={data}",
+                String.class, ESTACAO_ID, horario.toLocalDate());
+        assertEquals(HttpStatus.OK, livres.getStatusCode());
+        assertTrue(livres.getBody().contains(horario.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)),
+                "O horário deve estar livre antes da reserva do outro nó");
+
+        // Reserva gravada por outro nó, que esta agenda em memória não conhece
+        jdbcTemplate.update("INSERT INTO reserva (usuario_id, estacao_id, data_reserva, status, versao) VALUES (?, ?, ?, ?, 0)",
+                1L, ESTACAO_ID, horario, StatusReserva.CONFIRMADA.getCodigo());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        String corpo = String.format("{\"usuarioId\": 2, \"estacaoId\": %d, \"dataReserva\": \"%s\", \"status\": %d}",
+                ESTACAO_ID, horario.plusMinutes(30), StatusReserva.CONFIRMADA.getCodigo());
+        ResponseEntity<String> resposta = restTemplate.postForEntity("/reservas", new HttpEntity<>(corpo, headers), String.class);
+
+        assertEquals(HttpStatus.CONFLICT, resposta.getStatusCode(), "O slot já reservado no banco deve ser recusado");
+    }
+
+    private Long versaoDaEstacao() {
+        return jdbcTemplate.queryForObject("SELECT versao FROM estacao_recarga WHERE estacao_id = ?", Long.class, ESTACAO_ID);
+    }
+}
@@ -0,0 +1,108 @@
+package com.java.EcoDrive.repository;
+
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que as leituras de históricos de carregamento continuam sendo um único comando SQL,
+ * qualquer que seja a quantidade de linhas: um relacionamento carregado linha a linha (N+1)
+ * aparece como comandos a mais nas estatísticas do Hibernate.
+ */
+// Mesma configuração dos demais testes de integração, para reaproveitar o contexto e o banco em memória
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"perf", "teste"})
+class HistoricoCarregamentoRepositoryTests {
+
+    @Autowired
+    private HistoricoCarregamentoRepository historicoCarregamentoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private HistoricoCarregamentoDTO referencia;
+    private long total;
+
+    @BeforeEach
+    void prepararEstatisticas() {
+        List<HistoricoCarregamentoDTO> historicos = historicoCarregamentoRepository.listarTodosDTOs();
+        assertFalse(historicos.isEmpty(), "O perfil de teste deve gerar históricos de carregamento");
+        referencia = historicos.get(0);
+        total = historicos.size();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(estatisticas.isStatisticsEnabled(), "hibernate.generate_statistics deve estar ligado");
+        // Sem o cache de segundo nível, um relacionamento carregado à parte sempre gera comandos
+        entityManagerFactory.getCache().evictAll();
+        estatisticas.clear();
+    }
+
+    @Test
+    void listarDTOsExecutaUmComando() {
+        // Última página incompleta: o Spring Data calcula o total sem a consulta de contagem
+        int tamanho = (int) (total * 2 / 3);
+        Page<HistoricoCarregamentoDTO> pagina = historicoCarregamentoRepository.listarDTOs(PageRequest.of(1, tamanho));
+
+        assertEquals(total - tamanho, pagina.getNumberOfElements());
+        assertComandos(1);
+    }
+
+    @Test
+    void listarDTOsAposIdExecutaUmComando() {
+        List<HistoricoCarregamentoDTO> historicos = historicoCarregamentoRepository.listarDTOsAposId(0L, Limit.of(100));
+
+        assertEquals(Math.min(100, total), historicos.size());
+        assertComandos(1);
+    }
+
+    @Test
+    void buscarDTOPorIdExecutaUmComando() {
+        assertTrue(historicoCarregamentoRepository.buscarDTOPorId(referencia.getHistoricoId()).isPresent());
+        assertComandos(1);
+    }
+
+    @Test
+    void listarDTOsPorUsuarioExecutaUmComando() {
+        assertFalse(historicoCarregamentoRepository.listarDTOsPorUsuario(referencia.getUsuarioId()).isEmpty());
+        assertComandos(1);
+    }
+
+    @Test
+    void listarDTOsPorVeiculoExecutaUmComando() {
+        assertFalse(historicoCarregamentoRepository.listarDTOsPorVeiculo(referencia.getVeiculoId()).isEmpty());
+        assertComandos(1);
+    }
+
+    @Test
+    void findByUsuarioComEntityGraphExecutaUmComando() {
+        assertFalse(historicoCarregamentoRepository.findByUsuarioUsuarioId(referencia.getUsuarioId()).isEmpty());
+        assertComandos(1);
+    }
+
+    @Test
+    void findByVeiculoComEntityGraphExecutaUmComando() {
+        assertFalse(historicoCarregamentoRepository.findByVeiculoVeiculoId(referencia.getVeiculoId()).isEmpty());
+        assertComandos(1);
+    }
+
+    private void assertComandos(long esperados) {
+        assertEquals(esperados, estatisticas.getPrepareStatementCount(),
+                "Comandos SQL preparados: " + String.join(" | ", estatisticas.getQueries()));
+    }
+}
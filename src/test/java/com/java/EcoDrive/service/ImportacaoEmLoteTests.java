@@ -0,0 +1,118 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.HistoricoCarregamento.HistoricoCarregamentoCreateDTO;
+import com.java.EcoDrive.dto.Importacao.ErroImportacaoDTO;
+import com.java.EcoDrive.dto.Importacao.ResultadoImportacaoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Importação em lote: cada linha rejeitada é relatada com o seu número sem interromper o
+ * arquivo, e quando o insert em lote falha no banco as linhas são regravadas uma a uma, de
+ * modo que só a linha com problema fica de fora.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"perf", "teste"})
+class ImportacaoEmLoteTests {
+
+    private static final String SQL_INSERIR_HISTORICO = "INSERT INTO historico_carregamento "
+            + "(usuario_id, veiculo_id, estacao_id, data_carregamento, kwh_consumidos, versao) VALUES (?, ?, ?, ?, ?, 0)";
+    // Dias sem históricos gerados pelo perfil perf, um para cada teste
+    private static final LocalDateTime DIA_RELATORIO = LocalDateTime.of(2032, 1, 5, 0, 0);
+    private static final LocalDateTime DIA_REGRAVACAO = LocalDateTime.of(2032, 2, 5, 0, 0);
+
+    @Autowired
+    private HistoricoCarregamentoService historicoCarregamentoService;
+
+    @Autowired
+    private ImportacaoEmLote importacaoEmLote;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void linhasRejeitadasSaoRelatadasPeloNumero() throws Exception {
+        String csv = """
+                usuarioId,veiculoId,estacaoId,dataCarregamento,kwhConsumidos
+                1,1,1,2032-01-05T10:00:00,12.5
+                2,2,2
+                3,3,3,ontem,10
+                4,4,4,2032-01-05T11:00:00,
+                999999,5,5,2032-01-05T12:00:00,10
+
+                6,6,6,2032-01-05T13:00:00,-3
+                7,7,7,2032-01-05T14:00:00,20
+                """;
+
+        ResultadoImportacaoDTO resultado = historicoCarregamentoService.importarHistoricos(
+                entrada(csv), ImportacaoEmLote.Formato.CSV);
+
+        assertEquals(7, resultado.getLidas(), "A linha em branco não conta como registro");
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(5, resultado.getRejeitadas());
+        assertEquals(List.of(3, 4, 5, 6, 8), resultado.getErros().stream().map(ErroImportacaoDTO::getLinha).toList(),
+                "Os erros devem trazer a linha física do arquivo, em ordem");
+        assertEquals(List.of(
+                        "A linha tem 3 colunas e o cabeçalho tem 5.",
+                        "Valor inválido para o campo dataCarregamento.",
+                        "Os kWh consumidos são obrigatórios",
+                        "Usuário não encontrado com ID: 999999",
+                        "Kwh consumidos deve ser maior que zero."),
+                resultado.getErros().stream().map(ErroImportacaoDTO::getMensagem).toList());
+        assertEquals(2, historicosNoDia(DIA_RELATORIO), "Apenas as linhas válidas devem ser gravadas");
+    }
+
+    @Test
+    void falhaNoLoteRegravaLinhaALinha() throws Exception {
+        // A linha 2 passa pelas regras, mas viola a chave estrangeira do usuário no banco
+        String json = """
+                [
+                  {"usuarioId": 1, "veiculoId": 1, "estacaoId": 1, "dataCarregamento": "2032-02-05T10:00:00", "kwhConsumidos": 10},
+                  {"usuarioId": 999999, "veiculoId": 2, "estacaoId": 2, "dataCarregamento": "2032-02-05T11:00:00", "kwhConsumidos": 10},
+                  {"usuarioId": 3, "veiculoId": 3, "estacaoId": 3, "dataCarregamento": "2032-02-05T12:00:00", "kwhConsumidos": 10}
+                ]
+                """;
+
+        ResultadoImportacaoDTO resultado = importacaoEmLote.importar(entrada(json), ImportacaoEmLote.Formato.JSON,
+                HistoricoCarregamentoCreateDTO.class, linhas -> Map.of(), SQL_INSERIR_HISTORICO, (ps, historico) -> {
+                    ps.setLong(1, historico.getUsuarioId());
+                    ps.setLong(2, historico.getVeiculoId());
+                    ps.setLong(3, historico.getEstacaoId());
+                    ps.setTimestamp(4, Timestamp.valueOf(historico.getDataCarregamento()));
+                    ps.setDouble(5, historico.getKwhConsumidos());
+                });
+
+        assertEquals(3, resultado.getLidas());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(1, resultado.getRejeitadas());
+        assertEquals(1, resultado.getErros().size());
+        ErroImportacaoDTO erro = resultado.getErros().get(0);
+        assertEquals(2, erro.getLinha());
+        assertTrue(erro.getMensagem().startsWith("Falha ao gravar a linha"), erro.getMensagem());
+        // O lote que falhou foi desfeito antes da regravação, então nenhuma linha foi gravada duas vezes
+        assertEquals(2, historicosNoDia(DIA_REGRAVACAO));
+    }
+
+    private InputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Integer historicosNoDia(LocalDateTime dia) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM historico_carregamento "
+                + "WHERE data_carregamento >= ? AND data_carregamento < ?", Integer.class, dia, dia.plusDays(1));
+    }
+}
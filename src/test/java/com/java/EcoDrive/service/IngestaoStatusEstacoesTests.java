@@ -0,0 +1,121 @@
+package com.java.EcoDrive.service;
+
+import com.java.EcoDrive.dto.StatusEstacaoRecarga.StatusEstacaoRecargaCreateDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de concorrência da ingestão de status: vários carregadores enviam status diferentes das
+ * mesmas estações ao mesmo tempo e, depois da descarga, o status atual deve ser o último gravado
+ * e nenhuma repetição antiga pode continuar descartando os heartbeats seguintes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"perf", "teste"})
+class IngestaoStatusEstacoesTests {
+
+    // Estações geradas pelo perfil de teste que os demais testes não usam
+    private static final List<Long> ESTACOES = LongStream.rangeClosed(21, 50).boxed().toList();
+    private static final List<String> STATUS = List.of("Ativa", "Defeituosa", "Em Manutenção");
+    private static final int CARREGADORES = 32;
+    private static final int RODADAS = 20;
+
+    @Autowired
+    private IngestaoStatusEstacoes ingestaoStatusEstacoes;
+
+    @Autowired
+    private StatusAtualEstacoes statusAtualEstacoes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${ecodrive.status.ingestao.janela-ms}")
+    private long janelaMs;
+
+    @Test
+    void lotesConcorrentesDasMesmasEstacoesNaoDeixamRepeticaoPendente() throws Exception {
+        ExecutorService carregadores = Executors.newFixedThreadPool(CARREGADORES);
+        try {
+            for (int rodada = 0; rodada < RODADAS; rodada++) {
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<?>> envios = new ArrayList<>(CARREGADORES);
+                for (int carregador = 0; carregador < CARREGADORES; carregador++) {
+                    // Cada carregador envia um status diferente do vizinho para todas as estações
+                    String status = STATUS.get((carregador + rodada) % STATUS.size());
+                    List<StatusEstacaoRecargaCreateDTO> lote = lote(estacaoId -> status);
+                    envios.add(carregadores.submit(() -> {
+                        largada.await();
+                        return ingestaoStatusEstacoes.enfileirar(lote);
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> envio : envios) {
+                    envio.get(1, TimeUnit.MINUTES);
+                }
+                aguardarDescarga();
+
+                Map<Long, String> atuais = new HashMap<>();
+                for (Long estacaoId : ESTACOES) {
+                    String atual = statusAtualEstacoes.obter(estacaoId).orElseThrow().getStatus();
+                    assertEquals(ultimoStatusGravado(estacaoId), atual,
+                            "O status atual da estação " + estacaoId + " deve ser o último gravado no banco");
+                    atuais.put(estacaoId, atual);
+                }
+                // Nenhuma atualização antiga pode ter ficado pendente: repetir o status atual é descartado
+                assertEquals(0, ingestaoStatusEstacoes.enfileirar(lote(atuais::get)).getEnfileiradas(),
+                        "A repetição do status atual deve ser descartada na rodada " + rodada);
+            }
+        } finally {
+            carregadores.shutdownNow();
+            assertTrue(carregadores.awaitTermination(1, TimeUnit.MINUTES));
+        }
+
+        // E qualquer outro status continua sendo aceito e gravado
+        Long estacaoId = ESTACOES.get(0);
+        String atual = statusAtualEstacoes.obter(estacaoId).orElseThrow().getStatus();
+        String diferente = STATUS.stream().filter(status -> !status.equals(atual)).findFirst().orElseThrow();
+        assertEquals(1, ingestaoStatusEstacoes.enfileirar(List.of(atualizacao(estacaoId, diferente))).getEnfileiradas());
+        aguardarDescarga();
+        assertEquals(diferente, statusAtualEstacoes.obter(estacaoId).orElseThrow().getStatus());
+        assertEquals(diferente, ultimoStatusGravado(estacaoId));
+    }
+
+    private List<StatusEstacaoRecargaCreateDTO> lote(Function<Long, String> statusDaEstacao) {
+        return ESTACOES.stream().map(estacaoId -> atualizacao(estacaoId, statusDaEstacao.apply(estacaoId))).toList();
+    }
+
+    private StatusEstacaoRecargaCreateDTO atualizacao(Long estacaoId, String status) {
+        StatusEstacaoRecargaCreateDTO atualizacao = new StatusEstacaoRecargaCreateDTO();
+        atualizacao.setEstacaoId(estacaoId);
+        atualizacao.setStatus(status);
+        return atualizacao;
+    }
+
+    private String ultimoStatusGravado(Long estacaoId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM status_estacao_recarga WHERE estacao_id = ? "
+                + "ORDER BY ultima_atualizacao DESC, status_id DESC FETCH FIRST 1 ROWS ONLY", String.class, estacaoId);
+    }
+
+    private void aguardarDescarga() throws InterruptedException {
+        // Algumas janelas completas, para que a thread de descarga esvazie a fila
+        TimeUnit.MILLISECONDS.sleep(janelaMs * 5);
+    }
+}